@@ -0,0 +1,103 @@
+package co.edu.uptc.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import co.edu.uptc.model.AdmissionPolicy;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+
+/**
+ * Clase BatchAdmissionBench
+ * ------------------------------------------------------------
+ * Mide la admisión en lote frente a la admisión proceso por proceso.
+ *
+ * Escenario: la memoria está ocupada por un proceso grande y una cola de
+ * procesos nuevos espera. Se libera el proceso grande y se admite la cola:
+ * - "uno a uno": admitProcess(...) por cada candidato (cada llamada cuenta y
+ * busca marcos recorriendo toda la memoria).
+ * - admitBatch(...) con cada política.
+ *
+ * Columnas: tiempo de la admisión, procesos admitidos y utilización de la
+ * memoria después de admitir.
+ *
+ * Se usan dos colas: una fina (muchos procesos, la mayoría pequeños) y una
+ * gruesa (pocos procesos grandes), donde la política de empaquetado importa.
+ *
+ * Uso: java co.edu.uptc.bench.BatchAdmissionBench [marcos] [candidatos]
+ */
+public class BatchAdmissionBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+
+        // Cola fina: mezcla de procesos pequeños y algunos grandes (en páginas)
+        int[] fine = new int[count];
+        long x = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < count; i++) {
+            x = next(x);
+            int r = (int) ((x >>> 1) % 1000);
+            fine[i] = (r < 900) ? 1 + r % 48 : 200 + r * 3;
+        }
+        // Cola gruesa: pocos procesos de 2% a 15% de la memoria
+        int[] coarse = new int[40];
+        for (int i = 0; i < coarse.length; i++) {
+            x = next(x);
+            coarse[i] = frames / 50 + (int) ((x >>> 1) % (frames * 13 / 100));
+        }
+
+        System.out.printf("Marcos=%d%n", frames);
+        run("uno a uno", null, frames, fine, false); // calentamiento del JIT
+        for (AdmissionPolicy p : AdmissionPolicy.values())
+            run(p.name(), p, frames, fine, false);
+        for (int[] queue : new int[][] { fine, coarse }) {
+            System.out.printf("%nCola de %d candidatos%n", queue.length);
+            System.out.println("método           ms/admisión  admitidos  utilización");
+            run("uno a uno", null, frames, queue, true);
+            for (AdmissionPolicy p : AdmissionPolicy.values())
+                run(p.name(), p, frames, queue, true);
+        }
+    }
+
+    private static long next(long x) {
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        return x;
+    }
+
+    private static void run(String label, AdmissionPolicy policy, int frames, int[] pages, boolean print) {
+        double best = Double.MAX_VALUE;
+        int admitted = 0;
+        int used = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+            SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+            PCB big = new PCB(0, (long) frames * PAGE_SIZE, PAGE_SIZE);
+            mm.admitProcess(big);
+            List<PCB> queue = new ArrayList<>();
+            for (int i = 0; i < pages.length; i++)
+                queue.add(new PCB(i + 1, (long) pages[i] * PAGE_SIZE, PAGE_SIZE));
+
+            mm.releaseProcess(big);
+            long t0 = System.nanoTime();
+            if (policy == null) {
+                admitted = 0;
+                for (PCB pcb : queue)
+                    if (mm.admitProcess(pcb))
+                        admitted++;
+            } else {
+                admitted = mm.admitBatch(queue, policy).size();
+            }
+            best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+            used = frames - mm.freeFrameCount();
+        }
+        if (print)
+            System.out.printf("%-16s %11.2f  %9d  %10.2f%%%n", label, best, admitted, 100.0 * used / frames);
+    }
+}
@@ -0,0 +1,86 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.cache.CacheLevel;
+import co.edu.uptc.model.cache.CachedMemoryManager;
+import co.edu.uptc.model.cache.MemoryHierarchy;
+
+/**
+ * Clase CacheHierarchyBench
+ * ------------------------------------------------------------
+ * Pasa trazas de direcciones lógicas por traducción + MemoryHierarchy.typical()
+ * y reporta la tasa de aciertos de cada nivel, el AMAT y la velocidad de
+ * simulación (millones de accesos por segundo).
+ *
+ * Patrones:
+ * - secuencial: recorrido de 8 bytes en 8 bytes por todo el proceso.
+ * - stride: saltos de una página + una línea (castiga la TLB).
+ * - aleatorio: direcciones uniformes en todo el proceso.
+ * - localidad: 90% de los accesos en una zona caliente de 512 KB.
+ *
+ * Uso: java co.edu.uptc.bench.CacheHierarchyBench [accesosPorPatrón]
+ */
+public class CacheHierarchyBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUM_FRAMES = 1 << 15;
+    private static final int PROCESSES = 4;
+    private static final int PROCESS_BYTES = 32 << 20;
+    private static final int HOT_BYTES = 512 << 10;
+
+    private static final String[] PATTERNS = { "secuencial", "stride", "aleatorio", "localidad" };
+
+    public static void main(String[] args) {
+        long accesses = args.length > 0 ? Long.parseLong(args[0]) : 50_000_000L;
+
+        System.out.printf("Accesos por patrón=%,d  memoria=%d MB  procesos=%d de %d MB%n", accesses,
+                (long) NUM_FRAMES * PAGE_SIZE >> 20, PROCESSES, PROCESS_BYTES >> 20);
+        System.out.println("patrón        TLB      L1      L2     LLC   a memoria   AMAT(ciclos)  Macc/s");
+        for (int pattern = 0; pattern < PATTERNS.length; pattern++)
+            run(pattern, accesses);
+    }
+
+    private static void run(int pattern, long accesses) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, NUM_FRAMES);
+        MemoryHierarchy hierarchy = MemoryHierarchy.typical();
+        CachedMemoryManager mm = new CachedMemoryManager(new SimpleMemoryManager(pm), hierarchy, pm);
+
+        PCB[] pcbs = new PCB[PROCESSES];
+        for (int i = 0; i < PROCESSES; i++) {
+            pcbs[i] = new PCB(i + 1, PROCESS_BYTES, PAGE_SIZE);
+            if (!mm.admitProcess(pcbs[i]))
+                throw new IllegalStateException("No hay marcos suficientes.");
+        }
+
+        long x = 0x2545F4914F6CDD1DL;
+        int[] cursor = new int[PROCESSES];
+        long t0 = System.nanoTime();
+        for (long a = 0; a < accesses; a++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            // Cambio de proceso cada 4096 accesos (cuanto de planificación)
+            int p = (int) ((a >>> 12) % PROCESSES);
+            int addr;
+            switch (pattern) {
+                case 0 -> addr = cursor[p] = (cursor[p] + 8) % PROCESS_BYTES;
+                case 1 -> addr = cursor[p] = (cursor[p] + PAGE_SIZE + 64) % PROCESS_BYTES;
+                case 2 -> addr = (int) ((x >>> 1) % PROCESS_BYTES);
+                default -> addr = ((x & 0xFF) < 230)
+                        ? (int) ((x >>> 8) % HOT_BYTES)
+                        : (int) ((x >>> 8) % PROCESS_BYTES);
+            }
+            mm.mapLogicalToPhysical(pcbs[p], addr);
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        StringBuilder rates = new StringBuilder();
+        rates.append(String.format("%6.2f%%", 100 * hierarchy.tlb().hitRate()));
+        for (CacheLevel c : hierarchy.caches())
+            rates.append(String.format(" %6.2f%%", 100 * c.hitRate()));
+        System.out.printf("%-11s %s   %8.3f%%   %12.2f  %6.1f%n", PATTERNS[pattern], rates,
+                100 * hierarchy.memoryAccessRate(), hierarchy.amat(), accesses / secs / 1e6);
+    }
+}
@@ -0,0 +1,108 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.WorkingSetTracker;
+import co.edu.uptc.presenter.Checkpoint;
+import co.edu.uptc.presenter.MediumTermScheduler;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase CheckpointBench
+ * ------------------------------------------------------------
+ * Mide guardar y restaurar un checkpoint a mitad de una corrida y verifica
+ * que la corrida restaurada termina exactamente igual que la original.
+ *
+ * Escenarios:
+ * - "grande": muchos procesos, todo-o-nada, 4 núcleos.
+ * - "conj. trabajo": admisión por conjunto de trabajo con planificador PFF
+ * (incluye la historia del conjunto de trabajo en el checkpoint).
+ *
+ * Columnas: ticks hasta la mitad (y tiempo en simularlos), tamaño del
+ * archivo, tiempo de guardado y de restauración, y si el final coincide.
+ *
+ * Uso: java co.edu.uptc.bench.CheckpointBench [procesos]
+ */
+public class CheckpointBench {
+
+    private static final int PAGE_SIZE = 4096;
+
+    public static void main(String[] args) throws Exception {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+
+        run("grande", false, procs, false); // calentamiento del JIT
+        System.out.println("escenario       mitad(ticks)  sim.(ms)     MB  guardar(ms)  restaurar(ms)  final");
+        run("grande", false, procs, true);
+        run("conj. trabajo", true, 60, true);
+    }
+
+    private static void run(String label, boolean workingSet, int procs, boolean print) throws Exception {
+        // Corrida completa de referencia
+        SimulationEngine full = create(workingSet, procs, null);
+        full.beginRun();
+        while (full.step()) {
+            // hasta el final
+        }
+        long half = full.tick() / 2;
+
+        // Hasta la mitad, checkpoint y dos continuaciones
+        SimulationEngine a = create(workingSet, procs, null);
+        long t0 = System.nanoTime();
+        a.beginRun();
+        while (a.tick() < half && a.step()) {
+            // avanzar
+        }
+        long simNs = System.nanoTime() - t0;
+
+        Path file = Files.createTempFile("checkpoint", ".bin");
+        try {
+            t0 = System.nanoTime();
+            Checkpoint.save(a, file);
+            long saveNs = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            Checkpoint cp = Checkpoint.open(file);
+            SimulationEngine b = create(workingSet, procs, cp);
+            cp.restore(b);
+            long restoreNs = System.nanoTime() - t0;
+
+            while (a.step()) {
+                // continuar la original
+            }
+            while (b.step()) {
+                // continuar la restaurada
+            }
+            boolean same = a.stateDigest() == b.stateDigest() && a.stateDigest() == full.stateDigest();
+            if (print)
+                System.out.printf("%-15s %12d  %8.0f  %5.1f  %11.1f  %13.1f  %s%n", label, half, simNs / 1e6,
+                        Files.size(file) / 1e6, saveNs / 1e6, restoreNs / 1e6, same ? "idéntico" : "DISTINTO");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Motor con la configuración del escenario; con cp, sobre la memoria restaurada y sin procesos. */
+    private static SimulationEngine create(boolean workingSet, int procs, Checkpoint cp) {
+        int frames = workingSet ? 256 : 1 << 18;
+        PhysicalMemory pm = (cp != null) ? cp.physicalMemory() : new PhysicalMemory(PAGE_SIZE, frames);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 3);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 6, 300, 0.98, 5), 16);
+        engine.setIoBlocking(0.1, 6, 9);
+        if (workingSet) {
+            engine.setFaultPenaltyTicks(2);
+            engine.setWorkingSetAdmission(new WorkingSetTracker(50), 4);
+            engine.setMediumTermScheduler(new MediumTermScheduler(50, 0.05, 0.5));
+        } else {
+            engine.setCores(4);
+        }
+        if (cp == null) {
+            for (int pid = 1; pid <= procs; pid++)
+                engine.createProcess(pid, (long) (16 + (pid * 53) % 240) * PAGE_SIZE);
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,182 @@
+package co.edu.uptc.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import co.edu.uptc.model.CompressedSwapPool;
+import co.edu.uptc.model.FrameStore;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PageCodec;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.SwapDevice;
+import co.edu.uptc.model.SwapManager;
+
+/**
+ * Clase CompressedSwapBench
+ * ------------------------------------------------------------
+ * Mide si conviene el swap comprimido en RAM (CompressedSwapPool) delante
+ * del archivo de swap.
+ *
+ * Los procesos se ejecutan por turnos con el doble de páginas que marcos,
+ * como en SwapOvercommitBench, pero las páginas tienen contenido real en
+ * un FrameStore: 20% ceros, 30% texto, 30% enteros pequeños y 20% bytes
+ * aleatorios (incompresibles). En cada turno el proceso reescribe algunas
+ * páginas; al reanudarlo se compara el hash de todas sus páginas con el
+ * esperado.
+ *
+ * Columnas: compresor, páginas del pool, razón de compresión, aciertos de
+ * page-in en el pool, páginas que fueron al archivo por pool lleno o por
+ * incompresibles, MB escritos y leídos del archivo, ms de CPU comprimiendo
+ * y descomprimiendo, tiempo total de swap y si el contenido se conservó.
+ *
+ * Uso: java co.edu.uptc.bench.CompressedSwapBench [turnos]
+ */
+public class CompressedSwapBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUM_FRAMES = 1024;
+    private static final int PAGES_PER_PROCESS = 64;
+    private static final int PROCESSES = 2 * NUM_FRAMES / PAGES_PER_PROCESS;
+    private static final int WRITES_PER_QUANTUM = 8;
+
+    private static final byte[][] WORDS = new byte[16][];
+    static {
+        String[] words = { "memoria", "página", "marco", "proceso", "swap", "tabla", "fallo", "reemplazo",
+                "kernel", "bloque", "archivo", "segmento", "de", "la", "el", "en" };
+        for (int i = 0; i < words.length; i++)
+            WORDS[i] = words[i].getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long seed;
+
+    public static void main(String[] args) throws Exception {
+        int quanta = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        System.out.printf("Marcos=%d  páginas/proceso=%d  procesos=%d  turnos=%d%n", NUM_FRAMES,
+                PAGES_PER_PROCESS, PROCESSES, quanta);
+        run(null, 0, quanta / 4, false); // calentamiento del JIT
+        run("lz", 512, quanta / 4, false);
+        run("deflate", 512, quanta / 4, false);
+        System.out.println("compresor  pool(pág)  razón  aciertos  lleno  incompr.  MB esc.  MB leí.  "
+                + "comp(ms)  desc(ms)  swap(ms)  contenido");
+        run(null, 0, quanta, true);
+        for (String codec : new String[] { "lz", "deflate" })
+            for (int pages : new int[] { 128, 512, 2048 })
+                run(codec, pages, quanta, true);
+    }
+
+    private static void run(String codec, int poolPages, int quanta, boolean print) throws Exception {
+        seed = 0x2545F4914F6CDD1DL;
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, NUM_FRAMES);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        Path file = Files.createTempFile("bench-swap", ".bin");
+        try (FrameStore store = FrameStore.direct(pm);
+                SwapDevice device = new SwapDevice(file, PAGE_SIZE, PROCESSES * PAGES_PER_PROCESS, 256)) {
+            mm.setFrameContents(store);
+            CompressedSwapPool pool = (codec == null) ? null
+                    : new CompressedSwapPool(PAGE_SIZE, device.slotCount, poolPages, PageCodec.create(codec));
+            SwapManager swap = new SwapManager(mm, device, store, pool);
+
+            PCB[] procs = new PCB[PROCESSES];
+            long[][] expected = new long[PROCESSES][PAGES_PER_PROCESS];
+            boolean[] started = new boolean[PROCESSES];
+            for (int i = 0; i < PROCESSES; i++)
+                procs[i] = new PCB(i + 1, PAGES_PER_PROCESS * PAGE_SIZE, PAGE_SIZE);
+
+            ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            Deque<PCB> resident = new ArrayDeque<>();
+            boolean intact = true;
+            long swapNanos = 0;
+            for (int q = 0; q < quanta; q++) {
+                int i = q % PROCESSES;
+                PCB pcb = procs[i];
+                if (!pcb.pageTable[0].present) {
+                    long t0 = System.nanoTime();
+                    while (!swap.swapIn(pcb))
+                        swap.swapOut(resident.pollFirst());
+                    swapNanos += System.nanoTime() - t0;
+                    resident.addLast(pcb);
+                    if (started[i]) {
+                        for (int p = 0; p < PAGES_PER_PROCESS; p++)
+                            intact &= store.hashFrame(pcb.pageTable[p].frameNumber) == expected[i][p];
+                    }
+                }
+                if (!started[i]) {
+                    for (int p = 0; p < PAGES_PER_PROCESS; p++)
+                        expected[i][p] = fill(store, buf, pcb, p);
+                    started[i] = true;
+                }
+                for (int w = 0; w < WRITES_PER_QUANTUM; w++) {
+                    int p = (int) Long.remainderUnsigned(next(), PAGES_PER_PROCESS);
+                    expected[i][p] = fill(store, buf, pcb, p);
+                }
+            }
+            long t0 = System.nanoTime();
+            device.flush();
+            swapNanos += System.nanoTime() - t0;
+
+            if (print) {
+                if (pool == null) {
+                    System.out.printf("%-9s  %9s  %5s  %8s  %5s  %8s  %7.1f  %7.1f  %8s  %8s  %8.0f  %s%n", "-", "-",
+                            "-", "-", "-", "-", device.bytesWritten() / 1e6, device.bytesRead() / 1e6, "-", "-",
+                            swapNanos / 1e6, intact ? "idéntico" : "DISTINTO");
+                } else {
+                    System.out.printf(
+                            "%-9s  %9d  %5.2f  %7.1f%%  %5d  %8d  %7.1f  %7.1f  %8.1f  %8.1f  %8.0f  %s%n", codec,
+                            poolPages, pool.compressionRatio(), 100 * pool.hitRate(), pool.rejectedFull(),
+                            pool.rejectedIncompressible(), device.bytesWritten() / 1e6, device.bytesRead() / 1e6,
+                            pool.compressNanos() / 1e6, pool.decompressNanos() / 1e6, swapNanos / 1e6,
+                            intact ? "idéntico" : "DISTINTO");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Escribe contenido nuevo en la página según su tipo (fijo por página)
+     * y la marca como modificada.
+     *
+     * @return hash del marco resultante
+     */
+    private static long fill(FrameStore store, ByteBuffer buf, PCB pcb, int page) {
+        buf.clear();
+        int kind = (int) (((pcb.pid * 31L + page) * 0x9E3779B97F4A7C15L >>> 32) % 10);
+        if (kind < 2) {
+            while (buf.hasRemaining())
+                buf.putLong(0);
+        } else if (kind < 5) {
+            while (buf.hasRemaining()) {
+                byte[] w = WORDS[(int) (next() & 15)];
+                for (int k = 0; k < w.length && buf.hasRemaining(); k++)
+                    buf.put(w[k]);
+                if (buf.hasRemaining())
+                    buf.put((byte) ' ');
+            }
+        } else if (kind < 8) {
+            while (buf.hasRemaining())
+                buf.putInt((int) Long.remainderUnsigned(next(), 1000));
+        } else {
+            while (buf.hasRemaining())
+                buf.putLong(next());
+        }
+        buf.flip();
+        int frame = pcb.pageTable[page].frameNumber;
+        store.writeFrame(frame, buf);
+        pcb.pageTable[page].dirty = true;
+        return store.hashFrame(frame);
+    }
+
+    private static long next() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return seed;
+    }
+}
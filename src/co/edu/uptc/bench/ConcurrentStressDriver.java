@@ -0,0 +1,121 @@
+package co.edu.uptc.bench;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import co.edu.uptc.model.ConcurrentMemoryManager;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+
+/**
+ * Clase ConcurrentStressDriver
+ * ------------------------------------------------------------
+ * Programa de carga para ConcurrentMemoryManager.
+ *
+ * Cada proceso simulado es una tarea independiente que repite:
+ * admitir (reintentando si no hay marcos) → emitir accesos aleatorios → liberar.
+ * Todas las tareas comparten el mismo gestor y la misma memoria física.
+ *
+ * Se ejecuta con 1, 2, 4, ... hilos de plataforma hasta el número de núcleos
+ * para mostrar el escalado, y al final con un hilo virtual por proceso.
+ *
+ * Uso: java co.edu.uptc.bench.ConcurrentStressDriver [procesos] [accesosPorRonda] [rondas]
+ */
+public class ConcurrentStressDriver {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUM_FRAMES = 1 << 14;
+    private static final int MIN_PAGES = 8;
+    private static final int MAX_PAGES = 256;
+
+    /** Evita que el JIT elimine las traducciones como código muerto. */
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int accesses = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Marcos=%d  página=%dB  procesos=%d  accesos/ronda=%d  rondas=%d  núcleos=%d%n",
+                NUM_FRAMES, PAGE_SIZE, processes, accesses, rounds, cores);
+
+        // Calentamiento del JIT
+        run(Executors.newFixedThreadPool(cores), processes / 4, accesses, 2);
+
+        double base = 0;
+        for (int threads = 1;; threads = Math.min(cores, threads * 2)) {
+            double opsPerSec = run(Executors.newFixedThreadPool(threads), processes, accesses, rounds);
+            if (threads == 1)
+                base = opsPerSec;
+            System.out.printf("hilos=%-3d  %8.2f M accesos/s  escalado=%.2fx%n",
+                    threads, opsPerSec / 1e6, opsPerSec / base);
+            if (threads == cores)
+                break;
+        }
+
+        // Un hilo virtual por proceso simulado
+        double opsPerSec = run(Executors.newVirtualThreadPerTaskExecutor(), processes, accesses, rounds);
+        System.out.printf("virtuales  %8.2f M accesos/s  escalado=%.2fx%n", opsPerSec / 1e6, opsPerSec / base);
+    }
+
+    /**
+     * Ejecuta una corrida completa y devuelve accesos traducidos por segundo.
+     * El ejecutor se cierra al terminar.
+     */
+    private static double run(ExecutorService executor, int processes, int accesses, int rounds)
+            throws InterruptedException {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, NUM_FRAMES);
+        ConcurrentMemoryManager mm = new ConcurrentMemoryManager(pm);
+        LongAdder translated = new LongAdder();
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < processes; i++) {
+            final int pid = i + 1;
+            executor.execute(() -> simulateProcess(mm, pid, accesses, rounds, translated));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.MINUTES))
+            throw new IllegalStateException("La corrida no terminó a tiempo.");
+        long elapsed = System.nanoTime() - t0;
+
+        if (mm.freeFrameCount() != NUM_FRAMES)
+            throw new IllegalStateException("Marcos perdidos: libres=" + mm.freeFrameCount());
+        return translated.sum() * 1e9 / elapsed;
+    }
+
+    /** Ciclo de vida de un proceso simulado. */
+    private static void simulateProcess(ConcurrentMemoryManager mm, int pid, int accesses, int rounds,
+            LongAdder translated) {
+        long seed = pid * 0x9E3779B97F4A7C15L;
+        seed = next(seed);
+        int pages = MIN_PAGES + (int) ((seed >>> 33) % (MAX_PAGES - MIN_PAGES + 1));
+        int size = pages * PAGE_SIZE;
+        PCB pcb = new PCB(pid, size, PAGE_SIZE);
+
+        long checksum = 0;
+        for (int r = 0; r < rounds; r++) {
+            // Admisión todo-o-nada: si no cabe, ceder y reintentar
+            while (!mm.admitProcess(pcb))
+                Thread.yield();
+            for (int a = 0; a < accesses; a++) {
+                seed = next(seed);
+                int addr = (int) ((seed >>> 33) % size);
+                checksum += mm.mapLogicalToPhysical(pcb, addr);
+            }
+            translated.add(accesses);
+            mm.releaseProcess(pcb);
+        }
+        sink = checksum;
+    }
+
+    /** Generador xorshift64 (sin asignaciones por acceso). */
+    private static long next(long x) {
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        return x;
+    }
+}
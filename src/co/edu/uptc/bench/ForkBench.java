@@ -0,0 +1,80 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase ForkBench
+ * ------------------------------------------------------------
+ * Modela un servidor pre-fork: un proceso maestro carga su imagen completa
+ * y crea N trabajadores con fork; cada trabajador escribe una fracción de
+ * sus páginas (su heap "caliente"), y solo esas se copian.
+ *
+ * Columnas: fracción escrita por trabajador, marcos usados de verdad frente
+ * a los que usarían copias completas, marcos ahorrados, páginas copiadas,
+ * tiempo de los fork y de las escrituras, y si al terminar todos los
+ * procesos la memoria queda libre (las referencias cuadran).
+ *
+ * Uso: java co.edu.uptc.bench.ForkBench [páginas del maestro] [trabajadores]
+ */
+public class ForkBench {
+
+    private static final int PAGE_SIZE = 4096;
+
+    public static void main(String[] args) {
+        int pages = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        System.out.printf("Maestro=%d páginas  trabajadores=%d%n", pages, workers);
+        run(pages, workers, 0.25, false); // calentamiento del JIT
+        System.out.println("escritura  marcos usados  sin COW  ahorrados  copiadas  fork(ms)  escrituras(ms)  libre al final");
+        for (double fraction : new double[] { 0, 0.05, 0.25, 0.5, 1.0 })
+            run(pages, workers, fraction, true);
+    }
+
+    private static void run(int pages, int workers, double fraction, boolean print) {
+        int frames = pages * (workers + 1);
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, 1);
+        PCB master = engine.createProcess(1, (long) pages * PAGE_SIZE);
+        engine.beginRun();
+
+        long t0 = System.nanoTime();
+        PCB[] children = new PCB[workers];
+        for (int w = 0; w < workers; w++)
+            children[w] = engine.fork(master, 2 + w);
+        long forkNs = System.nanoTime() - t0;
+
+        // Cada trabajador escribe 'fraction' de sus páginas, elegidas al azar
+        int writes = (int) (pages * fraction);
+        long x = 0x9E3779B97F4A7C15L;
+        t0 = System.nanoTime();
+        for (PCB child : children) {
+            for (int i = 0; i < writes; i++) {
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+                int page = (int) ((x >>> 1) % pages);
+                engine.write(child, (long) page * PAGE_SIZE);
+            }
+        }
+        long writeNs = System.nanoTime() - t0;
+
+        int used = frames - mm.freeFrameCount();
+        long full = (long) pages * (workers + 1);
+        int saved = mm.framesSaved();
+        long copies = mm.cowCopies();
+
+        engine.terminate(master);
+        for (PCB child : children)
+            engine.terminate(child);
+        boolean clean = mm.freeFrameCount() == frames && mm.framesSaved() == 0;
+
+        if (print)
+            System.out.printf("%8.0f%%  %13d  %7d  %9d  %8d  %8.2f  %14.2f  %s%n", fraction * 100, used, full, saved,
+                    copies, forkNs / 1e6, writeNs / 1e6, clean ? "sí" : "NO");
+    }
+}
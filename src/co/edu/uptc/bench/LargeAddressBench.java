@@ -0,0 +1,81 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+
+/**
+ * Clase LargeAddressBench
+ * ------------------------------------------------------------
+ * Comprueba y mide el direccionamiento de 64 bits.
+ *
+ * 1. Memoria física de más de 4 GB y un proceso de 64 GB lógicos con
+ * páginas cargadas dispersas: traduce direcciones por encima de 2^32 y
+ * verifica la dirección física resultante.
+ * 2. Costo de traducción con página potencia de dos (desplazamiento y
+ * máscara) frente a una página de otro tamaño (división y módulo).
+ *
+ * Uso: java co.edu.uptc.bench.LargeAddressBench [traducciones]
+ */
+public class LargeAddressBench {
+
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+
+        // 1. Direcciones por encima de 4 GB (páginas de 2 MB, 4096 marcos = 8 GB)
+        int hugePage = 2 << 20;
+        PhysicalMemory big = new PhysicalMemory(hugePage, 4096);
+        SimpleMemoryManager bigMm = new SimpleMemoryManager(big);
+        PCB pcb = new PCB(1, 64L << 30, hugePage);
+        for (int f = 0; f < 3000; f++)
+            bigMm.loadPage(pcb, (f * 7) % pcb.pageCount);
+        int page = pcb.pageCount - 1;
+        if (!pcb.pageTable[page].present)
+            bigMm.loadPage(pcb, page);
+        long logical = (long) page * hugePage + 12345;
+        long physical = bigMm.mapLogicalToPhysical(pcb, logical);
+        long expected = (long) pcb.pageTable[page].frameNumber * hugePage + 12345;
+        System.out.printf("Memoria física=%,d MB  proceso=%,d MB (%d páginas de %d KB)%n", big.sizeBytes() >> 20,
+                pcb.logicalSizeBytes >> 20, pcb.pageCount, hugePage >> 10);
+        System.out.printf("lógica=%,d → física=%,d (%s)%n%n", logical, physical,
+                physical == expected ? "correcta" : "INCORRECTA, se esperaba " + expected);
+
+        // 2. Desplazamiento/máscara frente a división/módulo
+        System.out.println("página     decomposición       ns/traducción");
+        measure(4096, "desplaz./máscara", lookups);
+        measure(4000, "división/módulo", lookups);
+    }
+
+    private static void measure(int pageSize, String label, int lookups) {
+        int frames = 1 << 14;
+        PhysicalMemory pm = new PhysicalMemory(pageSize, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        PCB pcb = new PCB(1, (long) frames * pageSize, pageSize);
+        if (!mm.admitProcess(pcb))
+            throw new IllegalStateException("No hay marcos suficientes.");
+
+        long[] addrs = new long[1 << 16];
+        long x = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < addrs.length; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            addrs[i] = (x >>> 1) % pcb.logicalSizeBytes;
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long acc = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < lookups; i++)
+                acc += mm.mapLogicalToPhysical(pcb, addrs[i & (addrs.length - 1)]);
+            best = Math.min(best, (System.nanoTime() - t0) / (double) lookups);
+            sink = acc;
+        }
+        System.out.printf("%-10d %-19s %10.2f%n", pageSize, label, best);
+    }
+}
@@ -0,0 +1,96 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.GroupedMemoryManager;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.MemoryGroup;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ProcessState;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.WorkingSetTracker;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase MemoryGroupBench
+ * ------------------------------------------------------------
+ * Aislamiento entre inquilinos con grupos de memoria (GroupedMemoryManager):
+ * un grupo "servicio" de pocos procesos pequeños comparte la memoria con un
+ * grupo "lote" de procesos grandes que, con las referencias fuera de su
+ * localidad, recorren muchas páginas (el vecino ruidoso).
+ *
+ * Con admisión por conjunto de trabajo y reemplazo local, sin grupos el
+ * lote llena la memoria y los procesos del servicio solo pueden reemplazar
+ * sus propias páginas. Se compara con un límite duro y con un límite blando
+ * sobre el lote.
+ *
+ * Un fallo bloquea al proceso 2 ticks, así que los fallos del servicio
+ * retrasan su fin.
+ *
+ * Columnas: configuración, páginas cargadas (fallos y admisiones) del
+ * servicio y del lote, pico de uso de cada grupo, páginas recuperadas por
+ * el límite duro y por presión global, tick en que terminó el último
+ * proceso del servicio y ticks totales.
+ *
+ * Uso: java co.edu.uptc.bench.MemoryGroupBench
+ */
+public class MemoryGroupBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int FRAMES = 256;
+    private static final int SERVICE = 4;
+    private static final int SERVICE_PAGES = 48;
+    private static final int BATCH = 8;
+    private static final int BATCH_PAGES = 160;
+
+    public static void main(String[] args) {
+        System.out.printf("Marcos=%d  servicio=%d x %d páginas  lote=%d x %d páginas%n", FRAMES, SERVICE,
+                SERVICE_PAGES, BATCH, BATCH_PAGES);
+        run("calentamiento", 0, 0, false);
+        System.out.println("configuración        carg. serv.  carg. lote  pico serv.  pico lote  recup. duro"
+                + "  recup. blando  fin serv.    ticks");
+        run("sin límites", 0, 0, true);
+        for (int limit : new int[] { 192, 128 }) {
+            run("lote duro=" + limit, limit, 0, true);
+            run("lote blando=" + limit, 0, limit, true);
+        }
+    }
+
+    private static void run(String label, int hard, int soft, boolean print) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, FRAMES);
+        GroupedMemoryManager mm = new GroupedMemoryManager(new SimpleMemoryManager(pm));
+        MemoryGroup service = mm.createGroup("servicio", 0, 0);
+        MemoryGroup batch = mm.createGroup("lote", hard, soft);
+
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, 10);
+        engine.setCores(4);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 8, 2_000, 0.8, 3), 16);
+        engine.setWorkingSetAdmission(new WorkingSetTracker(50), 8);
+        engine.setFaultPenaltyTicks(2);
+        engine.setMemoryGroups(mm);
+        // El lote llega primero y ocupa la memoria antes que el servicio
+        PCB[] services = new PCB[SERVICE];
+        for (int i = 0; i < BATCH; i++)
+            mm.assign(engine.createProcess(100 + i, (long) BATCH_PAGES * PAGE_SIZE), batch);
+        for (int i = 0; i < SERVICE; i++) {
+            services[i] = engine.createProcess(1 + i, (long) SERVICE_PAGES * PAGE_SIZE);
+            mm.assign(services[i], service);
+        }
+
+        engine.beginRun();
+        long serviceDone = -1;
+        while (engine.step()) {
+            if (serviceDone < 0) {
+                boolean done = true;
+                for (PCB pcb : services)
+                    done &= pcb.state == ProcessState.TERMINATED;
+                if (done)
+                    serviceDone = engine.tick();
+            }
+        }
+        if (!print)
+            return;
+        System.out.printf("%-19s  %11d  %10d  %10d  %9d  %11d  %13d  %9d  %7d%n", label, service.pagesLoaded(),
+                batch.pagesLoaded(), service.peakUsage(), batch.peakUsage(), batch.reclaimed(),
+                batch.softReclaimed() + service.softReclaimed(), serviceDone, engine.tick());
+    }
+}
@@ -0,0 +1,114 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import co.edu.uptc.io.PageTrace;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ReuseDistanceProfiler;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase MissRatioCurveBench
+ * ------------------------------------------------------------
+ * Graba una traza de referencias de una corrida del simulador y obtiene su
+ * curva de tasa de fallos LRU de dos formas:
+ * - una sola pasada del ReuseDistanceProfiler (todos los tamaños a la vez);
+ * - una simulación LRU exacta (LinkedHashMap en orden de acceso) por cada
+ * tamaño de la tabla.
+ *
+ * Columnas: marcos, fallos y tasa según el perfilador, fallos según la
+ * simulación LRU y si coinciden (deben coincidir siempre). Al final, el
+ * tiempo de la pasada única frente al de las simulaciones por tamaño.
+ *
+ * Uso: java co.edu.uptc.bench.MissRatioCurveBench [procesos] [ticks]
+ */
+public class MissRatioCurveBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int SIZES = 12;
+
+    public static void main(String[] args) throws Exception {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+
+        Path file = Files.createTempFile("trace", ".bin");
+        try {
+            record(file, procs, ticks);
+            try (PageTrace trace = PageTrace.open(file)) {
+                profile(trace); // calentamiento del JIT
+                long t0 = System.nanoTime();
+                ReuseDistanceProfiler profiler = profile(trace);
+                long profileNs = System.nanoTime() - t0;
+                double[] curve = profiler.missRatioCurve();
+                int distinct = (int) profiler.distinctPages();
+                System.out.printf("Referencias=%d  páginas distintas=%d%n", profiler.references(), distinct);
+
+                System.out.println("   marcos  fallos(perfil)    tasa  fallos(LRU)  igual");
+                long lruNs = 0;
+                boolean all = true;
+                for (int i = 1; i <= SIZES; i++) {
+                    int frames = (int) ((long) distinct * i / SIZES);
+                    t0 = System.nanoTime();
+                    long lru = simulateLru(trace, frames);
+                    lruNs += System.nanoTime() - t0;
+                    long predicted = profiler.misses(frames);
+                    all &= predicted == lru;
+                    System.out.printf("%9d  %14d  %6.4f  %11d  %s%n", frames, predicted, curve[frames], lru,
+                            predicted == lru ? "sí" : "NO");
+                }
+                System.out.printf("%nPasada única: %.1f ms para %d tamaños (%.1f ns/referencia)%n", profileNs / 1e6,
+                        curve.length, (double) profileNs / profiler.references());
+                System.out.printf("Simulación LRU: %.1f ms para %d tamaños (~%.0f s para la curva completa)%n",
+                        lruNs / 1e6, SIZES, lruNs / 1e9 / SIZES * curve.length);
+                System.out.println(all ? "La curva coincide con LRU en todos los tamaños." : "DIFERENCIAS con LRU.");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Corre la simulación con memoria de sobra y graba sus referencias. */
+    private static void record(Path file, int procs, int ticks) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, 1 << 16);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 3);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 12, 400, 0.9, 21), 200);
+        for (int pid = 1; pid <= procs; pid++)
+            engine.createProcess(pid, (long) (64 + (pid * 97) % 960) * PAGE_SIZE);
+        try (PageTrace trace = PageTrace.create(file, PAGE_SIZE)) {
+            engine.setReferenceListener(trace);
+            engine.beginRun();
+            while (engine.tick() < ticks && engine.step()) {
+                // grabar
+            }
+            engine.setReferenceListener(null);
+        }
+    }
+
+    private static ReuseDistanceProfiler profile(PageTrace trace) {
+        ReuseDistanceProfiler profiler = new ReuseDistanceProfiler();
+        trace.forEach(profiler);
+        return profiler;
+    }
+
+    /** LRU exacto con 'frames' marcos. */
+    private static long simulateLru(PageTrace trace, int frames) {
+        if (frames == 0)
+            return trace.count();
+        Map<Long, Boolean> lru = new LinkedHashMap<>(frames * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > frames;
+            }
+        };
+        long misses = 0;
+        for (long i = 0; i < trace.count(); i++)
+            if (lru.put(trace.keyAt(i), Boolean.TRUE) == null)
+                misses++;
+        return misses;
+    }
+}
@@ -0,0 +1,74 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase MultiCoreBench
+ * ------------------------------------------------------------
+ * Simula la misma carga con 1, 2, 4 y 8 núcleos, primero en un solo hilo y
+ * luego repartiendo la fase de referencias entre tantos hilos como núcleos.
+ *
+ * Columnas: ticks hasta terminar, utilización promedio de los núcleos,
+ * migraciones, robos, tiempo real y si el resultado con hilos coincide con
+ * el secuencial (debe coincidir siempre).
+ *
+ * Hilos de la máquina: Runtime.availableProcessors(); con uno solo, la
+ * versión con hilos no puede ser más rápida.
+ *
+ * Uso: java co.edu.uptc.bench.MultiCoreBench [procesos] [referencias/tick]
+ */
+public class MultiCoreBench {
+
+    private static final int PAGE_SIZE = 4096;
+
+    public static void main(String[] args) {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int accesses = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        System.out.printf("Procesos=%d  referencias/tick=%d  hilos de la máquina=%d%n", procs, accesses,
+                Runtime.getRuntime().availableProcessors());
+        run(4, 4, procs, accesses); // calentamiento del JIT
+        System.out.println("núcleos  hilos   ticks  utilización  migraciones  robos     ms  igual");
+        for (int cores : new int[] { 1, 2, 4, 8 }) {
+            long[] seq = run(cores, 1, procs, accesses);
+            long[] par = (cores > 1) ? run(cores, cores, procs, accesses) : seq;
+            print(cores, 1, seq, true);
+            if (cores > 1)
+                print(cores, cores, par, seq[0] == par[0] && seq[1] == par[1] && seq[2] == par[2]);
+        }
+    }
+
+    private static void print(int cores, int threads, long[] r, boolean same) {
+        System.out.printf("%7d  %5d  %6d  %10.1f%%  %11d  %5d  %5d  %s%n", cores, threads, r[0], r[3] / 10.0, r[1],
+                r[2], r[4], same ? "sí" : "NO");
+    }
+
+    /** @return { ticks, migraciones, robos, utilización en décimas de %, ms } */
+    private static long[] run(int cores, int threads, int procs, int accesses) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, 1 << 14);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 4);
+        engine.setCores(cores);
+        engine.setParallelThreads(threads);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 8, 500, 0.95, 11), accesses);
+        engine.setIoBlocking(0.05, 6, 3);
+        for (int pid = 1; pid <= procs; pid++)
+            engine.createProcess(pid, (long) (8 + (pid * 37) % 120) * PAGE_SIZE);
+
+        long t0 = System.nanoTime();
+        engine.beginRun();
+        while (engine.step()) {
+            // hasta que terminen todos
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        engine.setParallelThreads(1);
+
+        double util = 0;
+        for (int c = 0; c < cores; c++)
+            util += engine.coreUtilization(c);
+        return new long[] { engine.tick(), engine.migrations(), engine.steals(),
+                Math.round(1000 * util / cores), ms };
+    }
+}
@@ -0,0 +1,80 @@
+package co.edu.uptc.bench;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import co.edu.uptc.model.NumaMemoryManager;
+import co.edu.uptc.model.NumaPolicy;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+
+/**
+ * Clase NumaPolicyBench
+ * ------------------------------------------------------------
+ * Compara las políticas de NumaMemoryManager.
+ *
+ * Para cada política, varios hilos admiten procesos (con nodo hogar pid % N),
+ * emiten accesos aleatorios y los liberan. Al final se imprime la proporción
+ * de accesos locales/remotos, la latencia simulada promedio y la tasa de
+ * admisiones por segundo.
+ *
+ * Uso: java co.edu.uptc.bench.NumaPolicyBench [nodos] [latLocalNs] [latRemotaNs]
+ */
+public class NumaPolicyBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUM_FRAMES = 1 << 15;
+    private static final int PROCESSES = 256;
+    private static final int ROUNDS = 40;
+    private static final int ACCESSES = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long local = args.length > 1 ? Long.parseLong(args[1]) : 80;
+        long remote = args.length > 2 ? Long.parseLong(args[2]) : 140;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Nodos=%d  latencia local=%dns remota=%dns  hilos=%d%n", nodes, local, remote, threads);
+        for (NumaPolicy policy : NumaPolicy.values()) {
+            PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, NUM_FRAMES);
+            NumaMemoryManager mm = new NumaMemoryManager(pm, nodes, policy, local, remote);
+            mm.setPreferredNode(0);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            long t0 = System.nanoTime();
+            for (int i = 0; i < PROCESSES; i++) {
+                final int pid = i + 1;
+                pool.execute(() -> simulate(mm, pid));
+            }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+            double secs = (System.nanoTime() - t0) / 1e9;
+
+            long l = mm.localAccesses();
+            long r = mm.remoteAccesses();
+            System.out.printf("%-12s local=%5.1f%%  remoto=%5.1f%%  latencia media=%6.1fns  admisiones/s=%,.0f%n",
+                    policy, 100.0 * l / (l + r), 100.0 * r / (l + r), mm.averageAccessLatencyNs(),
+                    PROCESSES * (double) ROUNDS / secs);
+        }
+    }
+
+    /** Ciclo admitir → accesos → liberar de un proceso. */
+    private static void simulate(NumaMemoryManager mm, int pid) {
+        int pages = 16 + (pid * 37) % 112;
+        int size = pages * PAGE_SIZE;
+        PCB pcb = new PCB(pid, size, PAGE_SIZE);
+        long x = pid * 0x9E3779B97F4A7C15L | 1;
+        for (int r = 0; r < ROUNDS; r++) {
+            while (!mm.admitProcess(pcb))
+                Thread.yield();
+            for (int a = 0; a < ACCESSES; a++) {
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+                mm.mapLogicalToPhysical(pcb, (int) ((x >>> 33) % size));
+            }
+            mm.releaseProcess(pcb);
+        }
+    }
+}
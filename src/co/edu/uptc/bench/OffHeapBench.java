@@ -0,0 +1,138 @@
+package co.edu.uptc.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.model.FrameStore;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PageTableEntry;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.MemoryAccess;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase OffHeapBench
+ * ------------------------------------------------------------
+ * Mide el rendimiento de punta a punta de una carga que calcula sobre la
+ * memoria simulada: cada acceso traduce la dirección lógica y lee o escribe
+ * el FrameStore (fuera del heap).
+ *
+ * Fases, sobre dos procesos de 3/8 de la memoria cada uno:
+ * - llenar: writeLong(...) secuencial en el proceso A.
+ * - sumar: readLong(...) secuencial en A, comparando con la suma esperada.
+ * - copiar: copy(...) de A a B en bloque.
+ * - leer: read(...) de B en bloques de 64 KB hacia un buffer directo.
+ * - fork: fork de A y una escritura en cada página del hijo (copia real de
+ * cada marco por copy-on-write); A debe conservar sus valores.
+ *
+ * Columnas: MB/s de cada fase, si las sumas coinciden y si las páginas
+ * escritas quedaron marcadas como modificadas.
+ *
+ * Uso: java co.edu.uptc.bench.OffHeapBench [MB de memoria física]
+ */
+public class OffHeapBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int BLOCK = 64 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int frames = (int) ((long) mb * 1024 * 1024 / PAGE_SIZE);
+
+        System.out.printf("Memoria física=%d MB  página=%d B%n", mb, PAGE_SIZE);
+        run("directo", frames / 8, null, false); // calentamiento del JIT
+        System.out.println("almacén   llenar(MB/s)  sumar(MB/s)  copiar(MB/s)  leer(MB/s)  fork(MB/s)  sumas  modificadas");
+        run("directo", frames, null, true);
+        Path file = Files.createTempFile("frames", ".bin");
+        try {
+            run("mapeado", frames, file, true);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void run(String label, int frames, Path file, boolean print) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        try (FrameStore store = (file != null) ? FrameStore.mapped(pm, file) : FrameStore.direct(pm)) {
+            mm.setFrameContents(store);
+            SimulationEngine engine = new SimulationEngine(pm, mm, null, 1);
+            MemoryAccess mem = new MemoryAccess(engine, store);
+
+            // A y B ocupan 3/8 de la memoria cada uno; el resto queda para el fork
+            long bytes = (long) (frames * 3 / 8) * PAGE_SIZE;
+            PCB a = engine.createProcess(1, bytes);
+            PCB b = engine.createProcess(2, bytes);
+            engine.beginRun();
+            long longs = bytes / Long.BYTES;
+
+            long t0 = System.nanoTime();
+            long expected = 0;
+            for (long i = 0; i < longs; i++) {
+                long v = i * 0x9E3779B97F4A7C15L;
+                mem.writeLong(a, i * Long.BYTES, v);
+                expected += v;
+            }
+            long fillNs = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            long sum = 0;
+            for (long i = 0; i < longs; i++)
+                sum += mem.readLong(a, i * Long.BYTES);
+            long sumNs = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            mem.copy(a, 0, b, 0, bytes);
+            long copyNs = System.nanoTime() - t0;
+
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+            t0 = System.nanoTime();
+            long sumB = 0;
+            for (long off = 0; off < bytes; off += BLOCK) {
+                block.clear();
+                block.limit((int) Math.min(BLOCK, bytes - off));
+                mem.read(b, off, block);
+                block.flip();
+                while (block.remaining() >= Long.BYTES)
+                    sumB += block.getLong();
+            }
+            long readNs = System.nanoTime() - t0;
+
+            // Fork de A: solo la fracción de su imagen que cabe en los marcos libres
+            PCB child = engine.fork(a, 3);
+            int forkPages = Math.min(a.pageCount, mm.freeFrameCount());
+            t0 = System.nanoTime();
+            for (int p = 0; p < forkPages; p++)
+                mem.writeLong(child, (long) p * PAGE_SIZE, -1L);
+            long forkNs = System.nanoTime() - t0;
+            long sumAfter = 0;
+            for (long i = 0; i < longs; i++)
+                sumAfter += mem.readLong(a, i * Long.BYTES);
+
+            // El hijo ve la copia: su primer long cambió y el segundo es el de A
+            boolean sums = sum == expected && sumB == expected && sumAfter == expected
+                    && (forkPages == 0 || mem.readLong(child, 0) == -1L)
+                    && mem.readLong(child, Long.BYTES) == 0x9E3779B97F4A7C15L;
+            boolean dirty = allDirty(a) && allDirty(b);
+
+            if (print)
+                System.out.printf("%-8s  %12.0f  %11.0f  %12.0f  %10.0f  %10.0f  %5s  %s%n", label,
+                        rate(bytes, fillNs), rate(bytes, sumNs), rate(bytes, copyNs), rate(bytes, readNs),
+                        rate((long) forkPages * PAGE_SIZE, forkNs), sums ? "sí" : "NO", dirty ? "sí" : "NO");
+        }
+    }
+
+    private static boolean allDirty(PCB pcb) {
+        for (PageTableEntry e : pcb.pageTable)
+            if (!e.dirty)
+                return false;
+        return true;
+    }
+
+    private static double rate(long bytes, long ns) {
+        return (ns == 0) ? 0 : bytes / 1e6 / (ns / 1e9);
+    }
+}
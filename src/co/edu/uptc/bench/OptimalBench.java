@@ -0,0 +1,139 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.io.PageTrace;
+import co.edu.uptc.model.BeladyOptimal;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.NextUseIndex;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ReuseDistanceProfiler;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase OptimalBench
+ * ------------------------------------------------------------
+ * Compara el reemplazo óptimo de Belady con LRU y FIFO sobre una traza
+ * grabada de una corrida del simulador.
+ *
+ * Primero verifica la implementación con la cadena clásica de 20
+ * referencias y 3 marcos (OPT=9, LRU=12, FIFO=15). Luego construye el
+ * índice de próximo uso en memoria directa y en un archivo mapeado, y para
+ * varios tamaños de memoria muestra los fallos de cada política (LRU sale
+ * de una sola pasada del ReuseDistanceProfiler).
+ *
+ * Columnas: marcos, fallos y tasa de OPT, fallos de LRU y FIFO, cuánto más
+ * falla LRU que OPT, tiempo de la pasada OPT y si OPT coincide entre el
+ * índice directo y el mapeado.
+ *
+ * Uso: java co.edu.uptc.bench.OptimalBench [procesos] [ticks]
+ */
+public class OptimalBench {
+
+    private static final int PAGE_SIZE = 4096;
+
+    public static void main(String[] args) throws Exception {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        classic();
+
+        Path file = Files.createTempFile("trace", ".bin");
+        Path spill = Files.createTempFile("nextuse", ".bin");
+        try {
+            record(file, procs, ticks);
+            try (PageTrace trace = PageTrace.open(file)) {
+                long t0 = System.nanoTime();
+                NextUseIndex direct = NextUseIndex.build(trace.count(), trace::keyAt, null);
+                long directNs = System.nanoTime() - t0;
+                t0 = System.nanoTime();
+                NextUseIndex mapped = NextUseIndex.build(trace.count(), trace::keyAt, spill);
+                long mappedNs = System.nanoTime() - t0;
+                ReuseDistanceProfiler lru = new ReuseDistanceProfiler();
+                trace.forEach(lru);
+
+                System.out.printf("%nReferencias=%d  páginas distintas=%d%n", trace.count(), direct.pages());
+                System.out.printf("Índice de próximo uso: directo %.0f ms, mapeado %.0f ms (%.0f MB)%n",
+                        directNs / 1e6, mappedNs / 1e6, trace.count() * 12 / 1e6);
+                BeladyOptimal.faults(direct, direct.pages() / 4); // calentamiento del JIT
+                System.out.println("   marcos   fallos OPT    tasa   fallos LRU  fallos FIFO  LRU/OPT  OPT(ms)  mapeado");
+                for (int i = 1; i <= 8; i++) {
+                    int frames = direct.pages() * i / 10;
+                    t0 = System.nanoTime();
+                    long opt = BeladyOptimal.faults(direct, frames);
+                    long optNs = System.nanoTime() - t0;
+                    boolean same = BeladyOptimal.faults(mapped, frames) == opt;
+                    long l = lru.misses(frames);
+                    System.out.printf("%9d  %11d  %6.4f  %11d  %11d  %7.2f  %7.0f  %s%n", frames, opt,
+                            (double) opt / trace.count(), l, fifo(direct, frames), (double) l / opt, optNs / 1e6,
+                            same ? "igual" : "DISTINTO");
+                }
+                direct.close();
+                mapped.close();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(spill);
+        }
+    }
+
+    /** Cadena clásica de los textos de sistemas operativos. */
+    private static void classic() throws Exception {
+        long[] refs = { 7, 0, 1, 2, 0, 3, 0, 4, 2, 3, 0, 3, 2, 1, 2, 0, 1, 7, 0, 1 };
+        try (NextUseIndex index = NextUseIndex.build(refs.length, i -> refs[(int) i], null)) {
+            ReuseDistanceProfiler lru = new ReuseDistanceProfiler();
+            for (long r : refs)
+                lru.access(r);
+            long opt = BeladyOptimal.faults(index, 3);
+            long l = lru.misses(3);
+            long f = fifo(index, 3);
+            System.out.printf("Cadena clásica, 3 marcos: OPT=%d LRU=%d FIFO=%d (%s)%n", opt, l, f,
+                    (opt == 9 && l == 12 && f == 15) ? "correcto" : "INCORRECTO");
+        }
+    }
+
+    /** FIFO con una cola circular de identificadores de página. */
+    private static long fifo(NextUseIndex index, int frames) {
+        if (frames == 0)
+            return index.count();
+        boolean[] resident = new boolean[index.pages()];
+        int[] queue = new int[frames];
+        int head = 0;
+        int size = 0;
+        long faults = 0;
+        for (long i = 0; i < index.count(); i++) {
+            int id = index.pageId(i);
+            if (resident[id])
+                continue;
+            faults++;
+            if (size == frames) {
+                resident[queue[head]] = false;
+                queue[head] = id;
+                head = (head + 1) % frames;
+            } else {
+                queue[(head + size++) % frames] = id;
+            }
+            resident[id] = true;
+        }
+        return faults;
+    }
+
+    /** Corre la simulación con memoria de sobra y graba sus referencias. */
+    private static void record(Path file, int procs, int ticks) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, 1 << 18);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 3);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 24, 800, 0.9, 33), 1000);
+        for (int pid = 1; pid <= procs; pid++)
+            engine.createProcess(pid, (long) (128 + (pid * 389) % 2400) * PAGE_SIZE);
+        try (PageTrace trace = PageTrace.create(file, PAGE_SIZE)) {
+            engine.setReferenceListener(trace);
+            engine.beginRun();
+            while (engine.tick() < ticks && engine.step()) {
+                // grabar
+            }
+            engine.setReferenceListener(null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.FrameStore;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.MemoryAccess;
+import co.edu.uptc.presenter.PageMerger;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase PageMergeBench
+ * ------------------------------------------------------------
+ * Mide el mezclador de páginas iguales sobre una carga multi-inquilino:
+ * cada proceso tiene páginas en cero (nunca escritas), páginas de
+ * "biblioteca" iguales en todos los procesos y páginas propias.
+ *
+ * Para cada presupuesto de páginas por tick se explora hasta completar una
+ * pasada y luego cada proceso escribe en algunas páginas mezcladas (se
+ * copian de nuevo). Al final se verifica que cada proceso lee su propio
+ * contenido.
+ *
+ * Columnas: presupuesto, ticks de la pasada, páginas mezcladas, marcos
+ * recuperados (y % de la memoria usada antes), CPU total del explorador,
+ * ns por página examinada, copias al escribir y si el contenido es correcto.
+ *
+ * Uso: java co.edu.uptc.bench.PageMergeBench [procesos] [páginas por proceso]
+ */
+public class PageMergeBench {
+
+    private static final int PAGE_SIZE = 4096;
+    /** Fracciones de páginas en cero y de biblioteca por proceso. */
+    private static final double ZERO = 0.2;
+    private static final double LIBRARY = 0.4;
+
+    public static void main(String[] args) {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int pages = args.length > 1 ? Integer.parseInt(args[1]) : 2048;
+
+        System.out.printf("Procesos=%d  páginas/proceso=%d  cero=%.0f%%  biblioteca=%.0f%%%n", procs, pages,
+                ZERO * 100, LIBRARY * 100);
+        run(procs, pages, 1024, false); // calentamiento del JIT
+        System.out.println("páginas/tick  ticks  mezcladas  recuperados        CPU(ms)  ns/página  copias  contenido");
+        for (int budget : new int[] { 64, 256, 1024, 4096 })
+            run(procs, pages, budget, true);
+    }
+
+    /** Valor de la palabra 'word' de la página: 0 en cero, común en biblioteca, propio si no. */
+    private static long value(int pid, int page, int pages, int word) {
+        if (page < pages * ZERO)
+            return 0;
+        long base = (page < pages * (ZERO + LIBRARY)) ? page : ((long) pid << 32) | page;
+        return (base + 1) * 0x9E3779B97F4A7C15L + word;
+    }
+
+    private static void run(int procs, int pages, int budget, boolean print) {
+        int frames = procs * pages;
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        FrameStore store = FrameStore.direct(pm);
+        mm.setFrameContents(store);
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, 1);
+        MemoryAccess mem = new MemoryAccess(engine, store);
+
+        PCB[] pcbs = new PCB[procs];
+        for (int i = 0; i < procs; i++)
+            pcbs[i] = engine.createProcess(i + 1, (long) pages * PAGE_SIZE);
+        engine.beginRun();
+        int words = PAGE_SIZE / Long.BYTES;
+        for (PCB pcb : pcbs)
+            for (int p = (int) Math.ceil(pages * ZERO); p < pages; p++)
+                for (int w = 0; w < words; w++)
+                    mem.writeLong(pcb, (long) p * PAGE_SIZE + (long) w * Long.BYTES, value(pcb.pid, p, pages, w));
+        int usedBefore = frames - mm.freeFrameCount();
+
+        PageMerger merger = new PageMerger(store, budget);
+        engine.setPageMerger(merger);
+        long ticks = 0;
+        while (merger.fullScans() == 0) {
+            merger.onTick(engine);
+            ticks++;
+        }
+        long reclaimed = merger.framesReclaimed();
+
+        // Cada proceso escribe la primera palabra de una de cada 16 páginas de biblioteca
+        long copiesBefore = mm.cowCopies();
+        for (PCB pcb : pcbs)
+            for (int p = (int) Math.ceil(pages * ZERO); p < pages * (ZERO + LIBRARY); p += 16)
+                mem.writeLong(pcb, (long) p * PAGE_SIZE, value(pcb.pid, p, pages, 0));
+        long copies = mm.cowCopies() - copiesBefore;
+
+        boolean correct = true;
+        for (PCB pcb : pcbs)
+            for (int p = 0; p < pages && correct; p++)
+                for (int w = 0; w < words; w += 61)
+                    if (mem.readLong(pcb, (long) p * PAGE_SIZE + (long) w * Long.BYTES) != value(pcb.pid, p, pages, w))
+                        correct = false;
+
+        if (print)
+            System.out.printf("%12d  %5d  %9d  %8d (%4.1f%%)  %8.1f  %9.0f  %6d  %s%n", budget, ticks,
+                    merger.pagesMerged(), reclaimed, 100.0 * reclaimed / usedBefore, merger.scanNanos() / 1e6,
+                    (double) merger.scanNanos() / merger.pagesScanned(), copies, correct ? "sí" : "NO");
+    }
+}
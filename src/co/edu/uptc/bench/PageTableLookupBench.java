@@ -0,0 +1,111 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.InvertedPageTableManager;
+import co.edu.uptc.model.MemoryManager;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+
+/**
+ * Clase PageTableLookupBench
+ * ------------------------------------------------------------
+ * Compara la tabla de páginas plana por proceso (SimpleMemoryManager) con la
+ * tabla invertida hashed (InvertedPageTableManager).
+ *
+ * Para dos escenarios (procesos completamente residentes, y procesos con un
+ * espacio lógico 8 veces mayor del que tienen cargado) mide:
+ * - ns por traducción con accesos aleatorios a páginas presentes.
+ * - Sondas promedio de la tabla invertida.
+ * - Memoria estimada de las tablas: la plana crece con el tamaño lógico de
+ * los procesos; la invertida solo con la cantidad de marcos.
+ *
+ * Uso: java co.edu.uptc.bench.PageTableLookupBench [marcos] [procesos]
+ */
+public class PageTableLookupBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int LOOKUPS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    /** Estimación de bytes por página en la tabla plana: PTE + referencia del arreglo + Integer del marco. */
+    private static final int FLAT_BYTES_PER_PAGE = 32 + 4 + 16;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+        int processes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        System.out.printf("Marcos=%d (%d MB)  procesos=%d  búsquedas=%,d%n",
+                frames, (long) frames * PAGE_SIZE >> 20, processes, LOOKUPS);
+        System.out.println("escenario   tabla       ns/traducción  sondas  memoria tablas");
+        scenario("residente", frames, processes, 1);
+        scenario("disperso", frames, processes, 8);
+    }
+
+    /**
+     * @param sparsity relación entre páginas lógicas y páginas cargadas por proceso
+     */
+    private static void scenario(String label, int frames, int processes, int sparsity) {
+        int resident = frames / processes;
+        int logicalPages = resident * sparsity;
+
+        PhysicalMemory flatPm = new PhysicalMemory(PAGE_SIZE, frames);
+        PhysicalMemory invPm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager flat = new SimpleMemoryManager(flatPm);
+        InvertedPageTableManager inverted = new InvertedPageTableManager(invPm);
+
+        PCB[] flatPcbs = load(flat, processes, logicalPages, resident, sparsity);
+        PCB[] invPcbs = load(inverted, processes, logicalPages, resident, sparsity);
+
+        // Direcciones lógicas (solo de páginas presentes) generadas una vez
+        int[] who = new int[LOOKUPS];
+        int[] addrs = new int[LOOKUPS];
+        long x = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < LOOKUPS; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            who[i] = (int) ((x >>> 40) % processes);
+            int page = (int) ((x >>> 8) % resident) * sparsity;
+            addrs[i] = page * PAGE_SIZE + (int) (x & (PAGE_SIZE - 1));
+        }
+
+        double flatNs = Double.MAX_VALUE;
+        double invNs = Double.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            flatNs = Math.min(flatNs, time(flat, flatPcbs, who, addrs));
+            inverted.resetCounters();
+            invNs = Math.min(invNs, time(inverted, invPcbs, who, addrs));
+        }
+
+        long flatBytes = (long) processes * logicalPages * FLAT_BYTES_PER_PAGE;
+        System.out.printf("%-10s  plana       %13.2f  %6s  %,11d KB%n", label, flatNs, "-", flatBytes >> 10);
+        System.out.printf("%-10s  invertida   %13.2f  %6.2f  %,11d KB%n", label, invNs,
+                inverted.averageProbes(), inverted.tableBytes() >> 10);
+    }
+
+    /** Crea los procesos y carga una de cada 'sparsity' páginas. */
+    private static PCB[] load(MemoryManager mm, int processes, int logicalPages, int resident, int sparsity) {
+        PCB[] pcbs = new PCB[processes];
+        for (int i = 0; i < processes; i++) {
+            pcbs[i] = new PCB(i + 1, logicalPages * PAGE_SIZE, PAGE_SIZE);
+            for (int p = 0; p < resident; p++) {
+                if (!mm.loadPage(pcbs[i], p * sparsity))
+                    throw new IllegalStateException("No hay marcos suficientes.");
+            }
+        }
+        return pcbs;
+    }
+
+    /** Ejecuta todas las traducciones y retorna ns por traducción. */
+    private static double time(MemoryManager mm, PCB[] pcbs, int[] who, int[] addrs) {
+        long acc = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < addrs.length; i++)
+            acc += mm.mapLogicalToPhysical(pcbs[who[i]], addrs[i]);
+        long t1 = System.nanoTime();
+        sink = acc;
+        return (t1 - t0) / (double) addrs.length;
+    }
+}
@@ -0,0 +1,205 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import co.edu.uptc.model.FrameContents;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PagePrefetcher;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.SwapDevice;
+import co.edu.uptc.model.SwapManager;
+import co.edu.uptc.model.Workload;
+import co.edu.uptc.model.WorkingSetTracker;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase PrefetchBench
+ * ------------------------------------------------------------
+ * Mide cuánto reduce el prefetch la espera por fallos de página de un
+ * proceso que recorre datos guardados en swap.
+ *
+ * El proceso tiene más páginas que marcos. Antes de cada corrida todas sus
+ * páginas se escriben al swap. Luego se recorren según el patrón
+ * (secuencial, stride 3 o aleatorio), con varios accesos por página. Un
+ * desalojador tipo reloj mantiene una reserva de marcos libres para que el
+ * prefetch tenga dónde cargar.
+ *
+ * Columnas: fallos por demanda, prefetch emitidos/útiles/desperdiciados,
+ * precisión, cobertura, espera total por páginas y tiempo total.
+ *
+ * El prefetch carga en el mismo hilo que atiende el fallo, así que aquí no
+ * oculta latencia: solo cambia cuántas lecturas del swap son por demanda.
+ * Con el archivo de swap en la caché de páginas del sistema, leer una
+ * página cuesta casi lo mismo que anticiparla.
+ *
+ * La segunda tabla usa el prefetch dentro de SimulationEngine, donde un
+ * fallo bloquea al proceso FAULT_PENALTY ticks: varios procesos recorren
+ * sus páginas (caben en memoria, llegan en frío) con admisión por conjunto
+ * de trabajo. Columnas: fallos, anticipadas emitidas/útiles/desperdiciadas,
+ * ticks perdidos esperando páginas (fallos × penalización), utilización de
+ * CPU y ticks hasta que terminan todos.
+ *
+ * Uso: java co.edu.uptc.bench.PrefetchBench [páginas] [marcos]
+ */
+public class PrefetchBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int ACCESSES_PER_PAGE = 256;
+    private static final int TRIGGER_CONFIDENCE = 2;
+
+    // --- Motor ---
+    private static final int ENGINE_FRAMES = 2048;
+    private static final int ENGINE_PROCESSES = 6;
+    private static final int ENGINE_PAGES = 256;
+    private static final int ENGINE_REFS_PER_PAGE = 64;
+    private static final int ENGINE_REFS_PER_TICK = 16;
+    private static final int FAULT_PENALTY = 4;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int pages = args.length > 0 ? Integer.parseInt(args[0]) : 8192;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        System.out.printf("Páginas=%d  marcos=%d  accesos/página=%d%n", pages, frames, ACCESSES_PER_PAGE);
+        run("secuencial", 16, pages, frames, false); // calentamiento del JIT
+        System.out.println("patrón      grado  fallos  emitidos   útiles  desperd.  precisión  cobertura  espera(ms)  total(ms)");
+        for (String pattern : new String[] { "secuencial", "stride3", "aleatorio" })
+            for (int degree : new int[] { 0, 4, 16, 64 })
+                run(pattern, degree, pages, frames, true);
+
+        System.out.printf("%nSimulación: marcos=%d  procesos=%d x %d páginas  penalización=%d ticks%n", ENGINE_FRAMES,
+                ENGINE_PROCESSES, ENGINE_PAGES, FAULT_PENALTY);
+        runEngine("secuencial", 16, false);
+        System.out.println("patrón      grado  fallos  emitidos   útiles  desperd.  ticks espera    CPU     ticks");
+        for (String pattern : new String[] { "secuencial", "stride3", "aleatorio" })
+            for (int degree : new int[] { 0, 4, 16, 64 })
+                runEngine(pattern, degree, true);
+    }
+
+    private static void runEngine(String pattern, int degree, boolean print) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, ENGINE_FRAMES);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, 8);
+        engine.setCores(2);
+        engine.setWorkload(new ScanWorkload(pattern), ENGINE_REFS_PER_TICK);
+        engine.setWorkingSetAdmission(new WorkingSetTracker(100), 8);
+        engine.setFaultPenaltyTicks(FAULT_PENALTY);
+        PagePrefetcher prefetcher = new PagePrefetcher(mm, null, pm, degree, TRIGGER_CONFIDENCE, 2);
+        engine.setPrefetcher(prefetcher);
+        for (int pid = 1; pid <= ENGINE_PROCESSES; pid++)
+            engine.createProcess(pid, (long) ENGINE_PAGES * PAGE_SIZE);
+        engine.beginRun();
+        while (engine.step()) {
+            // simular
+        }
+        if (!print)
+            return;
+        double cpu = engine.busyTicks() / (double) (engine.busyTicks() + engine.idleTicks());
+        System.out.printf("%-10s %6d  %6d  %8d  %7d  %8d  %12d  %5.1f%%  %8d%n", pattern, degree, engine.faults(),
+                prefetcher.issued(), prefetcher.useful(), prefetcher.wasted(), engine.faults() * FAULT_PENALTY,
+                100 * cpu, engine.tick());
+    }
+
+    /**
+     * Recorrido por proceso: ENGINE_REFS_PER_PAGE referencias a una página y
+     * luego la siguiente según el patrón (secuencial, stride 3 o al azar).
+     */
+    private static final class ScanWorkload implements Workload {
+
+        private final String pattern;
+
+        /** Por PID: { página actual, referencias hechas en ella, generador }. */
+        private final Map<Integer, long[]> state = new HashMap<>();
+
+        ScanWorkload(String pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public long nextAddress(PCB pcb) {
+            long[] st = state.computeIfAbsent(pcb.pid, pid -> new long[] { 0, 0, 0x9E3779B97F4A7C15L * pid });
+            if (st[1] == ENGINE_REFS_PER_PAGE) {
+                st[1] = 0;
+                switch (pattern) {
+                    case "secuencial" -> st[0] = (st[0] + 1) % pcb.pageCount;
+                    case "stride3" -> st[0] = (st[0] + 3) % pcb.pageCount;
+                    default -> {
+                        long x = st[2];
+                        x ^= x << 13;
+                        x ^= x >>> 7;
+                        x ^= x << 17;
+                        st[2] = x;
+                        st[0] = (x >>> 1) % pcb.pageCount;
+                    }
+                }
+            }
+            return st[0] * PAGE_SIZE + (st[1]++ * 16) % PAGE_SIZE;
+        }
+    }
+
+    private static void run(String pattern, int degree, int pages, int frames, boolean print) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        Path file = Files.createTempFile("bench-prefetch", ".bin");
+        try (SwapDevice device = new SwapDevice(file, PAGE_SIZE, pages, 256)) {
+            SwapManager swap = new SwapManager(mm, device, FrameContents.NONE);
+            PCB pcb = new PCB(1, pages * PAGE_SIZE, PAGE_SIZE);
+
+            // Llevar todas las páginas al swap
+            for (int p = 0; p < pages; p++) {
+                mm.loadPage(pcb, p);
+                pcb.pageTable[p].dirty = true;
+                swap.evictPage(pcb, p);
+            }
+            device.flush();
+
+            int lowWater = degree + 8;
+            PagePrefetcher prefetcher = new PagePrefetcher(mm, swap, pm, degree, TRIGGER_CONFIDENCE, 2);
+            int hand = 0;
+            long x = 0x2545F4914F6CDD1DL;
+            long acc = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < pages; i++) {
+                int page;
+                switch (pattern) {
+                    case "secuencial" -> page = i;
+                    case "stride3" -> page = (int) ((long) i * 3 % pages);
+                    default -> {
+                        x ^= x << 13;
+                        x ^= x >>> 7;
+                        x ^= x << 17;
+                        page = (int) ((x >>> 1) % pages);
+                    }
+                }
+                // Desalojo tipo reloj: mantener al menos 'lowWater' marcos libres
+                while (mm.freeFrameCount() < lowWater) {
+                    if (pcb.pageTable[hand].present && hand != page)
+                        prefetcher.evict(pcb, hand);
+                    hand = (hand + 1) % pages;
+                }
+                int base = page * PAGE_SIZE;
+                for (int a = 0; a < ACCESSES_PER_PAGE; a++) {
+                    long phys = prefetcher.access(pcb, base + (a * 16) % PAGE_SIZE);
+                    acc += phys ^ (acc << 1);
+                }
+            }
+            long total = System.nanoTime() - t0;
+            sink = acc;
+            prefetcher.release(pcb);
+
+            if (print)
+                System.out.printf("%-10s %6d  %6d  %8d  %7d  %8d  %8.1f%%  %8.1f%%  %10.1f  %9.1f%n",
+                        pattern, degree, prefetcher.demandFaults(), prefetcher.issued(), prefetcher.useful(),
+                        prefetcher.wasted(), 100 * prefetcher.accuracy(), 100 * prefetcher.coverage(),
+                        prefetcher.stallNanos() / 1e6, total / 1e6);
+            swap.discard(pcb);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.io.PageTrace;
+import co.edu.uptc.model.BeladyOptimal;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.NextUseIndex;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ReuseDistanceProfiler;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.replacement.ArcSimulator;
+import co.edu.uptc.model.replacement.ClockProSimulator;
+import co.edu.uptc.model.replacement.ClockSimulator;
+import co.edu.uptc.model.replacement.LruSimulator;
+import co.edu.uptc.model.replacement.ReplacementSimulator;
+import co.edu.uptc.model.replacement.TwoQueueSimulator;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase ReplacementPolicyBench
+ * ------------------------------------------------------------
+ * Compara la tasa de fallos de LRU, CLOCK, ARC, 2Q y CLOCK-Pro contra OPT
+ * en tres cargas:
+ * - hot+scan: un conjunto caliente con barridos secuenciales periódicos de
+ * páginas que no se repiten y que superan la memoria (LRU pierde el
+ * conjunto caliente en cada barrido).
+ * - loop: un ciclo de páginas algo mayor que la memoria mezclado con un
+ * conjunto caliente pequeño (el peor caso de LRU).
+ * - traza: referencias grabadas de una corrida del simulador con
+ * LocalityWorkload.
+ *
+ * Es el arnés de comparación: el motor usa ARC, 2Q y CLOCK-Pro a través de
+ * ReplacementPolicy (memory.replacement en los escenarios).
+ *
+ * Antes de medir verifica que LruSimulator da los mismos fallos que el
+ * ReuseDistanceProfiler en todos los tamaños.
+ *
+ * Columnas: marcos y tasa de fallos de OPT, LRU, CLOCK, ARC, 2Q y
+ * CLOCK-Pro. Al final de cada carga, ns por referencia de cada política
+ * (promedio de todos los tamaños).
+ *
+ * Uso: java co.edu.uptc.bench.ReplacementPolicyBench [referencias] [procesos] [ticks]
+ */
+public class ReplacementPolicyBench {
+
+    private static final int PAGE_SIZE = 4096;
+
+    private static final String[] NAMES = { "LRU", "CLOCK", "ARC", "2Q", "CLOCK-Pro" };
+
+    private static long seed = 0x2545F4914F6CDD1DL;
+
+    public static void main(String[] args) throws Exception {
+        int refs = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int procs = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+
+        long[] hotScan = hotScan(refs, 2000, 6000, 50_000);
+        run("hot+scan", hotScan, new int[] { 500, 1000, 1500, 2000, 2500, 3000 }, true);
+        run("loop", loop(refs, 3000, 200), new int[] { 500, 1000, 2000, 2800, 3200 }, false);
+
+        Path file = Files.createTempFile("trace", ".bin");
+        try {
+            record(file, procs, ticks);
+            try (PageTrace trace = PageTrace.open(file)) {
+                long[] keys = new long[(int) trace.count()];
+                for (int i = 0; i < keys.length; i++)
+                    keys[i] = trace.keyAt(i);
+                int distinct = distinct(keys);
+                int[] sizes = new int[6];
+                for (int i = 0; i < sizes.length; i++)
+                    sizes[i] = Math.max(16, distinct * (i + 1) / 12);
+                run("traza", keys, sizes, false);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Tabla de una carga: OPT y las políticas para cada tamaño. */
+    private static void run(String label, long[] keys, int[] sizes, boolean warmup) throws Exception {
+        if (warmup)
+            for (int p = 0; p < NAMES.length; p++)
+                feed(create(p, sizes[0]), keys);
+
+        ReuseDistanceProfiler profiler = new ReuseDistanceProfiler();
+        for (long k : keys)
+            profiler.access(k);
+        boolean lruOk = true;
+        for (int c : sizes)
+            lruOk &= feed(new LruSimulator(c), keys) == profiler.misses(c);
+
+        System.out.printf("%nCarga %s: referencias=%d  páginas distintas=%d  LRU vs perfil de reuso: %s%n",
+                label, keys.length, profiler.distinctPages(), lruOk ? "coincide" : "DISTINTO");
+        System.out.print("   marcos     OPT");
+        for (String n : NAMES)
+            System.out.printf("  %9s", n);
+        System.out.println();
+
+        long[] nanos = new long[NAMES.length];
+        try (NextUseIndex index = NextUseIndex.build(keys.length, i -> keys[(int) i], null)) {
+            for (int c : sizes) {
+                System.out.printf("%9d  %6.4f", c, (double) BeladyOptimal.faults(index, c) / keys.length);
+                for (int p = 0; p < NAMES.length; p++) {
+                    ReplacementSimulator sim = create(p, c);
+                    long t0 = System.nanoTime();
+                    feed(sim, keys);
+                    nanos[p] += System.nanoTime() - t0;
+                    System.out.printf("  %9.4f", sim.faultRate());
+                }
+                System.out.println();
+            }
+        }
+        System.out.print("  ns/ref        ");
+        for (long ns : nanos)
+            System.out.printf("  %9.1f", (double) ns / ((long) keys.length * sizes.length));
+        System.out.println();
+    }
+
+    private static ReplacementSimulator create(int policy, int capacity) {
+        return switch (policy) {
+        case 0 -> new LruSimulator(capacity);
+        case 1 -> new ClockSimulator(capacity);
+        case 2 -> new ArcSimulator(capacity);
+        case 3 -> new TwoQueueSimulator(capacity);
+        default -> new ClockProSimulator(capacity);
+        };
+    }
+
+    private static long feed(ReplacementSimulator sim, long[] keys) {
+        for (long k : keys)
+            sim.access(k);
+        return sim.faults();
+    }
+
+    /**
+     * Conjunto caliente de 'hot' páginas (80% de las referencias a su
+     * primera mitad) con un barrido de 'scan' páginas nuevas cada 'period'
+     * referencias.
+     */
+    private static long[] hotScan(int n, int hot, int scan, int period) {
+        long[] keys = new long[n];
+        long fresh = hot;
+        for (int i = 0; i < n;) {
+            if (i % period == period - 1) {
+                for (int s = 0; s < scan && i < n; s++)
+                    keys[i++] = fresh++;
+                continue;
+            }
+            long r = next();
+            int half = hot / 2;
+            keys[i++] = (r & 0xFF) < 205 ? Long.remainderUnsigned(r >>> 8, half)
+                    : half + Long.remainderUnsigned(r >>> 8, hot - half);
+        }
+        return keys;
+    }
+
+    /** Ciclo de 'length' páginas intercalado 1:1 con 'hot' páginas calientes. */
+    private static long[] loop(int n, int length, int hot) {
+        long[] keys = new long[n];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i & 1) == 0) {
+                keys[i] = Long.remainderUnsigned(next(), hot);
+            } else {
+                keys[i] = hot + pos;
+                pos = (pos + 1) % length;
+            }
+        }
+        return keys;
+    }
+
+    private static int distinct(long[] keys) {
+        ReuseDistanceProfiler p = new ReuseDistanceProfiler();
+        for (long k : keys)
+            p.access(k);
+        return (int) p.distinctPages();
+    }
+
+    private static long next() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return seed;
+    }
+
+    /** Corre la simulación con memoria de sobra y graba sus referencias. */
+    private static void record(Path file, int procs, int ticks) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, 1 << 18);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 3);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 24, 800, 0.9, 33), 1000);
+        for (int pid = 1; pid <= procs; pid++)
+            engine.createProcess(pid, (long) (128 + (pid * 389) % 2400) * PAGE_SIZE);
+        try (PageTrace trace = PageTrace.create(file, PAGE_SIZE)) {
+            engine.setReferenceListener(trace);
+            engine.beginRun();
+            while (engine.tick() < ticks && engine.step()) {
+                // grabar
+            }
+            engine.setReferenceListener(null);
+        }
+    }
+}
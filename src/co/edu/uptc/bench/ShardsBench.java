@@ -0,0 +1,108 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.io.PageTrace;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ReuseDistanceProfiler;
+import co.edu.uptc.model.ShardsProfiler;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase ShardsBench
+ * ------------------------------------------------------------
+ * Compara la curva de tasa de fallos aproximada por muestreo (SHARDS de
+ * tamaño fijo) con la exacta del ReuseDistanceProfiler sobre la misma
+ * traza, grabada de una corrida del simulador.
+ *
+ * Columnas: máximo de páginas muestreadas, tasa de muestreo final,
+ * referencias procesadas, tiempo y ns por referencia, error absoluto medio
+ * y máximo frente a la curva exacta (en puntos de tasa de fallos), error
+ * estimado medio y fracción de puntos dentro de dos errores estimados.
+ * La primera fila es el perfilador exacto.
+ *
+ * Uso: java co.edu.uptc.bench.ShardsBench [procesos] [ticks]
+ */
+public class ShardsBench {
+
+    private static final int PAGE_SIZE = 4096;
+    /** Puntos de la curva comparados. */
+    private static final int POINTS = 100;
+
+    public static void main(String[] args) throws Exception {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        Path file = Files.createTempFile("trace", ".bin");
+        try {
+            record(file, procs, ticks);
+            try (PageTrace trace = PageTrace.open(file)) {
+                ReuseDistanceProfiler exact = new ReuseDistanceProfiler();
+                long t0 = System.nanoTime();
+                trace.forEach(exact);
+                long exactNs = System.nanoTime() - t0;
+                double[] truth = exact.missRatioCurve();
+                int bin = Math.max(1, (int) (exact.distinctPages() / POINTS));
+
+                System.out.printf("Referencias=%d  páginas distintas=%d  intervalo=%d marcos%n", exact.references(),
+                        exact.distinctPages(), bin);
+                shards(trace, 1024, bin, truth, false); // calentamiento del JIT
+                System.out.println("muestras      tasa   procesadas      ms  ns/ref  error medio  máximo  estimado  dentro");
+                System.out.printf("%-8s  %8.5f  %11d  %6.0f  %6.1f  %11s  %6s  %8s  %6s%n", "exacto", 1.0,
+                        exact.references(), exactNs / 1e6, (double) exactNs / exact.references(), "-", "-", "-", "-");
+                for (int samples : new int[] { 1024, 4096, 16384, 65536 })
+                    shards(trace, samples, bin, truth, true);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Corre la simulación con memoria de sobra y graba sus referencias. */
+    private static void record(Path file, int procs, int ticks) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, 1 << 20);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 3);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 64, 2000, 0.9, 45), 2000);
+        for (int pid = 1; pid <= procs; pid++)
+            engine.createProcess(pid, (long) (256 + (pid * 997) % 4800) * PAGE_SIZE);
+        try (PageTrace trace = PageTrace.create(file, PAGE_SIZE)) {
+            engine.setReferenceListener(trace);
+            engine.beginRun();
+            while (engine.tick() < ticks && engine.step()) {
+                // grabar
+            }
+            engine.setReferenceListener(null);
+        }
+    }
+
+    private static void shards(PageTrace trace, int samples, int bin, double[] truth, boolean print) {
+        ShardsProfiler profiler = new ShardsProfiler(samples, 1.0, bin);
+        long t0 = System.nanoTime();
+        trace.forEach(profiler);
+        long ns = System.nanoTime() - t0;
+
+        double[] curve = profiler.missRatioCurve();
+        double[] errors = profiler.missRatioErrors();
+        double sumErr = 0;
+        double maxErr = 0;
+        double sumEst = 0;
+        int inside = 0;
+        for (int b = 1; b <= POINTS; b++) {
+            int frames = (int) Math.min(truth.length - 1, (long) b * bin);
+            int i = Math.min(b, curve.length - 1);
+            double err = Math.abs(curve[i] - truth[frames]);
+            sumErr += err;
+            maxErr = Math.max(maxErr, err);
+            sumEst += errors[i];
+            if (err <= 2 * errors[i])
+                inside++;
+        }
+        if (print)
+            System.out.printf("%-8d  %8.5f  %11d  %6.0f  %6.1f  %11.4f  %6.4f  %8.4f  %5.0f%%%n", samples,
+                    profiler.rate(), profiler.sampledReferences(), ns / 1e6, (double) ns / profiler.references(),
+                    sumErr / POINTS, maxErr, sumEst / POINTS, 100.0 * inside / POINTS);
+    }
+}
@@ -0,0 +1,107 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.MemoryFootprint;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.WorkingSetTracker;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase SharedSegmentBench
+ * ------------------------------------------------------------
+ * Procesos que mapean una biblioteca compartida y un segmento de memoria
+ * compartida, frente a los mismos procesos con copias privadas.
+ *
+ * Primera tabla (todos admitidos): marcos ocupados y sumas de RSS, PSS y
+ * USS. Con segmentos, la suma de PSS coincide con los marcos ocupados; la
+ * suma de RSS es lo que se reportaría sin contar lo compartido.
+ *
+ * Segunda tabla: la misma carga simulada con admisión por conjunto de
+ * trabajo en poca memoria (fallos, desalojos de páginas compartidas),
+ * hasta que terminan todos. Se verifica que al final no quedan marcos ni
+ * acoples pendientes.
+ *
+ * Uso: java co.edu.uptc.bench.SharedSegmentBench [procesos]
+ */
+public class SharedSegmentBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int PRIVATE_PAGES = 40;
+    private static final int LIB_PAGES = 120;
+    private static final int SHM_PAGES = 60;
+
+    public static void main(String[] args) {
+        int procs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        System.out.printf("Procesos=%d  privadas=%d  biblioteca=%d  shm=%d (páginas)%n", procs, PRIVATE_PAGES,
+                LIB_PAGES, SHM_PAGES);
+        System.out.println("modo          marcos  suma RSS  suma PSS  suma USS  admisión(ms)");
+        footprint("privado", procs, false);
+        footprint("compartido", procs, true);
+
+        simulate(procs, true, false); // calentamiento del JIT
+        System.out.println();
+        System.out.println("modo          ticks  fallos      ms  libre al final");
+        simulate(procs, false, true);
+        simulate(procs, true, true);
+    }
+
+    private static SimulationEngine create(int procs, int frames, boolean shared) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 1);
+        if (shared) {
+            engine.createSegment("libc", (long) LIB_PAGES * PAGE_SIZE);
+            engine.createSegment("shm", (long) SHM_PAGES * PAGE_SIZE);
+        }
+        for (int pid = 1; pid <= procs; pid++) {
+            PCB pcb = engine.createProcess(pid, (long) (PRIVATE_PAGES + LIB_PAGES + SHM_PAGES) * PAGE_SIZE);
+            if (shared) {
+                engine.attach(pcb, "libc", PRIVATE_PAGES);
+                engine.attach(pcb, "shm", PRIVATE_PAGES + LIB_PAGES);
+            }
+        }
+        return engine;
+    }
+
+    private static void footprint(String label, int procs, boolean shared) {
+        int frames = procs * (PRIVATE_PAGES + LIB_PAGES + SHM_PAGES);
+        SimulationEngine engine = create(procs, frames, shared);
+        long t0 = System.nanoTime();
+        engine.beginRun();
+        long ns = System.nanoTime() - t0;
+
+        long rss = 0;
+        long uss = 0;
+        double pss = 0;
+        for (PCB pcb : engine.processes()) {
+            MemoryFootprint fp = engine.footprint(pcb);
+            rss += fp.rssPages;
+            pss += fp.pssPages;
+            uss += fp.ussPages;
+        }
+        int used = frames - engine.memoryManager().freeFrameCount();
+        System.out.printf("%-12s %7d  %8d  %8.0f  %8d  %12.2f%n", label, used, rss, pss, uss, ns / 1e6);
+    }
+
+    private static void simulate(int procs, boolean shared, boolean print) {
+        int frames = procs * PRIVATE_PAGES / 4 + LIB_PAGES + SHM_PAGES;
+        SimulationEngine engine = create(procs, frames, shared);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 8, 200, 0.95, 7), 16);
+        engine.setFaultPenaltyTicks(1);
+        engine.setWorkingSetAdmission(new WorkingSetTracker(40), 8);
+        long t0 = System.nanoTime();
+        engine.beginRun();
+        while (engine.step()) {
+            // hasta que terminen todos
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        boolean clean = engine.memoryManager().freeFrameCount() == frames;
+        if (shared)
+            clean &= engine.segment("libc").attachCount == 0 && engine.segment("shm").residentPages() == 0;
+        if (print)
+            System.out.printf("%-12s %6d  %6d  %6d  %s%n", shared ? "compartido" : "privado", engine.tick(),
+                    engine.faults(), ms, clean ? "sí" : "NO");
+    }
+}
@@ -0,0 +1,98 @@
+package co.edu.uptc.bench;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import co.edu.uptc.io.StatsFormat;
+import co.edu.uptc.io.TickStatsWriter;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase StatsWriterBench
+ * ------------------------------------------------------------
+ * Mide el costo de TickStatsWriter.
+ *
+ * 1. Escritor aislado: millones de filas por formato (CSV, JSONL, con y sin
+ * gzip), reportando ns por fila, bytes en disco y bytes asignados en el heap
+ * por fila (debe ser ~0).
+ * 2. Simulación sin interfaz (cientos de miles de ticks) con y sin estadísticas.
+ *
+ * Uso: java co.edu.uptc.bench.StatsWriterBench [filas]
+ */
+public class StatsWriterBench {
+
+    private static final int BUFFER = 1 << 16;
+    private static final int FLUSH_EVERY = 4096;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.printf("Escritor aislado: %,d filas%n", rows);
+        System.out.println("formato      ns/fila   MB en disco   bytes heap/fila");
+        writerOnly(StatsFormat.CSV, false, 200_000, false); // calentamiento del JIT
+        for (StatsFormat f : StatsFormat.values()) {
+            writerOnly(f, false, rows, true);
+            writerOnly(f, true, rows, true);
+        }
+
+        System.out.println();
+        System.out.println("Simulación sin interfaz");
+        System.out.println("salida               ticks      ms    ns/tick");
+        simulate(null, false);
+        simulate(StatsFormat.CSV, false);
+        simulate(StatsFormat.JSONL, true);
+    }
+
+    private static void writerOnly(StatsFormat format, boolean gzip, int rows, boolean print) throws Exception {
+        Path file = Files.createTempFile("stats", gzip ? ".gz" : ".txt");
+        try {
+            com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long tid = Thread.currentThread().threadId();
+            long t0;
+            long a0;
+            long bytes;
+            try (TickStatsWriter w = new TickStatsWriter(file, format, gzip, BUFFER, FLUSH_EVERY)) {
+                a0 = mx.getThreadAllocatedBytes(tid);
+                t0 = System.nanoTime();
+                for (int i = 0; i < rows; i++)
+                    w.record(i, 1000 - (i & 511), (i & 1023) / 1024.0, i & 15, (i & 7) == 0 ? -1 : i & 63,
+                            i & 1, (i >>> 3) & 1, i & 3);
+                t0 = System.nanoTime() - t0;
+                a0 = mx.getThreadAllocatedBytes(tid) - a0;
+            }
+            bytes = Files.size(file);
+            if (print)
+                System.out.printf("%-5s %-5s %8.1f   %11.1f   %15.3f%n", format, gzip ? "gzip" : "", t0 / (double) rows,
+                        bytes / 1e6, a0 / (double) rows);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void simulate(StatsFormat format, boolean gzip) throws Exception {
+        PhysicalMemory pm = new PhysicalMemory(1024, 256);
+        SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, 300);
+        engine.setIoBlocking(0.05, 5, 3);
+        for (int pid = 1; pid <= 60; pid++)
+            engine.createProcess(pid, (16 + pid % 48) * 1024);
+
+        Path file = Files.createTempFile("stats", ".out");
+        try (TickStatsWriter w = (format == null) ? null
+                : new TickStatsWriter(file, format, gzip, BUFFER, FLUSH_EVERY)) {
+            engine.setStatsWriter(w);
+            long t0 = System.nanoTime();
+            while (engine.step()) {
+                // hasta que terminen todos los procesos
+            }
+            long ns = System.nanoTime() - t0;
+            String label = (format == null) ? "sin estadísticas" : format + (gzip ? "+gzip" : "");
+            System.out.printf("%-17s %9d  %6.0f  %8.1f%n", label, engine.tick(), ns / 1e6,
+                    ns / (double) engine.tick());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uptc.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import co.edu.uptc.model.FrameContents;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.SwapDevice;
+import co.edu.uptc.model.SwapManager;
+
+/**
+ * Clase SwapOvercommitBench
+ * ------------------------------------------------------------
+ * Mide el peso del tráfico de swap a medida que crece la sobresuscripción
+ * (páginas de todos los procesos / marcos físicos).
+ *
+ * Los procesos se ejecutan por turnos. Si el proceso de turno no está en
+ * memoria, se suspenden los residentes más antiguos (swap-out) hasta que
+ * quepa, y luego se reanuda (swap-in). Cada turno emite accesos aleatorios
+ * y una fracción de ellos marca la página como modificada.
+ *
+ * Uso: java co.edu.uptc.bench.SwapOvercommitBench [fracciónEscrituras]
+ */
+public class SwapOvercommitBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUM_FRAMES = 1024;
+    private static final int PAGES_PER_PROCESS = 64;
+    private static final int QUANTA = 4_000;
+    private static final int ACCESSES_PER_QUANTUM = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        double writeFraction = args.length > 0 ? Double.parseDouble(args[0]) : 0.3;
+        System.out.printf("Marcos=%d  páginas/proceso=%d  escrituras=%.0f%%%n",
+                NUM_FRAMES, PAGES_PER_PROCESS, writeFraction * 100);
+        System.out.println("sobresusc.  MB escritos  MB leídos  lat.esc(µs)  lat.lec(µs)  cola máx  swap+admisión");
+        for (double ratio : new double[] { 0.75, 1.0, 1.5, 2.0, 4.0 })
+            run(ratio, writeFraction);
+    }
+
+    private static void run(double ratio, double writeFraction) throws Exception {
+        int processes = (int) Math.round(ratio * NUM_FRAMES / PAGES_PER_PROCESS);
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, NUM_FRAMES);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        Path file = Files.createTempFile("bench-swap", ".bin");
+        long computeNanos = 0;
+        try (SwapDevice device = new SwapDevice(file, PAGE_SIZE, processes * PAGES_PER_PROCESS, 256)) {
+            SwapManager swap = new SwapManager(mm, device, FrameContents.NONE);
+            PCB[] procs = new PCB[processes];
+            for (int i = 0; i < processes; i++)
+                procs[i] = new PCB(i + 1, PAGES_PER_PROCESS * PAGE_SIZE, PAGE_SIZE);
+
+            Deque<PCB> resident = new ArrayDeque<>();
+            long x = 0x2545F4914F6CDD1DL;
+            int writeThreshold = (int) (writeFraction * 1024);
+            long t0 = System.nanoTime();
+            for (int q = 0; q < QUANTA; q++) {
+                PCB pcb = procs[q % processes];
+                if (!pcb.pageTable[0].present) {
+                    while (!swap.swapIn(pcb))
+                        swap.swapOut(resident.pollFirst());
+                    resident.addLast(pcb);
+                }
+                long c0 = System.nanoTime();
+                for (int a = 0; a < ACCESSES_PER_QUANTUM; a++) {
+                    x ^= x << 13;
+                    x ^= x >>> 7;
+                    x ^= x << 17;
+                    int addr = (int) ((x >>> 33) % (PAGES_PER_PROCESS * PAGE_SIZE));
+                    mm.mapLogicalToPhysical(pcb, addr);
+                    if ((x & 1023) < writeThreshold)
+                        pcb.pageTable[addr / PAGE_SIZE].dirty = true;
+                }
+                computeNanos += System.nanoTime() - c0;
+            }
+            device.flush();
+            long total = System.nanoTime() - t0;
+
+            System.out.printf("%9.2fx  %10.1f  %9.1f  %11.1f  %11.1f  %8d  %6.1f%% del tiempo%n",
+                    ratio, device.bytesWritten() / 1e6, device.bytesRead() / 1e6,
+                    device.averageWriteMicros(), device.averageReadMicros(), device.maxQueueDepth(),
+                    100.0 * (total - computeNanos) / total);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package co.edu.uptc.bench;
+
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.TieredMemoryManager;
+import co.edu.uptc.presenter.SimulationEngine;
+import co.edu.uptc.presenter.TierMigrator;
+
+/**
+ * Clase TieredMemoryBench
+ * ------------------------------------------------------------
+ * Compara la memoria por niveles (TieredMemoryManager) con y sin
+ * migración de páginas calientes (TierMigrator).
+ *
+ * Varios procesos corren a la vez (un núcleo por proceso) con una carga
+ * de localidad que se mueve por fases; entre todos ocupan casi toda la
+ * memoria, pero solo un cuarto de los marcos es DRAM (90 ns) y el resto es
+ * CXL (250 ns). Sin migración, cada página queda en el nivel donde la puso
+ * su primer fallo (first-touch). Como referencia se corren también toda la
+ * memoria en DRAM y toda en CXL.
+ *
+ * Columnas: configuración, páginas migradas por tick (presupuesto),
+ * proporción de accesos servidos por DRAM, latencia media por acceso,
+ * subidas, bajadas y subidas bloqueadas, MB copiados entre niveles y ms de
+ * CPU del migrador. La última fila exige 4 muestras seguidas con acceso
+ * para subir una página (menos subidas por referencias sueltas).
+ *
+ * Uso: java co.edu.uptc.bench.TieredMemoryBench [ticks]
+ */
+public class TieredMemoryBench {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int FRAMES = 1024;
+    private static final int FAST_FRAMES = FRAMES / 4;
+    private static final long DRAM_NS = 90;
+    private static final long CXL_NS = 250;
+    private static final int PROCESSES = 8;
+    private static final int PAGES_PER_PROCESS = 120;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        System.out.printf("Marcos=%d (DRAM %d, CXL %d)  procesos=%d x %d páginas  ticks=%d%n", FRAMES, FAST_FRAMES,
+                FRAMES - FAST_FRAMES, PROCESSES, PAGES_PER_PROCESS, ticks);
+        run("calentamiento", 2, 16, 2, ticks / 4, false);
+        System.out.println("configuración    pág/tick  aciertos DRAM  latencia(ns)  subidas  bajadas  bloqueadas"
+                + "  MB migr.  CPU(ms)");
+        run("solo DRAM", 0, 0, 2, ticks, true);
+        run("solo CXL", 1, 0, 2, ticks, true);
+        run("first-touch", 2, 0, 2, ticks, true);
+        for (int budget : new int[] { 1, 4, 16, 64 })
+            run("migración", 2, budget, 2, ticks, true);
+        run("migración h=4", 2, 16, 4, ticks, true);
+    }
+
+    /**
+     * @param tiers      0 = toda DRAM, 1 = toda CXL, 2 = DRAM + CXL
+     * @param budget     páginas migradas por tick (0 = sin migración)
+     * @param hotSamples muestras seguidas con acceso para subir una página
+     */
+    private static void run(String label, int tiers, int budget, int hotSamples, int ticks, boolean print) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, FRAMES);
+        TieredMemoryManager mm;
+        if (tiers == 0)
+            mm = new TieredMemoryManager(new SimpleMemoryManager(pm), pm, new String[] { "DRAM" },
+                    new int[] { FRAMES }, new long[] { DRAM_NS });
+        else if (tiers == 1)
+            mm = new TieredMemoryManager(new SimpleMemoryManager(pm), pm, new String[] { "CXL" },
+                    new int[] { FRAMES }, new long[] { CXL_NS });
+        else
+            mm = new TieredMemoryManager(new SimpleMemoryManager(pm), pm, new String[] { "DRAM", "CXL" },
+                    new int[] { FAST_FRAMES, FRAMES - FAST_FRAMES }, new long[] { DRAM_NS, CXL_NS });
+
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, 1_000_000);
+        engine.setCores(PROCESSES);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 16, 20_000, 0.95, 7), 64);
+        TierMigrator migrator = null;
+        if (budget > 0) {
+            migrator = new TierMigrator(mm, FRAMES / 8, budget, hotSamples, 4);
+            engine.setTierMigrator(migrator);
+        }
+        for (int pid = 1; pid <= PROCESSES; pid++)
+            engine.createProcess(pid, (long) PAGES_PER_PROCESS * PAGE_SIZE);
+        engine.beginRun();
+        while (engine.tick() < ticks && engine.step()) {
+            // simular
+        }
+        if (!print)
+            return;
+
+        double hits = (tiers == 1) ? 0 : mm.tierHitRatio();
+        if (migrator == null) {
+            System.out.printf("%-15s  %8s  %12.1f%%  %12.1f  %7s  %7s  %10s  %8s  %7s%n", label, "-", 100 * hits,
+                    mm.averageAccessLatencyNs(), "-", "-", "-", "-", "-");
+        } else {
+            System.out.printf("%-15s  %8d  %12.1f%%  %12.1f  %7d  %7d  %10d  %8.1f  %7.1f%n", label, budget,
+                    100 * hits, mm.averageAccessLatencyNs(), migrator.promotions(), migrator.demotions(),
+                    migrator.blockedPromotions(), migrator.bytesMigrated(PAGE_SIZE) / 1e6,
+                    migrator.scanNanos() / 1e6);
+        }
+    }
+}
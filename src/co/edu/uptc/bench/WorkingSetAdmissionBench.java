@@ -0,0 +1,75 @@
+package co.edu.uptc.bench;
+
+import java.util.Random;
+
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SimpleMemoryManager;
+import co.edu.uptc.model.WorkingSetTracker;
+import co.edu.uptc.presenter.MediumTermScheduler;
+import co.edu.uptc.presenter.SimulationEngine;
+
+/**
+ * Clase WorkingSetAdmissionBench
+ * ------------------------------------------------------------
+ * Compara la admisión todo-o-nada con la admisión por conjunto de trabajo
+ * (con y sin planificador de mediano plazo) bajo sobresuscripción.
+ *
+ * Todos los procesos referencian memoria con localidad por fases, sufren
+ * ráfagas de E/S (quedan WAITING) y un fallo de página bloquea al proceso.
+ * Con más procesos residentes, la CPU tiene a quién ejecutar mientras otros
+ * esperan; con demasiados, los fallos dominan y el planificador de mediano
+ * plazo suspende procesos.
+ *
+ * Uso: java co.edu.uptc.bench.WorkingSetAdmissionBench [marcos] [procesos]
+ */
+public class WorkingSetAdmissionBench {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int TICKS_PER_PAGE = 4;
+    private static final long MAX_TICKS = 2_000_000;
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 128;
+        int processes = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        System.out.printf("Marcos=%d  procesos=%d%n", frames, processes);
+        System.out.println("modo                      ticks  terminados  proc/1000 ticks  uso CPU  fallos  suspensiones");
+        run("todo-o-nada", frames, processes, false, false);
+        run("conjunto de trabajo", frames, processes, true, false);
+        run("conj. trabajo + PFF", frames, processes, true, true);
+    }
+
+    private static void run(String label, int frames, int processes, boolean workingSet, boolean pff) {
+        PhysicalMemory pm = new PhysicalMemory(PAGE_SIZE, frames);
+        SimpleMemoryManager mm = new SimpleMemoryManager(pm);
+        SimulationEngine engine = new SimulationEngine(pm, mm, null, TICKS_PER_PAGE);
+        engine.setWorkload(new LocalityWorkload(PAGE_SIZE, 6, 400, 0.99, 42), 8);
+        engine.setFaultPenaltyTicks(2);
+        engine.setIoBlocking(0.2, 8, 7);
+
+        MediumTermScheduler mts = null;
+        if (workingSet) {
+            WorkingSetTracker tracker = new WorkingSetTracker(50);
+            engine.setWorkingSetAdmission(tracker, 6);
+            if (pff) {
+                mts = new MediumTermScheduler(tracker.window(), 0.05, 0.5);
+                engine.setMediumTermScheduler(mts);
+            }
+        }
+
+        Random sizes = new Random(1);
+        for (int pid = 1; pid <= processes; pid++)
+            engine.createProcess(pid, (8 + sizes.nextInt(frames / 2)) * PAGE_SIZE);
+
+        while (engine.tick() < MAX_TICKS && engine.step()) {
+            // avanzar hasta que no quede nada por ejecutar
+        }
+
+        long ticks = engine.tick();
+        System.out.printf("%-22s %8d  %10d  %15.2f  %6.1f%%  %6d  %12d%n",
+                label, ticks, engine.terminations(), 1000.0 * engine.terminations() / Math.max(1, ticks),
+                100.0 * engine.busyTicks() / Math.max(1, ticks), engine.faults(),
+                (mts == null) ? 0 : mts.suspensions());
+    }
+}
@@ -0,0 +1,186 @@
+package co.edu.uptc.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Clase EventLog
+ * ------------------------------------------
+ * Registro binario de solo anexado con los eventos de una sesión.
+ *
+ * Formato (little-endian):
+ * - Encabezado de HEADER_BYTES: magia "SMEV", versión y una huella de la
+ * configuración (para no reproducir un registro sobre otra memoria).
+ * - Registros de RECORD_BYTES: tipo (ordinal de EventType, 1 byte), tick en
+ * que ocurrió (long) y argumento (long; dos enteros se empaquetan como
+ * a << 32 | b).
+ *
+ * Cada registro se escribe con una sola llamada al FileChannel, así que lo
+ * anotado sobrevive aunque la aplicación termine de forma abrupta. Un
+ * registro incompleto al final del archivo se ignora al leer.
+ *
+ * Escritura: EventLog.create(...) y append(...). Lectura: EventLog.open(...)
+ * y next() / type() / tick() / arg().
+ */
+public class EventLog implements AutoCloseable {
+
+    /** "SMEV" en little-endian. */
+    public static final int MAGIC = 0x56454D53;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 17;
+
+    private static final EventType[] TYPES = EventType.values();
+
+    // --- Escritura ---
+    private final FileChannel channel;
+    private final ByteBuffer record;
+
+    // --- Lectura ---
+    private final MappedByteBuffer in;
+    private EventType type;
+    private long tick;
+    private long arg;
+
+    private final long config;
+    private long records;
+
+    private EventLog(FileChannel channel, MappedByteBuffer in, long config) {
+        this.channel = channel;
+        this.in = in;
+        this.config = config;
+        this.record = (channel != null) ? ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN) : null;
+    }
+
+    /**
+     * Crea (o reemplaza) un registro y escribe su encabezado.
+     *
+     * @param file   archivo destino
+     * @param config huella de la configuración de la simulación
+     * @return registro abierto para anexar
+     * @throws IOException si no se puede crear el archivo
+     */
+    public static EventLog create(Path file, long config) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(config).flip();
+            while (header.hasRemaining())
+                ch.write(header);
+        } catch (IOException ex) {
+            ch.close();
+            throw ex;
+        }
+        return new EventLog(ch, null, config);
+    }
+
+    /**
+     * Abre un registro para leerlo (se mapea completo en memoria).
+     *
+     * @param file archivo escrito con create(...)
+     * @return registro posicionado antes del primer evento
+     * @throws IOException              si no se puede leer
+     * @throws IllegalArgumentException si el archivo no es un registro válido
+     */
+    public static EventLog open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Registro de eventos demasiado grande.");
+            MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.capacity() < HEADER_BYTES || in.getInt(0) != MAGIC)
+                throw new IllegalArgumentException("El archivo no es un registro de eventos del simulador.");
+            if (in.getInt(4) != VERSION)
+                throw new IllegalArgumentException("Versión de registro no soportada: " + in.getInt(4) + ".");
+            in.position(HEADER_BYTES);
+            return new EventLog(null, in, in.getLong(8));
+        }
+    }
+
+    /** @return huella de configuración del encabezado */
+    public long config() {
+        return config;
+    }
+
+    /** @return registros anexados o leídos hasta ahora */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Anexa un evento.
+     *
+     * @param type tipo de evento
+     * @param tick tick de la simulación en que ocurrió
+     * @param arg  argumento (ver pack(...))
+     * @throws IOException si falla la escritura
+     */
+    public void append(EventType type, long tick, long arg) throws IOException {
+        if (channel == null)
+            throw new IllegalStateException("El registro se abrió solo para lectura.");
+        record.clear();
+        record.put((byte) type.ordinal()).putLong(tick).putLong(arg).flip();
+        while (record.hasRemaining())
+            channel.write(record);
+        records++;
+    }
+
+    /**
+     * Avanza al siguiente evento.
+     *
+     * @return false si no quedan registros completos
+     */
+    public boolean next() {
+        if (in == null)
+            throw new IllegalStateException("El registro se abrió solo para escritura.");
+        if (in.remaining() < RECORD_BYTES)
+            return false;
+        int t = in.get() & 0xFF;
+        if (t >= TYPES.length)
+            throw new IllegalArgumentException("Tipo de evento desconocido: " + t + ".");
+        type = TYPES[t];
+        tick = in.getLong();
+        arg = in.getLong();
+        records++;
+        return true;
+    }
+
+    public EventType type() {
+        return type;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public long arg() {
+        return arg;
+    }
+
+    /** Primer entero de un argumento empaquetado. */
+    public int argHigh() {
+        return (int) (arg >> 32);
+    }
+
+    /** Segundo entero de un argumento empaquetado. */
+    public int argLow() {
+        return (int) arg;
+    }
+
+    /** Empaqueta dos enteros en un argumento. */
+    public static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+}
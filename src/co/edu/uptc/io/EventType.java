@@ -0,0 +1,31 @@
+package co.edu.uptc.io;
+
+/**
+ * Enum EventType
+ * ------------------------------------------
+ * Tipos de registro de un EventLog: uno por método de MemoryView.Listener,
+ * más END, que cierra la sesión con el estado final.
+ *
+ * El orden de las constantes es parte del formato del archivo (se guarda el
+ * ordinal): solo se agregan constantes al final.
+ */
+public enum EventType {
+
+    CREATE_PROCESS,
+    ADMIT_PROCESS,
+    SUSPEND_PROCESS,
+    RESUME_PROCESS,
+    TERMINATE_PROCESS,
+    ACCESS_ADDRESS,
+    SELECT_PROCESS,
+    START_SIMULATION,
+    PAUSE_SIMULATION,
+    RESUME_SIMULATION,
+    STOP_SIMULATION,
+
+    /** La simulación se detuvo sola porque no quedaban procesos (sin argumento). */
+    SIMULATION_FINISHED,
+
+    /** Fin de la sesión; el argumento es el resumen del estado final. */
+    END
+}
@@ -0,0 +1,175 @@
+package co.edu.uptc.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import co.edu.uptc.model.ReferenceListener;
+
+/**
+ * Clase PageTrace
+ * ------------------------------------------
+ * Traza binaria de referencias a páginas, para perfilar o comparar
+ * políticas de reemplazo sin volver a simular.
+ *
+ * Formato (little-endian):
+ * - Encabezado de HEADER_BYTES: magia "SMPT", versión y tamaño de página.
+ * - Un long por referencia: pid << 32 | página (ver key(...)).
+ *
+ * Escritura: PageTrace.create(...) devuelve un grabador que implementa
+ * ReferenceListener (se conecta con SimulationEngine.setReferenceListener)
+ * y escribe por bloques de BUFFER_BYTES. Lectura: PageTrace.open(...) mapea
+ * el archivo; las referencias se recorren con forEach(...) o por índice
+ * (keyAt(...), también hacia atrás).
+ */
+public class PageTrace implements ReferenceListener, AutoCloseable {
+
+    /** "SMPT" en little-endian. */
+    public static final int MAGIC = 0x54504D53;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int BUFFER_BYTES = 1 << 16;
+    /** Bytes por trozo mapeado al leer (múltiplo de 8: ninguna referencia queda partida). */
+    private static final int CHUNK_SHIFT = 30;
+
+    // --- Escritura ---
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    // --- Lectura (trozos de 2^CHUNK_SHIFT bytes del archivo completo) ---
+    private final MappedByteBuffer[] in;
+
+    private final int pageSize;
+    private long count;
+
+    private PageTrace(FileChannel channel, MappedByteBuffer[] in, int pageSize, long count) {
+        this.channel = channel;
+        this.in = in;
+        this.pageSize = pageSize;
+        this.count = count;
+        this.buffer = (channel != null) ? ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                : null;
+    }
+
+    /**
+     * Crea (o reemplaza) una traza y escribe su encabezado.
+     *
+     * @param file     archivo destino
+     * @param pageSize tamaño de página de la simulación
+     * @return grabador abierto
+     * @throws IOException si no se puede crear el archivo
+     */
+    public static PageTrace create(Path file, int pageSize) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(pageSize).putInt(0).flip();
+            while (header.hasRemaining())
+                ch.write(header);
+        } catch (IOException ex) {
+            ch.close();
+            throw ex;
+        }
+        return new PageTrace(ch, null, pageSize, 0);
+    }
+
+    /**
+     * Abre una traza para leerla (se mapea completa en memoria, por trozos de
+     * 1 GB, así que puede superar los 2 GB).
+     *
+     * @param file archivo escrito con create(...)
+     * @return traza de solo lectura
+     * @throws IOException              si no se puede leer
+     * @throws IllegalArgumentException si el archivo no es una traza válida
+     */
+    public static PageTrace open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES)
+                throw new IllegalArgumentException("El archivo no es una traza de páginas del simulador.");
+            int n = (int) ((size + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+            MappedByteBuffer[] in = new MappedByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                in[i] = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << CHUNK_SHIFT, size - start));
+                in[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (in[0].getInt(0) != MAGIC)
+                throw new IllegalArgumentException("El archivo no es una traza de páginas del simulador.");
+            if (in[0].getInt(4) != VERSION)
+                throw new IllegalArgumentException("Versión de traza no soportada: " + in[0].getInt(4) + ".");
+            return new PageTrace(null, in, in[0].getInt(8), (size - HEADER_BYTES) / Long.BYTES);
+        }
+    }
+
+    /** Clave de una referencia: pid << 32 | página. */
+    public static long key(int pid, int page) {
+        return ((long) pid << 32) | (page & 0xFFFFFFFFL);
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /** @return referencias escritas o contenidas en la traza */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Anexa una referencia (se escribe al llenarse el bloque o al cerrar).
+     *
+     * @throws UncheckedIOException si falla la escritura
+     */
+    @Override
+    public void reference(int pid, int page) {
+        if (channel == null)
+            throw new IllegalStateException("La traza se abrió solo para lectura.");
+        if (!buffer.hasRemaining())
+            flush();
+        buffer.putLong(key(pid, page));
+        count++;
+    }
+
+    /** Escribe el bloque pendiente. */
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+    /** @return clave de la referencia i (0 = la primera) */
+    public long keyAt(long i) {
+        if (in == null)
+            throw new IllegalStateException("La traza se abrió solo para escritura.");
+        long pos = HEADER_BYTES + i * Long.BYTES;
+        return in[(int) (pos >>> CHUNK_SHIFT)].getLong((int) (pos & ((1L << CHUNK_SHIFT) - 1)));
+    }
+
+    /** Entrega todas las referencias, en orden, al listener. */
+    public void forEach(ReferenceListener listener) {
+        for (long i = 0; i < count; i++) {
+            long k = keyAt(i);
+            listener.reference((int) (k >>> 32), (int) k);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null)
+            return;
+        flush();
+        channel.close();
+    }
+}
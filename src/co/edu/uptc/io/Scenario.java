@@ -0,0 +1,495 @@
+package co.edu.uptc.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import co.edu.uptc.model.AdmissionPolicy;
+import co.edu.uptc.model.GroupedMemoryManager;
+
+/**
+ * Clase Scenario
+ * ------------------------------------------
+ * Configuración de una corrida sin interfaz, leída de un archivo .properties.
+ *
+ * Claves (todas opcionales salvo que se indique):
+ * - memory.pageSize, memory.frames: geometría de la memoria física.
+ * - manager: simple | concurrent | inverted | numa
+ * (numa.nodes, numa.policy, numa.localNs, numa.remoteNs).
+ * - memory.tiers: niveles de memoria "nombre:marcos:ns" separados por comas,
+ * del más rápido al más lento; los marcos deben sumar memory.frames (vacío
+ * = sin niveles; requiere manager=simple). tiers.migratePagesPerTick
+ * (0 = sin migración), tiers.sampleFramesPerTick, tiers.hotSamples,
+ * tiers.coldSamples: migración de páginas entre niveles (TierMigrator).
+ * - scheduler.ticksPerPage: ticks de CPU por página de cada proceso.
+ * - cpu.cores: núcleos simulados; cpu.threads: hilos reales para la fase de
+ * referencias (> 1 no se permite con manager=inverted, memory.tiers,
+ * groups ni memory.replacement).
+ * - scheduler.admission: all | workingset
+ * (workingset.window, workingset.initial).
+ * - scheduler.admissionPolicy: arrival | smallest_first | largest_first |
+ * best_packing (qué procesos entran cuando no caben todos; modo all).
+ * - scheduler.mediumTerm: true para usar el planificador PFF
+ * (mediumTerm.lower, mediumTerm.upper).
+ * - prefetch.degree: páginas de lectura anticipada por disparo (0 = sin
+ * prefetch; requiere admisión workingset), prefetch.confidence: saltos
+ * repetidos antes de anticipar, prefetch.reserve: marcos libres que el
+ * prefetch no usa.
+ * - memory.replacement: local | arc | 2q | clockpro. Con local la víctima
+ * de cada fallo es la página más antigua de un proceso elegido por el
+ * motor; las demás eligen con esa política sobre todas las residentes
+ * (requiere admisión workingset).
+ * - swap.slots: ranuras del swap en páginas (0 = sin swap).
+ * - swap.compressedPages: debe ser 0. Los escenarios no simulan el
+ * contenido de las páginas, así que un nivel comprimido solo vería ceros
+ * (ver CompressedSwapBench).
+ * - processes: lista "pid:bytes" separada por comas.
+ * - groups: grupos de memoria "nombre:duro:blando" separados por comas
+ * (límites en páginas, 0 = sin límite); groups.members: "pid:grupo" o
+ * "desde-hasta:grupo" (los demás procesos quedan en el grupo raíz);
+ * groups.oomPolicy: none | allocating | largest | youngest.
+ * - generator.count, generator.minBytes, generator.maxBytes, generator.seed:
+ * procesos aleatorios adicionales (PID a partir del mayor de 'processes').
+ * - workload.accessesPerTick, workload.localityPages, workload.phaseLength,
+ * workload.localityProbability, workload.seed: referencias a memoria.
+ * - fault.penaltyTicks, io.probability, io.ticks, io.seed: bloqueos.
+ * - duration.maxTicks: límite de ticks (0 = hasta que terminen todos).
+ * - stats.file, stats.format (csv | jsonl), stats.gzip, stats.flushEvery.
+ * - checkpoint.restore: archivo del que continuar (los procesos y la
+ * memoria salen del checkpoint). checkpoint.file y checkpoint.saveAt:
+ * guardar un checkpoint al llegar a ese tick. Ninguno admite swap, groups,
+ * memory.tiers, prefetch ni memory.replacement distinto de local (el
+ * checkpoint no guarda ese estado).
+ *
+ * Los valores inválidos se reportan con IllegalArgumentException indicando la clave.
+ */
+public class Scenario {
+
+    /** Proceso declarado explícitamente en el escenario. */
+    public static class ProcessSpec {
+        public final int pid;
+        public final long sizeBytes;
+
+        public ProcessSpec(int pid, long sizeBytes) {
+            this.pid = pid;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    /** Nivel de memoria declarado en memory.tiers. */
+    public static class TierSpec {
+        public final String name;
+        public final int frames;
+        public final long latencyNs;
+
+        public TierSpec(String name, int frames, long latencyNs) {
+            this.name = name;
+            this.frames = frames;
+            this.latencyNs = latencyNs;
+        }
+    }
+
+    /** Grupo de memoria declarado en groups. */
+    public static class GroupSpec {
+        public final String name;
+        public final int hardLimit;
+        public final int softLimit;
+
+        public GroupSpec(String name, int hardLimit, int softLimit) {
+            this.name = name;
+            this.hardLimit = hardLimit;
+            this.softLimit = softLimit;
+        }
+    }
+
+    // --- Memoria ---
+    public final int pageSize;
+    public final int frames;
+    public final String manager;
+    public final int numaNodes;
+    public final String numaPolicy;
+    public final long numaLocalNs;
+    public final long numaRemoteNs;
+    public final List<TierSpec> tiers;
+    public final int tierSampleFramesPerTick;
+    public final int tierMigratePagesPerTick;
+    public final int tierHotSamples;
+    public final int tierColdSamples;
+
+    // --- Planificación ---
+    public final int ticksPerPage;
+    public final int cores;
+    public final int threads;
+    public final boolean workingSetAdmission;
+    public final AdmissionPolicy admissionPolicy;
+    public final int workingSetWindow;
+    public final int workingSetInitial;
+    public final boolean mediumTerm;
+    public final double mediumTermLower;
+    public final double mediumTermUpper;
+    public final int prefetchDegree;
+    public final int prefetchConfidence;
+    public final int prefetchReserve;
+    public final String replacement;
+
+    // --- Swap ---
+    public final int swapSlots;
+
+    // --- Procesos ---
+    public final List<ProcessSpec> processes;
+    public final int generatorCount;
+    public final int generatorMinBytes;
+    public final int generatorMaxBytes;
+    public final long generatorSeed;
+
+    // --- Grupos de memoria ---
+    public final List<GroupSpec> groups;
+    public final Map<Integer, String> groupMembers;
+    public final String oomPolicy;
+
+    // --- Carga de trabajo y bloqueos ---
+    public final int accessesPerTick;
+    public final int localityPages;
+    public final int phaseLength;
+    public final double localityProbability;
+    public final long workloadSeed;
+    public final int faultPenaltyTicks;
+    public final double ioProbability;
+    public final int ioTicks;
+    public final long ioSeed;
+
+    // --- Duración y salida ---
+    public final long maxTicks;
+    public final String statsFile;
+    public final StatsFormat statsFormat;
+    public final boolean statsGzip;
+    public final int statsFlushEvery;
+    public final String checkpointRestore;
+    public final String checkpointFile;
+    public final long checkpointSaveAt;
+
+    /** Propiedades leídas (para mensajes de error). */
+    private final Properties props;
+
+    /**
+     * Lee un escenario desde un archivo .properties (UTF-8).
+     *
+     * @param file archivo del escenario
+     * @return escenario validado
+     * @throws IOException              si no se puede leer el archivo
+     * @throws IllegalArgumentException si algún valor es inválido
+     */
+    public static Scenario load(Path file) throws IOException {
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        return new Scenario(p);
+    }
+
+    /**
+     * Constructor de Scenario a partir de propiedades ya cargadas.
+     *
+     * @param props propiedades del escenario
+     * @throws IllegalArgumentException si algún valor es inválido
+     */
+    public Scenario(Properties props) {
+        this.props = props;
+
+        pageSize = intValue("memory.pageSize", 1024, 1);
+        frames = intValue("memory.frames", 64, 1);
+        manager = choice("manager", "simple", "simple", "concurrent", "inverted", "numa");
+        numaNodes = intValue("numa.nodes", 2, 1);
+        numaPolicy = choice("numa.policy", "local_first", "local_first", "interleave", "preferred")
+                .toUpperCase(Locale.ROOT);
+        numaLocalNs = longValue("numa.localNs", 80, 0);
+        numaRemoteNs = longValue("numa.remoteNs", 140, 0);
+        String tierText = optionalText("memory.tiers");
+        tiers = (tierText == null) ? Collections.emptyList() : Collections.unmodifiableList(parseTiers(tierText));
+        if (!tiers.isEmpty() && !manager.equals("simple"))
+            throw new IllegalArgumentException("memory.tiers requiere manager=simple.");
+        tierSampleFramesPerTick = intValue("tiers.sampleFramesPerTick", 64, 1);
+        tierMigratePagesPerTick = intValue("tiers.migratePagesPerTick", 0, 0);
+        tierHotSamples = intValue("tiers.hotSamples", 2, 1);
+        tierColdSamples = intValue("tiers.coldSamples", 4, 1);
+        if (tierHotSamples > 8 || tierColdSamples > 8)
+            throw new IllegalArgumentException("tiers.hotSamples y tiers.coldSamples deben ser <= 8.");
+
+        ticksPerPage = intValue("scheduler.ticksPerPage", 2, 1);
+        cores = intValue("cpu.cores", 1, 1);
+        threads = intValue("cpu.threads", 1, 1);
+        if (threads > 1 && (manager.equals("inverted") || !tiers.isEmpty()))
+            throw new IllegalArgumentException("cpu.threads > 1 no es compatible con manager=inverted ni memory.tiers.");
+        workingSetAdmission = choice("scheduler.admission", "all", "all", "workingset").equals("workingset");
+        admissionPolicy = AdmissionPolicy.valueOf(choice("scheduler.admissionPolicy", "arrival", "arrival",
+                "smallest_first", "largest_first", "best_packing").toUpperCase(Locale.ROOT));
+        workingSetWindow = intValue("workingset.window", 50, 1);
+        workingSetInitial = intValue("workingset.initial", 4, 1);
+        mediumTerm = boolValue("scheduler.mediumTerm", false);
+        mediumTermLower = doubleValue("mediumTerm.lower", 0.05, 0, Double.MAX_VALUE);
+        mediumTermUpper = doubleValue("mediumTerm.upper", 0.5, 0, Double.MAX_VALUE);
+        if (mediumTerm && !workingSetAdmission)
+            throw new IllegalArgumentException("scheduler.mediumTerm requiere scheduler.admission=workingset.");
+        prefetchDegree = intValue("prefetch.degree", 0, 0);
+        prefetchConfidence = intValue("prefetch.confidence", 2, 1);
+        prefetchReserve = intValue("prefetch.reserve", 2, 0);
+        if (prefetchDegree > 0 && !workingSetAdmission)
+            throw new IllegalArgumentException("prefetch.degree requiere scheduler.admission=workingset.");
+        replacement = choice("memory.replacement", "local", "local", "arc", "2q", "clockpro");
+        if (!replacement.equals("local") && !workingSetAdmission)
+            throw new IllegalArgumentException("memory.replacement requiere scheduler.admission=workingset.");
+        if (!replacement.equals("local") && threads > 1)
+            throw new IllegalArgumentException("cpu.threads > 1 no es compatible con memory.replacement.");
+
+        swapSlots = intValue("swap.slots", 0, 0);
+        if (intValue("swap.compressedPages", 0, 0) > 0)
+            throw new IllegalArgumentException(
+                    "swap.compressedPages: los escenarios no simulan el contenido de las páginas.");
+
+        processes = Collections.unmodifiableList(parseProcesses(props.getProperty("processes", "")));
+        String groupText = optionalText("groups");
+        groups = (groupText == null) ? Collections.emptyList() : Collections.unmodifiableList(parseGroups(groupText));
+        String memberText = optionalText("groups.members");
+        groupMembers = (memberText == null) ? Collections.emptyMap()
+                : Collections.unmodifiableMap(parseGroupMembers(memberText));
+        if (threads > 1 && !groups.isEmpty())
+            throw new IllegalArgumentException("cpu.threads > 1 no es compatible con groups.");
+        oomPolicy = choice("groups.oomPolicy", "none", "none", "allocating", "largest", "youngest")
+                .toUpperCase(Locale.ROOT);
+        generatorCount = intValue("generator.count", 0, 0);
+        generatorMinBytes = intValue("generator.minBytes", pageSize, 1);
+        generatorMaxBytes = intValue("generator.maxBytes", pageSize * 8, generatorMinBytes);
+        generatorSeed = longValue("generator.seed", 1, Long.MIN_VALUE);
+        if (processes.isEmpty() && generatorCount == 0 && optionalText("checkpoint.restore") == null)
+            throw new IllegalArgumentException("El escenario no define procesos (processes o generator.count).");
+
+        accessesPerTick = intValue("workload.accessesPerTick", 0, 0);
+        localityPages = intValue("workload.localityPages", 4, 1);
+        phaseLength = intValue("workload.phaseLength", 200, 1);
+        localityProbability = doubleValue("workload.localityProbability", 0.95, 0, 1);
+        workloadSeed = longValue("workload.seed", 42, Long.MIN_VALUE);
+        faultPenaltyTicks = intValue("fault.penaltyTicks", 0, 0);
+        ioProbability = doubleValue("io.probability", 0, 0, 1);
+        ioTicks = intValue("io.ticks", 0, 0);
+        ioSeed = longValue("io.seed", 7, Long.MIN_VALUE);
+
+        maxTicks = longValue("duration.maxTicks", 0, 0);
+        statsFile = optionalText("stats.file");
+        statsFormat = StatsFormat.valueOf(choice("stats.format", "csv", "csv", "jsonl").toUpperCase(Locale.ROOT));
+        statsGzip = boolValue("stats.gzip", false);
+        statsFlushEvery = intValue("stats.flushEvery", 4096, 1);
+        checkpointRestore = optionalText("checkpoint.restore");
+        checkpointFile = optionalText("checkpoint.file");
+        checkpointSaveAt = longValue("checkpoint.saveAt", 0, 0);
+        boolean checkpoint = checkpointRestore != null || checkpointFile != null;
+        if (checkpoint && swapSlots > 0)
+            throw new IllegalArgumentException("checkpoint.*: el checkpoint no incluye el swap (swap.slots=0).");
+        if (checkpoint && !groups.isEmpty())
+            throw new IllegalArgumentException("checkpoint.*: el checkpoint no incluye los grupos de memoria.");
+        if (checkpoint && !tiers.isEmpty())
+            throw new IllegalArgumentException("checkpoint.*: el checkpoint no incluye los niveles de memoria.");
+        if (checkpoint && prefetchDegree > 0)
+            throw new IllegalArgumentException("checkpoint.*: el checkpoint no incluye el estado del prefetch.");
+        if (checkpoint && !replacement.equals("local"))
+            throw new IllegalArgumentException(
+                    "checkpoint.*: el checkpoint no incluye el estado de la política de reemplazo.");
+        if (checkpointFile != null && checkpointSaveAt == 0)
+            throw new IllegalArgumentException("checkpoint.file requiere checkpoint.saveAt > 0.");
+    }
+
+    // --------------------------------------------------------------------
+
+    private List<ProcessSpec> parseProcesses(String text) {
+        List<ProcessSpec> list = new ArrayList<>();
+        for (String item : text.split(",")) {
+            item = item.trim();
+            if (item.isEmpty())
+                continue;
+            int colon = item.indexOf(':');
+            if (colon < 0)
+                throw new IllegalArgumentException("processes: se esperaba pid:bytes en '" + item + "'.");
+            try {
+                int pid = Integer.parseInt(item.substring(0, colon).trim());
+                long size = Long.parseLong(item.substring(colon + 1).trim().replace("_", ""));
+                if (size <= 0)
+                    throw new IllegalArgumentException("processes: el tamaño debe ser > 0 en '" + item + "'.");
+                for (ProcessSpec s : list)
+                    if (s.pid == pid)
+                        throw new IllegalArgumentException("processes: PID repetido " + pid + ".");
+                list.add(new ProcessSpec(pid, size));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("processes: número inválido en '" + item + "'.");
+            }
+        }
+        return list;
+    }
+
+    private List<GroupSpec> parseGroups(String text) {
+        List<GroupSpec> list = new ArrayList<>();
+        for (String item : text.split(",")) {
+            item = item.trim();
+            if (item.isEmpty())
+                continue;
+            String[] parts = item.split(":");
+            if (parts.length != 3 || parts[0].trim().isEmpty())
+                throw new IllegalArgumentException("groups: se esperaba nombre:duro:blando en '" + item + "'.");
+            String name = parts[0].trim();
+            if (name.equals(GroupedMemoryManager.ROOT))
+                throw new IllegalArgumentException("groups: el nombre '" + name + "' está reservado.");
+            for (GroupSpec g : list)
+                if (g.name.equals(name))
+                    throw new IllegalArgumentException("groups: grupo repetido " + name + ".");
+            try {
+                int hard = Integer.parseInt(parts[1].trim().replace("_", ""));
+                int soft = Integer.parseInt(parts[2].trim().replace("_", ""));
+                if (hard < 0 || soft < 0 || (hard > 0 && soft > hard))
+                    throw new IllegalArgumentException("groups: límites inválidos en '" + item
+                            + "' (>= 0 y blando <= duro).");
+                list.add(new GroupSpec(name, hard, soft));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("groups: número inválido en '" + item + "'.");
+            }
+        }
+        return list;
+    }
+
+    private Map<Integer, String> parseGroupMembers(String text) {
+        Map<Integer, String> map = new HashMap<>();
+        for (String item : text.split(",")) {
+            item = item.trim();
+            if (item.isEmpty())
+                continue;
+            int colon = item.indexOf(':');
+            if (colon < 0)
+                throw new IllegalArgumentException("groups.members: se esperaba pid:grupo en '" + item + "'.");
+            String name = item.substring(colon + 1).trim();
+            boolean known = false;
+            for (GroupSpec g : groups)
+                known |= g.name.equals(name);
+            if (!known)
+                throw new IllegalArgumentException("groups.members: grupo desconocido '" + name + "'.");
+            String range = item.substring(0, colon).trim();
+            int dash = range.indexOf('-', 1);
+            try {
+                int from = Integer.parseInt((dash < 0 ? range : range.substring(0, dash)).trim());
+                int to = (dash < 0) ? from : Integer.parseInt(range.substring(dash + 1).trim());
+                if (to < from || (long) to - from >= 1_000_000)
+                    throw new IllegalArgumentException("groups.members: rango inválido en '" + item + "'.");
+                for (int pid = from; pid <= to; pid++)
+                    map.put(pid, name);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("groups.members: número inválido en '" + item + "'.");
+            }
+        }
+        return map;
+    }
+
+    private List<TierSpec> parseTiers(String text) {
+        List<TierSpec> list = new ArrayList<>();
+        long total = 0;
+        for (String item : text.split(",")) {
+            item = item.trim();
+            if (item.isEmpty())
+                continue;
+            String[] parts = item.split(":");
+            if (parts.length != 3 || parts[0].trim().isEmpty())
+                throw new IllegalArgumentException("memory.tiers: se esperaba nombre:marcos:ns en '" + item + "'.");
+            try {
+                int count = Integer.parseInt(parts[1].trim().replace("_", ""));
+                long ns = Long.parseLong(parts[2].trim().replace("_", ""));
+                if (count <= 0 || ns < 0)
+                    throw new IllegalArgumentException("memory.tiers: marcos > 0 y ns >= 0 en '" + item + "'.");
+                if (!list.isEmpty() && ns < list.get(list.size() - 1).latencyNs)
+                    throw new IllegalArgumentException("memory.tiers: los niveles van del más rápido al más lento.");
+                list.add(new TierSpec(parts[0].trim(), count, ns));
+                total += count;
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("memory.tiers: número inválido en '" + item + "'.");
+            }
+        }
+        if (list.size() < 2)
+            throw new IllegalArgumentException("memory.tiers: se necesitan al menos dos niveles.");
+        if (total != frames)
+            throw new IllegalArgumentException("memory.tiers: los marcos deben sumar memory.frames (" + frames + ").");
+        return list;
+    }
+
+    private String optionalText(String key) {
+        String v = raw(key);
+        return (v == null || v.isEmpty()) ? null : v;
+    }
+
+    private String raw(String key) {
+        String v = props.getProperty(key);
+        return v == null ? null : v.trim();
+    }
+
+    private int intValue(String key, int def, int min) {
+        long v = longValue(key, def, min);
+        if (v > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(key + ": valor demasiado grande.");
+        return (int) v;
+    }
+
+    private long longValue(String key, long def, long min) {
+        String v = raw(key);
+        if (v == null || v.isEmpty())
+            return def;
+        long parsed;
+        try {
+            parsed = Long.parseLong(v.replace("_", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(key + ": se esperaba un entero y se encontró '" + v + "'.");
+        }
+        if (parsed < min)
+            throw new IllegalArgumentException(key + ": debe ser >= " + min + ".");
+        return parsed;
+    }
+
+    private double doubleValue(String key, double def, double min, double max) {
+        String v = raw(key);
+        if (v == null || v.isEmpty())
+            return def;
+        double parsed;
+        try {
+            parsed = Double.parseDouble(v);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(key + ": se esperaba un número y se encontró '" + v + "'.");
+        }
+        if (parsed < min || parsed > max)
+            throw new IllegalArgumentException(key + ": fuera de rango [" + min + ", " + max + "].");
+        return parsed;
+    }
+
+    private boolean boolValue(String key, boolean def) {
+        String v = raw(key);
+        if (v == null || v.isEmpty())
+            return def;
+        if (v.equalsIgnoreCase("true"))
+            return true;
+        if (v.equalsIgnoreCase("false"))
+            return false;
+        throw new IllegalArgumentException(key + ": se esperaba true o false.");
+    }
+
+    private String choice(String key, String def, String... options) {
+        String v = raw(key);
+        if (v == null || v.isEmpty())
+            return def;
+        v = v.toLowerCase(Locale.ROOT);
+        for (String o : options)
+            if (o.equals(v))
+                return v;
+        throw new IllegalArgumentException(key + ": valor '" + v + "' no válido; opciones: "
+                + String.join(", ", options) + ".");
+    }
+}
@@ -0,0 +1,15 @@
+package co.edu.uptc.io;
+
+/**
+ * Enum StatsFormat
+ * ------------------------------------------
+ * Formatos de salida de TickStatsWriter.
+ */
+public enum StatsFormat {
+
+    /** Valores separados por comas, con una línea de encabezado. */
+    CSV,
+
+    /** Un objeto JSON por línea (JSON Lines). */
+    JSONL
+}
@@ -0,0 +1,324 @@
+package co.edu.uptc.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Clase TickStatsWriter
+ * ------------------------------------------
+ * Escribe una fila de estadísticas por tick de simulación en CSV o JSON Lines.
+ *
+ * Columnas: tick, marcos libres, utilización de memoria (0..1), largo de la
+ * cola de listos, PID en ejecución (vacío / null si la CPU estuvo ociosa), y
+ * admisiones, terminaciones y fallos de página ocurridos en ese tick.
+ *
+ * Diseño (para corridas de millones de ticks):
+ * - Los números se codifican a mano en un ByteBuffer reutilizable: record()
+ * no crea objetos.
+ * - El buffer se vacía al FileChannel cuando se llena y cada 'flushEvery'
+ * registros (así el archivo se puede seguir mientras corre la simulación).
+ * - Con gzip, la salida pasa por un Deflater (nivel rápido) con buffers reutilizables y se
+ * escriben a mano el encabezado y el cierre del formato gzip (CRC32 + tamaño),
+ * así el archivo se lee con gzip/zcat. Los vaciados cada 'flushEvery'
+ * registros (y flush()) usan SYNC_FLUSH: todo lo registrado llega al archivo
+ * descomprimible (zcat lo muestra avisando que falta el cierre), a costa de
+ * algo de compresión si 'flushEvery' es chico.
+ *
+ * No es seguro para uso concurrente.
+ */
+public class TickStatsWriter implements AutoCloseable {
+
+    private static final byte[] CSV_HEADER = ("tick,free_frames,utilization,ready_queue,running_pid,"
+            + "admissions,terminations,faults\n").getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] K_TICK = bytes("{\"tick\":");
+    private static final byte[] K_FREE = bytes(",\"free_frames\":");
+    private static final byte[] K_UTIL = bytes(",\"utilization\":");
+    private static final byte[] K_READY = bytes(",\"ready_queue\":");
+    private static final byte[] K_RUNNING = bytes(",\"running_pid\":");
+    private static final byte[] K_ADMISSIONS = bytes(",\"admissions\":");
+    private static final byte[] K_TERMINATIONS = bytes(",\"terminations\":");
+    private static final byte[] K_FAULTS = bytes(",\"faults\":");
+    private static final byte[] NULL = bytes("null");
+
+    /** Encabezado gzip mínimo: deflate, sin nombre ni fecha, SO desconocido. */
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    /** Espacio máximo que ocupa una fila; si no cabe, se vacía el buffer antes. */
+    private static final int MAX_RECORD = 256;
+
+    private final FileChannel channel;
+    private final StatsFormat format;
+    private final int flushEvery;
+
+    /** Buffer de texto (en heap, para pasar su arreglo al Deflater y al CRC). */
+    private final ByteBuffer buffer;
+
+    /** Dígitos de un número, de atrás hacia adelante. */
+    private final byte[] digits = new byte[20];
+
+    // --- gzip (null si no se comprime) ---
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final ByteBuffer compressed;
+    private long uncompressedBytes;
+
+    private long records;
+    private long bytesWritten;
+    private boolean closed;
+
+    /**
+     * Constructor de TickStatsWriter.
+     * Crea (o trunca) el archivo y escribe el encabezado si el formato lo tiene.
+     *
+     * @param file       ruta de salida
+     * @param format     CSV o JSONL
+     * @param gzip       true para comprimir la salida con gzip
+     * @param bufferSize tamaño del buffer en bytes (>= 4096)
+     * @param flushEvery registros entre vaciados al archivo (> 0)
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public TickStatsWriter(Path file, StatsFormat format, boolean gzip, int bufferSize, int flushEvery)
+            throws IOException {
+        if (file == null || format == null)
+            throw new IllegalArgumentException("Archivo y formato no pueden ser nulos.");
+        if (bufferSize < 4096 || flushEvery <= 0)
+            throw new IllegalArgumentException("Parámetros de escritura inválidos.");
+        this.format = format;
+        this.flushEvery = flushEvery;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (gzip) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED, true);
+            this.crc = new CRC32();
+            this.compressed = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+            compressed.put(GZIP_HEADER);
+        } else {
+            this.deflater = null;
+            this.crc = null;
+            this.compressed = null;
+        }
+        if (format == StatsFormat.CSV)
+            buffer.put(CSV_HEADER);
+    }
+
+    /**
+     * Agrega la fila de un tick.
+     *
+     * @param tick         número de tick
+     * @param freeFrames   marcos libres al final del tick
+     * @param utilization  fracción de marcos ocupados (0..1)
+     * @param readyQueue   procesos en la cola de listos
+     * @param runningPid   PID que ejecutó el tick, o -1 si la CPU estuvo ociosa
+     * @param admissions   admisiones en el tick
+     * @param terminations terminaciones en el tick
+     * @param faults       fallos de página en el tick
+     * @throws UncheckedIOException si falla la escritura
+     */
+    public void record(long tick, int freeFrames, double utilization, int readyQueue, int runningPid,
+            long admissions, long terminations, long faults) {
+        if (closed)
+            throw new IllegalStateException("El escritor de estadísticas está cerrado.");
+        if (buffer.remaining() < MAX_RECORD)
+            drain(false);
+
+        if (format == StatsFormat.CSV) {
+            putLong(tick);
+            buffer.put((byte) ',');
+            putLong(freeFrames);
+            buffer.put((byte) ',');
+            putFraction(utilization);
+            buffer.put((byte) ',');
+            putLong(readyQueue);
+            buffer.put((byte) ',');
+            if (runningPid >= 0)
+                putLong(runningPid);
+            buffer.put((byte) ',');
+            putLong(admissions);
+            buffer.put((byte) ',');
+            putLong(terminations);
+            buffer.put((byte) ',');
+            putLong(faults);
+            buffer.put((byte) '\n');
+        } else {
+            buffer.put(K_TICK);
+            putLong(tick);
+            buffer.put(K_FREE);
+            putLong(freeFrames);
+            buffer.put(K_UTIL);
+            putFraction(utilization);
+            buffer.put(K_READY);
+            putLong(readyQueue);
+            buffer.put(K_RUNNING);
+            if (runningPid >= 0)
+                putLong(runningPid);
+            else
+                buffer.put(NULL);
+            buffer.put(K_ADMISSIONS);
+            putLong(admissions);
+            buffer.put(K_TERMINATIONS);
+            putLong(terminations);
+            buffer.put(K_FAULTS);
+            putLong(faults);
+            buffer.put((byte) '}');
+            buffer.put((byte) '\n');
+        }
+
+        if (++records % flushEvery == 0)
+            drain(true);
+    }
+
+    /**
+     * Vacía el buffer al archivo (comprimiendo si corresponde).
+     *
+     * @throws UncheckedIOException si falla la escritura
+     */
+    public void flush() {
+        drain(true);
+    }
+
+    /**
+     * Vacía lo pendiente, cierra el flujo gzip (si lo hay) y el archivo.
+     *
+     * @throws IOException si falla la escritura o el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        try {
+            drain(false);
+            if (deflater != null) {
+                deflater.finish();
+                while (!deflater.finished())
+                    deflateStep();
+                if (compressed.remaining() < 8)
+                    writeCompressed();
+                compressed.putInt((int) crc.getValue());
+                compressed.putInt((int) uncompressedBytes);
+                writeCompressed();
+                deflater.end();
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /** Filas escritas. */
+    public long records() {
+        return records;
+    }
+
+    /** Bytes escritos al archivo hasta el último vaciado. */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    // --------------------------------------------------------------------
+
+    /**
+     * Escribe el buffer de texto (directo o a través del Deflater).
+     *
+     * @param sync con gzip, true para vaciar también el Deflater (SYNC_FLUSH)
+     * y escribir lo comprimido; false deja que el Deflater acumule
+     */
+    private void drain(boolean sync) {
+        buffer.flip();
+        try {
+            if (deflater == null) {
+                while (buffer.hasRemaining())
+                    bytesWritten += channel.write(buffer);
+            } else if (buffer.hasRemaining()) {
+                int len = buffer.remaining();
+                crc.update(buffer.array(), 0, len);
+                uncompressedBytes += len;
+                deflater.setInput(buffer.array(), 0, len);
+                while (!deflater.needsInput())
+                    deflateStep();
+            }
+            if (deflater != null && sync)
+                syncFlush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error escribiendo estadísticas: " + ex.getMessage(), ex);
+        }
+        buffer.clear();
+    }
+
+    /** Comprime lo que quepa en el buffer de salida y lo escribe si se llenó. */
+    private void deflateStep() throws IOException {
+        int n = deflater.deflate(compressed.array(), compressed.position(), compressed.remaining());
+        compressed.position(compressed.position() + n);
+        if (!compressed.hasRemaining() || n == 0)
+            writeCompressed();
+    }
+
+    /** Vacía el Deflater hasta un límite de byte y escribe todo lo comprimido. */
+    private void syncFlush() {
+        boolean full;
+        do {
+            int n = deflater.deflate(compressed.array(), compressed.position(), compressed.remaining(),
+                    Deflater.SYNC_FLUSH);
+            compressed.position(compressed.position() + n);
+            full = !compressed.hasRemaining();
+            writeCompressed();
+        } while (full);
+    }
+
+    private void writeCompressed() {
+        compressed.flip();
+        try {
+            while (compressed.hasRemaining())
+                bytesWritten += channel.write(compressed);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error escribiendo estadísticas: " + ex.getMessage(), ex);
+        }
+        compressed.clear();
+    }
+
+    /** Escribe un entero en decimal sin crear objetos. */
+    private void putLong(long v) {
+        if (v < 0) {
+            buffer.put((byte) '-');
+            if (v == Long.MIN_VALUE) {
+                buffer.put(bytes("9223372036854775808"));
+                return;
+            }
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        while (n > 0)
+            buffer.put(digits[--n]);
+    }
+
+    /** Escribe un valor en [0, 1] con 4 decimales. */
+    private void putFraction(double f) {
+        long scaled = Math.round(Math.max(0, Math.min(1, f)) * 10_000);
+        putLong(scaled / 10_000);
+        buffer.put((byte) '.');
+        long frac = scaled % 10_000;
+        buffer.put((byte) ('0' + frac / 1000));
+        buffer.put((byte) ('0' + frac / 100 % 10));
+        buffer.put((byte) ('0' + frac / 10 % 10));
+        buffer.put((byte) ('0' + frac % 10));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,181 @@
+package co.edu.uptc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enum AdmissionPolicy
+ * ------------------------------------------
+ * Políticas para elegir qué procesos de un lote se admiten (todo-o-nada)
+ * con una cantidad dada de marcos libres. Las usa
+ * MemoryManager.admitBatch(...).
+ *
+ * Todas recorren los candidatos una sola vez contra un único conteo de
+ * marcos libres; ninguna vuelve a contar marcos por proceso.
+ */
+public enum AdmissionPolicy {
+
+    /** Orden de llegada: se admite cada proceso que quepa, saltando los que no. */
+    ARRIVAL,
+
+    /** Primero los procesos más pequeños (maximiza la cantidad admitida). */
+    SMALLEST_FIRST,
+
+    /** Primero los procesos más grandes (first-fit decreciente). */
+    LARGEST_FIRST,
+
+    /**
+     * Subconjunto que deja menos marcos libres (suma de subconjuntos exacta).
+     * Si la tabla de la búsqueda exacta supera PACKING_BUDGET palabras, se
+     * usa LARGEST_FIRST, que suele quedar cerca del óptimo.
+     */
+    BEST_PACKING;
+
+    /** Máximo de palabras de 64 bits para la tabla de BEST_PACKING (8 MB). */
+    public static final int PACKING_BUDGET = 1 << 20;
+
+    /**
+     * Elige los procesos del lote que se admiten con 'freeFrames' marcos.
+     * Los procesos sin páginas siempre se eligen.
+     *
+     * @param candidates procesos candidatos, en orden de llegada
+     * @param freeFrames marcos libres disponibles
+     * @return procesos elegidos, en el mismo orden de llegada
+     */
+    public List<PCB> select(List<PCB> candidates, int freeFrames) {
+        int n = candidates.size();
+        boolean[] chosen = new boolean[n];
+        if (this == BEST_PACKING && !pack(candidates, freeFrames, chosen))
+            greedy(candidates, freeFrames, LARGEST_FIRST, chosen);
+        else if (this != BEST_PACKING)
+            greedy(candidates, freeFrames, this, chosen);
+
+        List<PCB> result = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            if (chosen[i])
+                result.add(candidates.get(i));
+        return result;
+    }
+
+    /** Recorrido greedy en el orden de la política. */
+    private static void greedy(List<PCB> candidates, int freeFrames, AdmissionPolicy order, boolean[] chosen) {
+        int n = candidates.size();
+        int[] idx = sortedIndices(candidates, order);
+        int left = freeFrames;
+        for (int k = 0; k < n; k++) {
+            int i = idx[k];
+            int need = candidates.get(i).pageCount;
+            if (need <= left) {
+                chosen[i] = true;
+                left -= need;
+            } else if (order == SMALLEST_FIRST) {
+                // Los siguientes son iguales o más grandes
+                break;
+            }
+        }
+    }
+
+    /**
+     * Suma de subconjuntos con mapas de bits: reach[i] tiene el bit s si algún
+     * subconjunto de los primeros i candidatos suma s páginas.
+     *
+     * @return false si la tabla excede el presupuesto
+     */
+    private static boolean pack(List<PCB> candidates, int freeFrames, boolean[] chosen) {
+        int n = candidates.size();
+        long total = 0;
+        int fitting = 0;
+        for (int i = 0; i < n; i++) {
+            int need = candidates.get(i).pageCount;
+            if (need <= freeFrames) {
+                total += need;
+                fitting++;
+            }
+        }
+        if (total <= freeFrames) {
+            // Caben todos los que caben por sí solos
+            for (int i = 0; i < n; i++)
+                chosen[i] = candidates.get(i).pageCount <= freeFrames;
+            return true;
+        }
+
+        int words = (freeFrames >>> 6) + 1;
+        if ((long) (fitting + 1) * words > PACKING_BUDGET)
+            return false;
+
+        // Solo los candidatos que caben por sí solos entran en la tabla
+        int[] items = new int[fitting];
+        int m = 0;
+        for (int i = 0; i < n; i++)
+            if (candidates.get(i).pageCount <= freeFrames)
+                items[m++] = i;
+
+        long[][] reach = new long[m + 1][words];
+        reach[0][0] = 1L;
+        for (int k = 0; k < m; k++) {
+            long[] prev = reach[k];
+            long[] next = reach[k + 1];
+            System.arraycopy(prev, 0, next, 0, words);
+            orShifted(prev, next, candidates.get(items[k]).pageCount);
+        }
+
+        // Mayor suma alcanzable <= freeFrames
+        long[] last = reach[m];
+        int best = freeFrames;
+        while (best > 0 && (last[best >>> 6] & (1L << best)) == 0)
+            best--;
+
+        // Reconstrucción hacia atrás
+        int s = best;
+        for (int k = m; k > 0 && s > 0; k--) {
+            if ((reach[k - 1][s >>> 6] & (1L << s)) == 0) {
+                int i = items[k - 1];
+                chosen[i] = true;
+                s -= candidates.get(i).pageCount;
+            }
+        }
+        // Procesos sin páginas
+        for (int k = 0; k < m; k++)
+            if (candidates.get(items[k]).pageCount == 0)
+                chosen[items[k]] = true;
+        return true;
+    }
+
+    /** dst |= src << shift (en bits), descartando lo que sale de la tabla. */
+    private static void orShifted(long[] src, long[] dst, int shift) {
+        if (shift == 0)
+            return;
+        int words = dst.length;
+        int ws = shift >>> 6;
+        int bs = shift & 63;
+        for (int w = words - 1; w >= ws; w--) {
+            long v = src[w - ws] << bs;
+            if (bs != 0 && w - ws - 1 >= 0)
+                v |= src[w - ws - 1] >>> (64 - bs);
+            dst[w] |= v;
+        }
+    }
+
+    /** Índices de los candidatos en el orden de la política (orden estable). */
+    private static int[] sortedIndices(List<PCB> candidates, AdmissionPolicy order) {
+        int n = candidates.size();
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++)
+            idx[i] = i;
+        if (order == ARRIVAL)
+            return idx;
+        // Ordenar por (páginas, índice) empaquetado en un long: estable y sin objetos
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long pages = candidates.get(i).pageCount;
+            if (order == LARGEST_FIRST)
+                pages = Integer.MAX_VALUE - pages;
+            keys[i] = (pages << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < n; i++)
+            idx[i] = (int) keys[i];
+        return idx;
+    }
+}
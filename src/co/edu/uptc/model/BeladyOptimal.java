@@ -0,0 +1,103 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+
+/**
+ * Clase BeladyOptimal
+ * ------------------------------------------
+ * Reemplazo óptimo fuera de línea (OPT / MIN de Belady): ante un fallo con
+ * la memoria llena se desaloja la página cuyo próximo uso está más lejos.
+ * Da la cantidad mínima de fallos de paginación por demanda para una traza
+ * y una cantidad de marcos, y sirve de referencia para cualquier otra
+ * política.
+ *
+ * Es la segunda pasada: recorre la traza hacia adelante con el
+ * NextUseIndex ya construido. Las páginas residentes están en un montículo
+ * de máximos por próximo uso (arreglos primitivos) y cada página sabe su
+ * posición en él, así que un acierto actualiza la clave y un fallo reemplaza
+ * la raíz, ambos en O(log marcos).
+ */
+public final class BeladyOptimal {
+
+    private BeladyOptimal() {
+    }
+
+    /**
+     * Fallos de OPT con 'frames' marcos.
+     *
+     * @param index  índice de próximo uso de la traza
+     * @param frames marcos (>= 0)
+     * @return fallos, incluidos los fríos
+     */
+    public static long faults(NextUseIndex index, int frames) {
+        if (frames < 0)
+            throw new IllegalArgumentException("La cantidad de marcos no puede ser negativa.");
+        long count = index.count();
+        if (frames == 0)
+            return count;
+        int cap = Math.min(frames, index.pages());
+        long[] heapNext = new long[cap];
+        int[] heapId = new int[cap];
+        int[] pos = new int[index.pages()];
+        Arrays.fill(pos, -1);
+        int size = 0;
+        long faults = 0;
+
+        for (long i = 0; i < count; i++) {
+            int id = index.pageId(i);
+            long nx = index.nextUse(i);
+            int p = pos[id];
+            if (p >= 0) {
+                // Acierto: el próximo uso solo puede alejarse (sube en el montículo)
+                siftUp(heapNext, heapId, pos, p, nx, id);
+                continue;
+            }
+            faults++;
+            if (size < cap) {
+                siftUp(heapNext, heapId, pos, size++, nx, id);
+            } else {
+                // Víctima: la raíz, con el próximo uso más lejano
+                pos[heapId[0]] = -1;
+                siftDown(heapNext, heapId, pos, size, nx, id);
+            }
+        }
+        return faults;
+    }
+
+    /** Coloca (nx, id) en la posición i o más arriba. */
+    private static void siftUp(long[] next, int[] ids, int[] pos, int i, long nx, int id) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (next[parent] >= nx)
+                break;
+            next[i] = next[parent];
+            ids[i] = ids[parent];
+            pos[ids[i]] = i;
+            i = parent;
+        }
+        next[i] = nx;
+        ids[i] = id;
+        pos[id] = i;
+    }
+
+    /** Coloca (nx, id) en la raíz o más abajo. */
+    private static void siftDown(long[] next, int[] ids, int[] pos, int size, long nx, int id) {
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size)
+                break;
+            if (c + 1 < size && next[c + 1] > next[c])
+                c++;
+            if (next[c] <= nx)
+                break;
+            next[i] = next[c];
+            ids[i] = ids[c];
+            pos[ids[i]] = i;
+            i = c;
+        }
+        next[i] = nx;
+        ids[i] = id;
+        pos[id] = i;
+    }
+}
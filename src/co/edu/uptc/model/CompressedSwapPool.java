@@ -0,0 +1,357 @@
+package co.edu.uptc.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Clase CompressedSwapPool
+ * ------------------------------------------
+ * Nivel de swap comprimido en RAM, entre la memoria principal y el
+ * SwapDevice (como zswap): SwapManager le ofrece cada página que sale de
+ * memoria y solo la escribe al archivo si el pool la rechaza.
+ *
+ * Las entradas se indexan por ranura de swap: la página sigue reservando
+ * su ranura en el dispositivo, así que pasar al archivo no cambia la tabla
+ * de páginas. Una escritura nueva en la misma ranura reemplaza la entrada.
+ *
+ * Almacenamiento: un único buffer directo de poolPages páginas, repartido
+ * en clases de tamaño (1/16 de página cada una, como zsmalloc). Cada página
+ * del pool pertenece a una clase y guarda objetos de ese tamaño, con un
+ * mapa de bits de ocupados; las páginas con huecos de cada clase forman
+ * una lista doblemente enlazada y las vacías vuelven a una pila común.
+ * Reservar y liberar es O(1).
+ *
+ * Se rechaza una página (y va al archivo) si:
+ * - no comprime por debajo de 3/4 de página (incompresible), o
+ * - no queda espacio en el pool (lleno).
+ * Las páginas de un solo valor repetido (por ejemplo, ceros) no se
+ * comprimen: se guarda el valor de 8 bytes.
+ *
+ * Reporta razón de compresión, aciertos en las lecturas (page-in servidos
+ * desde el pool) y el tiempo de CPU de comprimir y descomprimir. Es seguro
+ * entre hilos (métodos sincronizados), como las ranuras de SwapDevice.
+ */
+public class CompressedSwapPool {
+
+    /** Clases de tamaño por página del pool. */
+    private static final int CLASSES = 16;
+
+    private static final int NONE = -1;
+    private static final int SAME_FILLED = -2;
+
+    public final int pageSize;
+    public final int poolPages;
+
+    private final PageCodec codec;
+    private final int unit;
+    private final int maxStored;
+
+    private final ByteBuffer pool;
+    private final byte[] page;
+    private final ByteBuffer pageView;
+    private final byte[] packed;
+
+    // --- Entradas por ranura de swap ---
+    private final int[] handle;
+    private final int[] length;
+    private final long[] fill;
+
+    // --- Páginas del pool ---
+    private final byte[] pageClass;
+    private final int[] pageUsed;
+    private final int[] pagePrev;
+    private final int[] pageNext;
+    private final int[] partialHead = new int[CLASSES + 1];
+    private final int[] objectsPerPage = new int[CLASSES + 1];
+    private final int[] freePages;
+    private int freePageCount;
+
+    // --- Estadísticas ---
+    private long stores;
+    private long sameFilled;
+    private long rejectedFull;
+    private long rejectedIncompressible;
+    private long hits;
+    private long misses;
+    private long bytesIn;
+    private long bytesOut;
+    private long compressNanos;
+    private long decompressNanos;
+    private int storedPages;
+    private long storedBytes;
+
+    /**
+     * @param pageSize  tamaño de página (múltiplo de 16)
+     * @param slotCount ranuras del SwapDevice asociado
+     * @param poolPages páginas de RAM del pool (> 0)
+     * @param codec     compresor
+     */
+    public CompressedSwapPool(int pageSize, int slotCount, int poolPages, PageCodec codec) {
+        if (pageSize <= 0 || pageSize % CLASSES != 0)
+            throw new IllegalArgumentException("El tamaño de página debe ser múltiplo de " + CLASSES + ".");
+        if (slotCount <= 0 || poolPages <= 0)
+            throw new IllegalArgumentException("Ranuras y páginas del pool deben ser > 0.");
+        if ((long) poolPages * pageSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("El pool comprimido no puede superar 2 GB.");
+        if (codec == null)
+            throw new IllegalArgumentException("El compresor no puede ser nulo.");
+        this.pageSize = pageSize;
+        this.poolPages = poolPages;
+        this.codec = codec;
+        this.unit = pageSize / CLASSES;
+        this.maxStored = pageSize - pageSize / 4;
+
+        this.pool = ByteBuffer.allocateDirect(poolPages * pageSize);
+        this.page = new byte[pageSize];
+        this.pageView = ByteBuffer.wrap(page);
+        this.packed = new byte[maxStored];
+
+        this.handle = new int[slotCount];
+        this.length = new int[slotCount];
+        this.fill = new long[slotCount];
+        Arrays.fill(handle, NONE);
+
+        this.pageClass = new byte[poolPages];
+        this.pageUsed = new int[poolPages];
+        this.pagePrev = new int[poolPages];
+        this.pageNext = new int[poolPages];
+        Arrays.fill(partialHead, NONE);
+        for (int k = 1; k <= CLASSES; k++)
+            objectsPerPage[k] = CLASSES / k;
+        this.freePages = new int[poolPages];
+        for (int p = 0; p < poolPages; p++)
+            freePages[p] = poolPages - 1 - p;
+        this.freePageCount = poolPages;
+    }
+
+    /** @return nombre del compresor */
+    public String codecName() {
+        return codec.name();
+    }
+
+    // ===== Páginas =====
+
+    /**
+     * Guarda la imagen de un marco en la ranura. Cualquier entrada previa
+     * de la ranura se descarta, se acepte o no la nueva.
+     *
+     * @param slot     ranura de swap de la página
+     * @param contents contenido de los marcos
+     * @param frameNo  marco con la página
+     * @return true si quedó en el pool; false si hay que escribirla al archivo
+     */
+    public synchronized boolean store(int slot, FrameContents contents, int frameNo) {
+        invalidate(slot);
+        pageView.clear();
+        contents.readFrame(frameNo, pageView);
+
+        long v = pageView.getLong(0);
+        boolean same = true;
+        for (int i = 8; i < pageSize && same; i += 8)
+            same = pageView.getLong(i) == v;
+        if (same) {
+            handle[slot] = SAME_FILLED;
+            fill[slot] = v;
+            stores++;
+            sameFilled++;
+            storedPages++;
+            return true;
+        }
+
+        long t0 = System.nanoTime();
+        int n = codec.compress(page, pageSize, packed);
+        compressNanos += System.nanoTime() - t0;
+        if (n < 0) {
+            rejectedIncompressible++;
+            return false;
+        }
+        int h = allocate((n + unit - 1) / unit);
+        if (h == NONE) {
+            rejectedFull++;
+            return false;
+        }
+        pool.put(offset(h), packed, 0, n);
+        handle[slot] = h;
+        length[slot] = n;
+        stores++;
+        storedPages++;
+        storedBytes += n;
+        bytesIn += pageSize;
+        bytesOut += n;
+        return true;
+    }
+
+    /**
+     * Copia la página de la ranura en dst (pageSize bytes desde su
+     * posición), si está en el pool.
+     *
+     * @return true si se sirvió desde el pool; false si hay que leer el archivo
+     */
+    public synchronized boolean load(int slot, ByteBuffer dst) {
+        int h = handle[slot];
+        if (h == NONE) {
+            misses++;
+            return false;
+        }
+        hits++;
+        if (h == SAME_FILLED) {
+            long v = fill[slot];
+            for (int i = 0; i < pageSize; i += 8)
+                pageView.putLong(i, v);
+        } else {
+            int n = length[slot];
+            pool.get(offset(h), packed, 0, n);
+            long t0 = System.nanoTime();
+            codec.decompress(packed, n, page, pageSize);
+            decompressNanos += System.nanoTime() - t0;
+        }
+        dst.put(page, 0, pageSize);
+        return true;
+    }
+
+    /**
+     * Descarta la entrada de la ranura (al liberarla o reescribirla).
+     *
+     * @param slot ranura de swap
+     */
+    public synchronized void invalidate(int slot) {
+        int h = handle[slot];
+        if (h == NONE)
+            return;
+        if (h != SAME_FILLED) {
+            release(h);
+            storedBytes -= length[slot];
+        }
+        handle[slot] = NONE;
+        storedPages--;
+    }
+
+    /** @return true si la ranura tiene su página en el pool */
+    public synchronized boolean contains(int slot) {
+        return handle[slot] != NONE;
+    }
+
+    // ===== Reserva por clases de tamaño =====
+
+    /** @return manejador (página del pool << 4 | objeto), o NONE si no hay espacio */
+    private int allocate(int k) {
+        int p = partialHead[k];
+        if (p == NONE) {
+            if (freePageCount == 0)
+                return NONE;
+            p = freePages[--freePageCount];
+            pageClass[p] = (byte) k;
+            pageUsed[p] = 0;
+            pushPartial(k, p);
+        }
+        int idx = Integer.numberOfTrailingZeros(~pageUsed[p]);
+        pageUsed[p] |= 1 << idx;
+        if (Integer.bitCount(pageUsed[p]) == objectsPerPage[k])
+            removePartial(k, p);
+        return p << 4 | idx;
+    }
+
+    private void release(int h) {
+        int p = h >>> 4;
+        int k = pageClass[p];
+        boolean wasFull = Integer.bitCount(pageUsed[p]) == objectsPerPage[k];
+        pageUsed[p] &= ~(1 << (h & 15));
+        if (pageUsed[p] == 0) {
+            if (!wasFull)
+                removePartial(k, p);
+            freePages[freePageCount++] = p;
+        } else if (wasFull) {
+            pushPartial(k, p);
+        }
+    }
+
+    private int offset(int h) {
+        int p = h >>> 4;
+        return p * pageSize + (h & 15) * pageClass[p] * unit;
+    }
+
+    private void pushPartial(int k, int p) {
+        pagePrev[p] = NONE;
+        pageNext[p] = partialHead[k];
+        if (partialHead[k] != NONE)
+            pagePrev[partialHead[k]] = p;
+        partialHead[k] = p;
+    }
+
+    private void removePartial(int k, int p) {
+        if (pagePrev[p] != NONE)
+            pageNext[pagePrev[p]] = pageNext[p];
+        else
+            partialHead[k] = pageNext[p];
+        if (pageNext[p] != NONE)
+            pagePrev[pageNext[p]] = pagePrev[p];
+    }
+
+    // ===== Estadísticas =====
+
+    /** @return páginas aceptadas por el pool (incluye las de un solo valor) */
+    public synchronized long stores() {
+        return stores;
+    }
+
+    /** @return páginas de un solo valor repetido (guardadas sin comprimir) */
+    public synchronized long sameFilledPages() {
+        return sameFilled;
+    }
+
+    /** @return páginas enviadas al archivo por falta de espacio en el pool */
+    public synchronized long rejectedFull() {
+        return rejectedFull;
+    }
+
+    /** @return páginas enviadas al archivo por no comprimir lo suficiente */
+    public synchronized long rejectedIncompressible() {
+        return rejectedIncompressible;
+    }
+
+    /** @return page-in servidos desde el pool */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** @return page-in que tuvieron que leer el archivo */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /** @return aciertos / page-in */
+    public synchronized double hitRate() {
+        long n = hits + misses;
+        return n == 0 ? 0 : (double) hits / n;
+    }
+
+    /** @return bytes originales / bytes comprimidos (sin las páginas de un solo valor) */
+    public synchronized double compressionRatio() {
+        return bytesOut == 0 ? 0 : (double) bytesIn / bytesOut;
+    }
+
+    /** @return páginas guardadas ahora en el pool */
+    public synchronized int storedPages() {
+        return storedPages;
+    }
+
+    /** @return bytes comprimidos guardados ahora (sin redondear a la clase) */
+    public synchronized long storedBytes() {
+        return storedBytes;
+    }
+
+    /** @return bytes del pool ocupados por páginas asignadas a alguna clase */
+    public synchronized long usedBytes() {
+        return (long) (poolPages - freePageCount) * pageSize;
+    }
+
+    /** @return tiempo total comprimiendo (ns) */
+    public synchronized long compressNanos() {
+        return compressNanos;
+    }
+
+    /** @return tiempo total descomprimiendo (ns) */
+    public synchronized long decompressNanos() {
+        return decompressNanos;
+    }
+}
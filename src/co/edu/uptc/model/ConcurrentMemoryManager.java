@@ -0,0 +1,396 @@
+package co.edu.uptc.model;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Clase ConcurrentMemoryManager
+ * ----------------------------------------
+ * Implementación de MemoryManager que puede usarse desde muchos hilos a la vez.
+ *
+ * Política de asignación:
+ * - Todo-o-nada, igual que SimpleMemoryManager, pero sin bloqueos:
+ * * Primero se reservan 'need' marcos sobre un contador atómico de disponibles.
+ * * Luego cada marco se reclama con CAS sobre un mapa de bits atómico (bit 1 = libre).
+ * * Si no se logran reclamar todos, se devuelven los ya tomados (rollback).
+ *
+ * Concurrencia:
+ * - Cada hilo usa una caché pequeña de marcos (por franjas según su id) para no
+ * competir siempre por las mismas palabras del mapa de bits.
+ * - La traducción no toma bloqueos: lee el bit 'present' (volátil) y luego el marco.
+ * - Un mismo PCB no puede estar admitido dos veces (registro de residentes).
+ */
+public class ConcurrentMemoryManager implements MemoryManager {
+
+    /** Capacidad de cada caché de marcos. */
+    private static final int CACHE_SLOTS = 16;
+
+    /** Máximo de marcos que se toman de una palabra del mapa en un solo CAS. */
+    private static final int BATCH = 8;
+
+    /** Intentos completos de reclamo antes de deshacer una admisión. */
+    private static final int MAX_CLAIM_PASSES = 64;
+
+    /** Memoria física que administra el gestor. */
+    private final PhysicalMemory pm;
+
+    /** Mapa de bits de marcos libres: el bit (i % 64) de la palabra (i / 64) es el marco i. */
+    private final AtomicLongArray freeBits;
+
+    /**
+     * Marcos disponibles (en el mapa o en alguna caché) que aún no han sido
+     * reservados por una admisión en curso, y registro de residentes.
+     */
+    private final FrameReservation frames;
+
+    /** Cachés de marcos por franja; cada posición vale -1 si está vacía. */
+    private final AtomicIntegerArray[] caches;
+
+    /**
+     * Constructor de ConcurrentMemoryManager.
+     * Marca como libres en el mapa de bits todos los marcos libres de la memoria física.
+     *
+     * @param pm memoria física usada por el simulador
+     */
+    public ConcurrentMemoryManager(PhysicalMemory pm) {
+        if (pm == null)
+            throw new IllegalArgumentException("Memoria física no puede ser nula.");
+        if (pm.pageSize <= 0)
+            throw new IllegalArgumentException("Tamaño de página inválido.");
+        this.pm = pm;
+
+        int n = pm.frames.length;
+        this.freeBits = new AtomicLongArray((n + 63) >>> 6);
+        int free = 0;
+        for (Frame f : pm.frames) {
+            if (f.free) {
+                int w = f.frameNumber >>> 6;
+                freeBits.set(w, freeBits.get(w) | (1L << f.frameNumber));
+                free++;
+            }
+        }
+        this.frames = new FrameReservation(free);
+
+        // Número de franjas: potencia de dos ~ 2 x núcleos
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.caches = new AtomicIntegerArray[stripes];
+        for (int i = 0; i < stripes; i++) {
+            AtomicIntegerArray c = new AtomicIntegerArray(CACHE_SLOTS);
+            for (int s = 0; s < CACHE_SLOTS; s++)
+                c.set(s, -1);
+            caches[i] = c;
+        }
+    }
+
+    /**
+     * Número de marcos que una admisión podría reservar en este momento.
+     *
+     * @return marcos libres no reservados
+     */
+    @Override
+    public int freeFrameCount() {
+        return frames.available();
+    }
+
+    /** La traducción solo toca la tabla de páginas del proceso y contadores atómicos. */
+    @Override
+    public boolean concurrentTranslation() {
+        return true;
+    }
+
+    /**
+     * Admite un proceso en memoria (todo-o-nada, sin bloqueos).
+     *
+     * @param pcb proceso a admitir
+     * @return true si el proceso fue admitido, false si no había marcos suficientes
+     */
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        // Reservar la cantidad completa antes de tocar el mapa de bits
+        int need = frames.begin(pcb);
+        if (need <= 0)
+            return need == 0;
+
+        int stripe = stripeIndex();
+        int[] chosen = new int[need];
+        int got = 0;
+        try {
+            for (int pass = 0; pass < MAX_CLAIM_PASSES && got < need; pass++) {
+                while (got < need) {
+                    int f = claimOne(stripe);
+                    if (f < 0)
+                        break;
+                    chosen[got++] = f;
+                }
+                if (got < need)
+                    Thread.onSpinWait();
+            }
+        } finally {
+            if (got < need) {
+                // Rollback: devolver lo reclamado y la reserva completa
+                for (int i = 0; i < got; i++)
+                    giveBack(chosen[i], stripe);
+                frames.abort(pcb, need);
+            }
+        }
+        if (got < need)
+            return false;
+
+        for (int p = 0; p < need; p++) {
+            int frameNo = chosen[p];
+            Frame f = pm.frames[frameNo];
+            f.pid = pcb.pid;
+            f.pageNumber = p;
+            f.free = false;
+
+            PageTableEntry e = pcb.pageTable[p];
+            e.frameNumber = frameNo;
+            e.referenced = false;
+            e.dirty = false;
+            // Publicar la entrada al final: los lectores ven present=true con el marco ya escrito
+            e.present = true;
+        }
+        return true;
+    }
+
+    /**
+     * Libera todos los marcos ocupados por un proceso y limpia su tabla de páginas.
+     * Los marcos vuelven primero a la caché del hilo y, si está llena, al mapa de bits.
+     *
+     * @param pcb proceso cuyos marcos deben liberarse
+     */
+    @Override
+    public void releaseProcess(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+
+        int stripe = stripeIndex();
+        int freed = 0;
+        for (PageTableEntry e : pcb.pageTable) {
+            Integer frameNo = e.frameNumber;
+            if (e.present && frameNo != null) {
+                // Despublicar antes de devolver el marco
+                e.present = false;
+                Frame f = pm.frames[frameNo];
+                f.free = true;
+                f.pid = null;
+                f.pageNumber = null;
+                giveBack(frameNo, stripe);
+                freed++;
+            }
+            e.frameNumber = null;
+            e.referenced = false;
+            e.dirty = false;
+        }
+        frames.release(freed);
+        frames.forget(pcb.pid);
+    }
+
+    /**
+     * Traduce una dirección lógica a física sin tomar bloqueos.
+     *
+     * @param pcb         proceso al que pertenece la dirección
+     * @param logicalAddr dirección lógica en bytes (>=0)
+     * @return dirección física correspondiente
+     * @throws IllegalArgumentException si la página está fuera de rango o no está
+     *                                  presente
+     */
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (logicalAddr < 0)
+            throw new IllegalArgumentException("La dirección lógica debe ser ≥ 0.");
+
+        long page = pm.pageOf(logicalAddr);
+        long offset = pm.offsetOf(logicalAddr);
+
+        if (page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+
+        PageTableEntry e = pcb.pageTable[(int) page];
+        // Leer primero el bit volátil; si está en true, frameNumber ya es visible
+        if (!e.present)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        Integer frameNo = e.frameNumber;
+        if (frameNo == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+
+        e.referenced = true;
+        return pm.physicalAddress(frameNo, offset);
+    }
+
+    /**
+     * Carga una página no presente en un marco reclamado sin bloqueos.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica
+     * @return true si se asignó un marco, false si no hay marcos libres
+     */
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (e.present)
+            throw new IllegalStateException("La página ya está presente en memoria.");
+        if (!frames.reserve(1))
+            return false;
+
+        int stripe = stripeIndex();
+        int frameNo = -1;
+        try {
+            for (int pass = 0; pass < MAX_CLAIM_PASSES && frameNo < 0; pass++) {
+                frameNo = claimOne(stripe);
+                if (frameNo < 0)
+                    Thread.onSpinWait();
+            }
+        } finally {
+            if (frameNo < 0)
+                frames.release(1);
+        }
+        if (frameNo < 0)
+            return false;
+
+        frames.markResident(pcb.pid);
+        Frame f = pm.frames[frameNo];
+        f.pid = pcb.pid;
+        f.pageNumber = page;
+        f.free = false;
+
+        e.frameNumber = frameNo;
+        e.referenced = false;
+        e.dirty = false;
+        e.present = true;
+        return true;
+    }
+
+    /**
+     * Libera el marco de una página presente.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     */
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        Integer frameNo = e.frameNumber;
+        if (!e.present || frameNo == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+
+        e.present = false;
+        Frame f = pm.frames[frameNo];
+        f.free = true;
+        f.pid = null;
+        f.pageNumber = null;
+        e.frameNumber = null;
+        e.referenced = false;
+        e.dirty = false;
+        giveBack(frameNo, stripeIndex());
+        frames.release(1);
+    }
+
+    // ===== Reserva y reclamo de marcos =====
+
+    /**
+     * Reclama un marco: primero de la caché propia, luego del mapa de bits
+     * (llenando la caché con el resto del lote) y por último de otras cachés.
+     *
+     * @return número de marco, o -1 si en esta pasada no se encontró ninguno
+     */
+    private int claimOne(int stripe) {
+        int f = popCache(caches[stripe]);
+        if (f >= 0)
+            return f;
+        f = claimFromBitmap(stripe);
+        if (f >= 0)
+            return f;
+        for (int i = 1; i < caches.length; i++) {
+            f = popCache(caches[(stripe + i) & (caches.length - 1)]);
+            if (f >= 0)
+                return f;
+        }
+        return -1;
+    }
+
+    /** Toma hasta BATCH bits libres de una palabra con un solo CAS. */
+    private int claimFromBitmap(int stripe) {
+        int words = freeBits.length();
+        // Cada franja empieza en una zona distinta del mapa para repartir la contención
+        int w = (int) ((long) stripe * words / caches.length);
+        for (int k = 0; k < words; k++, w = (w + 1 == words) ? 0 : w + 1) {
+            long bits = freeBits.get(w);
+            while (bits != 0) {
+                long taken = 0;
+                long rest = bits;
+                for (int b = 0; b < BATCH && rest != 0; b++) {
+                    taken |= rest & -rest;
+                    rest &= rest - 1;
+                }
+                if (freeBits.compareAndSet(w, bits, bits & ~taken)) {
+                    int base = w << 6;
+                    int first = base + Long.numberOfTrailingZeros(taken);
+                    taken &= taken - 1;
+                    while (taken != 0) {
+                        int extra = base + Long.numberOfTrailingZeros(taken);
+                        if (!pushCache(caches[stripe], extra))
+                            setFreeBit(extra);
+                        taken &= taken - 1;
+                    }
+                    return first;
+                }
+                bits = freeBits.get(w);
+            }
+        }
+        return -1;
+    }
+
+    /** Devuelve un marco a la caché de la franja o, si está llena, al mapa de bits. */
+    private void giveBack(int frameNo, int stripe) {
+        if (!pushCache(caches[stripe], frameNo))
+            setFreeBit(frameNo);
+    }
+
+    /** Marca un marco como libre en el mapa de bits (bucle CAS). */
+    private void setFreeBit(int frameNo) {
+        int w = frameNo >>> 6;
+        long mask = 1L << frameNo;
+        while (true) {
+            long bits = freeBits.get(w);
+            if (freeBits.compareAndSet(w, bits, bits | mask))
+                return;
+        }
+    }
+
+    /** Extrae un marco cualquiera de una caché, o -1 si está vacía. */
+    private static int popCache(AtomicIntegerArray cache) {
+        for (int s = 0; s < CACHE_SLOTS; s++) {
+            int v = cache.get(s);
+            if (v >= 0 && cache.compareAndSet(s, v, -1))
+                return v;
+        }
+        return -1;
+    }
+
+    /** Inserta un marco en una posición vacía de la caché; false si está llena. */
+    private static boolean pushCache(AtomicIntegerArray cache, int frameNo) {
+        for (int s = 0; s < CACHE_SLOTS; s++) {
+            if (cache.get(s) == -1 && cache.compareAndSet(s, -1, frameNo))
+                return true;
+        }
+        return false;
+    }
+
+    /** Valida el PCB y el número de página, y retorna su entrada. */
+    private static PageTableEntry requirePage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        return pcb.pageTable[page];
+    }
+
+    /** Franja de caché del hilo actual (hash del id del hilo). */
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (caches.length - 1);
+    }
+}
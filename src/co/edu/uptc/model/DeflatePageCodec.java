@@ -0,0 +1,44 @@
+package co.edu.uptc.model;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Clase DeflatePageCodec
+ * ------------------------------------------
+ * Deflate crudo (sin cabecera zlib) en su nivel más rápido, con un
+ * Deflater y un Inflater reutilizados. Comprime más que LzPageCodec a
+ * cambio de varias veces más CPU por página.
+ */
+public final class DeflatePageCodec implements PageCodec {
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final Inflater inflater = new Inflater(true);
+
+    @Override
+    public int compress(byte[] src, int len, byte[] dst) {
+        deflater.reset();
+        deflater.setInput(src, 0, len);
+        deflater.finish();
+        int n = deflater.deflate(dst, 0, dst.length);
+        return deflater.finished() ? n : -1;
+    }
+
+    @Override
+    public void decompress(byte[] src, int len, byte[] dst, int dstLen) {
+        inflater.reset();
+        inflater.setInput(src, 0, len);
+        try {
+            if (inflater.inflate(dst, 0, dstLen) != dstLen)
+                throw new IllegalStateException("Página comprimida incompleta.");
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Página comprimida corrupta: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "deflate";
+    }
+}
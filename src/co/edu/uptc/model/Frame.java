@@ -13,14 +13,32 @@ public class Frame {
     public final int frameNumber;
 
     /** Indica si el marco está disponible (true) o asignado a un proceso (false). */
-    public boolean free = true;
+    public volatile boolean free = true;
 
-    /** PID del proceso que ocupa este marco; es null si el marco está libre. */
+    /**
+     * PID del proceso que ocupa este marco; es null si el marco está libre.
+     * En un marco compartido por copy-on-write identifica la página original
+     * (la que se cargó antes del fork), aunque ese proceso ya no la mapee.
+     */
     public Integer pid = null;
 
     /** Número de página del proceso que se encuentra almacenada en este marco; null si está libre. */
     public Integer pageNumber = null;
 
+    /**
+     * Referencias al marco desde tablas de páginas: 1 en un marco ocupado
+     * normal y más de 1 si varios procesos lo comparten (fork o segmento
+     * compartido). Lo mantienen los gestores que soportan compartir marcos
+     * (SimpleMemoryManager); los demás lo dejan en 0.
+     */
+    public int refCount = 0;
+
+    /**
+     * Segmento compartido al que pertenece el marco (pageNumber es entonces
+     * la página dentro del segmento y pid es null); null en un marco privado.
+     */
+    public SharedSegment segment = null;
+
     /**
      * Constructor de Frame.
      * Crea un marco físico inicializado como libre, identificado por su número.
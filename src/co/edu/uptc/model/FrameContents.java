@@ -0,0 +1,68 @@
+package co.edu.uptc.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interfaz FrameContents
+ * --------------------------------
+ * Acceso al contenido (bytes) de los marcos físicos.
+ *
+ * Permite que componentes como el swap copien la imagen de una página
+ * sin depender de cómo se almacena la memoria física.
+ */
+public interface FrameContents {
+
+    /**
+     * Copia el contenido completo de un marco en el buffer destino.
+     * Se escriben pageSize bytes a partir de la posición actual de dst.
+     *
+     * @param frameNo número de marco físico
+     * @param dst     buffer destino con al menos pageSize bytes libres
+     */
+    void readFrame(int frameNo, ByteBuffer dst);
+
+    /**
+     * Sobrescribe el contenido completo de un marco con los bytes del buffer.
+     * Se leen pageSize bytes a partir de la posición actual de src.
+     *
+     * @param frameNo número de marco físico
+     * @param src     buffer origen con al menos pageSize bytes restantes
+     */
+    void writeFrame(int frameNo, ByteBuffer src);
+
+    /**
+     * Llena un marco con ceros (página nueva sin copia en swap). Por defecto
+     * escribe una página de ceros con writeFrame(...); los almacenes reales
+     * lo sobrescriben con algo más directo.
+     *
+     * @param frameNo  número de marco físico
+     * @param pageSize tamaño de página en bytes
+     */
+    default void clearFrame(int frameNo, int pageSize) {
+        writeFrame(frameNo, ByteBuffer.allocate(pageSize));
+    }
+
+    /**
+     * Memoria sin contenido: los marcos se leen como ceros y las escrituras
+     * se descartan. Es el comportamiento de los marcos del simulador cuando
+     * no se configura un almacenamiento real.
+     */
+    FrameContents NONE = new FrameContents() {
+        @Override
+        public void readFrame(int frameNo, ByteBuffer dst) {
+            int end = dst.limit();
+            while (dst.position() < end)
+                dst.put((byte) 0);
+        }
+
+        @Override
+        public void writeFrame(int frameNo, ByteBuffer src) {
+            src.position(src.limit());
+        }
+
+        @Override
+        public void clearFrame(int frameNo, int pageSize) {
+            // sin contenido
+        }
+    };
+}
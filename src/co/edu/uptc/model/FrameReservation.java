@@ -0,0 +1,101 @@
+package co.edu.uptc.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase FrameReservation
+ * ----------------------------------------
+ * Prólogo común de las admisiones sin bloqueos (ConcurrentMemoryManager y
+ * NumaMemoryManager): registro de procesos residentes y reserva de marcos
+ * sobre un contador atómico de disponibles.
+ *
+ * Uso en admitProcess(...):
+ * int need = reservation.begin(pcb); (valida, registra y reserva)
+ * si need < 0 no había marcos; si no, se reclaman los marcos y, si no se
+ * completan, reservation.abort(pcb, need) devuelve la reserva completa y
+ * el registro. Con try/finally el abort cubre también las excepciones.
+ */
+final class FrameReservation {
+
+    /** Marcos libres que aún no reservó ninguna admisión en curso. */
+    private final AtomicInteger available;
+
+    /** PIDs actualmente admitidos por el gestor. */
+    private final ConcurrentHashMap<Integer, Boolean> resident = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de FrameReservation.
+     *
+     * @param free marcos libres iniciales
+     */
+    FrameReservation(int free) {
+        this.available = new AtomicInteger(free);
+    }
+
+    /** @return marcos libres no reservados */
+    int available() {
+        return available.get();
+    }
+
+    /**
+     * Prólogo de admitProcess(...): valida el PCB, lo registra como residente
+     * y reserva un marco por página.
+     *
+     * @param pcb proceso a admitir
+     * @return marcos reservados (0 si no tiene páginas), o -1 si no alcanzan
+     *         (sin reserva ni registro)
+     * @throws IllegalStateException si el proceso ya está admitido
+     */
+    int begin(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (resident.putIfAbsent(pcb.pid, Boolean.TRUE) != null)
+            throw new IllegalStateException("El proceso ya está admitido en memoria.");
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.present) {
+                resident.remove(pcb.pid);
+                throw new IllegalStateException("El proceso ya está admitido en memoria.");
+            }
+        }
+        int need = pcb.pageCount;
+        if (!reserve(need)) {
+            resident.remove(pcb.pid);
+            return -1;
+        }
+        return need;
+    }
+
+    /** Deshace begin(...): devuelve la reserva y quita el registro. */
+    void abort(PCB pcb, int need) {
+        release(need);
+        resident.remove(pcb.pid);
+    }
+
+    /** Descuenta 'need' marcos del contador de disponibles si alcanzan. */
+    boolean reserve(int need) {
+        while (true) {
+            int a = available.get();
+            if (a < need)
+                return false;
+            if (available.compareAndSet(a, a - need))
+                return true;
+        }
+    }
+
+    /** Devuelve 'count' marcos al contador de disponibles. */
+    void release(int count) {
+        if (count > 0)
+            available.addAndGet(count);
+    }
+
+    /** Registra el proceso como residente (carga por demanda). */
+    void markResident(int pid) {
+        resident.putIfAbsent(pid, Boolean.TRUE);
+    }
+
+    /** Quita el proceso del registro de residentes. */
+    void forget(int pid) {
+        resident.remove(pid);
+    }
+}
@@ -0,0 +1,253 @@
+package co.edu.uptc.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Clase FrameStore
+ * ------------------------------------------
+ * Contenido real de la memoria física: los bytes de todos los marcos, fuera
+ * del heap de Java.
+ *
+ * Dos formas de respaldo:
+ * - direct(pm): ByteBuffers directos (memoria nativa del proceso).
+ * - mapped(pm, archivo): un archivo mapeado en memoria, para memorias más
+ * grandes que el heap o la RAM disponible (el sistema operativo pagina).
+ *
+ * Un ByteBuffer admite a lo sumo 2 GB, así que el almacén se divide en
+ * trozos de CHUNK_BYTES (redondeado a páginas completas); una página nunca
+ * queda partida entre dos trozos. Los accesos usan direcciones físicas
+ * (las que devuelve mapLogicalToPhysical) en orden little-endian; un valor
+ * int/long no debe cruzar el final de su página (MemoryAccess parte los
+ * que cruzan).
+ *
+ * Implementa FrameContents, así que el swap y el copy-on-write copian
+ * páginas reales al usarlo.
+ */
+public class FrameStore implements FrameContents, AutoCloseable {
+
+    /** Tamaño máximo de cada trozo (1 GB). */
+    public static final int CHUNK_BYTES = 1 << 30;
+
+    private final int pageSize;
+    private final long sizeBytes;
+    private final ByteBuffer[] chunks;
+    private final long chunkBytes;
+    /** log2(chunkBytes) si es potencia de dos; -1 en otro caso. */
+    private final int chunkShift;
+    private final FileChannel channel;
+
+    private FrameStore(PhysicalMemory pm, FileChannel channel) throws IOException {
+        this.pageSize = pm.pageSize;
+        this.sizeBytes = pm.sizeBytes();
+        this.channel = channel;
+        long pagesPerChunk = Math.max(1, CHUNK_BYTES / pm.pageSize);
+        this.chunkBytes = pagesPerChunk * pm.pageSize;
+        this.chunkShift = (Long.bitCount(chunkBytes) == 1) ? Long.numberOfTrailingZeros(chunkBytes) : -1;
+        int n = (int) ((sizeBytes + chunkBytes - 1) / chunkBytes);
+        this.chunks = new ByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            long start = i * chunkBytes;
+            int len = (int) Math.min(chunkBytes, sizeBytes - start);
+            ByteBuffer b = (channel != null) ? channel.map(FileChannel.MapMode.READ_WRITE, start, len)
+                    : ByteBuffer.allocateDirect(len);
+            chunks[i] = b.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Almacén en ByteBuffers directos (inicia en ceros).
+     *
+     * @param pm memoria física cuyos marcos respalda
+     * @return almacén del tamaño de la memoria
+     */
+    public static FrameStore direct(PhysicalMemory pm) {
+        try {
+            return new FrameStore(pm, null);
+        } catch (IOException ex) {
+            // Sin archivo no hay E/S
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Almacén sobre un archivo mapeado en memoria. El archivo se crea o se
+     * extiende al tamaño de la memoria física; su contenido previo se
+     * conserva.
+     *
+     * @param pm   memoria física cuyos marcos respalda
+     * @param file archivo de respaldo
+     * @return almacén mapeado
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public static FrameStore mapped(PhysicalMemory pm, Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            return new FrameStore(pm, ch);
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            throw ex;
+        }
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /** @return bytes respaldados (marcos × pageSize) */
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    /** @return true si el almacén es un archivo mapeado */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    // ===== Acceso por dirección física =====
+
+    private ByteBuffer chunk(long address) {
+        return chunks[(int) (chunkShift >= 0 ? address >>> chunkShift : address / chunkBytes)];
+    }
+
+    private int index(long address) {
+        return (int) (chunkShift >= 0 ? address & (chunkBytes - 1) : address % chunkBytes);
+    }
+
+    public byte getByte(long address) {
+        return chunk(address).get(index(address));
+    }
+
+    public void putByte(long address, byte value) {
+        chunk(address).put(index(address), value);
+    }
+
+    public int getInt(long address) {
+        return chunk(address).getInt(index(address));
+    }
+
+    public void putInt(long address, int value) {
+        chunk(address).putInt(index(address), value);
+    }
+
+    public long getLong(long address) {
+        return chunk(address).getLong(index(address));
+    }
+
+    public void putLong(long address, long value) {
+        chunk(address).putLong(index(address), value);
+    }
+
+    /**
+     * Copia bytes del almacén al buffer (desde su posición actual).
+     * El rango no debe salir de la página de 'address'.
+     */
+    public void read(long address, ByteBuffer dst) {
+        int len = dst.remaining();
+        dst.put(chunk(address).slice(index(address), len));
+    }
+
+    /**
+     * Copia bytes del buffer (desde su posición actual) al almacén.
+     * El rango no debe salir de la página de 'address'.
+     */
+    public void write(long address, ByteBuffer src) {
+        chunk(address).put(index(address), src, src.position(), src.remaining());
+        src.position(src.limit());
+    }
+
+    /**
+     * Copia 'length' bytes entre dos direcciones físicas, sin pasar por el
+     * heap. Ningún rango debe salir de su página.
+     */
+    public void copy(long from, long to, int length) {
+        chunk(to).put(index(to), chunk(from), index(from), length);
+    }
+
+    // ===== FrameContents =====
+
+    private long frameAddress(int frameNo) {
+        return (long) frameNo * pageSize;
+    }
+
+    @Override
+    public void readFrame(int frameNo, ByteBuffer dst) {
+        long a = frameAddress(frameNo);
+        dst.put(chunk(a).slice(index(a), pageSize));
+    }
+
+    @Override
+    public void writeFrame(int frameNo, ByteBuffer src) {
+        long a = frameAddress(frameNo);
+        int len = Math.min(pageSize, src.remaining());
+        chunk(a).put(index(a), src, src.position(), len);
+        src.position(src.position() + len);
+    }
+
+    @Override
+    public void clearFrame(int frameNo, int pageSize) {
+        long a = frameAddress(frameNo);
+        ByteBuffer b = chunk(a);
+        int i = index(a);
+        int end = i + this.pageSize;
+        for (; i + 8 <= end; i += 8)
+            b.putLong(i, 0L);
+        for (; i < end; i++)
+            b.put(i, (byte) 0);
+    }
+
+    /** Copia un marco completo a otro. */
+    public void copyFrame(int from, int to) {
+        copy(frameAddress(from), frameAddress(to), pageSize);
+    }
+
+    /**
+     * Hash de 64 bits del contenido de un marco (para buscar páginas con el
+     * mismo contenido). Recorre la página de a 8 bytes.
+     */
+    public long hashFrame(int frameNo) {
+        long a = frameAddress(frameNo);
+        ByteBuffer b = chunk(a);
+        int i = index(a);
+        int end = i + pageSize;
+        long h = 0x27D4EB2F165667C5L;
+        for (; i + 8 <= end; i += 8)
+            h = Long.rotateLeft(h ^ (b.getLong(i) * 0xC2B2AE3D27D4EB4FL), 31) * 0x9E3779B97F4A7C15L;
+        for (; i < end; i++)
+            h = (h ^ b.get(i)) * 0x100000001B3L;
+        // Mezcla final (murmur3 fmix64)
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /** @return true si los dos marcos tienen exactamente el mismo contenido */
+    public boolean sameContents(int frameA, int frameB) {
+        long a = frameAddress(frameA);
+        long b = frameAddress(frameB);
+        return chunk(a).slice(index(a), pageSize).mismatch(chunk(b).slice(index(b), pageSize)) < 0;
+    }
+
+    /** Fuerza a disco los cambios de un almacén mapeado (no hace nada si es directo). */
+    public void force() {
+        if (channel == null)
+            return;
+        for (ByteBuffer b : chunks)
+            ((MappedByteBuffer) b).force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+}
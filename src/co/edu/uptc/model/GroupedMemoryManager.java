@@ -0,0 +1,386 @@
+package co.edu.uptc.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase GroupedMemoryManager
+ * ------------------------------------------
+ * Decorador de MemoryManager que reparte los procesos en grupos de memoria
+ * (MemoryGroup, como los cgroups) y les cobra cada página presente.
+ *
+ * Reglas:
+ * - Cada proceso pertenece a un grupo (assign); los que no se asignaron van
+ * al grupo raíz, sin límites. Un hijo de fork queda en el grupo del padre.
+ * - loadPage(...) falla sin tocar la memoria si el grupo está en su límite
+ * duro: quien atiende el fallo debe recuperar una página del grupo
+ * (SimulationEngine lo hace) y reintentar.
+ * - admitProcess(...) y admitBatch(...) solo admiten procesos cuyas
+ * páginas caben en el límite duro de su grupo.
+ * - El uso se mantiene en O(1) por página: +1 al cargar, -1 al desalojar y,
+ * al liberar un proceso, se resta lo que tenía cobrado. Las operaciones que
+ * ya recorren el proceso (admisión, fork, segmentos) lo recuentan.
+ *
+ * El OOM no lo ejecuta esta clase: oomVictim(...) solo elige la víctima
+ * según la política y el motor la termina.
+ */
+public class GroupedMemoryManager implements MemoryManager {
+
+    /** Nombre del grupo raíz. */
+    public static final String ROOT = "raiz";
+
+    /** Proceso conocido por el controlador: su grupo y lo que tiene cobrado. */
+    private static final class Member {
+        final PCB pcb;
+        /** Orden de llegada al controlador (para YOUNGEST). */
+        final long order;
+        MemoryGroup group;
+        int charged;
+
+        Member(PCB pcb, long order, MemoryGroup group) {
+            this.pcb = pcb;
+            this.order = order;
+            this.group = group;
+        }
+    }
+
+    private final MemoryManager delegate;
+    private final MemoryGroup root = new MemoryGroup(ROOT, 0, 0);
+    private final Map<String, MemoryGroup> groups = new LinkedHashMap<>();
+    private final Map<Integer, Member> members = new HashMap<>();
+    private OomPolicy oomPolicy = OomPolicy.NONE;
+    private long arrivals;
+
+    /**
+     * Constructor de GroupedMemoryManager.
+     *
+     * @param delegate gestor que asigna y traduce
+     */
+    public GroupedMemoryManager(MemoryManager delegate) {
+        if (delegate == null)
+            throw new IllegalArgumentException("El gestor no puede ser nulo.");
+        this.delegate = delegate;
+        groups.put(ROOT, root);
+    }
+
+    // ===== Grupos =====
+
+    /**
+     * Crea un grupo.
+     *
+     * @param name      nombre (único)
+     * @param hardLimit límite duro en páginas (0 = sin límite)
+     * @param softLimit límite blando en páginas (0 = sin límite)
+     * @return grupo creado
+     */
+    public MemoryGroup createGroup(String name, int hardLimit, int softLimit) {
+        if (groups.containsKey(name))
+            throw new IllegalArgumentException("El grupo " + name + " ya existe.");
+        MemoryGroup g = new MemoryGroup(name, hardLimit, softLimit);
+        groups.put(name, g);
+        return g;
+    }
+
+    /** @return grupo con ese nombre, o null */
+    public MemoryGroup group(String name) {
+        return groups.get(name);
+    }
+
+    /** @return grupos en orden de creación (el raíz primero) */
+    public Collection<MemoryGroup> groups() {
+        return Collections.unmodifiableCollection(groups.values());
+    }
+
+    public MemoryGroup root() {
+        return root;
+    }
+
+    /**
+     * Pone un proceso en un grupo. Si ya tenía páginas presentes, su cobro
+     * pasa al grupo nuevo (aunque lo deje por encima de su límite; la
+     * próxima carga del grupo recuperará páginas).
+     *
+     * @param pcb   proceso
+     * @param group grupo creado por este controlador
+     */
+    public void assign(PCB pcb, MemoryGroup group) {
+        if (pcb == null || group == null || groups.get(group.name) != group)
+            throw new IllegalArgumentException("Proceso o grupo inválido.");
+        Member m = member(pcb);
+        if (m.group == group)
+            return;
+        m.group.usage -= m.charged;
+        m.group = group;
+        charge(group, m.charged);
+    }
+
+    /**
+     * Olvida un proceso que terminó: descuenta lo que tuviera cobrado y lo
+     * quita del controlador. Un proceso suspendido (solo releaseProcess)
+     * conserva su grupo.
+     *
+     * @param pcb proceso terminado
+     */
+    public void forget(PCB pcb) {
+        Member m = members.get(pcb.pid);
+        if (m == null || m.pcb != pcb)
+            return;
+        m.group.usage -= m.charged;
+        members.remove(pcb.pid);
+    }
+
+    /** @return grupo del proceso (el raíz si no se asignó) */
+    public MemoryGroup groupOf(PCB pcb) {
+        Member m = members.get(pcb.pid);
+        return (m == null) ? root : m.group;
+    }
+
+    /** @return páginas presentes cobradas al proceso */
+    public int charged(PCB pcb) {
+        Member m = members.get(pcb.pid);
+        return (m == null) ? 0 : m.charged;
+    }
+
+    /** @return true si el grupo del proceso está en su límite duro */
+    public boolean atHardLimit(PCB pcb) {
+        return groupOf(pcb).room() == 0;
+    }
+
+    /** @return true si 'pages' páginas más caben en el límite duro del grupo del proceso */
+    public boolean fits(PCB pcb, int pages) {
+        return pages <= groupOf(pcb).room();
+    }
+
+    /** @return grupo que más supera su límite blando, o null si ninguno lo supera */
+    public MemoryGroup mostOverSoftLimit() {
+        MemoryGroup worst = null;
+        for (MemoryGroup g : groups.values())
+            if (g.softExcess() > 0 && (worst == null || g.softExcess() > worst.softExcess()))
+                worst = g;
+        return worst;
+    }
+
+    // ===== OOM =====
+
+    public void setOomPolicy(OomPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("La política OOM no puede ser nula.");
+        this.oomPolicy = policy;
+    }
+
+    public OomPolicy oomPolicy() {
+        return oomPolicy;
+    }
+
+    /**
+     * Elige a quién terminar para que 'pcb' pueda cobrar 'pages' páginas en
+     * su grupo, según la política OOM.
+     *
+     * @return víctima (puede ser el mismo pcb), o null si la política es NONE
+     */
+    public PCB oomVictim(PCB pcb, int pages) {
+        MemoryGroup g = groupOf(pcb);
+        if (oomPolicy == OomPolicy.NONE)
+            return null;
+        if (oomPolicy == OomPolicy.ALLOCATING || (g.hardLimit > 0 && pages > g.hardLimit))
+            return pcb;
+        Member best = null;
+        for (Member m : members.values()) {
+            if (m.group != g || m.charged == 0 || m.pcb == pcb)
+                continue;
+            if (best == null || (oomPolicy == OomPolicy.LARGEST ? m.charged > best.charged
+                    : m.order > best.order))
+                best = m;
+        }
+        return (best == null) ? pcb : best.pcb;
+    }
+
+    /** Registra que el proceso se terminó por OOM (llamar antes de liberarlo). */
+    public void recordOomKill(PCB victim) {
+        groupOf(victim).oomKills++;
+    }
+
+    /**
+     * Registra que se desalojó una página del proceso para recuperar
+     * memoria de su grupo.
+     *
+     * @param owner proceso dueño de la página desalojada
+     * @param soft  true si fue por presión global (límite blando), false por el límite duro
+     */
+    public void recordReclaim(PCB owner, boolean soft) {
+        MemoryGroup g = groupOf(owner);
+        if (soft)
+            g.softReclaimed++;
+        else
+            g.reclaimed++;
+    }
+
+    // ===== MemoryManager =====
+
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (!fits(pcb, pcb.pageCount - presentPages(pcb))) {
+            groupOf(pcb).limitHits++;
+            return false;
+        }
+        boolean ok = delegate.admitProcess(pcb);
+        recount(pcb);
+        return ok;
+    }
+
+    /** Filtra el lote en orden de llegada para que ningún grupo supere su límite duro. */
+    @Override
+    public List<PCB> admitBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        if (candidates == null || policy == null)
+            throw new IllegalArgumentException("Candidatos y política no pueden ser nulos.");
+        Map<MemoryGroup, Integer> room = new HashMap<>();
+        List<PCB> allowed = new ArrayList<>(candidates.size());
+        for (PCB pcb : candidates) {
+            MemoryGroup g = groupOf(pcb);
+            int left = room.computeIfAbsent(g, MemoryGroup::room);
+            int need = pcb.pageCount - presentPages(pcb);
+            if (need > left) {
+                g.limitHits++;
+                continue;
+            }
+            if (g.hardLimit > 0)
+                room.put(g, left - need);
+            allowed.add(pcb);
+        }
+        List<PCB> admitted = delegate.admitBatch(allowed, policy);
+        for (PCB pcb : admitted)
+            recount(pcb);
+        return admitted;
+    }
+
+    @Override
+    public void releaseProcess(PCB pcb) {
+        delegate.releaseProcess(pcb);
+        Member m = members.get(pcb.pid);
+        if (m != null) {
+            m.group.usage -= m.charged;
+            m.charged = 0;
+        }
+    }
+
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        return delegate.mapLogicalToPhysical(pcb, logicalAddr);
+    }
+
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount || pcb.pageTable[page].present)
+            return delegate.loadPage(pcb, page);
+        Member m = member(pcb);
+        if (m.group.room() == 0) {
+            m.group.limitHits++;
+            return false;
+        }
+        if (!delegate.loadPage(pcb, page))
+            return false;
+        m.charged++;
+        m.group.pagesLoaded++;
+        charge(m.group, 1);
+        return true;
+    }
+
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        boolean was = page >= 0 && page < pcb.pageCount && pcb.pageTable[page].present;
+        delegate.evictPage(pcb, page);
+        if (was && !pcb.pageTable[page].present) {
+            Member m = member(pcb);
+            m.charged--;
+            m.group.usage--;
+        }
+    }
+
+    @Override
+    public PCB fork(PCB parent, int childPid) {
+        PCB child = delegate.fork(parent, childPid);
+        members.put(child.pid, new Member(child, arrivals++, groupOf(parent)));
+        recount(child);
+        return child;
+    }
+
+    @Override
+    public boolean writePage(PCB pcb, int page) {
+        return delegate.writePage(pcb, page);
+    }
+
+    @Override
+    public boolean mergePage(PCB pcb, int page, PCB into, int intoPage) {
+        return delegate.mergePage(pcb, page, into, intoPage);
+    }
+
+    @Override
+    public boolean migratePage(PCB pcb, int page, int firstFrame, int frameCount) {
+        return delegate.migratePage(pcb, page, firstFrame, frameCount);
+    }
+
+    @Override
+    public boolean attachSegment(PCB pcb, SharedSegment segment, int firstPage) {
+        boolean ok = delegate.attachSegment(pcb, segment, firstPage);
+        recount(pcb);
+        return ok;
+    }
+
+    @Override
+    public void detachSegment(PCB pcb, SharedSegment segment) {
+        delegate.detachSegment(pcb, segment);
+        recount(pcb);
+    }
+
+    @Override
+    public int freeFrameCount() {
+        return delegate.freeFrameCount();
+    }
+
+    // ===== Auxiliares =====
+
+    private Member member(PCB pcb) {
+        Member m = members.get(pcb.pid);
+        if (m == null || m.pcb != pcb) {
+            if (m != null)
+                m.group.usage -= m.charged; // PID reutilizado por otro PCB
+            m = new Member(pcb, arrivals++, root);
+            members.put(pcb.pid, m);
+        }
+        return m;
+    }
+
+    /** Ajusta el cobro del proceso a sus páginas presentes (tras una operación sobre todo el proceso). */
+    private void recount(PCB pcb) {
+        Member m = member(pcb);
+        int present = presentPages(pcb);
+        int delta = present - m.charged;
+        if (delta > 0)
+            m.group.pagesLoaded += delta;
+        m.charged = present;
+        charge(m.group, delta);
+    }
+
+    private static void charge(MemoryGroup g, int pages) {
+        g.usage += pages;
+        if (g.usage > g.peakUsage)
+            g.peakUsage = g.usage;
+    }
+
+    private static int presentPages(PCB pcb) {
+        int n = 0;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present)
+                n++;
+        return n;
+    }
+}
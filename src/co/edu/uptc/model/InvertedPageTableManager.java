@@ -0,0 +1,329 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+
+/**
+ * Clase InvertedPageTableManager
+ * ----------------------------------------
+ * Implementación de MemoryManager con una tabla de páginas invertida (hashed).
+ *
+ * En lugar de consultar la tabla de páginas de cada proceso, la traducción
+ * busca la clave (pid, página) en una única tabla hash de todo el sistema:
+ * - Claves: long[] con (pid << 32 | página).
+ * - Valores: int[] con el número de marco; -1 indica ranura vacía.
+ * - Direccionamiento abierto con sondeo lineal; el borrado desplaza hacia
+ * atrás las entradas siguientes (sin lápidas).
+ * - Capacidad: potencia de dos >= 2 × número de marcos, así el factor de
+ * carga nunca supera 1/2 (solo hay una entrada por marco ocupado).
+ *
+ * El tamaño de la estructura depende solo de la RAM simulada, no de cuántos
+ * procesos haya ni de su tamaño lógico. Las entradas de PCB.pageTable se
+ * siguen actualizando (bits de presencia y referencia) porque la vista y el
+ * motor de simulación las leen, pero la traducción no las usa.
+ *
+ * Política de asignación: todo-o-nada, con una pila de marcos libres.
+ * No es seguro para uso concurrente (igual que SimpleMemoryManager).
+ */
+public class InvertedPageTableManager implements MemoryManager {
+
+    /** Memoria física que administra el gestor. */
+    private final PhysicalMemory pm;
+
+    /** Claves (pid << 32 | página) de la tabla hash. */
+    private final long[] keys;
+
+    /** Marco asociado a cada ranura; -1 si la ranura está vacía. */
+    private final int[] values;
+
+    /** Máscara de índice (capacidad - 1). */
+    private final int mask;
+
+    /** Clave guardada en cada marco ocupado (para liberar sin recorrer la tabla hash). */
+    private final long[] frameKeys;
+
+    /** Pila de marcos libres. */
+    private final int[] freeStack;
+    private int freeTop;
+
+    /** Sondas realizadas por las búsquedas (para medir la longitud media). */
+    private long probes;
+    private long lookups;
+
+    /**
+     * Constructor de InvertedPageTableManager.
+     *
+     * @param pm memoria física usada por el simulador
+     */
+    public InvertedPageTableManager(PhysicalMemory pm) {
+        if (pm == null)
+            throw new IllegalArgumentException("Memoria física no puede ser nula.");
+        if (pm.pageSize <= 0)
+            throw new IllegalArgumentException("Tamaño de página inválido.");
+        int frames = pm.frames.length;
+        if (frames > (1 << 29))
+            throw new IllegalArgumentException("Demasiados marcos para la tabla invertida.");
+        this.pm = pm;
+
+        int capacity = Integer.highestOneBit(Math.max(2, frames * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(values, -1);
+        this.mask = capacity - 1;
+
+        this.frameKeys = new long[frames];
+        this.freeStack = new int[frames];
+        // Apilar en orden inverso para entregar primero los marcos bajos
+        for (int i = frames - 1; i >= 0; i--) {
+            if (pm.frames[i].free)
+                freeStack[freeTop++] = i;
+        }
+        // Indexar los marcos ya ocupados (por ejemplo, memoria restaurada de un checkpoint)
+        for (Frame f : pm.frames) {
+            if (f.free || f.pid == null || f.pageNumber == null)
+                continue;
+            long key = key(f.pid, f.pageNumber);
+            int i = hash(key) & mask;
+            while (values[i] >= 0)
+                i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = f.frameNumber;
+            frameKeys[f.frameNumber] = key;
+        }
+    }
+
+    /**
+     * Admite un proceso completo (todo-o-nada).
+     *
+     * @param pcb proceso a admitir
+     * @return true si se asignaron todos los marcos, false si no había suficientes
+     */
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.present)
+                throw new IllegalStateException("El proceso ya está admitido en memoria.");
+        }
+        if (pcb.pageCount > freeTop)
+            return false;
+        for (int p = 0; p < pcb.pageCount; p++)
+            map(pcb, p, freeStack[--freeTop]);
+        return true;
+    }
+
+    /**
+     * Libera todos los marcos del proceso recorriendo los marcos ocupados.
+     *
+     * @param pcb proceso cuyos marcos deben liberarse
+     */
+    @Override
+    public void releaseProcess(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        for (Frame f : pm.frames) {
+            if (!f.free && f.pid != null && f.pid == pcb.pid)
+                unmap(f.frameNumber);
+        }
+        for (PageTableEntry e : pcb.pageTable) {
+            e.present = false;
+            e.frameNumber = null;
+            e.referenced = false;
+            e.dirty = false;
+        }
+    }
+
+    /**
+     * Traduce una dirección lógica buscando (pid, página) en la tabla hash.
+     *
+     * @param pcb         proceso al que pertenece la dirección
+     * @param logicalAddr dirección lógica en bytes (>= 0)
+     * @return dirección física correspondiente
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     */
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (logicalAddr < 0)
+            throw new IllegalArgumentException("La dirección lógica debe ser ≥ 0.");
+
+        long page = pm.pageOf(logicalAddr);
+        long offset = pm.offsetOf(logicalAddr);
+        if (page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+
+        int frame = frameOf(pcb.pid, (int) page);
+        if (frame < 0)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+
+        pcb.pageTable[(int) page].referenced = true;
+        return pm.physicalAddress(frame, offset);
+    }
+
+    /**
+     * Carga una sola página en un marco libre.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica
+     * @return true si se asignó un marco, false si no hay marcos libres
+     */
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        requirePage(pcb, page);
+        if (frameOf(pcb.pid, page) >= 0)
+            throw new IllegalStateException("La página ya está presente en memoria.");
+        if (freeTop == 0)
+            return false;
+        map(pcb, page, freeStack[--freeTop]);
+        return true;
+    }
+
+    /**
+     * Libera el marco de una página presente.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     */
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        int frame = frameOf(pcb.pid, page);
+        if (frame < 0)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        unmap(frame);
+        e.present = false;
+        e.frameNumber = null;
+        e.referenced = false;
+        e.dirty = false;
+    }
+
+    @Override
+    public int freeFrameCount() {
+        return freeTop;
+    }
+
+    /**
+     * Busca el marco de (pid, página) en la tabla invertida.
+     *
+     * @param pid  proceso
+     * @param page número de página lógica
+     * @return número de marco, o -1 si la página no está presente
+     */
+    public int frameOf(int pid, int page) {
+        long key = key(pid, page);
+        int i = hash(key) & mask;
+        int n = 1;
+        while (values[i] >= 0) {
+            if (keys[i] == key) {
+                probes += n;
+                lookups++;
+                return values[i];
+            }
+            i = (i + 1) & mask;
+            n++;
+        }
+        probes += n;
+        lookups++;
+        return -1;
+    }
+
+    /** Cantidad de ranuras de la tabla hash. */
+    public int capacity() {
+        return values.length;
+    }
+
+    /** Bytes ocupados por las estructuras de la tabla invertida. */
+    public long tableBytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES
+                + (long) frameKeys.length * Long.BYTES + (long) freeStack.length * Integer.BYTES;
+    }
+
+    /** Sondas promedio por búsqueda desde el último reinicio. */
+    public double averageProbes() {
+        return lookups == 0 ? 0 : probes / (double) lookups;
+    }
+
+    /** Reinicia los contadores de sondas. */
+    public void resetCounters() {
+        probes = 0;
+        lookups = 0;
+    }
+
+    // --------------------------------------------------------------------
+
+    /** Asigna 'frame' a (pcb, página) en la tabla hash, el marco y la PTE. */
+    private void map(PCB pcb, int page, int frame) {
+        long key = key(pcb.pid, page);
+        int i = hash(key) & mask;
+        while (values[i] >= 0)
+            i = (i + 1) & mask;
+        keys[i] = key;
+        values[i] = frame;
+        frameKeys[frame] = key;
+
+        Frame f = pm.frames[frame];
+        f.free = false;
+        f.pid = pcb.pid;
+        f.pageNumber = page;
+
+        PageTableEntry e = pcb.pageTable[page];
+        e.frameNumber = frame;
+        e.referenced = false;
+        e.dirty = false;
+        e.present = true;
+    }
+
+    /** Quita la entrada del marco de la tabla hash y lo devuelve a la pila de libres. */
+    private void unmap(int frame) {
+        long key = frameKeys[frame];
+        int i = hash(key) & mask;
+        while (values[i] != frame)
+            i = (i + 1) & mask;
+
+        // Borrado con desplazamiento hacia atrás: mover las entradas siguientes
+        // del mismo grupo para que ninguna búsqueda se corte en un hueco.
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (values[j] >= 0) {
+            int home = hash(keys[j]) & mask;
+            // La entrada en j puede ocupar el hueco si su posición ideal no está en (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        values[hole] = -1;
+
+        Frame f = pm.frames[frame];
+        f.free = true;
+        f.pid = null;
+        f.pageNumber = null;
+        freeStack[freeTop++] = frame;
+    }
+
+    private static long key(int pid, int page) {
+        return ((long) pid << 32) | (page & 0xFFFFFFFFL);
+    }
+
+    /** Mezcla de 64 bits (finalizador de MurmurHash3). */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /** Valida el PCB y el número de página, y retorna su entrada. */
+    private static PageTableEntry requirePage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        return pcb.pageTable[page];
+    }
+}
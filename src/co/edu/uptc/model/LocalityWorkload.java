@@ -0,0 +1,124 @@
+package co.edu.uptc.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clase LocalityWorkload
+ * ------------------------------------------
+ * Carga de trabajo con localidad por fases.
+ *
+ * Cada proceso tiene una "localidad" de 'localityPages' páginas contiguas:
+ * - Con probabilidad 'localityProbability' la referencia cae dentro de ella.
+ * - En otro caso cae en cualquier página del proceso.
+ * - Cada 'phaseLength' referencias la localidad se mueve a otra zona.
+ *
+ * Es determinista para una semilla dada: cada proceso tiene su propio
+ * generador xorshift derivado de la semilla y del PID, así que la secuencia
+ * de un proceso no depende del orden en que se intercalen los demás. Por lo
+ * mismo, puede llamarse desde varios hilos a la vez con procesos distintos.
+ */
+public class LocalityWorkload implements Workload {
+
+    /** Tamaño de página en bytes. */
+    private final int pageSize;
+
+    /** Tamaño de la localidad en páginas. */
+    private final int localityPages;
+
+    /** Referencias por fase antes de mover la localidad. */
+    private final int phaseLength;
+
+    /** Umbral (sobre 2^24) para que la referencia caiga en la localidad. */
+    private final int localityThreshold;
+
+    /** Semilla base; la de cada proceso se deriva de ella y del PID. */
+    private final long seed;
+
+    /** Por PID: { página base de la localidad, referencias restantes en la fase, generador }. */
+    private final Map<Integer, long[]> state = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de LocalityWorkload.
+     *
+     * @param pageSize            tamaño de página en bytes
+     * @param localityPages       tamaño de la localidad en páginas (> 0)
+     * @param phaseLength         referencias por fase (> 0)
+     * @param localityProbability probabilidad de referenciar dentro de la localidad [0, 1]
+     * @param seed                semilla del generador
+     */
+    public LocalityWorkload(int pageSize, int localityPages, int phaseLength, double localityProbability,
+            long seed) {
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("Tamaño de página inválido.");
+        if (localityPages <= 0 || phaseLength <= 0)
+            throw new IllegalArgumentException("Localidad y fase deben ser > 0.");
+        if (localityProbability < 0 || localityProbability > 1)
+            throw new IllegalArgumentException("La probabilidad debe estar en [0, 1].");
+        this.pageSize = pageSize;
+        this.localityPages = localityPages;
+        this.phaseLength = phaseLength;
+        this.localityThreshold = (int) (localityProbability * (1 << 24));
+        this.seed = (seed == 0) ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    @Override
+    public long nextAddress(PCB pcb) {
+        long[] st = state.get(pcb.pid);
+        if (st == null) {
+            long z = seed + 0x9E3779B97F4A7C15L * (pcb.pid + 1L);
+            z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+            z ^= z >>> 33;
+            st = new long[] { 0, phaseLength, (z == 0) ? 1 : z };
+            state.put(pcb.pid, st);
+        }
+        if (st[1]-- <= 0) {
+            st[0] = next(st) % pcb.pageCount;
+            st[1] = phaseLength - 1;
+        }
+
+        long r = next(st);
+        long page;
+        if ((int) (r & 0xFFFFFF) < localityThreshold) {
+            int span = Math.min(localityPages, pcb.pageCount);
+            page = (st[0] + (r >>> 24) % span) % pcb.pageCount;
+        } else {
+            page = (r >>> 24) % pcb.pageCount;
+        }
+        long offset = next(st) % pageSize;
+        return Math.min(page * pageSize + offset, pcb.logicalSizeBytes - 1);
+    }
+
+    /**
+     * Estado del proceso { página base, referencias restantes, generador },
+     * para guardarlo en un checkpoint.
+     *
+     * @return copia del estado, o null si el proceso aún no emitió referencias
+     */
+    public long[] state(int pid) {
+        long[] st = state.get(pid);
+        return (st == null) ? null : st.clone();
+    }
+
+    /**
+     * Restaura el estado de un proceso guardado con state(pid).
+     *
+     * @param pid proceso
+     * @param st  { página base, referencias restantes, generador }
+     */
+    public void setState(int pid, long[] st) {
+        if (st == null || st.length != 3 || st[2] == 0)
+            throw new IllegalArgumentException("Estado de carga de trabajo inválido.");
+        state.put(pid, st.clone());
+    }
+
+    /** Generador xorshift64 del proceso (en st[2]); retorna un valor no negativo. */
+    private static long next(long[] st) {
+        long x = st[2];
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        st[2] = x;
+        return x >>> 1;
+    }
+}
@@ -0,0 +1,191 @@
+package co.edu.uptc.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Clase LzPageCodec
+ * ------------------------------------------
+ * Compresor LZ77 de bloque, del estilo de LZ4: poca razón de compresión
+ * pero muy poca CPU, que es lo que se busca en un swap en RAM.
+ *
+ * Formato: secuencias de [token][literales][desplazamiento][extensión]:
+ * - token: 4 bits altos = cantidad de literales, 4 bits bajos = largo de
+ * la coincidencia - 4. Un 15 continúa en bytes extra (255 = sigue).
+ * - desplazamiento: 2 bytes little-endian hacia atrás (<= 65535).
+ * - La última secuencia solo tiene literales.
+ *
+ * La búsqueda usa una tabla hash de 4 bytes con la última posición vista.
+ * En vez de limpiarla en cada página, sus entradas llevan una base que
+ * crece con cada llamada y las de páginas anteriores quedan fuera de rango.
+ * En datos que no comprimen el paso de búsqueda crece con los fallos, así
+ * que una página aleatoria se descarta rápido.
+ */
+public final class LzPageCodec implements PageCodec {
+
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_BITS = 12;
+    /** Copias más cortas que esto se hacen byte a byte (arraycopy cuesta más). */
+    private static final int SHORT_COPY = 32;
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int[] table = new int[1 << HASH_BITS];
+    private int base = 1;
+
+    @Override
+    public int compress(byte[] src, int len, byte[] dst) {
+        if (base > Integer.MAX_VALUE - len - 1) {
+            Arrays.fill(table, 0);
+            base = 1;
+        }
+        int b = base;
+        base += len + 1;
+
+        int op = 0;
+        int anchor = 0;
+        int i = 0;
+        int misses = 0;
+        int limit = len - MIN_MATCH;
+        while (i <= limit) {
+            int seq = read32(src, i);
+            int h = (seq * -1640531535) >>> (32 - HASH_BITS);
+            int cand = table[h] - b;
+            table[h] = b + i;
+            if (cand < 0 || i - cand > MAX_OFFSET || read32(src, cand) != seq) {
+                // Si ya ni los literales pendientes caben, la página no comprime
+                if (op + (i - anchor) > dst.length)
+                    return -1;
+                i += 1 + (misses++ >>> 6);
+                continue;
+            }
+            misses = 0;
+            while (i > anchor && cand > 0 && src[i - 1] == src[cand - 1]) {
+                i--;
+                cand--;
+            }
+            int ml = MIN_MATCH;
+            while (i + ml < len && src[i + ml] == src[cand + ml])
+                ml++;
+            op = emit(src, anchor, i - anchor, i - cand, ml, dst, op);
+            if (op < 0)
+                return -1;
+            i += ml;
+            anchor = i;
+        }
+        return emit(src, anchor, len - anchor, 0, 0, dst, op);
+    }
+
+    @Override
+    public void decompress(byte[] src, int len, byte[] dst, int dstLen) {
+        int ip = 0;
+        int op = 0;
+        try {
+            while (ip < len) {
+                int token = src[ip++] & 0xFF;
+                int lit = token >>> 4;
+                if (lit == 15) {
+                    int x;
+                    do {
+                        x = src[ip++] & 0xFF;
+                        lit += x;
+                    } while (x == 255);
+                }
+                copy(src, ip, dst, op, lit);
+                ip += lit;
+                op += lit;
+                if (ip >= len)
+                    break;
+
+                int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+                ip += 2;
+                int ml = token & 15;
+                if (ml == 15) {
+                    int x;
+                    do {
+                        x = src[ip++] & 0xFF;
+                        ml += x;
+                    } while (x == 255);
+                }
+                ml += MIN_MATCH;
+                int from = op - offset;
+                if (offset >= ml && ml >= SHORT_COPY) {
+                    System.arraycopy(dst, from, dst, op, ml);
+                } else {
+                    // Corta o solapada: byte a byte, hacia adelante
+                    for (int k = 0; k < ml; k++)
+                        dst[op + k] = dst[from + k];
+                }
+                op += ml;
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            throw new IllegalStateException("Página comprimida corrupta.");
+        }
+        if (op != dstLen)
+            throw new IllegalStateException("Página comprimida incompleta.");
+    }
+
+    @Override
+    public String name() {
+        return "lz";
+    }
+
+    /**
+     * Escribe una secuencia (matchLen 0 = solo literales).
+     *
+     * @return nueva posición en dst, o -1 si no cabe
+     */
+    private static int emit(byte[] src, int lit, int litLen, int offset, int matchLen, byte[] dst, int op) {
+        int need = 1 + litLen / 255 + 1 + litLen + 2 + matchLen / 255 + 1;
+        if (op + need > dst.length)
+            return -1;
+        int tokenPos = op++;
+        int token;
+        if (litLen >= 15) {
+            token = 15 << 4;
+            op = writeLength(dst, op, litLen - 15);
+        } else {
+            token = litLen << 4;
+        }
+        copy(src, lit, dst, op, litLen);
+        op += litLen;
+        if (matchLen > 0) {
+            dst[op++] = (byte) offset;
+            dst[op++] = (byte) (offset >>> 8);
+            int m = matchLen - MIN_MATCH;
+            if (m >= 15) {
+                token |= 15;
+                op = writeLength(dst, op, m - 15);
+            } else {
+                token |= m;
+            }
+        }
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLength(byte[] dst, int op, int v) {
+        while (v >= 255) {
+            dst[op++] = (byte) 255;
+            v -= 255;
+        }
+        dst[op++] = (byte) v;
+        return op;
+    }
+
+    private static void copy(byte[] src, int from, byte[] dst, int to, int len) {
+        if (len >= SHORT_COPY) {
+            System.arraycopy(src, from, dst, to, len);
+            return;
+        }
+        for (int k = 0; k < len; k++)
+            dst[to + k] = src[from + k];
+    }
+
+    private static int read32(byte[] b, int i) {
+        return (int) INT.get(b, i);
+    }
+}
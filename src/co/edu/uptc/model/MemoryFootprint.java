@@ -0,0 +1,57 @@
+package co.edu.uptc.model;
+
+/**
+ * Clase MemoryFootprint
+ * ------------------------------------------
+ * Memoria residente de un proceso contando los marcos compartidos
+ * (segmentos compartidos y páginas copy-on-write tras un fork):
+ * - RSS: páginas presentes (cuenta completos los marcos compartidos).
+ * - PSS: cada página presente aporta 1 / refCount de su marco; la suma de
+ * PSS de todos los procesos es la memoria realmente ocupada.
+ * - USS: páginas presentes en marcos que solo usa este proceso (lo que se
+ * liberaría al terminarlo).
+ *
+ * Todo se expresa en páginas; multiplicar por el tamaño de página para bytes.
+ */
+public class MemoryFootprint {
+
+    public final int rssPages;
+    public final double pssPages;
+    public final int ussPages;
+
+    /** Páginas presentes en marcos compartidos (rssPages - ussPages). */
+    public final int sharedPages;
+
+    private MemoryFootprint(int rss, double pss, int uss) {
+        this.rssPages = rss;
+        this.pssPages = pss;
+        this.ussPages = uss;
+        this.sharedPages = rss - uss;
+    }
+
+    /**
+     * Calcula la huella de un proceso recorriendo su tabla de páginas.
+     *
+     * @param pcb proceso
+     * @param pm  memoria física donde residen sus páginas
+     * @return huella actual del proceso
+     */
+    public static MemoryFootprint of(PCB pcb, PhysicalMemory pm) {
+        if (pcb == null || pm == null)
+            throw new IllegalArgumentException("PCB y memoria no pueden ser nulos.");
+        int rss = 0;
+        int uss = 0;
+        double pss = 0;
+        for (PageTableEntry e : pcb.pageTable) {
+            Integer frame = e.frameNumber;
+            if (!e.present || frame == null)
+                continue;
+            int refs = Math.max(1, pm.frames[frame].refCount);
+            rss++;
+            pss += 1.0 / refs;
+            if (refs == 1)
+                uss++;
+        }
+        return new MemoryFootprint(rss, pss, uss);
+    }
+}
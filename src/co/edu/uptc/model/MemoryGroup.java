@@ -0,0 +1,108 @@
+package co.edu.uptc.model;
+
+/**
+ * Clase MemoryGroup
+ * ----------------------------------------
+ * Grupo de procesos con límites de memoria, como un cgroup de memoria.
+ * Lo crea y lo mantiene GroupedMemoryManager.
+ *
+ * - Límite duro (hardLimit): el grupo nunca tiene más páginas presentes;
+ * al llegar a él, una carga nueva exige recuperar una página del grupo.
+ * - Límite blando (softLimit): puede superarse mientras haya marcos libres,
+ * pero ante presión global se recupera primero de los grupos que lo
+ * superan.
+ * Un límite 0 significa sin límite.
+ *
+ * El uso cuenta las páginas presentes de los procesos del grupo (una página
+ * compartida cuenta en cada proceso que la mapea, como el RSS). Todos los
+ * contadores se actualizan en O(1) por página cargada o desalojada.
+ */
+public class MemoryGroup {
+
+    /** Nombre del grupo. */
+    public final String name;
+
+    /** Máximo de páginas presentes (0 = sin límite). */
+    public final int hardLimit;
+
+    /** Páginas presentes por encima de las cuales se recupera primero de este grupo (0 = sin límite). */
+    public final int softLimit;
+
+    // --- Contadores (los mantiene GroupedMemoryManager) ---
+    int usage;
+    int peakUsage;
+    long pagesLoaded;
+    long limitHits;
+    long reclaimed;
+    long softReclaimed;
+    long oomKills;
+
+    /**
+     * Constructor de MemoryGroup.
+     *
+     * @param name      nombre del grupo
+     * @param hardLimit límite duro en páginas (0 = sin límite)
+     * @param softLimit límite blando en páginas (0 = sin límite)
+     */
+    MemoryGroup(String name, int hardLimit, int softLimit) {
+        if (name == null || name.isEmpty())
+            throw new IllegalArgumentException("El grupo debe tener nombre.");
+        if (hardLimit < 0 || softLimit < 0)
+            throw new IllegalArgumentException("Los límites del grupo " + name + " no pueden ser negativos.");
+        if (hardLimit > 0 && softLimit > hardLimit)
+            throw new IllegalArgumentException("El límite blando del grupo " + name + " supera al duro.");
+        this.name = name;
+        this.hardLimit = hardLimit;
+        this.softLimit = softLimit;
+    }
+
+    /** @return páginas presentes del grupo */
+    public int usage() {
+        return usage;
+    }
+
+    /** @return máximo de páginas presentes alcanzado */
+    public int peakUsage() {
+        return peakUsage;
+    }
+
+    /** @return páginas que le caben antes del límite duro (Integer.MAX_VALUE si no tiene) */
+    public int room() {
+        return (hardLimit == 0) ? Integer.MAX_VALUE : Math.max(0, hardLimit - usage);
+    }
+
+    /** @return páginas por encima del límite blando (0 si no lo supera o no tiene) */
+    public int softExcess() {
+        return (softLimit == 0) ? 0 : Math.max(0, usage - softLimit);
+    }
+
+    /** @return páginas cargadas (fallos y admisiones) */
+    public long pagesLoaded() {
+        return pagesLoaded;
+    }
+
+    /** @return cargas rechazadas por el límite duro */
+    public long limitHits() {
+        return limitHits;
+    }
+
+    /** @return páginas recuperadas del grupo por su límite duro */
+    public long reclaimed() {
+        return reclaimed;
+    }
+
+    /** @return páginas recuperadas del grupo por presión global (límite blando) */
+    public long softReclaimed() {
+        return softReclaimed;
+    }
+
+    /** @return procesos del grupo terminados por OOM */
+    public long oomKills() {
+        return oomKills;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + usage + "/" + (hardLimit == 0 ? "-" : hardLimit) + ")";
+    }
+}
@@ -1,5 +1,8 @@
 package co.edu.uptc.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interfaz MemoryManager
  * --------------------------------
@@ -29,6 +32,30 @@ public interface MemoryManager {
      */
     boolean admitProcess(PCB pcb);
 
+    /**
+     * Admite un lote de procesos (cada uno todo-o-nada).
+     * Elige el conjunto admisible con la política contra un solo conteo de
+     * marcos libres y luego asigna los marcos.
+     *
+     * La implementación por defecto llama a admitProcess(...) por cada
+     * elegido; los gestores pueden sobrescribirla para asignar en un solo
+     * recorrido de los marcos.
+     *
+     * @param candidates procesos no residentes, en orden de llegada
+     * @param policy     política de selección
+     * @return procesos admitidos, en orden de llegada
+     * @throws IllegalStateException si algún candidato ya está admitido
+     */
+    default List<PCB> admitBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        if (candidates == null || policy == null)
+            throw new IllegalArgumentException("Candidatos y política no pueden ser nulos.");
+        List<PCB> admitted = new ArrayList<>();
+        for (PCB pcb : policy.select(candidates, freeFrameCount()))
+            if (admitProcess(pcb))
+                admitted.add(pcb);
+        return admitted;
+    }
+
     /**
      * Libera todos los marcos usados por un proceso.
      * Además, reinicia las entradas de su tabla de páginas,
@@ -39,10 +66,10 @@ public interface MemoryManager {
     void releaseProcess(PCB pcb);
 
     /**
-     * Traduce una dirección lógica a una dirección física.
+     * Traduce una dirección lógica a una dirección física (ambas de 64 bits).
      * Pasos:
-     * - Calcular número de página: addr / pageSize
-     * - Calcular desplazamiento dentro de la página: addr % pageSize
+     * - Calcular número de página: addr / pageSize (addr >>> shift si es potencia de dos)
+     * - Calcular desplazamiento dentro de la página: addr % pageSize (addr & mask)
      * - Verificar que la página está en rango y presente
      * - Obtener marco físico y componer dirección física: frame*pageSize + offset
      *
@@ -51,5 +78,157 @@ public interface MemoryManager {
      * @return dirección física absoluta
      * @throws IllegalArgumentException si la página está fuera de rango o no está presente
      */
-    int mapLogicalToPhysical(PCB pcb, int logicalAddr) throws IllegalArgumentException;
+    long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException;
+
+    /**
+     * Carga una sola página no presente en un marco libre (paginación por demanda).
+     * No modifica las demás páginas del proceso.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica (0..pageCount-1)
+     * @return true si se asignó un marco, false si no hay marcos libres
+     * @throws IllegalArgumentException si la página está fuera de rango
+     * @throws IllegalStateException    si la página ya está presente
+     */
+    boolean loadPage(PCB pcb, int page);
+
+    /**
+     * Libera el marco de una sola página presente y limpia su entrada
+     * (conserva la ranura de swap, si la tiene).
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     */
+    void evictPage(PCB pcb, int page);
+
+    /**
+     * Crea un hijo que comparte los marcos del padre (fork con copy-on-write).
+     * Cada página presente del padre queda mapeada en ambos, marcada
+     * copyOnWrite y con una referencia más en su marco; no se asigna ningún
+     * marco nuevo. Las páginas que el padre no tiene presentes quedan no
+     * presentes en el hijo.
+     *
+     * @param parent   proceso padre (puede no tener páginas presentes)
+     * @param childPid PID del hijo
+     * @return PCB del hijo, del mismo tamaño lógico que el padre
+     * @throws IllegalStateException si el gestor no soporta fork
+     */
+    default PCB fork(PCB parent, int childPid) {
+        throw new IllegalStateException("Este gestor de memoria no soporta fork.");
+    }
+
+    /**
+     * Escribe en una página presente: la marca referenciada y modificada. Si
+     * la página es copyOnWrite y su marco sigue compartido, primero la copia
+     * a un marco libre propio (si es la última referencia, solo deja de ser
+     * copyOnWrite).
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     * @return false si había que copiar y no hay marcos libres (no se escribe)
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     */
+    default boolean writePage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        PageTableEntry e = pcb.pageTable[page];
+        if (!e.present)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        e.referenced = true;
+        e.dirty = true;
+        return true;
+    }
+
+    /**
+     * Mezcla dos páginas privadas con el mismo contenido (same-page merging):
+     * la página (pcb, page) pasa a mapear el marco de (into, intoPage), ambas
+     * quedan copyOnWrite y el marco propio de la primera pierde una
+     * referencia (se libera si era la última). Quien llama verifica antes que
+     * los contenidos sean iguales.
+     *
+     * @param pcb      proceso de la página que se mezcla
+     * @param page     página presente que se mezcla
+     * @param into     proceso de la página que conserva su marco
+     * @param intoPage página presente que conserva su marco
+     * @return false si ya compartían marco o alguna es de un segmento (no cambia nada)
+     * @throws IllegalArgumentException si alguna página está fuera de rango o no está presente
+     * @throws IllegalStateException    si el gestor no soporta la mezcla de páginas
+     */
+    default boolean mergePage(PCB pcb, int page, PCB into, int intoPage) {
+        throw new IllegalStateException("Este gestor de memoria no soporta la mezcla de páginas.");
+    }
+
+    /**
+     * Migra una página privada a un marco libre del rango [firstFrame,
+     * firstFrame + frameCount) (por ejemplo, otro nivel de memoria): copia
+     * su contenido, la remapea y libera el marco anterior. Conserva los bits
+     * referenced/dirty y la ranura de swap.
+     *
+     * @param pcb        proceso dueño de la página
+     * @param page       página presente
+     * @param firstFrame primer marco del rango destino
+     * @param frameCount marcos del rango destino
+     * @return false si no hay marco libre en el rango, la página ya está en
+     *         él o su marco es compartido (fork, segmento); no cambia nada
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     * @throws IllegalStateException    si el gestor no soporta la migración
+     */
+    default boolean migratePage(PCB pcb, int page, int firstFrame, int frameCount) {
+        throw new IllegalStateException("Este gestor de memoria no soporta la migración de páginas.");
+    }
+
+    /**
+     * Une las páginas [firstPage, firstPage + segment.pageCount) del proceso
+     * al segmento compartido. Si el proceso tiene páginas presentes, las del
+     * rango se mapean de inmediato a los marcos del segmento (cargando las
+     * páginas del segmento que no estén residentes) y sus marcos privados se
+     * liberan; si no, se mapean al admitirlo o por demanda.
+     *
+     * @param pcb       proceso
+     * @param segment   segmento a acoplar
+     * @param firstPage primera página del proceso que ocupa el segmento
+     * @return false si no hay marcos para las páginas no residentes (no cambia nada)
+     * @throws IllegalArgumentException si el rango no cabe o ya tiene un segmento
+     * @throws IllegalStateException    si el gestor no soporta segmentos compartidos
+     */
+    default boolean attachSegment(PCB pcb, SharedSegment segment, int firstPage) {
+        throw new IllegalStateException("Este gestor de memoria no soporta segmentos compartidos.");
+    }
+
+    /**
+     * Desacopla el proceso del segmento: sus páginas del rango dejan de estar
+     * presentes (el marco se libera si era la última referencia) y vuelven a
+     * ser privadas.
+     *
+     * @param pcb     proceso acoplado
+     * @param segment segmento
+     * @throws IllegalArgumentException si el proceso no está acoplado al segmento
+     * @throws IllegalStateException    si el gestor no soporta segmentos compartidos
+     */
+    default void detachSegment(PCB pcb, SharedSegment segment) {
+        throw new IllegalStateException("Este gestor de memoria no soporta segmentos compartidos.");
+    }
+
+    /**
+     * Cantidad de marcos libres en este momento.
+     *
+     * @return marcos libres
+     */
+    int freeFrameCount();
+
+    /**
+     * Indica si mapLogicalToPhysical(...) admite llamadas concurrentes con
+     * procesos distintos (solo toca la tabla de páginas del proceso y
+     * contadores seguros entre hilos). Por defecto no: los gestores con
+     * estado compartido en la traducción (tabla invertida, cachés, niveles,
+     * grupos) no lo soportan.
+     *
+     * @return true si la traducción puede repartirse entre hilos
+     */
+    default boolean concurrentTranslation() {
+        return false;
+    }
 }
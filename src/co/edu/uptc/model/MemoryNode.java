@@ -0,0 +1,105 @@
+package co.edu.uptc.model;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase MemoryNode
+ * ------------------------------------------
+ * Representa un nodo NUMA: un rango contiguo de marcos físicos
+ * con su propio conjunto de marcos libres.
+ *
+ * Cada nodo tiene su propio candado, de modo que hilos que asignan en
+ * nodos distintos no compiten entre sí.
+ */
+public class MemoryNode {
+
+    /** Identificador del nodo (0..N-1). */
+    public final int nodeId;
+
+    /** Primer marco físico que pertenece al nodo. */
+    public final int firstFrame;
+
+    /** Cantidad de marcos del nodo. */
+    public final int frameCount;
+
+    /** Candado propio del nodo; protege freeStack y freeTop. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Pila de marcos libres del nodo. */
+    private final int[] freeStack;
+
+    /** Cantidad de marcos en la pila de libres. */
+    private int freeTop;
+
+    /**
+     * Constructor de MemoryNode.
+     * Los marcos libres del rango se apilan en orden inverso para que
+     * se asignen de menor a mayor, como en first-fit.
+     *
+     * @param nodeId     identificador del nodo
+     * @param firstFrame primer marco del rango
+     * @param frameCount cantidad de marcos del rango
+     * @param frames     marcos de la memoria física (para saber cuáles están libres)
+     */
+    public MemoryNode(int nodeId, int firstFrame, int frameCount, Frame[] frames) {
+        this.nodeId = nodeId;
+        this.firstFrame = firstFrame;
+        this.frameCount = frameCount;
+        this.freeStack = new int[frameCount];
+        for (int f = firstFrame + frameCount - 1; f >= firstFrame; f--) {
+            if (frames[f].free)
+                freeStack[freeTop++] = f;
+        }
+    }
+
+    /**
+     * Toma hasta 'max' marcos libres del nodo bajo un único bloqueo.
+     *
+     * @param dst destino de los números de marco
+     * @param off posición inicial en dst
+     * @param max cantidad máxima de marcos a tomar
+     * @return cantidad de marcos realmente tomados
+     */
+    public int take(int[] dst, int off, int max) {
+        if (max <= 0)
+            return 0;
+        lock.lock();
+        try {
+            int n = Math.min(max, freeTop);
+            for (int i = 0; i < n; i++)
+                dst[off + i] = freeStack[--freeTop];
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve un marco al conjunto de libres del nodo.
+     *
+     * @param frameNo número de marco (debe pertenecer al nodo)
+     */
+    public void put(int frameNo) {
+        lock.lock();
+        try {
+            freeStack[freeTop++] = frameNo;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return cantidad de marcos libres en el nodo */
+    public int freeFrames() {
+        lock.lock();
+        try {
+            return freeTop;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return true si el marco pertenece a este nodo */
+    public boolean contains(int frameNo) {
+        return frameNo >= firstFrame && frameNo < firstFrame + frameCount;
+    }
+}
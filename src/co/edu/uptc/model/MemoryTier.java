@@ -0,0 +1,59 @@
+package co.edu.uptc.model;
+
+/**
+ * Clase MemoryTier
+ * ----------------------------------------
+ * Nivel de memoria de un sistema con memoria por niveles (DRAM local,
+ * CXL, NVM...): un rango contiguo de marcos de la PhysicalMemory con su
+ * latencia de acceso simulada. Lo crea TieredMemoryManager.
+ */
+public class MemoryTier {
+
+    /** Posición del nivel (0 = el más rápido). */
+    public final int index;
+
+    /** Nombre para los reportes (por ejemplo, "DRAM" o "CXL"). */
+    public final String name;
+
+    /** Primer marco del nivel. */
+    public final int firstFrame;
+
+    /** Marcos del nivel. */
+    public final int frameCount;
+
+    /** Latencia simulada (ns) de un acceso a un marco del nivel. */
+    public final long latencyNs;
+
+    /**
+     * Constructor de MemoryTier.
+     *
+     * @param index      posición del nivel
+     * @param name       nombre del nivel
+     * @param firstFrame primer marco
+     * @param frameCount marcos del nivel (> 0)
+     * @param latencyNs  latencia por acceso (ns, >= 0)
+     */
+    public MemoryTier(int index, String name, int firstFrame, int frameCount, long latencyNs) {
+        if (name == null || name.isEmpty())
+            throw new IllegalArgumentException("El nivel de memoria debe tener nombre.");
+        if (firstFrame < 0 || frameCount <= 0)
+            throw new IllegalArgumentException("Rango de marcos inválido para el nivel " + name + ".");
+        if (latencyNs < 0)
+            throw new IllegalArgumentException("La latencia del nivel " + name + " no puede ser negativa.");
+        this.index = index;
+        this.name = name;
+        this.firstFrame = firstFrame;
+        this.frameCount = frameCount;
+        this.latencyNs = latencyNs;
+    }
+
+    /** @return true si el marco pertenece al nivel */
+    public boolean contains(int frameNo) {
+        return frameNo >= firstFrame && frameNo < firstFrame + frameCount;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [" + firstFrame + ", " + (firstFrame + frameCount) + ") " + latencyNs + " ns";
+    }
+}
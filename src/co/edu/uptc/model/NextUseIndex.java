@@ -0,0 +1,199 @@
+package co.edu.uptc.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Clase NextUseIndex
+ * ------------------------------------------
+ * Índice de próximo uso de una traza de referencias: para cada referencia
+ * i, el índice de la siguiente referencia a la misma página (NEVER si no
+ * se vuelve a usar), y un identificador denso de su página (0..pages-1).
+ * Es la primera pasada del reemplazo óptimo de Belady (BeladyOptimal).
+ *
+ * Se construye recorriendo la traza hacia atrás con una tabla hash de
+ * clave a identificador y el último uso visto de cada página.
+ *
+ * Almacenamiento: dos columnas primitivas (8 bytes de próximo uso y 4 de
+ * identificador por referencia) en trozos de 1 GB, fuera del heap:
+ * ByteBuffers directos, o un archivo mapeado en memoria para trazas más
+ * grandes que la RAM (el sistema operativo pagina).
+ */
+public class NextUseIndex implements AutoCloseable {
+
+    /** Próximo uso de una referencia a una página que no vuelve a usarse. */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long EMPTY = -1L;
+
+    private final long count;
+    private final int pages;
+    private final Column next;
+    private final Column ids;
+    private final FileChannel channel;
+
+    private NextUseIndex(long count, int pages, Column next, Column ids, FileChannel channel) {
+        this.count = count;
+        this.pages = pages;
+        this.next = next;
+        this.ids = ids;
+        this.channel = channel;
+    }
+
+    /**
+     * Construye el índice.
+     *
+     * @param count referencias de la traza
+     * @param keyAt clave (>= 0) de la referencia i, p. ej. PageTrace::keyAt
+     * @param file  archivo para mapear las columnas; null para memoria directa
+     * @return índice de la traza
+     * @throws IOException si no se puede crear o mapear el archivo
+     */
+    public static NextUseIndex build(long count, LongUnaryOperator keyAt, Path file) throws IOException {
+        if (count < 0)
+            throw new IllegalArgumentException("La cantidad de referencias no puede ser negativa.");
+        FileChannel ch = null;
+        if (file != null)
+            ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            Column next = new Column(ch, 0, count, Long.BYTES);
+            Column ids = new Column(ch, count * Long.BYTES, count, Integer.BYTES);
+
+            // Clave -> identificador (direccionamiento abierto) y último uso por identificador
+            long[] keys = new long[1 << 16];
+            int[] idOf = new int[keys.length];
+            Arrays.fill(keys, EMPTY);
+            long[] lastUse = new long[1 << 12];
+            int pages = 0;
+
+            for (long i = count - 1; i >= 0; i--) {
+                long key = keyAt.applyAsLong(i);
+                int mask = keys.length - 1;
+                int slot = slot(key, mask);
+                while (keys[slot] != EMPTY && keys[slot] != key)
+                    slot = (slot + 1) & mask;
+                int id;
+                if (keys[slot] == key) {
+                    id = idOf[slot];
+                    next.putLong(i, lastUse[id]);
+                } else {
+                    id = pages++;
+                    keys[slot] = key;
+                    idOf[slot] = id;
+                    if (id == lastUse.length)
+                        lastUse = Arrays.copyOf(lastUse, id * 2);
+                    next.putLong(i, NEVER);
+                    if (pages * 2 > keys.length) {
+                        long[] oldKeys = keys;
+                        int[] oldIds = idOf;
+                        keys = new long[oldKeys.length * 2];
+                        idOf = new int[keys.length];
+                        Arrays.fill(keys, EMPTY);
+                        for (int j = 0; j < oldKeys.length; j++) {
+                            if (oldKeys[j] == EMPTY)
+                                continue;
+                            int s = slot(oldKeys[j], keys.length - 1);
+                            while (keys[s] != EMPTY)
+                                s = (s + 1) & (keys.length - 1);
+                            keys[s] = oldKeys[j];
+                            idOf[s] = oldIds[j];
+                        }
+                    }
+                }
+                ids.putInt(i, id);
+                lastUse[id] = i;
+            }
+            return new NextUseIndex(count, pages, next, ids, ch);
+        } catch (IOException | RuntimeException ex) {
+            if (ch != null)
+                ch.close();
+            throw ex;
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** @return referencias indexadas */
+    public long count() {
+        return count;
+    }
+
+    /** @return páginas distintas de la traza */
+    public int pages() {
+        return pages;
+    }
+
+    /** @return índice de la siguiente referencia a la página de i, o NEVER */
+    public long nextUse(long i) {
+        return next.getLong(i);
+    }
+
+    /** @return identificador denso (0..pages-1) de la página de la referencia i */
+    public int pageId(long i) {
+        return ids.getInt(i);
+    }
+
+    /** @return true si las columnas están en un archivo mapeado */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    /**
+     * Columna de valores de ancho fijo en trozos de 2^CHUNK_SHIFT bytes
+     * (directos o mapeados desde 'base' en el archivo).
+     */
+    private static final class Column {
+        private final ByteBuffer[] chunks;
+        private final int shift;
+        private final long mask;
+
+        Column(FileChannel ch, long base, long count, int width) throws IOException {
+            long bytes = count * width;
+            int n = (int) ((bytes + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+            chunks = new ByteBuffer[Math.max(1, n)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                int len = (int) Math.min(1L << CHUNK_SHIFT, bytes - start);
+                ByteBuffer b = (ch != null) ? ch.map(FileChannel.MapMode.READ_WRITE, base + start, Math.max(0, len))
+                        : ByteBuffer.allocateDirect(Math.max(0, len));
+                chunks[i] = b.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            // Elementos por trozo: 2^CHUNK_SHIFT / width (width es potencia de dos)
+            shift = CHUNK_SHIFT - Integer.numberOfTrailingZeros(width);
+            mask = (1L << shift) - 1;
+        }
+
+        long getLong(long i) {
+            return chunks[(int) (i >>> shift)].getLong((int) (i & mask) << 3);
+        }
+
+        void putLong(long i, long v) {
+            chunks[(int) (i >>> shift)].putLong((int) (i & mask) << 3, v);
+        }
+
+        int getInt(long i) {
+            return chunks[(int) (i >>> shift)].getInt((int) (i & mask) << 2);
+        }
+
+        void putInt(long i, int v) {
+            chunks[(int) (i >>> shift)].putInt((int) (i & mask) << 2, v);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package co.edu.uptc.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase NumaMemoryManager
+ * ----------------------------------------
+ * Implementación de MemoryManager que divide la memoria física en nodos NUMA.
+ *
+ * Modelo:
+ * - Los marcos se reparten en N rangos contiguos (MemoryNode), cada uno con
+ * su propio conjunto de libres y su propio candado.
+ * - Cada proceso tiene un nodo "hogar" (donde corre). Por defecto es pid % N.
+ * - Cada traducción se cuenta como local (el marco está en el nodo hogar) o
+ * remota, y acumula la latencia configurada para cada caso.
+ *
+ * Política de asignación (todo-o-nada):
+ * - Se reserva la cantidad total sobre un contador atómico.
+ * - Se piden marcos a cada nodo según la política (NumaPolicy) con un solo
+ * bloqueo por nodo, y lo que falte se toma de los nodos vecinos.
+ * - Si aun así no se completan, se devuelven los marcos (rollback).
+ */
+public class NumaMemoryManager implements MemoryManager {
+
+    /** Pasadas por los nodos buscando marcos faltantes antes del rollback. */
+    private static final int MAX_FALLBACK_PASSES = 4;
+
+    /** Memoria física que administra el gestor. */
+    private final PhysicalMemory pm;
+
+    /** Nodos en los que se divide la memoria física. */
+    private final MemoryNode[] nodes;
+
+    /** Marcos por nodo (el último nodo puede tener más por el residuo). */
+    private final int framesPerNode;
+
+    /** Política de asignación activa. */
+    private volatile NumaPolicy policy;
+
+    /** Nodo preferido para la política PREFERRED. */
+    private volatile int preferredNode;
+
+    /** Latencia simulada (ns) de un acceso a memoria del mismo nodo. */
+    private final long localLatencyNs;
+
+    /** Latencia simulada (ns) de un acceso a memoria de otro nodo. */
+    private final long remoteLatencyNs;
+
+    /** Marcos libres aún no reservados por una admisión, y registro de residentes. */
+    private final FrameReservation frames;
+
+    /** Nodo hogar explícito por PID (si no está, se usa pid % N). */
+    private final ConcurrentHashMap<Integer, Integer> homeNodes = new ConcurrentHashMap<>();
+
+    /** Contadores de accesos locales y remotos. */
+    private final LongAdder localAccesses = new LongAdder();
+    private final LongAdder remoteAccesses = new LongAdder();
+
+    /** Latencia simulada acumulada (ns) de todas las traducciones. */
+    private final LongAdder totalLatencyNs = new LongAdder();
+
+    /**
+     * Constructor de NumaMemoryManager.
+     *
+     * @param pm              memoria física usada por el simulador
+     * @param nodeCount       cantidad de nodos NUMA (>= 1 y <= número de marcos)
+     * @param policy          política de asignación inicial
+     * @param localLatencyNs  latencia simulada de un acceso local
+     * @param remoteLatencyNs latencia simulada de un acceso remoto
+     */
+    public NumaMemoryManager(PhysicalMemory pm, int nodeCount, NumaPolicy policy,
+            long localLatencyNs, long remoteLatencyNs) {
+        if (pm == null)
+            throw new IllegalArgumentException("Memoria física no puede ser nula.");
+        if (pm.pageSize <= 0)
+            throw new IllegalArgumentException("Tamaño de página inválido.");
+        if (nodeCount <= 0 || nodeCount > pm.frames.length)
+            throw new IllegalArgumentException("Cantidad de nodos inválida.");
+        if (policy == null)
+            throw new IllegalArgumentException("La política NUMA no puede ser nula.");
+        if (localLatencyNs < 0 || remoteLatencyNs < 0)
+            throw new IllegalArgumentException("Las latencias deben ser ≥ 0.");
+        this.pm = pm;
+        this.policy = policy;
+        this.localLatencyNs = localLatencyNs;
+        this.remoteLatencyNs = remoteLatencyNs;
+
+        this.framesPerNode = pm.frames.length / nodeCount;
+        this.nodes = new MemoryNode[nodeCount];
+        int free = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            int first = n * framesPerNode;
+            int count = (n == nodeCount - 1) ? pm.frames.length - first : framesPerNode;
+            nodes[n] = new MemoryNode(n, first, count, pm.frames);
+            free += nodes[n].freeFrames();
+        }
+        this.frames = new FrameReservation(free);
+    }
+
+    // ===== Configuración =====
+
+    /** Cambia la política de asignación para las próximas admisiones. */
+    public void setPolicy(NumaPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("La política NUMA no puede ser nula.");
+        this.policy = policy;
+    }
+
+    /** Fija el nodo preferido usado por la política PREFERRED. */
+    public void setPreferredNode(int node) {
+        checkNode(node);
+        this.preferredNode = node;
+    }
+
+    /** Fija el nodo hogar (donde corre) de un proceso. */
+    public void setHomeNode(int pid, int node) {
+        checkNode(node);
+        homeNodes.put(pid, node);
+    }
+
+    /** @return nodo hogar del proceso */
+    public int homeNode(int pid) {
+        Integer n = homeNodes.get(pid);
+        return (n != null) ? n : Math.floorMod(pid, nodes.length);
+    }
+
+    /** @return nodo al que pertenece un marco físico */
+    public int nodeOf(int frameNo) {
+        return Math.min(frameNo / framesPerNode, nodes.length - 1);
+    }
+
+    // ===== Estadísticas =====
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    public int freeFrames(int node) {
+        checkNode(node);
+        return nodes[node].freeFrames();
+    }
+
+    public long localAccesses() {
+        return localAccesses.sum();
+    }
+
+    public long remoteAccesses() {
+        return remoteAccesses.sum();
+    }
+
+    /** @return latencia simulada promedio por acceso (ns), 0 si no hubo accesos */
+    public double averageAccessLatencyNs() {
+        long n = localAccesses.sum() + remoteAccesses.sum();
+        return (n == 0) ? 0.0 : totalLatencyNs.sum() / (double) n;
+    }
+
+    /** Reinicia los contadores de accesos y latencia. */
+    public void resetCounters() {
+        localAccesses.reset();
+        remoteAccesses.reset();
+        totalLatencyNs.reset();
+    }
+
+    // ===== MemoryManager =====
+
+    /**
+     * Admite un proceso en memoria repartiendo sus páginas entre nodos
+     * según la política activa (todo-o-nada).
+     *
+     * @param pcb proceso a admitir
+     * @return true si el proceso fue admitido, false si no había marcos suficientes
+     */
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        int need = frames.begin(pcb);
+        if (need <= 0)
+            return need == 0;
+        boolean claimed = false;
+        try {
+            claimed = claimAndMap(pcb, need);
+        } finally {
+            if (!claimed)
+                frames.abort(pcb, need);
+        }
+        return claimed;
+    }
+
+    /**
+     * Reclama 'need' marcos (ya reservados) según la política y mapea las
+     * páginas del proceso.
+     *
+     * @return false si no se completaron (los marcos tomados ya se devolvieron)
+     */
+    private boolean claimAndMap(PCB pcb, int need) {
+
+        NumaPolicy pol = policy;
+        int home = homeNode(pcb.pid);
+        int start = (pol == NumaPolicy.PREFERRED) ? preferredNode : home;
+
+        // Cuántas páginas quiere la política en cada nodo
+        int[] want = new int[nodes.length];
+        for (int p = 0; p < need; p++)
+            want[targetNode(pol, start, pcb.pid, p)]++;
+
+        // Un bloqueo por nodo para lo deseado
+        int[][] got = new int[nodes.length][];
+        int[] gotCount = new int[nodes.length];
+        int missing = 0;
+        for (int n = 0; n < nodes.length; n++) {
+            got[n] = new int[want[n]];
+            gotCount[n] = nodes[n].take(got[n], 0, want[n]);
+            missing += want[n] - gotCount[n];
+        }
+
+        // Lo faltante se toma de los nodos en orden de cercanía al nodo inicial
+        int[] extra = new int[missing];
+        int e = 0;
+        for (int pass = 0; pass < MAX_FALLBACK_PASSES && e < missing; pass++) {
+            for (int k = 0; k < nodes.length && e < missing; k++)
+                e += nodes[(start + k) % nodes.length].take(extra, e, missing - e);
+            if (e < missing)
+                Thread.onSpinWait();
+        }
+
+        if (e < missing) {
+            // Rollback de los marcos; la reserva la devuelve admitProcess(...)
+            for (int n = 0; n < nodes.length; n++)
+                for (int i = 0; i < gotCount[n]; i++)
+                    nodes[n].put(got[n][i]);
+            for (int i = 0; i < e; i++)
+                nodes[nodeOf(extra[i])].put(extra[i]);
+            return false;
+        }
+
+        int[] cursor = new int[nodes.length];
+        int ex = 0;
+        for (int p = 0; p < need; p++) {
+            int d = targetNode(pol, start, pcb.pid, p);
+            int frameNo = (cursor[d] < gotCount[d]) ? got[d][cursor[d]++] : extra[ex++];
+
+            Frame f = pm.frames[frameNo];
+            f.pid = pcb.pid;
+            f.pageNumber = p;
+            f.free = false;
+
+            PageTableEntry pte = pcb.pageTable[p];
+            pte.frameNumber = frameNo;
+            pte.referenced = false;
+            pte.dirty = false;
+            pte.present = true;
+        }
+        return true;
+    }
+
+    /**
+     * Libera todos los marcos del proceso devolviéndolos a su nodo.
+     *
+     * @param pcb proceso cuyos marcos deben liberarse
+     */
+    @Override
+    public void releaseProcess(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+
+        int freed = 0;
+        for (PageTableEntry e : pcb.pageTable) {
+            Integer frameNo = e.frameNumber;
+            if (e.present && frameNo != null) {
+                e.present = false;
+                Frame f = pm.frames[frameNo];
+                f.free = true;
+                f.pid = null;
+                f.pageNumber = null;
+                nodes[nodeOf(frameNo)].put(frameNo);
+                freed++;
+            }
+            e.frameNumber = null;
+            e.referenced = false;
+            e.dirty = false;
+        }
+        frames.release(freed);
+        frames.forget(pcb.pid);
+    }
+
+    /**
+     * Traduce una dirección lógica a física y contabiliza si el acceso
+     * fue local o remoto respecto al nodo hogar del proceso.
+     *
+     * @param pcb         proceso al que pertenece la dirección
+     * @param logicalAddr dirección lógica en bytes (>=0)
+     * @return dirección física correspondiente
+     * @throws IllegalArgumentException si la página está fuera de rango o no está
+     *                                  presente
+     */
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (logicalAddr < 0)
+            throw new IllegalArgumentException("La dirección lógica debe ser ≥ 0.");
+
+        long page = pm.pageOf(logicalAddr);
+        long offset = pm.offsetOf(logicalAddr);
+        if (page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+
+        PageTableEntry e = pcb.pageTable[(int) page];
+        if (!e.present)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        Integer frameNo = e.frameNumber;
+        if (frameNo == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+
+        e.referenced = true;
+        if (nodeOf(frameNo) == homeNode(pcb.pid)) {
+            localAccesses.increment();
+            totalLatencyNs.add(localLatencyNs);
+        } else {
+            remoteAccesses.increment();
+            totalLatencyNs.add(remoteLatencyNs);
+        }
+        return pm.physicalAddress(frameNo, offset);
+    }
+
+    /**
+     * Carga una página no presente en un marco del nodo que indica la política,
+     * o de un nodo vecino si ese no tiene libres.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica
+     * @return true si se asignó un marco, false si no hay marcos libres
+     */
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (e.present)
+            throw new IllegalStateException("La página ya está presente en memoria.");
+        if (!frames.reserve(1))
+            return false;
+
+        NumaPolicy pol = policy;
+        int start = targetNode(pol, (pol == NumaPolicy.PREFERRED) ? preferredNode : homeNode(pcb.pid), pcb.pid, page);
+        int[] one = new int[1];
+        boolean got = false;
+        for (int pass = 0; pass < MAX_FALLBACK_PASSES && !got; pass++) {
+            for (int k = 0; k < nodes.length && !got; k++)
+                got = nodes[(start + k) % nodes.length].take(one, 0, 1) == 1;
+            if (!got)
+                Thread.onSpinWait();
+        }
+        if (!got) {
+            frames.release(1);
+            return false;
+        }
+
+        frames.markResident(pcb.pid);
+        Frame f = pm.frames[one[0]];
+        f.pid = pcb.pid;
+        f.pageNumber = page;
+        f.free = false;
+
+        e.frameNumber = one[0];
+        e.referenced = false;
+        e.dirty = false;
+        e.present = true;
+        return true;
+    }
+
+    /**
+     * Libera el marco de una página presente devolviéndolo a su nodo.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     */
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        Integer frameNo = e.frameNumber;
+        if (!e.present || frameNo == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+
+        e.present = false;
+        Frame f = pm.frames[frameNo];
+        f.free = true;
+        f.pid = null;
+        f.pageNumber = null;
+        e.frameNumber = null;
+        e.referenced = false;
+        e.dirty = false;
+        nodes[nodeOf(frameNo)].put(frameNo);
+        frames.release(1);
+    }
+
+    /** @return marcos libres no reservados en todos los nodos */
+    @Override
+    public int freeFrameCount() {
+        return frames.available();
+    }
+
+    /** La traducción solo toca la tabla de páginas del proceso y contadores atómicos. */
+    @Override
+    public boolean concurrentTranslation() {
+        return true;
+    }
+
+    // ===== Auxiliares =====
+
+    /** Valida el PCB y el número de página, y retorna su entrada. */
+    private static PageTableEntry requirePage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        return pcb.pageTable[page];
+    }
+
+    /** Nodo deseado para la página p según la política. */
+    private int targetNode(NumaPolicy pol, int start, int pid, int p) {
+        if (pol == NumaPolicy.INTERLEAVE)
+            return Math.floorMod(pid + p, nodes.length);
+        return start;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= nodes.length)
+            throw new IllegalArgumentException("Nodo NUMA inválido: " + node);
+    }
+}
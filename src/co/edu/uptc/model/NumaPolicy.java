@@ -0,0 +1,19 @@
+package co.edu.uptc.model;
+
+/**
+ * Enum NumaPolicy
+ * ------------------------------------------
+ * Políticas de asignación de marcos entre nodos NUMA
+ * usadas por NumaMemoryManager.
+ */
+public enum NumaPolicy {
+
+    /** Asignar en el nodo local del proceso; si no alcanza, en los nodos vecinos. */
+    LOCAL_FIRST,
+
+    /** Repartir las páginas del proceso en los nodos por turnos (round-robin). */
+    INTERLEAVE,
+
+    /** Asignar en un nodo preferido fijo; si no alcanza, en los demás. */
+    PREFERRED
+}
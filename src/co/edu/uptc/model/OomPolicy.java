@@ -0,0 +1,26 @@
+package co.edu.uptc.model;
+
+/**
+ * Enum OomPolicy
+ * ------------------------------------------
+ * Qué proceso terminar cuando un grupo de memoria (MemoryGroup) no puede
+ * hacerle lugar a una admisión ni recuperando páginas. La aplica
+ * GroupedMemoryManager.oomVictim(...).
+ *
+ * Un proceso que no cabría ni con el grupo vacío siempre es la víctima
+ * (salvo con NONE): terminar a otros no lo ayudaría.
+ */
+public enum OomPolicy {
+
+    /** No terminar a nadie: el proceso espera a que el grupo tenga lugar. */
+    NONE,
+
+    /** Terminar al proceso que pide la memoria. */
+    ALLOCATING,
+
+    /** Terminar al proceso del grupo con más páginas presentes. */
+    LARGEST,
+
+    /** Terminar al proceso del grupo con páginas presentes que se agregó último. */
+    YOUNGEST
+}
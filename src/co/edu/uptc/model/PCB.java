@@ -8,8 +8,8 @@ package co.edu.uptc.model;
  * y su tabla de páginas para la gestión de memoria.
  *
  * Invariantes:
- * - pageCount = ceil(logicalSizeBytes / pageSize)
- * - pageTable.length == pageCount
+ * - pageCount = ceil(logicalSizeBytes / pageSize), calculado con enteros
+ * - pageTable.length == pageCount (a lo sumo Integer.MAX_VALUE páginas)
  */
 public class PCB {
 
@@ -19,8 +19,8 @@ public class PCB {
     /** Estado actual del proceso (ciclo de vida: NEW, READY, RUNNING, etc.). */
     public ProcessState state;
 
-    /** Tamaño lógico total del proceso en bytes. */
-    public final int logicalSizeBytes;
+    /** Tamaño lógico total del proceso en bytes (puede superar 2 GB). */
+    public final long logicalSizeBytes;
 
     /** Número de páginas lógicas que ocupa el proceso en memoria. */
     public final int pageCount;
@@ -36,12 +36,21 @@ public class PCB {
      * @param pid              identificador único del proceso
      * @param logicalSizeBytes tamaño lógico del proceso en bytes
      * @param pageSize         tamaño de página en bytes (usado para calcular pageCount)
+     * @throws IllegalArgumentException si el tamaño o la página no son válidos, o si
+     *                                  el proceso necesita más de Integer.MAX_VALUE páginas
      */
-    public PCB(int pid, int logicalSizeBytes, int pageSize) {
+    public PCB(int pid, long logicalSizeBytes, int pageSize) {
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("Tamaño de página inválido.");
+        if (logicalSizeBytes < 0)
+            throw new IllegalArgumentException("El tamaño lógico debe ser ≥ 0.");
         this.pid = pid;
         this.logicalSizeBytes = logicalSizeBytes;
-        // Calcular número de páginas con redondeo hacia arriba
-        this.pageCount = (int) Math.ceil(logicalSizeBytes / (double) pageSize);
+        // Calcular número de páginas con redondeo hacia arriba (sin punto flotante)
+        long pages = logicalSizeBytes / pageSize + (logicalSizeBytes % pageSize == 0 ? 0 : 1);
+        if (pages > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("El proceso excede el máximo de páginas.");
+        this.pageCount = (int) pages;
         // Crear tabla de páginas
         this.pageTable = new PageTableEntry[pageCount];
         for (int p = 0; p < pageCount; p++) {
@@ -0,0 +1,57 @@
+package co.edu.uptc.model;
+
+import java.util.Locale;
+
+/**
+ * Interfaz PageCodec
+ * --------------------------------
+ * Compresor de imágenes de página para el swap comprimido
+ * (CompressedSwapPool). Trabaja sobre arreglos del llamador, sin crear
+ * objetos por página.
+ *
+ * Las implementaciones guardan estado de trabajo (tablas, Deflater) y no
+ * son seguras entre hilos: cada pool usa la suya bajo su propio candado.
+ */
+public interface PageCodec {
+
+    /**
+     * Comprime los primeros 'len' bytes de src en dst.
+     *
+     * @param src origen
+     * @param len bytes a comprimir
+     * @param dst destino; su longitud es el máximo aceptable
+     * @return bytes escritos en dst, o -1 si el resultado no cabe
+     */
+    int compress(byte[] src, int len, byte[] dst);
+
+    /**
+     * Descomprime exactamente dstLen bytes.
+     *
+     * @param src    datos comprimidos
+     * @param len    bytes comprimidos
+     * @param dst    destino
+     * @param dstLen bytes esperados (el tamaño de página)
+     * @throws IllegalStateException si los datos están corruptos
+     */
+    void decompress(byte[] src, int len, byte[] dst, int dstLen);
+
+    /** @return nombre corto del compresor (para reportes) */
+    String name();
+
+    /**
+     * Crea un compresor por nombre.
+     *
+     * @param name lz | deflate
+     * @return compresor nuevo
+     */
+    static PageCodec create(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "lz":
+                return new LzPageCodec();
+            case "deflate":
+                return new DeflatePageCodec();
+            default:
+                throw new IllegalArgumentException("Compresor desconocido: " + name + " (lz | deflate).");
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package co.edu.uptc.model;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Clase PagePrefetcher
+ * ----------------------------------------
+ * Capa de paginación por demanda con lectura anticipada (prefetch).
+ *
+ * Por cada proceso se detecta el patrón de acceso a páginas:
+ * - Si el salto entre páginas consecutivas se repite (secuencial = 1, o un
+ * stride fijo), la confianza del flujo aumenta.
+ * - Al ocurrir un fallo, o al tocar por primera vez una página traída por
+ * prefetch, y con confianza suficiente, se cargan las siguientes 'degree'
+ * páginas del flujo (página + k × stride).
+ *
+ * Las cargas anticipadas se hacen en el mismo hilo que atiende el fallo:
+ * asignan el marco y leen la página del swap. No se desaloja nada para
+ * hacer prefetch: solo se usa si quedan más de 'reserveFrames' marcos libres.
+ *
+ * En SimulationEngine (setPrefetcher) el motor atiende el fallo y avisa con
+ * onFault(...); las páginas del flujo se cargan con el Loader del motor en
+ * la misma lectura, sin bloqueo extra. Al final de cada turno, onTurn(...)
+ * toma las anticipadas con el bit de referencia encendido como usadas y
+ * anticipa la ventana siguiente antes de que el proceso la pida. El motor
+ * avisa también los desalojos y descargas (onEvict, onUnload) para contar
+ * desperdicios. Una instancia se usa o con access(...) o con el motor, no
+ * con ambos.
+ *
+ * Contadores:
+ * - útiles: páginas anticipadas que luego se usaron.
+ * - desperdiciadas: páginas anticipadas desalojadas o liberadas sin usarse.
+ * - precisión = útiles / emitidas; cobertura = útiles / (útiles + fallos).
+ *
+ * No es segura para hilos: todos los métodos se llaman desde el hilo de la
+ * simulación, que es el único que escribe y lee los contadores.
+ */
+public class PagePrefetcher {
+
+    /** Carga de una página anticipada hecha por el motor. */
+    public interface Loader {
+
+        /** @return true si la página quedó cargada */
+        boolean load(PCB pcb, int page);
+    }
+
+    /** Gestor que asigna los marcos. */
+    private final MemoryManager mm;
+
+    /** Memoria física (tamaño de página y descomposición de direcciones). */
+    private final PhysicalMemory pm;
+
+    /** Swap del que se leen las páginas (null: las páginas nuevas son ceros). */
+    private final SwapManager swap;
+
+    /** Marcos libres que el prefetch no puede usar. */
+    private final int reserveFrames;
+
+    /** Páginas anticipadas por disparo (agresividad); 0 desactiva el prefetch. */
+    private int degree;
+
+    /** Saltos repetidos necesarios antes de anticipar. */
+    private int triggerConfidence;
+
+    /** Buffer de page-in de access(...). */
+    private final ByteBuffer buffer;
+
+    /** Carga anticipada de access(...): marco libre y page-in desde el swap. */
+    private final Loader directLoader = this::loadDirect;
+
+    /** Páginas traídas por prefetch y aún no usadas, por PID. */
+    private final Map<Integer, BitSet> prefetched = new HashMap<>();
+
+    /** Estado del flujo por PID: { última página, stride, confianza }. */
+    private final Map<Integer, int[]> streams = new HashMap<>();
+
+    // --- Contadores ---
+    private long demandFaults;
+    private long issued;
+    private long useful;
+    private long wasted;
+    private long stallNanos;
+    private long dropped;
+
+    /**
+     * Constructor de PagePrefetcher.
+     *
+     * @param mm                gestor de memoria que asigna los marcos
+     * @param swap              swap del que leer páginas; null si no hay
+     * @param pm                memoria física administrada por mm
+     * @param degree            páginas anticipadas por disparo (>= 0)
+     * @param triggerConfidence saltos repetidos necesarios para anticipar (>= 1)
+     * @param reserveFrames     marcos libres que el prefetch no toca (>= 0)
+     */
+    public PagePrefetcher(MemoryManager mm, SwapManager swap, PhysicalMemory pm, int degree, int triggerConfidence,
+            int reserveFrames) {
+        if (mm == null || pm == null)
+            throw new IllegalArgumentException("Gestor y memoria no pueden ser nulos.");
+        if (reserveFrames < 0)
+            throw new IllegalArgumentException("La reserva debe ser >= 0.");
+        this.mm = mm;
+        this.swap = swap;
+        this.pm = pm;
+        this.reserveFrames = reserveFrames;
+        checkAggressiveness(degree, triggerConfidence);
+        this.degree = degree;
+        this.triggerConfidence = triggerConfidence;
+        this.buffer = ByteBuffer.allocateDirect(pm.pageSize);
+    }
+
+    /**
+     * Cambia la agresividad del prefetch.
+     *
+     * @param degree            páginas anticipadas por disparo (>= 0; 0 lo desactiva)
+     * @param triggerConfidence saltos repetidos necesarios para anticipar (>= 1)
+     */
+    public void setAggressiveness(int degree, int triggerConfidence) {
+        checkAggressiveness(degree, triggerConfidence);
+        this.degree = degree;
+        this.triggerConfidence = triggerConfidence;
+    }
+
+    private static void checkAggressiveness(int degree, int triggerConfidence) {
+        if (degree < 0)
+            throw new IllegalArgumentException("El grado de prefetch debe ser >= 0.");
+        if (triggerConfidence < 1)
+            throw new IllegalArgumentException("La confianza mínima debe ser >= 1.");
+    }
+
+    /**
+     * Accede a una dirección lógica: atiende el fallo si la página no está,
+     * actualiza el detector de flujo y dispara el prefetch si corresponde.
+     *
+     * @param pcb         proceso que accede
+     * @param logicalAddr dirección lógica en bytes
+     * @return dirección física, o -1 si hubo fallo y no quedan marcos libres
+     *         (el llamador debe desalojar con evict(...) y reintentar)
+     */
+    public long access(PCB pcb, long logicalAddr) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (logicalAddr < 0 || logicalAddr >= pcb.logicalSizeBytes)
+            throw new IllegalArgumentException("Dirección lógica fuera de rango.");
+        int page = (int) pm.pageOf(logicalAddr);
+        PageTableEntry e = pcb.pageTable[page];
+
+        boolean trigger = false;
+        if (!e.present) {
+            long t0 = System.nanoTime();
+            if (!mm.loadPage(pcb, page))
+                return -1;
+            if (swap != null)
+                swap.pageIn(pcb, page, buffer);
+            stallNanos += System.nanoTime() - t0;
+            demandFaults++;
+            trigger = true;
+        } else if (consumePrefetched(pcb.pid, page)) {
+            useful++;
+            trigger = true;
+        }
+
+        int stride = observe(pcb.pid, page);
+        if (trigger && degree > 0 && stride != 0)
+            issueNow(pcb, page, stride, directLoader);
+
+        return mm.mapLogicalToPhysical(pcb, logicalAddr);
+    }
+
+    /**
+     * Desaloja una página (a swap si hay swap y está modificada).
+     * Si era una página anticipada sin usar, cuenta como desperdiciada.
+     *
+     * @param pcb  proceso dueño
+     * @param page página presente
+     */
+    public void evict(PCB pcb, int page) {
+        if (consumePrefetched(pcb.pid, page))
+            wasted++;
+        if (swap != null)
+            swap.evictPage(pcb, page);
+        else
+            mm.evictPage(pcb, page);
+    }
+
+    /**
+     * Libera el proceso completo y olvida su flujo. Las páginas anticipadas
+     * que nunca se usaron cuentan como desperdiciadas.
+     *
+     * @param pcb proceso a liberar
+     */
+    public void release(PCB pcb) {
+        BitSet bits = prefetched.remove(pcb.pid);
+        if (bits != null)
+            wasted += bits.cardinality();
+        streams.remove(pcb.pid);
+        mm.releaseProcess(pcb);
+    }
+
+    // ===== Motor de simulación =====
+
+    /**
+     * Fallo por demanda que el motor ya atendió. Primero toma como usadas
+     * las anticipadas referenciadas en el turno (ocurrieron antes del fallo),
+     * luego actualiza el flujo y, con confianza suficiente, carga con
+     * 'loader' las siguientes 'degree' páginas.
+     *
+     * @param pcb    proceso que falló
+     * @param page   página cargada por demanda
+     * @param loader carga del motor (no debe desalojar)
+     */
+    public void onFault(PCB pcb, int page, Loader loader) {
+        demandFaults++;
+        collectUsed(pcb);
+        int stride = observe(pcb.pid, page);
+        if (degree > 0 && stride != 0)
+            issueNow(pcb, page, stride, loader);
+    }
+
+    /**
+     * Fin del turno del proceso en el motor: las anticipadas referenciadas
+     * se cuentan como útiles y, si hubo alguna, se anticipa desde la última.
+     * Llamar antes de que se apaguen los bits de referencia.
+     *
+     * @param pcb    proceso que ejecutó el turno
+     * @param loader carga del motor (no debe desalojar)
+     */
+    public void onTurn(PCB pcb, Loader loader) {
+        int last = collectUsed(pcb);
+        if (last < 0)
+            return;
+        int[] st = streams.get(pcb.pid);
+        if (degree > 0 && st[2] >= triggerConfidence && st[1] != 0)
+            issueNow(pcb, last, st[1], loader);
+    }
+
+    /**
+     * El motor va a desalojar una página: si era anticipada y nunca se
+     * referenció, se desperdició.
+     */
+    public void onEvict(PCB pcb, int page) {
+        BitSet bits = prefetched.get(pcb.pid);
+        if (bits == null || !bits.get(page))
+            return;
+        bits.clear(page);
+        if (pcb.pageTable[page].referenced)
+            useful++;
+        else
+            wasted++;
+    }
+
+    /**
+     * El motor va a sacar de memoria todas las páginas del proceso.
+     *
+     * @param pcb        proceso
+     * @param terminated true si termina (se olvida su flujo); false si se suspende
+     */
+    public void onUnload(PCB pcb, boolean terminated) {
+        BitSet bits = prefetched.remove(pcb.pid);
+        if (bits != null) {
+            for (int p = bits.nextSetBit(0); p >= 0; p = bits.nextSetBit(p + 1)) {
+                if (pcb.pageTable[p].referenced)
+                    useful++;
+                else
+                    wasted++;
+            }
+        }
+        if (terminated)
+            streams.remove(pcb.pid);
+    }
+
+    /** @return marcos libres que el prefetch no usa */
+    public int reserveFrames() {
+        return reserveFrames;
+    }
+
+    // --------------------------------------------------------------------
+
+    /**
+     * Actualiza el flujo del proceso con la página referenciada.
+     *
+     * @return stride del flujo si alcanzó la confianza mínima, o 0
+     */
+    private int observe(int pid, int page) {
+        int[] st = streams.computeIfAbsent(pid, k -> new int[] { -1, 0, 0 });
+        if (page != st[0]) {
+            int delta = page - st[0];
+            if (st[0] >= 0 && delta == st[1]) {
+                st[2]++;
+            } else {
+                st[1] = delta;
+                st[2] = 0;
+            }
+            st[0] = page;
+        }
+        return (st[2] >= triggerConfidence) ? st[1] : 0;
+    }
+
+    /**
+     * Quita las marcas de las anticipadas referenciadas, las cuenta como
+     * útiles y alimenta el flujo con ellas en el sentido del stride.
+     *
+     * @return última página usada en ese orden, o -1 si no hubo
+     */
+    private int collectUsed(PCB pcb) {
+        BitSet bits = prefetched.get(pcb.pid);
+        if (bits == null || bits.isEmpty())
+            return -1;
+        int[] st = streams.get(pcb.pid);
+        boolean down = st != null && st[1] < 0;
+        int last = -1;
+        int p = down ? bits.length() - 1 : bits.nextSetBit(0);
+        while (p >= 0) {
+            if (pcb.pageTable[p].referenced) {
+                bits.clear(p);
+                useful++;
+                observe(pcb.pid, p);
+                last = p;
+            }
+            p = down ? bits.previousSetBit(p - 1) : bits.nextSetBit(p + 1);
+        }
+        return last;
+    }
+
+    /** Carga ya, con 'loader', las siguientes 'degree' páginas del flujo que falten. */
+    private void issueNow(PCB pcb, int page, int stride, Loader loader) {
+        for (int k = 1; k <= degree; k++) {
+            long target = page + (long) k * stride;
+            if (target < 0 || target >= pcb.pageCount)
+                break;
+            int p = (int) target;
+            if (pcb.pageTable[p].present)
+                continue;
+            if (mm.freeFrameCount() <= reserveFrames)
+                break;
+            issued++;
+            if (loader.load(pcb, p))
+                prefetched.computeIfAbsent(pcb.pid, x -> new BitSet()).set(p);
+            else
+                dropped++;
+        }
+    }
+
+    /** Carga anticipada de access(...): asigna un marco libre y lee la página del swap. */
+    private boolean loadDirect(PCB pcb, int page) {
+        if (!mm.loadPage(pcb, page))
+            return false;
+        if (swap != null)
+            swap.pageIn(pcb, page, buffer);
+        return true;
+    }
+
+    /** Limpia la marca de página anticipada; retorna si estaba marcada. */
+    private boolean consumePrefetched(int pid, int page) {
+        BitSet bits = prefetched.get(pid);
+        if (bits == null || !bits.get(page))
+            return false;
+        bits.clear(page);
+        return true;
+    }
+
+    // ===== Estadísticas =====
+
+    /** Fallos por demanda (sin prefetch que los cubriera). */
+    public long demandFaults() {
+        return demandFaults;
+    }
+
+    public long issued() {
+        return issued;
+    }
+
+    public long useful() {
+        return useful;
+    }
+
+    public long wasted() {
+        return wasted;
+    }
+
+    /** Cargas anticipadas descartadas por falta de marcos. */
+    public long dropped() {
+        return dropped;
+    }
+
+    /** Tiempo total (ns) de los page-in por demanda de access(...). */
+    public long stallNanos() {
+        return stallNanos;
+    }
+
+    /** Útiles / emitidas. */
+    public double accuracy() {
+        return issued == 0 ? 0 : useful / (double) issued;
+    }
+
+    /** Útiles / (útiles + fallos por demanda). */
+    public double coverage() {
+        long total = useful + demandFaults;
+        return total == 0 ? 0 : useful / (double) total;
+    }
+}
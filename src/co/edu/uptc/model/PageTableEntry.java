@@ -14,10 +14,14 @@ public class PageTableEntry {
     public final int pageNumber;
 
     /** Número de marco físico al que está asignada esta página; null si no está cargada. */
-    public Integer frameNumber;
+    public volatile Integer frameNumber;
 
-    /** Bit de presencia: indica si la página se encuentra cargada en un marco físico. */
-    public boolean present;
+    /**
+     * Bit de presencia: indica si la página se encuentra cargada en un marco físico.
+     * Es volátil para que la traducción concurrente lo lea sin bloqueos: se escribe
+     * después de frameNumber al cargar y antes de limpiarlo al liberar.
+     */
+    public volatile boolean present;
 
     /** Bit de referencia: indica si la página ha sido accedida recientemente. */
     public boolean referenced;
@@ -25,6 +29,25 @@ public class PageTableEntry {
     /** Bit de modificado: indica si la página ha sido escrita (dirty bit). */
     public boolean dirty;
 
+    /** Ranura del dispositivo de swap con la copia de esta página; null si no tiene. */
+    public Integer swapSlot;
+
+    /**
+     * Bit de copy-on-write: el marco se comparte (solo lectura) con otro
+     * proceso desde un fork; la primera escritura copia la página a un marco
+     * propio.
+     */
+    public boolean copyOnWrite;
+
+    /**
+     * Segmento compartido al que está unida esta página (null si es privada).
+     * La unión se conserva aunque la página no esté presente.
+     */
+    public SharedSegment segment;
+
+    /** Página del segmento que mapea esta entrada (válida si segment != null). */
+    public int segmentPage;
+
     /**
      * Constructor de PageTableEntry.
      * Crea una entrada inicialmente sin marco asignado y con todos los bits en false.
@@ -37,5 +60,8 @@ public class PageTableEntry {
         this.present = false;
         this.referenced = false;
         this.dirty = false;
+        this.swapSlot = null;
+        this.copyOnWrite = false;
+        this.segment = null;
     }
 }
@@ -9,6 +9,10 @@ package co.edu.uptc.model;
  *
  * Esta clase también guarda el tamaño de página (pageSize),
  * que se usa para traducir direcciones lógicas y para visualización.
+ *
+ * Las direcciones son long: el tamaño total (marcos × pageSize) puede
+ * superar 2^31 bytes. Si pageSize es potencia de dos, la descomposición
+ * de direcciones usa desplazamiento y máscara en lugar de / y %.
  */
 public class PhysicalMemory {
 
@@ -18,6 +22,12 @@ public class PhysicalMemory {
     /** Arreglo de marcos físicos que conforman la memoria principal. */
     public final Frame[] frames;
 
+    /** log2(pageSize) si pageSize es potencia de dos; -1 en otro caso. */
+    public final int pageShift;
+
+    /** pageSize - 1 si pageSize es potencia de dos (máscara del desplazamiento); -1 en otro caso. */
+    public final long offsetMask;
+
     /**
      * Constructor de PhysicalMemory.
      * Inicializa la memoria física creando N marcos vacíos.
@@ -27,10 +37,49 @@ public class PhysicalMemory {
      */
     public PhysicalMemory(int pageSize, int numFrames) {
         this.pageSize = pageSize;
+        boolean pow2 = pageSize > 0 && Integer.bitCount(pageSize) == 1;
+        this.pageShift = pow2 ? Integer.numberOfTrailingZeros(pageSize) : -1;
+        this.offsetMask = pow2 ? pageSize - 1 : -1;
         this.frames = new Frame[numFrames];
         // Crear todos los marcos e inicializarlos como libres
         for (int i = 0; i < numFrames; i++) {
             this.frames[i] = new Frame(i);
         }
     }
+
+    /** @return tamaño total de la memoria física en bytes */
+    public long sizeBytes() {
+        return (long) frames.length * pageSize;
+    }
+
+    /**
+     * Número de página de una dirección (lógica o física).
+     *
+     * @param address dirección en bytes (>= 0)
+     * @return address / pageSize
+     */
+    public long pageOf(long address) {
+        return pageShift >= 0 ? address >>> pageShift : address / pageSize;
+    }
+
+    /**
+     * Desplazamiento de una dirección dentro de su página.
+     *
+     * @param address dirección en bytes (>= 0)
+     * @return address % pageSize
+     */
+    public long offsetOf(long address) {
+        return pageShift >= 0 ? address & offsetMask : address % pageSize;
+    }
+
+    /**
+     * Compone una dirección física a partir de marco y desplazamiento.
+     *
+     * @param frame  número de marco
+     * @param offset desplazamiento dentro de la página
+     * @return frame * pageSize + offset
+     */
+    public long physicalAddress(int frame, long offset) {
+        return pageShift >= 0 ? ((long) frame << pageShift) | offset : (long) frame * pageSize + offset;
+    }
 }
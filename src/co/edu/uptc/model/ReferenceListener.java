@@ -0,0 +1,21 @@
+package co.edu.uptc.model;
+
+/**
+ * Interfaz ReferenceListener
+ * --------------------------------
+ * Recibe el flujo de referencias a páginas de la simulación (o de una
+ * traza), una llamada por referencia y en el orden en que ocurren.
+ *
+ * La usan los perfiladores y los grabadores de trazas; las páginas se
+ * identifican por (pid, página lógica).
+ */
+public interface ReferenceListener {
+
+    /**
+     * Registra una referencia.
+     *
+     * @param pid  proceso que referencia
+     * @param page página lógica referenciada
+     */
+    void reference(int pid, int page);
+}
@@ -0,0 +1,258 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+
+/**
+ * Clase ReuseDistanceProfiler
+ * ------------------------------------------
+ * Perfilador de distancias de pila LRU (algoritmo de Mattson): en una sola
+ * pasada sobre el flujo de referencias obtiene la tasa de fallos de un LRU
+ * global con cualquier cantidad de marcos.
+ *
+ * La distancia de una referencia es la cantidad de páginas distintas
+ * referenciadas desde el acceso anterior a la misma página. Con c marcos,
+ * LRU acierta exactamente las referencias con distancia < c; las primeras
+ * referencias a cada página (fallos fríos) fallan con cualquier tamaño.
+ *
+ * Implementación:
+ * - Cada referencia recibe un instante (contador creciente) y cada página
+ * guarda el instante de su último acceso (tabla hash de direccionamiento
+ * abierto, sin objetos por página).
+ * - Un árbol de Fenwick marca los instantes que son el último acceso de
+ * alguna página; la distancia es la cantidad de marcas posteriores al
+ * último acceso de la página, en O(log n).
+ * - Cuando los instantes llenan el árbol se renumeran los últimos accesos
+ * en orden (0..distintas-1) y el árbol se reconstruye en O(n); el árbol
+ * crece para tener siempre al menos el doble de las páginas distintas.
+ *
+ * Las páginas se identifican por (pid, página), así que la curva es la de
+ * una memoria compartida por todos los procesos.
+ */
+public class ReuseDistanceProfiler implements ReferenceListener {
+
+    private static final long EMPTY = -1L;
+
+    // --- Último acceso por página (clave pid << 32 | página) ---
+    private long[] keys;
+    private int[] lastTime;
+    /** Páginas en la tabla (sin contar las quitadas con remove(...)). */
+    private int distinct;
+
+    // --- Árbol de Fenwick sobre los instantes (1-based) ---
+    private int[] tree;
+    private int now;
+
+    /** histogram[d] = referencias con distancia d. */
+    private long[] histogram = new long[64];
+    private long coldMisses;
+    private long references;
+
+    /** Constructor con capacidad inicial para 64K páginas distintas. */
+    public ReuseDistanceProfiler() {
+        this(1 << 16);
+    }
+
+    /**
+     * @param expectedPages páginas distintas esperadas (solo dimensiona las tablas)
+     */
+    public ReuseDistanceProfiler(int expectedPages) {
+        if (expectedPages <= 0)
+            throw new IllegalArgumentException("La cantidad de páginas debe ser > 0.");
+        int cap = Integer.highestOneBit(Math.max(16, expectedPages * 2) - 1) << 1;
+        keys = new long[cap];
+        Arrays.fill(keys, EMPTY);
+        lastTime = new int[cap];
+        tree = new int[cap + 1];
+    }
+
+    @Override
+    public void reference(int pid, int page) {
+        access(((long) pid << 32) | (page & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Registra el acceso a una página.
+     *
+     * @param key clave de la página (>= 0)
+     * @return distancia de la referencia, o -1 si es la primera a la página
+     */
+    public int access(long key) {
+        if (now == tree.length - 1)
+            compact();
+        references++;
+        int slot = find(key);
+        int d = -1;
+        if (keys[slot] == key) {
+            int t = lastTime[slot];
+            d = prefix(now) - prefix(t + 1);
+            add(t + 1, -1);
+            if (d >= histogram.length)
+                histogram = Arrays.copyOf(histogram, Math.max(d + 1, histogram.length * 2));
+            histogram[d]++;
+        } else {
+            coldMisses++;
+            keys[slot] = key;
+            if (++distinct * 2 > keys.length) {
+                rehash(keys.length * 2);
+                slot = find(key);
+            }
+        }
+        lastTime[slot] = now;
+        add(now + 1, 1);
+        now++;
+        return d;
+    }
+
+    /**
+     * Olvida una página: deja de contar en las distancias de las demás y su
+     * próximo acceso será frío (lo usa el muestreo de tamaño fijo).
+     *
+     * @param key clave de la página
+     * @return false si la página no estaba
+     */
+    public boolean remove(long key) {
+        int i = find(key);
+        if (keys[i] != key)
+            return false;
+        add(lastTime[i] + 1, -1);
+        distinct--;
+        // Borrado con corrimiento hacia atrás (sondeo lineal, sin lápidas)
+        int mask = keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == EMPTY)
+                break;
+            int k = home(keys[j]);
+            boolean between = (i <= j) ? (i < k && k <= j) : (i < k || k <= j);
+            if (between)
+                continue;
+            keys[i] = keys[j];
+            lastTime[i] = lastTime[j];
+            i = j;
+        }
+        keys[i] = EMPTY;
+        return true;
+    }
+
+    // ===== Tabla hash =====
+
+    private int home(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int i = home(key);
+        while (keys[i] != EMPTY && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldTimes = lastTime;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        lastTime = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY)
+                continue;
+            int slot = find(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            lastTime[slot] = oldTimes[i];
+        }
+    }
+
+    // ===== Árbol de Fenwick =====
+
+    /** Suma de las marcas en los instantes [0, i) (posiciones 1..i). */
+    private int prefix(int i) {
+        int s = 0;
+        for (; i > 0; i -= i & -i)
+            s += tree[i];
+        return s;
+    }
+
+    private void add(int i, int delta) {
+        for (; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    /**
+     * Renumera los últimos accesos a 0..distinct-1 conservando su orden y
+     * reconstruye el árbol (todas las posiciones ocupadas quedan en 1).
+     */
+    private void compact() {
+        // Ordenar (instante, ranura) empaquetado en un long
+        long[] order = new long[distinct];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != EMPTY)
+                order[n++] = ((long) lastTime[i] << 32) | i;
+        Arrays.sort(order);
+        for (int t = 0; t < n; t++)
+            lastTime[(int) order[t]] = t;
+
+        int size = tree.length - 1;
+        while (size < 2 * n)
+            size *= 2;
+        tree = new int[size + 1];
+        for (int i = 1; i <= size; i++) {
+            int low = i - (i & -i);
+            tree[i] = Math.max(0, Math.min(i, n) - low);
+        }
+        now = n;
+    }
+
+    // ===== Resultados =====
+
+    /** @return referencias registradas */
+    public long references() {
+        return references;
+    }
+
+    /** @return páginas distintas (= fallos fríos) */
+    public long distinctPages() {
+        return coldMisses;
+    }
+
+    /** @return referencias con distancia 'd' */
+    public long histogram(int d) {
+        return (d < histogram.length) ? histogram[d] : 0;
+    }
+
+    /**
+     * Fallos de un LRU global con 'frames' marcos.
+     *
+     * @param frames marcos (>= 0)
+     * @return fallos, incluidos los fríos
+     */
+    public long misses(int frames) {
+        long m = coldMisses;
+        for (int d = Math.max(0, frames); d < histogram.length; d++)
+            m += histogram[d];
+        return m;
+    }
+
+    /**
+     * Curva completa de tasa de fallos: curve[c] es la tasa con c marcos,
+     * para c = 0..distinctPages() (con más marcos solo quedan los fríos).
+     *
+     * @return tasas de fallo en [0, 1]
+     */
+    public double[] missRatioCurve() {
+        int n = (int) coldMisses;
+        double[] curve = new double[n + 1];
+        double total = Math.max(1, references);
+        // Sufijos: con c marcos fallan las distancias >= c (nunca hay distancias >= n)
+        long tail = 0;
+        for (int c = n; c >= 0; c--) {
+            if (c < histogram.length)
+                tail += histogram[c];
+            curve[c] = (coldMisses + tail) / total;
+        }
+        return curve;
+    }
+}
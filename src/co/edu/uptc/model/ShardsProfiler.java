@@ -0,0 +1,307 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+
+/**
+ * Clase ShardsProfiler
+ * ------------------------------------------
+ * Curva de tasa de fallos LRU aproximada por muestreo espacial (SHARDS,
+ * versión de tamaño fijo), para trazas demasiado grandes para el perfilador
+ * exacto.
+ *
+ * Muestreo: cada página tiene un hash h de 24 bits; solo se procesan las
+ * referencias a páginas con h < T, así que se muestrea una fracción
+ * R = T / 2^24 de las páginas (y, en promedio, de las referencias). Las
+ * distancias medidas entre las páginas muestreadas se escalan por 1 / R.
+ *
+ * Tamaño fijo: el conjunto muestreado guarda a lo sumo maxSamples páginas.
+ * Al superarlo se baja T al mayor hash muestreado y se olvidan las páginas
+ * con ese hash (montículo de máximos sobre los hashes). La memoria queda
+ * acotada por maxSamples sin importar el largo de la traza.
+ *
+ * Pesos: cada referencia muestreada cuenta 1 / R referencias de la traza,
+ * con la R vigente al muestrearla; esto equivale a reescalar los conteos
+ * anteriores por R nueva / R vieja cuando baja la tasa.
+ *
+ * Corrección: al calcular la curva, la diferencia entre las referencias
+ * recibidas y las estimadas por la muestra se suma a la distancia 0
+ * (SHARDS-adj).
+ *
+ * Error: las páginas muestreadas se reparten por otros bits del hash en
+ * PARTITIONS particiones independientes, cada una con su propia pila; cada
+ * partición es un muestreo a tasa R / PARTITIONS. El error estimado de la
+ * curva es la desviación estándar entre particiones dividida por
+ * sqrt(PARTITIONS) (error estándar de la media).
+ *
+ * El histograma agrupa las distancias escaladas en intervalos de binFrames
+ * marcos: la curva se obtiene para 0, binFrames, 2·binFrames, ... marcos.
+ */
+public class ShardsProfiler implements ReferenceListener {
+
+    /** Módulo del hash de muestreo (2^24). */
+    public static final int HASH_RANGE = 1 << 24;
+
+    /** Particiones para estimar el error. */
+    public static final int PARTITIONS = 8;
+
+    private final int maxSamples;
+    private final int binFrames;
+
+    /** Umbral de muestreo: se procesan las páginas con hash < threshold. */
+    private int threshold;
+
+    private final ReuseDistanceProfiler stack;
+    private final Histogram histogram = new Histogram();
+    private final ReuseDistanceProfiler[] partStacks = new ReuseDistanceProfiler[PARTITIONS];
+    private final Histogram[] partHistograms = new Histogram[PARTITIONS];
+
+    // --- Montículo de máximos con los hashes de las páginas muestreadas ---
+    private int[] heapHash;
+    private long[] heapKey;
+    private int heapSize;
+
+    private long references;
+    private long sampled;
+
+    /**
+     * Constructor de ShardsProfiler.
+     *
+     * @param maxSamples  páginas muestreadas como máximo (> 0)
+     * @param initialRate tasa de muestreo inicial, en (0, 1]
+     * @param binFrames   ancho de los intervalos de la curva en marcos (> 0)
+     */
+    public ShardsProfiler(int maxSamples, double initialRate, int binFrames) {
+        if (maxSamples <= 0)
+            throw new IllegalArgumentException("El máximo de muestras debe ser > 0.");
+        if (initialRate <= 0 || initialRate > 1)
+            throw new IllegalArgumentException("La tasa de muestreo debe estar en (0, 1].");
+        if (binFrames <= 0)
+            throw new IllegalArgumentException("El ancho de intervalo debe ser > 0.");
+        this.maxSamples = maxSamples;
+        this.binFrames = binFrames;
+        this.threshold = (int) Math.max(1, Math.round(initialRate * HASH_RANGE));
+        this.stack = new ReuseDistanceProfiler(maxSamples);
+        for (int i = 0; i < PARTITIONS; i++) {
+            partStacks[i] = new ReuseDistanceProfiler(Math.max(1, maxSamples / PARTITIONS));
+            partHistograms[i] = new Histogram();
+        }
+        this.heapHash = new int[Math.min(maxSamples + 1, 1 << 16)];
+        this.heapKey = new long[heapHash.length];
+    }
+
+    /** Hash de 64 bits de la página (murmur3 fmix64). */
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    @Override
+    public void reference(int pid, int page) {
+        access(((long) pid << 32) | (page & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Registra una referencia; solo se procesa si la página está en la muestra.
+     *
+     * @param key clave de la página (>= 0)
+     */
+    public void access(long key) {
+        references++;
+        long h64 = mix(key);
+        int h = (int) (h64 & (HASH_RANGE - 1));
+        if (h >= threshold)
+            return;
+        sampled++;
+        int part = (int) (h64 >>> 61);
+        double rate = rate();
+
+        int d = stack.access(key);
+        if (d < 0)
+            push(h, key);
+        histogram.add(d, 1 / rate);
+        int pd = partStacks[part].access(key);
+        partHistograms[part].add(pd, PARTITIONS / rate);
+
+        if (heapSize > maxSamples)
+            lowerThreshold();
+    }
+
+    /** Baja el umbral al mayor hash muestreado y olvida las páginas con ese hash. */
+    private void lowerThreshold() {
+        int top = heapHash[0];
+        while (heapSize > 0 && heapHash[0] == top) {
+            long key = heapKey[0];
+            pop();
+            stack.remove(key);
+            partStacks[(int) (mix(key) >>> 61)].remove(key);
+        }
+        threshold = top;
+    }
+
+    // ===== Montículo de máximos =====
+
+    private void push(int h, long key) {
+        if (heapSize == heapHash.length) {
+            heapHash = Arrays.copyOf(heapHash, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapHash[parent] >= h)
+                break;
+            heapHash[i] = heapHash[parent];
+            heapKey[i] = heapKey[parent];
+            i = parent;
+        }
+        heapHash[i] = h;
+        heapKey[i] = key;
+    }
+
+    private void pop() {
+        int n = --heapSize;
+        int h = heapHash[n];
+        long key = heapKey[n];
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= n)
+                break;
+            if (c + 1 < n && heapHash[c + 1] > heapHash[c])
+                c++;
+            if (heapHash[c] <= h)
+                break;
+            heapHash[i] = heapHash[c];
+            heapKey[i] = heapKey[c];
+            i = c;
+        }
+        if (n > 0) {
+            heapHash[i] = h;
+            heapKey[i] = key;
+        }
+    }
+
+    // ===== Resultados =====
+
+    /** @return tasa de muestreo actual R = T / 2^24 */
+    public double rate() {
+        return (double) threshold / HASH_RANGE;
+    }
+
+    /** @return referencias recibidas */
+    public long references() {
+        return references;
+    }
+
+    /** @return referencias procesadas (a páginas muestreadas) */
+    public long sampledReferences() {
+        return sampled;
+    }
+
+    /** @return páginas en la muestra (<= maxSamples) */
+    public int sampleSize() {
+        return heapSize;
+    }
+
+    public int binFrames() {
+        return binFrames;
+    }
+
+    /**
+     * Curva aproximada: curve[b] es la tasa de fallos con b·binFrames marcos.
+     *
+     * @return tasas de fallo en [0, 1]
+     */
+    public double[] missRatioCurve() {
+        return histogram.curve(references);
+    }
+
+    /**
+     * Error estándar estimado de cada punto de missRatioCurve().
+     *
+     * @return errores, del mismo largo que la curva
+     */
+    public double[] missRatioErrors() {
+        int len = missRatioCurve().length;
+        double[][] curves = new double[PARTITIONS][];
+        for (int p = 0; p < PARTITIONS; p++)
+            curves[p] = partHistograms[p].curve(references);
+        double[] errors = new double[len];
+        for (int b = 0; b < len; b++) {
+            double sum = 0;
+            double sq = 0;
+            for (double[] c : curves) {
+                double v = c[Math.min(b, c.length - 1)];
+                sum += v;
+                sq += v * v;
+            }
+            double mean = sum / PARTITIONS;
+            double var = Math.max(0, (sq - PARTITIONS * mean * mean) / (PARTITIONS - 1));
+            errors[b] = Math.sqrt(var / PARTITIONS);
+        }
+        return errors;
+    }
+
+    /**
+     * Tasa de fallos aproximada con 'frames' marcos (del intervalo que lo contiene).
+     */
+    public double missRatio(long frames) {
+        double[] curve = missRatioCurve();
+        return curve[(int) Math.min(curve.length - 1, frames / binFrames)];
+    }
+
+    /**
+     * Histograma de distancias escaladas, con pesos (referencias estimadas de
+     * la traza completa), agrupado en intervalos de binFrames marcos.
+     */
+    private final class Histogram {
+        double[] bins = new double[64];
+        double cold;
+
+        /** Suma una referencia con distancia de muestra d (-1 = fría) y peso w (distancia escalada d·w). */
+        void add(int d, double w) {
+            if (d < 0) {
+                cold += w;
+                return;
+            }
+            long b = (long) (d * w) / binFrames;
+            if (b >= bins.length) {
+                long size = Math.max(b + 1, bins.length * 2L);
+                if (size > Integer.MAX_VALUE - 8)
+                    throw new IllegalStateException("Demasiados intervalos: aumente binFrames.");
+                bins = Arrays.copyOf(bins, (int) size);
+            }
+            bins[(int) b] += w;
+        }
+
+        /**
+         * Curva con la corrección SHARDS-adj: las referencias que faltan para
+         * llegar a 'expected' se cuentan como aciertos con distancia 0 (si
+         * sobran, el total queda como está).
+         */
+        double[] curve(double expected) {
+            int last = bins.length - 1;
+            while (last > 0 && bins[last] == 0)
+                last--;
+            double total = cold;
+            for (int i = 0; i <= last; i++)
+                total += bins[i];
+            double adj = Math.max(0, expected - total);
+            total += adj;
+            double[] curve = new double[last + 2];
+            // Con b intervalos de marcos fallan las distancias >= b·binFrames
+            double tail = cold;
+            curve[last + 1] = (total > 0) ? tail / total : 0;
+            for (int b = last; b >= 0; b--) {
+                tail += bins[b];
+                curve[b] = (total > 0) ? tail / total : 0;
+            }
+            curve[0] = (total > 0) ? 1 : 0; // sin marcos todo falla
+            return curve;
+        }
+    }
+}
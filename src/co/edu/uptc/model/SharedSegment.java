@@ -0,0 +1,59 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+
+/**
+ * Clase SharedSegment
+ * ------------------------------------------
+ * Segmento de memoria compartida con nombre (bibliotecas compartidas, IPC
+ * por memoria compartida) que varios procesos mapean en un rango de sus
+ * páginas.
+ *
+ * Cada página del segmento ocupa a lo sumo un marco, sin importar cuántos
+ * procesos la mapeen: el marco lleva en Frame.refCount cuántas entradas de
+ * tablas de páginas lo usan y se libera al quitar la última. Mientras algún
+ * proceso tenga la página presente, los demás la mapean sin asignar marcos.
+ *
+ * La unión proceso-segmento vive en PageTableEntry.segment y se conserva
+ * al suspender y readmitir el proceso; solo la quita el desacople.
+ */
+public class SharedSegment {
+
+    /** Nombre único del segmento. */
+    public final String name;
+
+    /** Páginas del segmento. */
+    public final int pageCount;
+
+    /** Marco de cada página del segmento; -1 si la página no está residente. */
+    public final int[] frames;
+
+    /** Procesos acoplados al segmento en este momento. */
+    public int attachCount;
+
+    /**
+     * Constructor de SharedSegment.
+     *
+     * @param name      nombre del segmento (no vacío)
+     * @param pageCount páginas del segmento (> 0)
+     */
+    public SharedSegment(String name, int pageCount) {
+        if (name == null || name.isBlank())
+            throw new IllegalArgumentException("El segmento debe tener nombre.");
+        if (pageCount <= 0)
+            throw new IllegalArgumentException("El segmento debe tener al menos una página.");
+        this.name = name;
+        this.pageCount = pageCount;
+        this.frames = new int[pageCount];
+        Arrays.fill(frames, -1);
+    }
+
+    /** @return páginas del segmento con marco asignado */
+    public int residentPages() {
+        int n = 0;
+        for (int f : frames)
+            if (f >= 0)
+                n++;
+        return n;
+    }
+}
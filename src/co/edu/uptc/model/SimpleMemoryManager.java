@@ -1,5 +1,8 @@
 package co.edu.uptc.model;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+
 /**
  * Clase SimpleMemoryManager
  * ----------------------------------------
@@ -17,12 +20,41 @@ package co.edu.uptc.model;
  * páginas.
  * - Mapear direcciones: traducir direcciones lógicas a físicas validando rangos
  * y presencia.
+ * - Fork con copy-on-write: el hijo comparte los marcos del padre y cada
+ * marco lleva la cuenta de sus referencias (Frame.refCount); un marco solo
+ * se libera cuando se quita su última referencia.
+ * - Segmentos compartidos (SharedSegment): varios procesos mapean los mismos
+ * marcos en un rango de sus páginas.
+ * - Mezcla de páginas iguales (mergePage): dos páginas privadas pasan a
+ * compartir un marco en copy-on-write, como después de un fork.
+ * - Migración (migratePage): una página privada se copia a un marco libre
+ * de un rango dado (otro nivel de memoria) y libera el suyo.
  */
 public class SimpleMemoryManager implements MemoryManager {
 
     /** Memoria física que administra el gestor. */
     private final PhysicalMemory pm;
 
+    /** Contenido de los marcos (para copiar páginas copy-on-write). */
+    private FrameContents contents = FrameContents.NONE;
+
+    /** Buffer de una página para las copias; se crea con el primer contenido real. */
+    private ByteBuffer copyBuffer;
+
+    /** Ningún marco por debajo de este índice está libre (cota para first-fit). */
+    private int freeHint;
+
+    /** Último marco tomado por migratePage(...) (next-fit dentro del rango). */
+    private int migrateCursor;
+
+    // --- Contadores de fork / copy-on-write ---
+    private long forkedPages;
+    private long cowCopies;
+    private long cowReuses;
+    private long mergedPages;
+    private long mergeFreedFrames;
+    private long migratedPages;
+
     /**
      * Constructor de SimpleMemoryManager.
      * Valida parámetros y enlaza la memoria física a administrar.
@@ -58,53 +90,93 @@ public class SimpleMemoryManager implements MemoryManager {
                 throw new IllegalStateException("El proceso ya está admitido en memoria.");
         }
 
-        int need = pcb.pageCount;
-        if (need == 0) {
+        // Páginas que necesitan marco nuevo: las privadas y las de segmentos
+        // compartidos que ningún otro proceso tiene residentes
+        int need = 0;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.segment == null || e.segment.frames[e.segmentPage] < 0)
+                need++;
+        if (pcb.pageCount == 0) {
             // Proceso sin páginas: se considera admitido directamente
             return true;
         }
-
-        // Contar marcos libres disponibles
-        int freeCount = 0;
-        for (Frame f : pm.frames)
-            if (f.free)
-                freeCount++;
-        if (freeCount < need)
+        if (freeFrameCount() < need)
             return false;
 
-        // Seleccionar los primeros 'need' marcos libres
-        int[] chosen = new int[need];
-        int idx = 0;
-        for (Frame f : pm.frames) {
-            if (f.free) {
-                chosen[idx++] = f.frameNumber;
-                if (idx == need)
-                    break;
+        // Asignar cada página lógica a un marco físico (first-fit, en orden)
+        for (PageTableEntry e : pcb.pageTable)
+            mapPage(pcb, e);
+        return true;
+    }
+
+    /**
+     * Admite un lote de procesos contando los marcos libres una vez y
+     * asignándolos en un solo recorrido de la memoria física: los marcos
+     * libres se entregan en orden, página por página, a los procesos elegidos.
+     * Con ARRIVAL el resultado es el mismo que llamar a admitProcess(...) en orden.
+     *
+     * @param candidates procesos no residentes, en orden de llegada
+     * @param policy     política de selección
+     * @return procesos admitidos, en orden de llegada
+     */
+    @Override
+    public List<PCB> admitBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        if (candidates == null || policy == null)
+            throw new IllegalArgumentException("Candidatos y política no pueden ser nulos.");
+        boolean shared = false;
+        for (PCB pcb : candidates) {
+            if (pcb == null)
+                throw new IllegalArgumentException("PCB no puede ser nulo.");
+            for (PageTableEntry e : pcb.pageTable) {
+                if (e.present)
+                    throw new IllegalStateException("El proceso ya está admitido en memoria.");
+                shared |= e.segment != null;
             }
         }
-        // Asignar cada página lógica a un marco físico
-        for (int p = 0; p < pcb.pageCount; p++) {
-            int frameNo = chosen[p];
-            Frame f = pm.frames[frameNo];
+        // Con segmentos compartidos un proceso puede necesitar menos marcos
+        // que páginas: se admite uno a uno con admitProcess(...)
+        if (shared)
+            return MemoryManager.super.admitBatch(candidates, policy);
 
-            // Actualizar marco físico
+        List<PCB> chosen = policy.select(candidates, freeFrameCount());
+
+        // Un solo recorrido: cada marco libre va a la siguiente página pendiente
+        int proc = 0;
+        int page = 0;
+        while (proc < chosen.size() && chosen.get(proc).pageCount == 0)
+            proc++;
+        for (int i = 0; i < pm.frames.length && proc < chosen.size(); i++) {
+            Frame f = pm.frames[i];
+            if (!f.free)
+                continue;
+            PCB pcb = chosen.get(proc);
+            contents.clearFrame(f.frameNumber, pm.pageSize);
             f.free = false;
             f.pid = pcb.pid;
-            f.pageNumber = p;
+            f.pageNumber = page;
+            f.refCount = 1;
 
-            // Actualizar entrada de tabla de páginas
-            PageTableEntry e = pcb.pageTable[p];
-            e.frameNumber = frameNo;
+            PageTableEntry e = pcb.pageTable[page];
+            e.frameNumber = f.frameNumber;
             e.present = true;
             e.referenced = false;
             e.dirty = false;
+
+            if (++page == pcb.pageCount) {
+                page = 0;
+                proc++;
+                while (proc < chosen.size() && chosen.get(proc).pageCount == 0)
+                    proc++;
+            }
         }
-        return true;
+        return chosen;
     }
 
     /**
      * Libera todos los marcos ocupados por un proceso.
      * Además, limpia la tabla de páginas asociada al proceso.
+     * Se recorre la tabla de páginas (no la memoria física): un marco
+     * compartido tras un fork solo pierde una referencia.
      * 
      * @param pcb proceso cuyos marcos deben liberarse
      */
@@ -113,21 +185,16 @@ public class SimpleMemoryManager implements MemoryManager {
         if (pcb == null)
             throw new IllegalArgumentException("PCB no puede ser nulo.");
 
-        // Liberar marcos físicos asociados al proceso
-        for (Frame f : pm.frames) {
-            if (!f.free && f.pid != null && f.pid == pcb.pid) {
-                f.free = true;
-                f.pid = null;
-                f.pageNumber = null;
-            }
-        }
-
-        // Limpiar la tabla de páginas del proceso
         for (PageTableEntry e : pcb.pageTable) {
-            e.frameNumber = null;
-            e.present = false;
-            e.referenced = false;
-            e.dirty = false;
+            if (e.present && e.frameNumber != null) {
+                unmap(e);
+            } else {
+                e.frameNumber = null;
+                e.present = false;
+                e.referenced = false;
+                e.dirty = false;
+                e.copyOnWrite = false;
+            }
         }
     }
 
@@ -146,15 +213,15 @@ public class SimpleMemoryManager implements MemoryManager {
      *                                  presente
      */
     @Override
-    public int mapLogicalToPhysical(PCB pcb, int logicalAddr) throws IllegalArgumentException {
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
         if (pcb == null)
             throw new IllegalArgumentException("PCB no puede ser nulo.");
         if (logicalAddr < 0)
             throw new IllegalArgumentException("La dirección lógica debe ser ≥ 0.");
 
         // Descomponer dirección lógica
-        int page = logicalAddr / pm.pageSize;
-        int offset = logicalAddr % pm.pageSize;
+        long page = pm.pageOf(logicalAddr);
+        long offset = pm.offsetOf(logicalAddr);
 
         // Validar rango
         if (page < 0 || page >= pcb.pageCount) {
@@ -162,7 +229,7 @@ public class SimpleMemoryManager implements MemoryManager {
         }
 
         // Verificar presencia
-        PageTableEntry e = pcb.pageTable[page];
+        PageTableEntry e = pcb.pageTable[(int) page];
         if (!e.present || e.frameNumber == null) {
             throw new IllegalArgumentException("La página no está presente en memoria.");
         }
@@ -171,6 +238,440 @@ public class SimpleMemoryManager implements MemoryManager {
         e.referenced = true;
 
         // Calcular dirección física
-        return e.frameNumber * pm.pageSize + offset;
+        return pm.physicalAddress(e.frameNumber, offset);
+    }
+
+    /**
+     * Carga una página en el primer marco libre (first-fit). Una página de
+     * segmento compartido que otro proceso ya tiene residente se mapea a ese
+     * marco sin asignar uno nuevo.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica
+     * @return true si se asignó un marco, false si no hay marcos libres
+     */
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (e.present)
+            throw new IllegalStateException("La página ya está presente en memoria.");
+        return mapPage(pcb, e);
+    }
+
+    /**
+     * Libera el marco de una página presente.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     */
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (!e.present || e.frameNumber == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        unmap(e);
+    }
+
+    // ===== Fork y copy-on-write =====
+
+    /**
+     * Usa 'contents' para el contenido de los marcos: las páginas nuevas se
+     * llenan con ceros y las copy-on-write se copian. Sin contenido
+     * (FrameContents.NONE) la copia solo asigna el marco.
+     *
+     * @param contents contenido de los marcos de esta memoria
+     */
+    public void setFrameContents(FrameContents contents) {
+        if (contents == null)
+            throw new IllegalArgumentException("El contenido no puede ser nulo.");
+        this.contents = contents;
+    }
+
+    /**
+     * Fork: el hijo mapea los mismos marcos que el padre, ambos en modo
+     * copyOnWrite, sin asignar marcos nuevos. Las páginas de segmentos
+     * compartidos se heredan acopladas (sin copy-on-write). Las ranuras de
+     * swap no se copian aquí: las hereda SwapManager.inheritSlots(...).
+     *
+     * @param parent   proceso padre
+     * @param childPid PID del hijo
+     * @return PCB del hijo (estado NEW, con las páginas del padre presentes)
+     */
+    @Override
+    public PCB fork(PCB parent, int childPid) {
+        if (parent == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        PCB child = new PCB(childPid, parent.logicalSizeBytes, pm.pageSize);
+        for (int p = 0; p < parent.pageCount; p++) {
+            PageTableEntry pe = parent.pageTable[p];
+            PageTableEntry ce = child.pageTable[p];
+            if (pe.segment != null) {
+                // El hijo hereda el acople (memoria compartida, no copy-on-write)
+                ce.segment = pe.segment;
+                ce.segmentPage = pe.segmentPage;
+                if (pe.segmentPage == 0)
+                    pe.segment.attachCount++;
+            }
+            if (!pe.present || pe.frameNumber == null)
+                continue;
+            Frame f = pm.frames[pe.frameNumber];
+            f.refCount = Math.max(f.refCount, 1) + 1;
+            ce.frameNumber = pe.frameNumber;
+            ce.dirty = pe.dirty;
+            if (pe.segment == null) {
+                pe.copyOnWrite = true;
+                ce.copyOnWrite = true;
+                forkedPages++;
+            }
+            ce.present = true;
+        }
+        return child;
+    }
+
+    /**
+     * Escritura: si la página es copyOnWrite y el marco tiene más de una
+     * referencia, se copia al primer marco libre (first-fit) y el original
+     * pierde una referencia.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     * @return false si había que copiar y no hay marcos libres
+     */
+    @Override
+    public boolean writePage(PCB pcb, int page) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (!e.present || e.frameNumber == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        if (e.copyOnWrite) {
+            Frame src = pm.frames[e.frameNumber];
+            if (src.refCount > 1) {
+                Frame dst = firstFree();
+                if (dst == null)
+                    return false;
+                copyFrame(src.frameNumber, dst.frameNumber);
+                dst.free = false;
+                dst.pid = pcb.pid;
+                dst.pageNumber = page;
+                dst.refCount = 1;
+                src.refCount--;
+                e.frameNumber = dst.frameNumber;
+                cowCopies++;
+            } else {
+                // Última referencia: el marco ya es solo de este proceso
+                cowReuses++;
+            }
+            e.copyOnWrite = false;
+        }
+        e.referenced = true;
+        e.dirty = true;
+        return true;
+    }
+
+    /**
+     * Mezcla: la página deja su marco (quitándole una referencia) y mapea el
+     * de 'into' con una referencia más; ambas quedan copyOnWrite. Conserva
+     * los bits referenced/dirty y la ranura de swap de la página mezclada.
+     */
+    @Override
+    public boolean mergePage(PCB pcb, int page, PCB into, int intoPage) {
+        PageTableEntry e = requirePage(pcb, page);
+        PageTableEntry t = requirePage(into, intoPage);
+        if (!e.present || e.frameNumber == null || !t.present || t.frameNumber == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        if (e.segment != null || t.segment != null || e.frameNumber.equals(t.frameNumber))
+            return false;
+
+        boolean referenced = e.referenced;
+        boolean dirty = e.dirty;
+        if (pm.frames[e.frameNumber].refCount <= 1)
+            mergeFreedFrames++;
+        unmap(e);
+        pm.frames[t.frameNumber].refCount++;
+        e.frameNumber = t.frameNumber;
+        e.present = true;
+        e.referenced = referenced;
+        e.dirty = dirty;
+        e.copyOnWrite = true;
+        t.copyOnWrite = true;
+        mergedPages++;
+        return true;
+    }
+
+    // ===== Migración =====
+
+    /**
+     * Busca el marco destino con next-fit dentro del rango (desde el último
+     * usado), para que migraciones seguidas no recorran otra vez la parte
+     * ocupada del rango.
+     */
+    @Override
+    public boolean migratePage(PCB pcb, int page, int firstFrame, int frameCount) {
+        PageTableEntry e = requirePage(pcb, page);
+        if (!e.present || e.frameNumber == null)
+            throw new IllegalArgumentException("La página no está presente en memoria.");
+        if (firstFrame < 0 || frameCount <= 0 || (long) firstFrame + frameCount > pm.frames.length)
+            throw new IllegalArgumentException("Rango de marcos inválido.");
+        int from = e.frameNumber;
+        Frame old = pm.frames[from];
+        if (e.segment != null || old.refCount > 1 || (from >= firstFrame && from < firstFrame + frameCount))
+            return false;
+
+        Frame f = null;
+        int start = (migrateCursor >= firstFrame && migrateCursor < firstFrame + frameCount) ? migrateCursor : firstFrame;
+        for (int k = 0; k < frameCount && f == null; k++) {
+            int i = start + k;
+            if (i >= firstFrame + frameCount)
+                i -= frameCount;
+            if (pm.frames[i].free)
+                f = pm.frames[i];
+        }
+        if (f == null)
+            return false;
+        migrateCursor = f.frameNumber;
+
+        copyFrame(from, f.frameNumber);
+        f.free = false;
+        f.refCount = 1;
+        f.pid = pcb.pid;
+        f.pageNumber = page;
+        boolean referenced = e.referenced;
+        boolean dirty = e.dirty;
+        boolean cow = e.copyOnWrite;
+        unmap(e);
+        e.frameNumber = f.frameNumber;
+        e.present = true;
+        e.referenced = referenced;
+        e.dirty = dirty;
+        e.copyOnWrite = cow;
+        migratedPages++;
+        return true;
+    }
+
+    // ===== Segmentos compartidos =====
+
+    @Override
+    public boolean attachSegment(PCB pcb, SharedSegment segment, int firstPage) {
+        if (pcb == null || segment == null)
+            throw new IllegalArgumentException("PCB y segmento no pueden ser nulos.");
+        if (firstPage < 0 || (long) firstPage + segment.pageCount > pcb.pageCount)
+            throw new IllegalArgumentException("El segmento no cabe en las páginas del proceso.");
+        boolean resident = false;
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.segment == segment)
+                throw new IllegalArgumentException("El proceso ya está acoplado al segmento " + segment.name + ".");
+            resident |= e.present;
+        }
+        for (int p = firstPage; p < firstPage + segment.pageCount; p++)
+            if (pcb.pageTable[p].segment != null)
+                throw new IllegalArgumentException("La página " + p + " ya pertenece a otro segmento.");
+
+        if (resident) {
+            // Marcos nuevos del segmento frente a los libres más los privados que se sueltan
+            int need = 0;
+            int freed = 0;
+            for (int sp = 0; sp < segment.pageCount; sp++) {
+                if (segment.frames[sp] < 0)
+                    need++;
+                PageTableEntry e = pcb.pageTable[firstPage + sp];
+                if (e.present && e.frameNumber != null && pm.frames[e.frameNumber].refCount <= 1)
+                    freed++;
+            }
+            if (need > freeFrameCount() + freed)
+                return false;
+        }
+        for (int sp = 0; sp < segment.pageCount; sp++) {
+            PageTableEntry e = pcb.pageTable[firstPage + sp];
+            if (e.present && e.frameNumber != null)
+                unmap(e);
+            e.segment = segment;
+            e.segmentPage = sp;
+        }
+        if (resident)
+            for (int sp = 0; sp < segment.pageCount; sp++)
+                mapPage(pcb, pcb.pageTable[firstPage + sp]);
+        segment.attachCount++;
+        return true;
+    }
+
+    @Override
+    public void detachSegment(PCB pcb, SharedSegment segment) {
+        if (pcb == null || segment == null)
+            throw new IllegalArgumentException("PCB y segmento no pueden ser nulos.");
+        boolean attached = false;
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.segment != segment)
+                continue;
+            if (e.present && e.frameNumber != null)
+                unmap(e);
+            e.segment = null;
+            e.segmentPage = 0;
+            attached = true;
+        }
+        if (!attached)
+            throw new IllegalArgumentException("El proceso no está acoplado al segmento " + segment.name + ".");
+        segment.attachCount--;
+    }
+
+    /** @return páginas compartidas por fork(...) desde la creación del gestor */
+    public long forkedPages() {
+        return forkedPages;
+    }
+
+    /** @return páginas copiadas a un marco nuevo por una escritura copy-on-write */
+    public long cowCopies() {
+        return cowCopies;
+    }
+
+    /** @return escrituras copy-on-write que no copiaron (el marco ya no estaba compartido) */
+    public long cowReuses() {
+        return cowReuses;
+    }
+
+    /** @return páginas mezcladas con mergePage(...) */
+    public long mergedPages() {
+        return mergedPages;
+    }
+
+    /** @return páginas movidas de marco con migratePage(...) */
+    public long migratedPages() {
+        return migratedPages;
+    }
+
+    /** @return marcos liberados por mezclas (la página mezclada era la última referencia) */
+    public long mergeFreedFrames() {
+        return mergeFreedFrames;
+    }
+
+    /**
+     * Marcos ahorrados en este momento: referencias extra a marcos
+     * compartidos (suma de refCount - 1), es decir, los marcos que haría
+     * falta asignar si cada proceso tuviera copias propias. Recorre la
+     * memoria física.
+     *
+     * @return marcos ahorrados por el copy-on-write
+     */
+    public int framesSaved() {
+        int saved = 0;
+        for (Frame f : pm.frames)
+            if (f.refCount > 1)
+                saved += f.refCount - 1;
+        return saved;
+    }
+
+    /** Quita una referencia al marco de la entrada (lo libera si era la última) y limpia la entrada. */
+    private void unmap(PageTableEntry e) {
+        Frame f = pm.frames[e.frameNumber];
+        if (f.refCount > 1) {
+            f.refCount--;
+        } else {
+            f.free = true;
+            f.pid = null;
+            f.pageNumber = null;
+            f.refCount = 0;
+            if (f.segment != null) {
+                f.segment.frames[e.segmentPage] = -1;
+                f.segment = null;
+            }
+            if (f.frameNumber < freeHint)
+                freeHint = f.frameNumber;
+        }
+        e.present = false;
+        e.frameNumber = null;
+        e.referenced = false;
+        e.dirty = false;
+        e.copyOnWrite = false;
+    }
+
+    /**
+     * Da marco a una entrada no presente: el de su página de segmento si ya
+     * está residente o, si no, el primer marco libre.
+     *
+     * @return false si hacía falta un marco libre y no hay
+     */
+    private boolean mapPage(PCB pcb, PageTableEntry e) {
+        SharedSegment seg = e.segment;
+        Frame f;
+        if (seg != null && seg.frames[e.segmentPage] >= 0) {
+            f = pm.frames[seg.frames[e.segmentPage]];
+            f.refCount++;
+        } else {
+            f = firstFree();
+            if (f == null)
+                return false;
+            contents.clearFrame(f.frameNumber, pm.pageSize);
+            f.free = false;
+            f.refCount = 1;
+            if (seg != null) {
+                f.pid = null;
+                f.pageNumber = e.segmentPage;
+                f.segment = seg;
+                seg.frames[e.segmentPage] = f.frameNumber;
+            } else {
+                f.pid = pcb.pid;
+                f.pageNumber = e.pageNumber;
+            }
+        }
+        e.frameNumber = f.frameNumber;
+        e.referenced = false;
+        e.dirty = false;
+        e.present = true;
+        return true;
+    }
+
+    /** @return primer marco libre (first-fit, desde freeHint), o null si no hay */
+    private Frame firstFree() {
+        Frame[] frames = pm.frames;
+        for (int i = freeHint; i < frames.length; i++) {
+            if (frames[i].free) {
+                freeHint = i;
+                return frames[i];
+            }
+        }
+        freeHint = frames.length;
+        return null;
+    }
+
+    private void copyFrame(int from, int to) {
+        if (contents == FrameContents.NONE)
+            return;
+        if (contents instanceof FrameStore store) {
+            store.copyFrame(from, to);
+            return;
+        }
+        if (copyBuffer == null)
+            copyBuffer = ByteBuffer.allocateDirect(pm.pageSize);
+        copyBuffer.clear();
+        contents.readFrame(from, copyBuffer);
+        copyBuffer.flip();
+        contents.writeFrame(to, copyBuffer);
+    }
+
+    /**
+     * Cuenta los marcos libres recorriendo la memoria física.
+     *
+     * @return marcos libres
+     */
+    @Override
+    public int freeFrameCount() {
+        int free = 0;
+        for (Frame f : pm.frames)
+            if (f.free)
+                free++;
+        return free;
+    }
+
+    /** La traducción solo toca la tabla de páginas del proceso. */
+    @Override
+    public boolean concurrentTranslation() {
+        return true;
+    }
+
+    /** Valida el PCB y el número de página, y retorna su entrada. */
+    private static PageTableEntry requirePage(PCB pcb, int page) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        return pcb.pageTable[page];
     }
 }
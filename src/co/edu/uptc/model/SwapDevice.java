@@ -0,0 +1,504 @@
+package co.edu.uptc.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase SwapDevice
+ * ------------------------------------------
+ * Dispositivo de intercambio (swap) respaldado por un archivo real.
+ *
+ * El archivo se divide en ranuras (slots) de pageSize bytes:
+ * - La ranura i ocupa los bytes [i * pageSize, (i + 1) * pageSize).
+ * - Un mapa de bits indica qué ranuras están ocupadas.
+ *
+ * Escrituras:
+ * - writeBack(...) encola la página en una cola de escritura diferida.
+ * - Un hilo en segundo plano agrupa las solicitudes en lotes, las ordena
+ * por ranura y escribe las ranuras consecutivas con una sola escritura.
+ * - La cola está acotada por un conjunto fijo de buffers directos: si se
+ * llena, quien encola espera (contrapresión).
+ * - Cada ranura tiene una generación que sube al liberarla; el hilo descarta
+ * las solicitudes de una generación anterior, así una imagen vieja no pisa
+ * una ranura liberada y reutilizada.
+ * - Si la ranura se libera mientras su escritura ya está en curso, queda
+ * reservada hasta que esa escritura termine: no se reasigna antes.
+ *
+ * Lecturas:
+ * - read(...) lee la ranura del archivo, o directamente del buffer
+ * pendiente si la página aún no se ha escrito.
+ *
+ * Reporta bytes leídos/escritos, latencia real de E/S y profundidad de cola.
+ */
+public class SwapDevice implements AutoCloseable {
+
+    /** Máximo de solicitudes que el hilo de escritura agrupa en un lote. */
+    private static final int BATCH = 64;
+
+    /** Tamaño de cada ranura (igual al tamaño de página). */
+    public final int pageSize;
+
+    /** Cantidad total de ranuras del dispositivo. */
+    public final int slotCount;
+
+    /** Canal del archivo de respaldo. */
+    private final FileChannel channel;
+
+    /** Ranuras ocupadas (bit en 1 = ocupada). Protegido por 'this'. */
+    private final long[] usedSlots;
+
+    /** Ranuras ocupadas actualmente. Protegido por 'this'. */
+    private int usedCount;
+
+    /** Generación de cada ranura (sube al liberarla). Protegido por 'this'. */
+    private final int[] generation;
+
+    /** Escrituras en curso por ranura. Protegido por 'this'. */
+    private final int[] writing;
+
+    /** Ranuras liberadas durante una escritura en curso. Protegido por 'this'. */
+    private final boolean[] releaseAfterWrite;
+
+    /** Ranuras marcadas en releaseAfterWrite. Protegido por 'this'. */
+    private int deferredCount;
+
+    /** Buffers directos libres para la cola de escritura. */
+    private final BlockingQueue<ByteBuffer> bufferPool;
+
+    /** Cola de escrituras pendientes. */
+    private final BlockingQueue<WriteRequest> queue = new LinkedBlockingQueue<>();
+
+    /** Última imagen encolada de cada ranura que aún no llega al archivo. */
+    private final ConcurrentHashMap<Integer, ByteBuffer> pending = new ConcurrentHashMap<>();
+
+    /** Solicitudes encoladas o en escritura. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Mayor profundidad de cola observada. */
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /** Hilo de escritura diferida. */
+    private final Thread writer;
+
+    /** Bandera de cierre del dispositivo. */
+    private volatile boolean closed = false;
+
+    /** Error de E/S del hilo de escritura, si ocurrió. */
+    private volatile IOException writerError;
+
+    // --- Estadísticas ---
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder pagesWritten = new LongAdder();
+    private final LongAdder pagesRead = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder pendingHits = new LongAdder();
+    private final LongAdder discardedWrites = new LongAdder();
+
+    /** Solicitud de escritura: ranura, su generación al encolar y buffer con la imagen de la página. */
+    private static final class WriteRequest {
+        final int slot;
+        final int generation;
+        final ByteBuffer page;
+
+        WriteRequest(int slot, int generation, ByteBuffer page) {
+            this.slot = slot;
+            this.generation = generation;
+            this.page = page;
+        }
+    }
+
+    /**
+     * Constructor de SwapDevice.
+     * Crea (o trunca) el archivo de respaldo y arranca el hilo de escritura.
+     *
+     * @param file       ruta del archivo de swap
+     * @param pageSize   tamaño de página en bytes
+     * @param slotCount  cantidad de ranuras del dispositivo
+     * @param queueLimit máximo de páginas en la cola de escritura diferida
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public SwapDevice(Path file, int pageSize, int slotCount, int queueLimit) throws IOException {
+        if (file == null)
+            throw new IllegalArgumentException("El archivo de swap no puede ser nulo.");
+        if (pageSize <= 0 || slotCount <= 0 || queueLimit <= 0)
+            throw new IllegalArgumentException("Parámetros de swap inválidos.");
+        this.pageSize = pageSize;
+        this.slotCount = slotCount;
+        this.usedSlots = new long[(slotCount + 63) >>> 6];
+        this.generation = new int[slotCount];
+        this.writing = new int[slotCount];
+        this.releaseAfterWrite = new boolean[slotCount];
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.bufferPool = new ArrayBlockingQueue<>(queueLimit);
+        for (int i = 0; i < queueLimit; i++)
+            bufferPool.add(ByteBuffer.allocateDirect(pageSize));
+
+        this.writer = new Thread(this::writeLoop, "swap-writeback");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ===== Ranuras =====
+
+    /**
+     * Reserva una ranura libre. Si solo quedan ranuras liberadas cuya
+     * escritura sigue en curso, espera a que esa escritura termine.
+     *
+     * @return número de ranura, o -1 si el dispositivo está lleno
+     */
+    public synchronized int allocateSlot() {
+        while (usedCount == slotCount && deferredCount > 0 && writerError == null) {
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando una ranura de swap.");
+            }
+        }
+        if (usedCount == slotCount)
+            return -1;
+        for (int w = 0; w < usedSlots.length; w++) {
+            long free = ~usedSlots[w];
+            if (free != 0) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(free);
+                if (slot >= slotCount)
+                    break;
+                usedSlots[w] |= 1L << slot;
+                usedCount++;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Libera una ranura. Si tenía una escritura pendiente, el hilo la descarta
+     * en lugar de escribirla (aunque la ranura ya se haya vuelto a reservar).
+     * Si la escritura ya está en curso, la ranura sigue ocupada hasta que
+     * termine, para que no se reasigne mientras la imagen vieja llega al
+     * archivo.
+     *
+     * @param slot número de ranura ocupada
+     */
+    public synchronized void freeSlot(int slot) {
+        checkSlot(slot);
+        if ((usedSlots[slot >>> 6] & (1L << slot)) == 0 || releaseAfterWrite[slot])
+            throw new IllegalStateException("La ranura de swap " + slot + " no está ocupada.");
+        generation[slot]++;
+        pending.remove(slot);
+        if (writing[slot] > 0) {
+            releaseAfterWrite[slot] = true;
+            deferredCount++;
+        } else {
+            releaseSlot(slot);
+        }
+    }
+
+    /** Marca la ranura como libre. Requiere el candado de 'this'. */
+    private void releaseSlot(int slot) {
+        usedSlots[slot >>> 6] &= ~(1L << slot);
+        usedCount--;
+    }
+
+    /** @return cantidad de ranuras libres (incluye las que esperan su escritura en curso) */
+    public synchronized int freeSlots() {
+        return slotCount - usedCount + deferredCount;
+    }
+
+    // ===== E/S =====
+
+    /**
+     * Entrega un buffer de la cola para llenarlo con la imagen de una página.
+     * Espera si todos los buffers están en uso (la cola está llena).
+     *
+     * @return buffer directo de pageSize bytes, listo para escribir
+     */
+    public ByteBuffer acquireBuffer() {
+        checkOpen();
+        try {
+            ByteBuffer b = bufferPool.take();
+            b.clear();
+            return b;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando espacio en la cola de swap.");
+        }
+    }
+
+    /**
+     * Encola la escritura diferida de una página.
+     *
+     * @param slot ranura destino (ya reservada)
+     * @param page buffer obtenido con acquireBuffer(), con pageSize bytes escritos
+     */
+    public void writeBack(int slot, ByteBuffer page) {
+        checkOpen();
+        checkSlot(slot);
+        page.flip();
+        if (page.remaining() != pageSize)
+            throw new IllegalArgumentException("La imagen de página debe tener " + pageSize + " bytes.");
+        int gen;
+        synchronized (this) {
+            gen = generation[slot];
+        }
+        pending.put(slot, page);
+        int depth = inFlight.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        queue.add(new WriteRequest(slot, gen, page));
+    }
+
+    /**
+     * Lee una ranura en el buffer destino (pageSize bytes desde su posición).
+     * Si la ranura tiene una escritura pendiente, se copia desde ese buffer.
+     *
+     * @param slot ranura a leer
+     * @param dst  buffer destino
+     */
+    public void read(int slot, ByteBuffer dst) {
+        checkOpen();
+        checkSlot(slot);
+        ByteBuffer p = pending.get(slot);
+        if (p != null) {
+            synchronized (p) {
+                // Revalidar: el escritor pudo terminar y reciclar el buffer
+                if (pending.get(slot) == p) {
+                    dst.put(p.duplicate().position(0).limit(pageSize));
+                    pendingHits.increment();
+                    return;
+                }
+            }
+        }
+        long t0 = System.nanoTime();
+        try {
+            long pos = (long) slot * pageSize;
+            int end = dst.position() + pageSize;
+            ByteBuffer view = dst.duplicate().limit(end);
+            while (view.hasRemaining()) {
+                int n = channel.read(view, pos + (view.position() - dst.position()));
+                if (n < 0) {
+                    // Ranura nunca escrita: se lee como ceros
+                    while (view.hasRemaining())
+                        view.put((byte) 0);
+                }
+            }
+            dst.position(end);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error leyendo swap: " + ex.getMessage(), ex);
+        }
+        readNanos.add(System.nanoTime() - t0);
+        bytesRead.add(pageSize);
+        pagesRead.increment();
+    }
+
+    /**
+     * Espera a que todas las escrituras encoladas lleguen al archivo.
+     */
+    public void flush() {
+        synchronized (inFlight) {
+            while (inFlight.get() > 0 && writerError == null) {
+                try {
+                    inFlight.wait(50);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (writerError != null)
+            throw new UncheckedIOException("Error en la escritura diferida de swap.", writerError);
+    }
+
+    /**
+     * Vacía la cola, detiene el hilo de escritura y cierra el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        flush();
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    // ===== Hilo de escritura diferida =====
+
+    /** Bucle del hilo: toma lotes, los ordena por ranura y escribe corridas contiguas. */
+    private void writeLoop() {
+        List<WriteRequest> batch = new ArrayList<>(BATCH);
+        List<WriteRequest> live = new ArrayList<>(BATCH);
+        ByteBuffer[] run = new ByteBuffer[BATCH];
+        while (!closed || !queue.isEmpty()) {
+            try {
+                WriteRequest first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                queue.drainTo(batch, BATCH - 1);
+            } catch (InterruptedException ie) {
+                if (closed)
+                    break;
+                continue;
+            }
+
+            // Descartar las solicitudes de ranuras liberadas después de encolarlas;
+            // las demás quedan en curso (una liberación espera a que terminen)
+            synchronized (this) {
+                for (WriteRequest r : batch) {
+                    if (r.generation == generation[r.slot]) {
+                        live.add(r);
+                        writing[r.slot]++;
+                    }
+                }
+            }
+            discardedWrites.add(batch.size() - live.size());
+
+            // Orden estable: si una ranura aparece dos veces, la más reciente se escribe después
+            live.sort((a, b) -> Integer.compare(a.slot, b.slot));
+            long t0 = System.nanoTime();
+            try {
+                int i = 0;
+                while (i < live.size()) {
+                    int j = i + 1;
+                    while (j < live.size() && live.get(j).slot == live.get(j - 1).slot + 1)
+                        j++;
+                    int len = j - i;
+                    for (int k = 0; k < len; k++)
+                        run[k] = live.get(i + k).page.duplicate().position(0).limit(pageSize);
+                    channel.position((long) live.get(i).slot * pageSize);
+                    long remaining = (long) len * pageSize;
+                    while (remaining > 0)
+                        remaining -= channel.write(run, 0, len);
+                    i = j;
+                }
+            } catch (IOException ex) {
+                writerError = ex;
+            }
+            synchronized (this) {
+                for (WriteRequest r : live) {
+                    if (--writing[r.slot] == 0 && releaseAfterWrite[r.slot]) {
+                        releaseAfterWrite[r.slot] = false;
+                        deferredCount--;
+                        releaseSlot(r.slot);
+                    }
+                }
+                notifyAll();
+            }
+            writeNanos.add(System.nanoTime() - t0);
+            batches.increment();
+            bytesWritten.add((long) live.size() * pageSize);
+            pagesWritten.add(live.size());
+
+            for (WriteRequest r : batch) {
+                synchronized (r.page) {
+                    pending.remove(r.slot, r.page);
+                }
+            }
+            // Descontar antes de devolver los buffers: la profundidad nunca supera el límite
+            synchronized (inFlight) {
+                if (inFlight.addAndGet(-batch.size()) == 0)
+                    inFlight.notifyAll();
+            }
+            for (WriteRequest r : batch)
+                bufferPool.add(r.page);
+            batch.clear();
+            live.clear();
+        }
+    }
+
+    // ===== Estadísticas =====
+
+    public long bytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long pagesWritten() {
+        return pagesWritten.sum();
+    }
+
+    public long pagesRead() {
+        return pagesRead.sum();
+    }
+
+    /** @return lecturas servidas desde la cola sin tocar el archivo */
+    public long pendingHits() {
+        return pendingHits.sum();
+    }
+
+    /** @return escrituras descartadas porque su ranura se liberó antes de escribirlas */
+    public long discardedWrites() {
+        return discardedWrites.sum();
+    }
+
+    /** @return lotes escritos por el hilo de escritura diferida */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /** @return latencia media de escritura por página (µs) */
+    public double averageWriteMicros() {
+        long n = pagesWritten.sum();
+        return (n == 0) ? 0.0 : writeNanos.sum() / 1e3 / n;
+    }
+
+    /** @return latencia media de lectura por página (µs) */
+    public double averageReadMicros() {
+        long n = pagesRead.sum();
+        return (n == 0) ? 0.0 : readNanos.sum() / 1e3 / n;
+    }
+
+    /** @return tiempo total de E/S real (ns) */
+    public long totalIoNanos() {
+        return writeNanos.sum() + readNanos.sum();
+    }
+
+    /** @return solicitudes encoladas o en escritura en este momento */
+    public int queueDepth() {
+        return inFlight.get();
+    }
+
+    /** @return mayor profundidad de cola observada */
+    public int maxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    // ===== Auxiliares =====
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slotCount)
+            throw new IllegalArgumentException("Ranura de swap inválida: " + slot);
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("El dispositivo de swap está cerrado.");
+        if (writerError != null)
+            throw new UncheckedIOException("Error en la escritura diferida de swap.", writerError);
+    }
+}
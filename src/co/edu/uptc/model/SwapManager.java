@@ -0,0 +1,303 @@
+package co.edu.uptc.model;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase SwapManager
+ * ----------------------------------------
+ * Coordina la memoria principal con un SwapDevice para suspender y
+ * reanudar procesos sin perder el contenido de sus páginas.
+ *
+ * Reglas:
+ * - Al suspender: cada página presente y modificada (dirty) se copia a su
+ * ranura de swap (reservándola si no tenía) mediante escritura diferida;
+ * luego se liberan los marcos con MemoryManager.releaseProcess.
+ * - Las páginas limpias no se escriben: si tienen ranura, la copia en swap
+ * sigue siendo válida; si no la tienen, su contenido es el inicial (ceros).
+ * - Al reanudar: se admite el proceso y cada página con ranura se lee del
+ * swap hacia su nuevo marco (page-in).
+ * - Al terminar: se liberan todas las ranuras del proceso.
+ * - Fork (inheritSlots): el hijo comparte las ranuras del padre, cada una
+ * con un contador de referencias. Una página modificada nunca se escribe
+ * en una ranura compartida: recibe una propia y suelta la compartida, que
+ * se libera cuando la suelta el último proceso.
+ * - Las páginas de segmentos compartidos no pasan por el swap del proceso:
+ * su contenido es del segmento y lo conservan los demás procesos acoplados.
+ * - Con un CompressedSwapPool, cada página que sale se ofrece primero al
+ * pool y solo se escribe al archivo si el pool la rechaza; el page-in lee
+ * del pool si la tiene. La ranura se reserva igual en ambos casos.
+ */
+public class SwapManager {
+
+    /** Gestor de memoria que asigna y libera marcos. */
+    private final MemoryManager mm;
+
+    /** Dispositivo de swap usado para guardar páginas. */
+    private final SwapDevice device;
+
+    /** Contenido de los marcos físicos. */
+    private final FrameContents contents;
+
+    /** Nivel comprimido en RAM delante del archivo (null si no hay). */
+    private final CompressedSwapPool compressed;
+
+    /** Buffer de lectura reutilizable para page-in. */
+    private final ByteBuffer readBuffer;
+
+    /** Ranuras compartidas por fork: referencias además de la primera. */
+    private final Map<Integer, Integer> sharedSlots = new HashMap<>();
+
+    /**
+     * Constructor de SwapManager.
+     *
+     * @param mm       gestor de memoria
+     * @param device   dispositivo de swap
+     * @param contents contenido de los marcos (FrameContents.NONE si no hay)
+     */
+    public SwapManager(MemoryManager mm, SwapDevice device, FrameContents contents) {
+        this(mm, device, contents, null);
+    }
+
+    /**
+     * Constructor de SwapManager con un nivel comprimido en RAM.
+     *
+     * @param mm         gestor de memoria
+     * @param device     dispositivo de swap
+     * @param contents   contenido de los marcos (FrameContents.NONE si no hay)
+     * @param compressed pool comprimido con las mismas ranuras que device, o null
+     */
+    public SwapManager(MemoryManager mm, SwapDevice device, FrameContents contents, CompressedSwapPool compressed) {
+        if (mm == null || device == null || contents == null)
+            throw new IllegalArgumentException("Gestor, dispositivo y contenido no pueden ser nulos.");
+        if (compressed != null && compressed.pageSize != device.pageSize)
+            throw new IllegalArgumentException("El pool comprimido y el swap deben tener el mismo tamaño de página.");
+        this.mm = mm;
+        this.device = device;
+        this.contents = contents;
+        this.compressed = compressed;
+        this.readBuffer = ByteBuffer.allocateDirect(device.pageSize);
+    }
+
+    /** @return dispositivo de swap subyacente (para estadísticas) */
+    public SwapDevice device() {
+        return device;
+    }
+
+    /** @return nivel comprimido (para estadísticas), o null */
+    public CompressedSwapPool compressedPool() {
+        return compressed;
+    }
+
+    /**
+     * Suspende un proceso: escribe sus páginas modificadas al swap y libera sus marcos.
+     *
+     * @param pcb proceso a suspender
+     * @return páginas encoladas para escritura
+     * @throws IllegalStateException si no hay ranuras de swap suficientes
+     */
+    public int swapOut(PCB pcb) {
+        if (pcb == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+
+        // Verificar primero que haya ranuras para todas las páginas que las necesitan
+        int needSlots = 0;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present && e.dirty && e.segment == null && needsSlot(e))
+                needSlots++;
+        if (needSlots > device.freeSlots())
+            throw new IllegalStateException("Espacio de swap agotado.");
+
+        int written = 0;
+        for (PageTableEntry e : pcb.pageTable) {
+            if (!e.present || !e.dirty || e.frameNumber == null || e.segment != null)
+                continue;
+            if (needsSlot(e)) {
+                int slot = device.allocateSlot();
+                if (e.swapSlot != null)
+                    dropSlot(e);
+                e.swapSlot = slot;
+            }
+            writeOut(e.swapSlot, e.frameNumber);
+            written++;
+        }
+        mm.releaseProcess(pcb);
+        return written;
+    }
+
+    /**
+     * Reanuda un proceso: lo admite en memoria y carga desde swap las páginas guardadas.
+     *
+     * @param pcb proceso a reanudar
+     * @return true si fue admitido; false si no había marcos suficientes
+     */
+    public boolean swapIn(PCB pcb) {
+        if (!mm.admitProcess(pcb))
+            return false;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present && e.swapSlot != null)
+                pageIn(pcb, e.pageNumber);
+        return true;
+    }
+
+    /**
+     * Reanuda un lote de procesos con MemoryManager.admitBatch(...) y carga
+     * desde swap las páginas guardadas de cada admitido.
+     *
+     * @param candidates procesos a reanudar, en orden de llegada
+     * @param policy     política de selección
+     * @return procesos admitidos, en orden de llegada
+     */
+    public List<PCB> swapInBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        List<PCB> admitted = mm.admitBatch(candidates, policy);
+        for (PCB pcb : admitted)
+            for (PageTableEntry e : pcb.pageTable)
+                if (e.present && e.swapSlot != null)
+                    pageIn(pcb, e.pageNumber);
+        return admitted;
+    }
+
+    /**
+     * Carga desde swap una página ya presente (con marco asignado).
+     * Si la página no tiene ranura, no hace nada.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica
+     */
+    public void pageIn(PCB pcb, int page) {
+        pageIn(pcb, page, readBuffer);
+    }
+
+    /**
+     * Igual que pageIn(pcb, page), pero con un buffer propio del llamador
+     * (por ejemplo, el de PagePrefetcher) en vez del buffer interno.
+     *
+     * @param pcb    proceso dueño de la página
+     * @param page   número de página lógica
+     * @param buffer buffer directo de al menos pageSize bytes
+     */
+    public void pageIn(PCB pcb, int page, ByteBuffer buffer) {
+        PageTableEntry e = pcb.pageTable[page];
+        if (e.swapSlot == null || e.segment != null)
+            return;
+        if (!e.present || e.frameNumber == null)
+            throw new IllegalStateException("La página debe tener marco antes del page-in.");
+        buffer.clear();
+        if (compressed == null || !compressed.load(e.swapSlot, buffer))
+            device.read(e.swapSlot, buffer);
+        buffer.flip();
+        contents.writeFrame(e.frameNumber, buffer);
+        e.dirty = false;
+    }
+
+    /**
+     * Atiende un fallo de página: asigna un marco libre a la página y,
+     * si tiene copia en swap, la carga.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica no presente
+     * @return true si se cargó; false si no hay marcos libres
+     */
+    public boolean faultIn(PCB pcb, int page) {
+        if (!mm.loadPage(pcb, page))
+            return false;
+        pageIn(pcb, page);
+        return true;
+    }
+
+    /**
+     * Desaloja una sola página: si está modificada la escribe a swap y
+     * luego libera su marco.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página lógica presente
+     * @return true si la página se escribió a swap
+     * @throws IllegalStateException si no quedan ranuras de swap
+     */
+    public boolean evictPage(PCB pcb, int page) {
+        PageTableEntry e = pcb.pageTable[page];
+        boolean written = false;
+        if (e.present && e.dirty && e.frameNumber != null && e.segment == null) {
+            if (needsSlot(e)) {
+                int slot = device.allocateSlot();
+                if (slot < 0)
+                    throw new IllegalStateException("Espacio de swap agotado.");
+                if (e.swapSlot != null)
+                    dropSlot(e);
+                e.swapSlot = slot;
+            }
+            writeOut(e.swapSlot, e.frameNumber);
+            written = true;
+        }
+        mm.evictPage(pcb, page);
+        return written;
+    }
+
+    /**
+     * Libera todas las ranuras de swap de un proceso (al terminarlo).
+     *
+     * @param pcb proceso terminado
+     */
+    public void discard(PCB pcb) {
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.swapSlot != null)
+                dropSlot(e);
+    }
+
+    /**
+     * Fork: el hijo hereda las ranuras del padre. La copia en swap vale para
+     * los dos mientras ninguno modifique la página, así que una página del
+     * padre que está en swap (o una limpia que vino de él) no se pierde en
+     * el hijo. Llamar después de MemoryManager.fork(...).
+     *
+     * @param parent proceso padre
+     * @param child  hijo recién creado por fork, sin ranuras propias
+     */
+    public void inheritSlots(PCB parent, PCB child) {
+        if (parent == null || child == null || child.pageCount != parent.pageCount)
+            throw new IllegalArgumentException("Padre e hijo deben tener las mismas páginas.");
+        for (int p = 0; p < parent.pageCount; p++) {
+            PageTableEntry pe = parent.pageTable[p];
+            PageTableEntry ce = child.pageTable[p];
+            if (pe.swapSlot == null || pe.segment != null)
+                continue;
+            if (ce.swapSlot != null)
+                throw new IllegalStateException("El hijo ya tiene ranuras de swap.");
+            ce.swapSlot = pe.swapSlot;
+            sharedSlots.merge(pe.swapSlot, 1, Integer::sum);
+        }
+    }
+
+    /** @return true si la página modificada necesita una ranura nueva (no tiene o la comparte) */
+    private boolean needsSlot(PageTableEntry e) {
+        return e.swapSlot == null || sharedSlots.containsKey(e.swapSlot);
+    }
+
+    /** Suelta la ranura de la entrada; la libera si ningún otro proceso la comparte. */
+    private void dropSlot(PageTableEntry e) {
+        int slot = e.swapSlot;
+        e.swapSlot = null;
+        Integer extra = sharedSlots.get(slot);
+        if (extra != null) {
+            if (extra == 1)
+                sharedSlots.remove(slot);
+            else
+                sharedSlots.put(slot, extra - 1);
+            return;
+        }
+        if (compressed != null)
+            compressed.invalidate(slot);
+        device.freeSlot(slot);
+    }
+
+    /** Guarda la imagen del marco en la ranura: en el pool comprimido o, si la rechaza, en el archivo. */
+    private void writeOut(int slot, int frameNo) {
+        if (compressed != null && compressed.store(slot, contents, frameNo))
+            return;
+        ByteBuffer page = device.acquireBuffer();
+        contents.readFrame(frameNo, page);
+        device.writeBack(slot, page);
+    }
+}
@@ -0,0 +1,263 @@
+package co.edu.uptc.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase TieredMemoryManager
+ * ------------------------------------------
+ * Decorador de MemoryManager para memoria por niveles: la PhysicalMemory
+ * se reparte en rangos contiguos de marcos (MemoryTier), del más rápido al
+ * más lento, y cada traducción suma la latencia del nivel donde está la
+ * página.
+ *
+ * La asignación la sigue haciendo el gestor envuelto (con
+ * SimpleMemoryManager, first-fit: las páginas nuevas van al nivel más
+ * rápido mientras tenga marcos). Mover páginas entre niveles es cosa de
+ * quien llame a migrate(...) (TierMigrator).
+ *
+ * Calor de las páginas: cada traducción marca un bit de acceso por marco,
+ * propio de esta clase, que testAndClearAccessed(...) lee y limpia al
+ * muestrear. No se usa el bit referenced de la tabla de páginas porque el
+ * WorkingSetTracker lo limpia en cada muestra.
+ *
+ * Reporta los accesos por nivel, la proporción servida por el nivel más
+ * rápido (tierHitRatio) y la latencia media por acceso.
+ */
+public class TieredMemoryManager implements MemoryManager {
+
+    private final MemoryManager delegate;
+    private final PhysicalMemory pm;
+    private final MemoryTier[] tiers;
+
+    /** Nivel de cada marco. */
+    private final byte[] tierOf;
+
+    /** Bit de acceso por marco desde la última muestra (1 = accedido). */
+    private final byte[] accessed;
+
+    /** Contadores de accesos por nivel. */
+    private final LongAdder[] accesses;
+
+    /** Latencia simulada acumulada (ns) de todas las traducciones. */
+    private final LongAdder totalLatencyNs = new LongAdder();
+
+    private long migrations;
+
+    /**
+     * Constructor de TieredMemoryManager. Los niveles toman los marcos en
+     * orden: el primero desde el marco 0, el siguiente a continuación, etc.
+     *
+     * @param delegate   gestor que asigna y traduce
+     * @param pm         memoria física administrada por el delegado
+     * @param names      nombre de cada nivel, del más rápido al más lento
+     * @param frames     marcos de cada nivel (deben sumar pm.frames.length)
+     * @param latencyNs  latencia por acceso de cada nivel (ns, no decreciente)
+     */
+    public TieredMemoryManager(MemoryManager delegate, PhysicalMemory pm, String[] names, int[] frames,
+            long[] latencyNs) {
+        if (delegate == null || pm == null)
+            throw new IllegalArgumentException("Gestor y memoria no pueden ser nulos.");
+        if (names == null || frames == null || latencyNs == null || names.length == 0
+                || names.length != frames.length || names.length != latencyNs.length)
+            throw new IllegalArgumentException("Cada nivel necesita nombre, marcos y latencia.");
+        if (names.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Demasiados niveles de memoria.");
+        this.delegate = delegate;
+        this.pm = pm;
+        this.tiers = new MemoryTier[names.length];
+        this.tierOf = new byte[pm.frames.length];
+        this.accessed = new byte[pm.frames.length];
+        this.accesses = new LongAdder[names.length];
+
+        int next = 0;
+        for (int t = 0; t < names.length; t++) {
+            if (t > 0 && latencyNs[t] < latencyNs[t - 1])
+                throw new IllegalArgumentException("Los niveles deben ir del más rápido al más lento.");
+            if (frames[t] <= 0 || next + (long) frames[t] > pm.frames.length)
+                throw new IllegalArgumentException("Los marcos de los niveles deben sumar " + pm.frames.length + ".");
+            tiers[t] = new MemoryTier(t, names[t], next, frames[t], latencyNs[t]);
+            for (int f = next; f < next + frames[t]; f++)
+                tierOf[f] = (byte) t;
+            accesses[t] = new LongAdder();
+            next += frames[t];
+        }
+        if (next != pm.frames.length)
+            throw new IllegalArgumentException("Los marcos de los niveles deben sumar " + pm.frames.length + ".");
+    }
+
+    // ===== Niveles =====
+
+    public int tierCount() {
+        return tiers.length;
+    }
+
+    public MemoryTier tier(int index) {
+        if (index < 0 || index >= tiers.length)
+            throw new IllegalArgumentException("Nivel inexistente: " + index + ".");
+        return tiers[index];
+    }
+
+    /** @return nivel del marco */
+    public int tierOf(int frameNo) {
+        return tierOf[frameNo];
+    }
+
+    /** @return marcos ocupados del nivel (recorre el rango; para reportes) */
+    public int usedFrames(int index) {
+        MemoryTier t = tier(index);
+        int used = 0;
+        for (int f = t.firstFrame; f < t.firstFrame + t.frameCount; f++)
+            if (!pm.frames[f].free)
+                used++;
+        return used;
+    }
+
+    /**
+     * Lee y limpia el bit de acceso del marco.
+     *
+     * @return true si el marco se tradujo desde la última llamada
+     */
+    public boolean testAndClearAccessed(int frameNo) {
+        if (accessed[frameNo] == 0)
+            return false;
+        accessed[frameNo] = 0;
+        return true;
+    }
+
+    /**
+     * Mueve una página presente al nivel indicado con
+     * MemoryManager.migratePage(...). El bit de acceso viaja con ella.
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page página presente
+     * @param to   nivel destino
+     * @return false si el nivel no tiene marcos libres, la página ya está en
+     *         él o su marco es compartido
+     */
+    public boolean migrate(PCB pcb, int page, int to) {
+        MemoryTier t = tier(to);
+        Integer before = pcb.pageTable[page].frameNumber;
+        if (!delegate.migratePage(pcb, page, t.firstFrame, t.frameCount))
+            return false;
+        if (before != null) {
+            accessed[pcb.pageTable[page].frameNumber] = accessed[before];
+            accessed[before] = 0;
+        }
+        migrations++;
+        return true;
+    }
+
+    // ===== Estadísticas =====
+
+    /** @return traducciones servidas por el nivel */
+    public long accesses(int index) {
+        tier(index);
+        return accesses[index].sum();
+    }
+
+    public long totalAccesses() {
+        long n = 0;
+        for (LongAdder a : accesses)
+            n += a.sum();
+        return n;
+    }
+
+    /** @return proporción de accesos servidos por el nivel más rápido, 0 si no hubo accesos */
+    public double tierHitRatio() {
+        long n = totalAccesses();
+        return (n == 0) ? 0.0 : accesses[0].sum() / (double) n;
+    }
+
+    /** @return latencia simulada promedio por acceso (ns), 0 si no hubo accesos */
+    public double averageAccessLatencyNs() {
+        long n = totalAccesses();
+        return (n == 0) ? 0.0 : totalLatencyNs.sum() / (double) n;
+    }
+
+    /** @return páginas movidas entre niveles con migrate(...) */
+    public long migrations() {
+        return migrations;
+    }
+
+    /** Reinicia los contadores de accesos y latencia. */
+    public void resetCounters() {
+        for (LongAdder a : accesses)
+            a.reset();
+        totalLatencyNs.reset();
+    }
+
+    // ===== MemoryManager =====
+
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        return delegate.admitProcess(pcb);
+    }
+
+    @Override
+    public List<PCB> admitBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        return delegate.admitBatch(candidates, policy);
+    }
+
+    @Override
+    public void releaseProcess(PCB pcb) {
+        delegate.releaseProcess(pcb);
+    }
+
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        long physical = delegate.mapLogicalToPhysical(pcb, logicalAddr);
+        int frame = (int) pm.pageOf(physical);
+        int t = tierOf[frame];
+        accesses[t].increment();
+        totalLatencyNs.add(tiers[t].latencyNs);
+        if (accessed[frame] == 0)
+            accessed[frame] = 1;
+        return physical;
+    }
+
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        return delegate.loadPage(pcb, page);
+    }
+
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        delegate.evictPage(pcb, page);
+    }
+
+    @Override
+    public PCB fork(PCB parent, int childPid) {
+        return delegate.fork(parent, childPid);
+    }
+
+    @Override
+    public boolean writePage(PCB pcb, int page) {
+        return delegate.writePage(pcb, page);
+    }
+
+    @Override
+    public boolean mergePage(PCB pcb, int page, PCB into, int intoPage) {
+        return delegate.mergePage(pcb, page, into, intoPage);
+    }
+
+    @Override
+    public boolean migratePage(PCB pcb, int page, int firstFrame, int frameCount) {
+        return delegate.migratePage(pcb, page, firstFrame, frameCount);
+    }
+
+    @Override
+    public boolean attachSegment(PCB pcb, SharedSegment segment, int firstPage) {
+        return delegate.attachSegment(pcb, segment, firstPage);
+    }
+
+    @Override
+    public void detachSegment(PCB pcb, SharedSegment segment) {
+        delegate.detachSegment(pcb, segment);
+    }
+
+    @Override
+    public int freeFrameCount() {
+        return delegate.freeFrameCount();
+    }
+}
@@ -0,0 +1,208 @@
+package co.edu.uptc.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Clase WorkingSetTracker
+ * ------------------------------------------
+ * Modelo de conjunto de trabajo (working set) de Denning.
+ *
+ * El conjunto de trabajo de un proceso en el tick t son las páginas
+ * referenciadas en la ventana (t - window, t]. Se aproxima muestreando el
+ * bit 'referenced' de la tabla de páginas:
+ * - sample(...) registra el tick de última referencia de cada página con el
+ * bit encendido y luego apaga el bit.
+ * - Las páginas cuya última referencia cae fuera de la ventana dejan de
+ * pertenecer al conjunto de trabajo.
+ *
+ * La información se conserva mientras el proceso está suspendido, para
+ * estimar cuántas (y cuáles) páginas necesita al reanudarse.
+ *
+ * El "tick" es el que entrega quien llama: el motor usa el tiempo virtual de
+ * cada proceso (sus turnos de CPU), no el reloj global, para que la ventana
+ * no se encoja a medida que crece el número de residentes.
+ */
+public class WorkingSetTracker {
+
+    /** Ancho de la ventana (τ) en ticks. */
+    private final int window;
+
+    /** Tick de última referencia por página, indexado por PID. */
+    private final Map<Integer, long[]> lastRef = new HashMap<>();
+
+    /** Último tick en que se muestreó cada proceso. */
+    private final Map<Integer, Long> lastSample = new HashMap<>();
+
+    /**
+     * Constructor de WorkingSetTracker.
+     *
+     * @param window ancho de la ventana en ticks (> 0)
+     */
+    public WorkingSetTracker(int window) {
+        if (window <= 0)
+            throw new IllegalArgumentException("La ventana del conjunto de trabajo debe ser > 0.");
+        this.window = window;
+    }
+
+    /** @return ancho de la ventana en ticks */
+    public int window() {
+        return window;
+    }
+
+    /**
+     * Muestrea los bits de referencia del proceso y los apaga.
+     *
+     * @param pcb  proceso a muestrear
+     * @param tick tick actual
+     */
+    public void sample(PCB pcb, long tick) {
+        long[] refs = refs(pcb);
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.present && e.referenced) {
+                refs[e.pageNumber] = tick;
+                e.referenced = false;
+            }
+        }
+        lastSample.put(pcb.pid, tick);
+    }
+
+    /**
+     * Registra una referencia explícita (por ejemplo, al cargar la página).
+     *
+     * @param pcb  proceso dueño de la página
+     * @param page número de página
+     * @param tick tick actual
+     */
+    public void touch(PCB pcb, int page, long tick) {
+        refs(pcb)[page] = tick;
+    }
+
+    /** @return true si la página pertenece al conjunto de trabajo en el tick dado */
+    public boolean inWorkingSet(PCB pcb, int page, long tick) {
+        return refs(pcb)[page] > tick - window;
+    }
+
+    /**
+     * Tamaño del conjunto de trabajo en el tick dado.
+     *
+     * @param pcb  proceso
+     * @param tick tick actual
+     * @return cantidad de páginas referenciadas dentro de la ventana
+     */
+    public int workingSetSize(PCB pcb, long tick) {
+        long[] refs = refs(pcb);
+        long limit = tick - window;
+        int n = 0;
+        for (long r : refs)
+            if (r > limit)
+                n++;
+        return n;
+    }
+
+    /**
+     * Páginas a cargar al admitir el proceso.
+     * - Si ya se muestreó antes: su conjunto de trabajo al momento del último muestreo.
+     * - Si es nuevo: las primeras 'initialPages' páginas.
+     *
+     * @param pcb          proceso a admitir
+     * @param initialPages estimación inicial para procesos sin historia
+     * @return números de página a cargar
+     */
+    public int[] admissionPages(PCB pcb, int initialPages) {
+        Long sampled = lastSample.get(pcb.pid);
+        if (sampled == null) {
+            int n = Math.min(Math.max(1, initialPages), pcb.pageCount);
+            int[] pages = new int[n];
+            for (int p = 0; p < n; p++)
+                pages[p] = p;
+            return pages;
+        }
+        long[] refs = refs(pcb);
+        long limit = sampled - window;
+        int[] pages = new int[pcb.pageCount];
+        int n = 0;
+        for (int p = 0; p < refs.length; p++)
+            if (refs[p] > limit)
+                pages[n++] = p;
+        if (n == 0 && pcb.pageCount > 0)
+            pages[n++] = 0;
+        return Arrays.copyOf(pages, n);
+    }
+
+    /**
+     * Página presente del proceso con la referencia más antigua (víctima LRU local).
+     *
+     * @param pcb     proceso
+     * @param exclude página a excluir (la que se está cargando), o -1
+     * @return número de página, o -1 si el proceso no tiene páginas presentes
+     */
+    public int oldestPresentPage(PCB pcb, int exclude) {
+        long[] refs = refs(pcb);
+        int victim = -1;
+        long oldest = Long.MAX_VALUE;
+        for (PageTableEntry e : pcb.pageTable) {
+            if (e.present && e.pageNumber != exclude && refs[e.pageNumber] < oldest) {
+                oldest = refs[e.pageNumber];
+                victim = e.pageNumber;
+            }
+        }
+        return victim;
+    }
+
+    /** @return tick de la referencia más antigua entre las páginas presentes, o Long.MAX_VALUE */
+    public long oldestPresentReference(PCB pcb) {
+        int p = oldestPresentPage(pcb, -1);
+        return (p < 0) ? Long.MAX_VALUE : refs(pcb)[p];
+    }
+
+    /**
+     * Historia del proceso: tick de última referencia por página
+     * (Long.MIN_VALUE si nunca se referenció). Es el arreglo interno, sin copiar.
+     *
+     * @return historia, o null si el proceso no tiene
+     */
+    public long[] history(int pid) {
+        return lastRef.get(pid);
+    }
+
+    /** @return último tick en que se muestreó el proceso, o null */
+    public Long lastSample(int pid) {
+        return lastSample.get(pid);
+    }
+
+    /**
+     * Reemplaza la historia de un proceso (al restaurar un checkpoint).
+     *
+     * @param pid        proceso
+     * @param refs       tick de última referencia por página (se conserva el arreglo)
+     * @param lastSample último muestreo, o null
+     */
+    public void restore(int pid, long[] refs, Long lastSample) {
+        if (refs == null)
+            throw new IllegalArgumentException("La historia no puede ser nula.");
+        lastRef.put(pid, refs);
+        if (lastSample == null)
+            this.lastSample.remove(pid);
+        else
+            this.lastSample.put(pid, lastSample);
+    }
+
+    /** Olvida la historia de un proceso (al terminar). */
+    public void forget(int pid) {
+        lastRef.remove(pid);
+        lastSample.remove(pid);
+    }
+
+    /** Arreglo de últimas referencias del proceso (se crea al primer uso). */
+    private long[] refs(PCB pcb) {
+        long[] refs = lastRef.get(pcb.pid);
+        if (refs == null) {
+            refs = new long[pcb.pageCount];
+            Arrays.fill(refs, Long.MIN_VALUE);
+            lastRef.put(pcb.pid, refs);
+        }
+        return refs;
+    }
+}
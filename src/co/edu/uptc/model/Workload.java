@@ -0,0 +1,20 @@
+package co.edu.uptc.model;
+
+/**
+ * Interfaz Workload
+ * --------------------------------
+ * Generador de referencias a memoria para la simulación automática.
+ *
+ * En cada tick, el proceso en ejecución emite cierta cantidad de
+ * direcciones lógicas obtenidas de aquí.
+ */
+public interface Workload {
+
+    /**
+     * Siguiente dirección lógica que referencia el proceso.
+     *
+     * @param pcb proceso en ejecución
+     * @return dirección lógica en [0, logicalSizeBytes)
+     */
+    long nextAddress(PCB pcb);
+}
@@ -0,0 +1,184 @@
+package co.edu.uptc.model.cache;
+
+import java.util.Arrays;
+
+/**
+ * Clase CacheLevel
+ * ------------------------------------------
+ * Un nivel de caché asociativo por conjuntos (L1, L2, LLC o TLB).
+ *
+ * Representación (solo arreglos primitivos, sin objetos por línea):
+ * - tags[set * ways + w]: número de línea guardado en la vía w; -1 si está vacía.
+ * - Cada conjunto se mantiene ordenado por recencia (LRU) o por llegada (FIFO):
+ * la posición 0 es la más reciente y la última es la víctima. Así no hacen
+ * falta marcas de tiempo y todo el conjunto ocupa unas pocas líneas contiguas.
+ *
+ * El número de línea se guarda completo como etiqueta, así no hace falta
+ * reconstruir la dirección. El índice de conjunto se toma de los bits bajos
+ * del número de línea (mezclados con los altos, para claves con PID).
+ */
+public class CacheLevel {
+
+    /** Nombre del nivel (para reportes). */
+    public final String name;
+
+    /** Tamaño total en bytes. */
+    public final long sizeBytes;
+
+    /** Vías por conjunto. */
+    public final int ways;
+
+    /** Tamaño de línea en bytes (potencia de dos). */
+    public final int lineSize;
+
+    /** Latencia de un acierto en ciclos. */
+    public final int hitCycles;
+
+    /** Política de reemplazo. */
+    public final ReplacementPolicy policy;
+
+    /** log2(lineSize). */
+    private final int lineShift;
+
+    /** Cantidad de conjuntos - 1 (potencia de dos). */
+    private final int setMask;
+
+    private final long[] tags;
+
+    /** Estado del generador para RANDOM. */
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor de CacheLevel.
+     *
+     * @param name      nombre del nivel
+     * @param sizeBytes tamaño total en bytes
+     * @param ways      asociatividad (vías por conjunto)
+     * @param lineSize  tamaño de línea en bytes (potencia de dos)
+     * @param policy    política de reemplazo
+     * @param hitCycles latencia de acierto en ciclos
+     * @throws IllegalArgumentException si la geometría no es válida
+     */
+    public CacheLevel(String name, long sizeBytes, int ways, int lineSize, ReplacementPolicy policy,
+            int hitCycles) {
+        if (lineSize <= 0 || Integer.bitCount(lineSize) != 1)
+            throw new IllegalArgumentException("El tamaño de línea debe ser potencia de dos.");
+        if (ways <= 0)
+            throw new IllegalArgumentException("La asociatividad debe ser > 0.");
+        if (sizeBytes <= 0 || sizeBytes % ((long) lineSize * ways) != 0)
+            throw new IllegalArgumentException("El tamaño debe ser múltiplo de línea × vías.");
+        long sets = sizeBytes / lineSize / ways;
+        if (Long.bitCount(sets) != 1 || sets * ways > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("La cantidad de conjuntos debe ser potencia de dos.");
+        if (policy == null)
+            throw new IllegalArgumentException("La política de reemplazo no puede ser nula.");
+        if (hitCycles < 0)
+            throw new IllegalArgumentException("La latencia debe ser >= 0.");
+
+        this.name = name;
+        this.sizeBytes = sizeBytes;
+        this.ways = ways;
+        this.lineSize = lineSize;
+        this.hitCycles = hitCycles;
+        this.policy = policy;
+        this.lineShift = Integer.numberOfTrailingZeros(lineSize);
+        this.setMask = (int) sets - 1;
+        this.tags = new long[(int) sets * ways];
+        Arrays.fill(tags, -1);
+    }
+
+    /**
+     * Accede a la línea que contiene una dirección física.
+     *
+     * @param address dirección física (>= 0)
+     * @return true si fue acierto; en fallo la línea queda instalada
+     */
+    public boolean access(long address) {
+        return accessLine(address >>> lineShift);
+    }
+
+    /**
+     * Accede a una línea por su número (o por una clave >= 0, como pid|vpn en la TLB).
+     *
+     * @param line número de línea o clave no negativa
+     * @return true si fue acierto; en fallo la línea queda instalada
+     */
+    public boolean accessLine(long line) {
+        int base = ((int) (line ^ (line >>> 32)) & setMask) * ways;
+        int end = base + ways;
+        for (int i = base; i < end; i++) {
+            if (tags[i] == line) {
+                if (policy == ReplacementPolicy.LRU && i != base) {
+                    System.arraycopy(tags, base, tags, base + 1, i - base);
+                    tags[base] = line;
+                }
+                hits++;
+                return true;
+            }
+        }
+        misses++;
+
+        if (policy == ReplacementPolicy.RANDOM && tags[end - 1] != -1) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            tags[base + (int) ((seed >>> 1) % ways)] = line;
+        } else {
+            // Las vías vacías quedan al final: se descarta la última y se inserta al frente
+            System.arraycopy(tags, base, tags, base + 1, ways - 1);
+            tags[base] = line;
+        }
+        return false;
+    }
+
+    /**
+     * Invalida una línea si está presente (por ejemplo, invlpg en la TLB).
+     *
+     * @param line número de línea o clave
+     */
+    public void invalidateLine(long line) {
+        int base = ((int) (line ^ (line >>> 32)) & setMask) * ways;
+        int end = base + ways;
+        for (int i = base; i < end; i++) {
+            if (tags[i] == line) {
+                // Compactar para que las vías vacías sigan al final
+                System.arraycopy(tags, i + 1, tags, i, end - i - 1);
+                tags[end - 1] = -1;
+                return;
+            }
+        }
+    }
+
+    /** Invalida todas las líneas (por ejemplo, vaciado de TLB). */
+    public void invalidateAll() {
+        Arrays.fill(tags, -1);
+    }
+
+    /** Cantidad de conjuntos. */
+    public int sets() {
+        return setMask + 1;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    /** Proporción de aciertos sobre los accesos a este nivel. */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    /** Reinicia los contadores (no el contenido). */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,140 @@
+package co.edu.uptc.model.cache;
+
+import java.util.List;
+
+import co.edu.uptc.model.AdmissionPolicy;
+import co.edu.uptc.model.MemoryManager;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.SharedSegment;
+
+/**
+ * Clase CachedMemoryManager
+ * ------------------------------------------
+ * Decorador de MemoryManager que pasa cada dirección física traducida por
+ * una MemoryHierarchy para estimar su costo (TLB, recorrido y cachés).
+ *
+ * La asignación y la traducción las sigue haciendo el gestor envuelto; aquí
+ * solo se agregan el costo del acceso y las invalidaciones de TLB cuando
+ * una página o un proceso deja la memoria.
+ */
+public class CachedMemoryManager implements MemoryManager {
+
+    private final MemoryManager delegate;
+    private final MemoryHierarchy hierarchy;
+    private final PhysicalMemory pm;
+
+    /**
+     * Constructor de CachedMemoryManager.
+     *
+     * @param delegate  gestor que asigna y traduce
+     * @param hierarchy modelo de costo de los accesos
+     * @param pm        memoria física administrada por el delegado
+     */
+    public CachedMemoryManager(MemoryManager delegate, MemoryHierarchy hierarchy, PhysicalMemory pm) {
+        if (delegate == null || hierarchy == null || pm == null)
+            throw new IllegalArgumentException("Gestor, jerarquía y memoria no pueden ser nulos.");
+        this.delegate = delegate;
+        this.hierarchy = hierarchy;
+        this.pm = pm;
+    }
+
+    public MemoryHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    @Override
+    public boolean admitProcess(PCB pcb) {
+        return delegate.admitProcess(pcb);
+    }
+
+    @Override
+    public List<PCB> admitBatch(List<PCB> candidates, AdmissionPolicy policy) {
+        return delegate.admitBatch(candidates, policy);
+    }
+
+    @Override
+    public void releaseProcess(PCB pcb) {
+        delegate.releaseProcess(pcb);
+        hierarchy.flushTlb();
+    }
+
+    @Override
+    public long mapLogicalToPhysical(PCB pcb, long logicalAddr) throws IllegalArgumentException {
+        long physical = delegate.mapLogicalToPhysical(pcb, logicalAddr);
+        hierarchy.access(pcb.pid, (int) pm.pageOf(logicalAddr), physical);
+        return physical;
+    }
+
+    @Override
+    public boolean loadPage(PCB pcb, int page) {
+        return delegate.loadPage(pcb, page);
+    }
+
+    @Override
+    public void evictPage(PCB pcb, int page) {
+        delegate.evictPage(pcb, page);
+        hierarchy.invalidatePage(pcb.pid, page);
+    }
+
+    @Override
+    public PCB fork(PCB parent, int childPid) {
+        return delegate.fork(parent, childPid);
+    }
+
+    /** Si la escritura copia la página, su traducción cambia: se invalida en la jerarquía. */
+    @Override
+    public boolean writePage(PCB pcb, int page) {
+        Integer before = (pcb != null && page >= 0 && page < pcb.pageCount) ? pcb.pageTable[page].frameNumber : null;
+        boolean ok = delegate.writePage(pcb, page);
+        if (ok && before != null && !before.equals(pcb.pageTable[page].frameNumber))
+            hierarchy.invalidatePage(pcb.pid, page);
+        return ok;
+    }
+
+    /** La página mezclada cambia de marco: se invalida en la jerarquía. */
+    @Override
+    public boolean mergePage(PCB pcb, int page, PCB into, int intoPage) {
+        boolean merged = delegate.mergePage(pcb, page, into, intoPage);
+        if (merged)
+            hierarchy.invalidatePage(pcb.pid, page);
+        return merged;
+    }
+
+    /** La página migrada cambia de marco: se invalida en la jerarquía. */
+    @Override
+    public boolean migratePage(PCB pcb, int page, int firstFrame, int frameCount) {
+        boolean moved = delegate.migratePage(pcb, page, firstFrame, frameCount);
+        if (moved)
+            hierarchy.invalidatePage(pcb.pid, page);
+        return moved;
+    }
+
+    /** Las páginas acopladas cambian de marco: se invalidan en la jerarquía. */
+    @Override
+    public boolean attachSegment(PCB pcb, SharedSegment segment, int firstPage) {
+        boolean ok = delegate.attachSegment(pcb, segment, firstPage);
+        if (ok)
+            for (int k = 0; k < segment.pageCount; k++)
+                hierarchy.invalidatePage(pcb.pid, firstPage + k);
+        return ok;
+    }
+
+    /** Las páginas desacopladas dejan de estar presentes: se invalidan en la jerarquía. */
+    @Override
+    public void detachSegment(PCB pcb, SharedSegment segment) {
+        int first = -1;
+        for (int p = 0; pcb != null && p < pcb.pageCount && first < 0; p++)
+            if (pcb.pageTable[p].segment == segment)
+                first = p;
+        delegate.detachSegment(pcb, segment);
+        if (first >= 0)
+            for (int k = 0; k < segment.pageCount; k++)
+                hierarchy.invalidatePage(pcb.pid, first + k);
+    }
+
+    @Override
+    public int freeFrameCount() {
+        return delegate.freeFrameCount();
+    }
+}
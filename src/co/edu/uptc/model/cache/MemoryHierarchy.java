@@ -0,0 +1,167 @@
+package co.edu.uptc.model.cache;
+
+/**
+ * Clase MemoryHierarchy
+ * ------------------------------------------
+ * Modelo de costo de un acceso a memoria: TLB, recorrido de la tabla de
+ * páginas y jerarquía de cachés (L1, L2, ..., LLC) hasta la memoria principal.
+ *
+ * Por cada acceso:
+ * 1. Traducción: se consulta la TLB con la clave (pid, página). En un fallo
+ * se suma el costo del recorrido: walkLevels × walkCyclesPerLevel.
+ * 2. Datos: se consulta cada nivel de caché en orden con la dirección física,
+ * sumando la latencia de cada nivel consultado. Si ninguno acierta se suma
+ * la latencia de memoria. Las líneas se instalan en todos los niveles que
+ * fallaron (jerarquía no exclusiva).
+ *
+ * El tiempo medio de acceso (AMAT) es el total de ciclos / accesos.
+ */
+public class MemoryHierarchy {
+
+    /** TLB (clave pid << 32 | página). */
+    private final CacheLevel tlb;
+
+    /** Niveles de caché de datos, del más cercano al más lejano. */
+    private final CacheLevel[] caches;
+
+    /** Niveles de la tabla de páginas recorridos en un fallo de TLB. */
+    private final int walkLevels;
+
+    /** Ciclos por nivel del recorrido. */
+    private final int walkCyclesPerLevel;
+
+    /** Latencia de la memoria principal en ciclos. */
+    private final int memoryCycles;
+
+    private long accesses;
+    private long translationCycles;
+    private long dataCycles;
+    private long memoryAccesses;
+
+    /**
+     * Constructor de MemoryHierarchy.
+     *
+     * @param tlb                TLB (CacheLevel con líneas de 1 "byte": una entrada por clave)
+     * @param walkLevels         niveles de la tabla de páginas (>= 0)
+     * @param walkCyclesPerLevel ciclos por nivel del recorrido (>= 0)
+     * @param memoryCycles       latencia de memoria principal en ciclos (>= 0)
+     * @param caches             niveles de caché, del L1 al LLC (al menos uno)
+     */
+    public MemoryHierarchy(CacheLevel tlb, int walkLevels, int walkCyclesPerLevel, int memoryCycles,
+            CacheLevel... caches) {
+        if (tlb == null)
+            throw new IllegalArgumentException("La TLB no puede ser nula.");
+        if (caches == null || caches.length == 0)
+            throw new IllegalArgumentException("Debe haber al menos un nivel de caché.");
+        if (walkLevels < 0 || walkCyclesPerLevel < 0 || memoryCycles < 0)
+            throw new IllegalArgumentException("Las latencias deben ser >= 0.");
+        this.tlb = tlb;
+        this.caches = caches.clone();
+        this.walkLevels = walkLevels;
+        this.walkCyclesPerLevel = walkCyclesPerLevel;
+        this.memoryCycles = memoryCycles;
+    }
+
+    /**
+     * Jerarquía típica de un procesador de escritorio:
+     * TLB 64 entradas 4 vías, L1 32 KB 8 vías, L2 256 KB 8 vías, LLC 8 MB 16 vías,
+     * líneas de 64 bytes, LRU, tabla de 4 niveles y 200 ciclos de memoria.
+     */
+    public static MemoryHierarchy typical() {
+        return new MemoryHierarchy(
+                new CacheLevel("TLB", 64, 4, 1, ReplacementPolicy.LRU, 1), 4, 25, 200,
+                new CacheLevel("L1", 32 << 10, 8, 64, ReplacementPolicy.LRU, 4),
+                new CacheLevel("L2", 256 << 10, 8, 64, ReplacementPolicy.LRU, 12),
+                new CacheLevel("LLC", 8 << 20, 16, 64, ReplacementPolicy.LRU, 40));
+    }
+
+    /**
+     * Registra un acceso ya traducido.
+     *
+     * @param pid             proceso que accede
+     * @param page            página lógica accedida
+     * @param physicalAddress dirección física resultante de la traducción
+     * @return ciclos que costó el acceso
+     */
+    public int access(int pid, int page, long physicalAddress) {
+        int cycles = tlb.hitCycles;
+        if (!tlb.accessLine(tlbKey(pid, page)))
+            cycles += walkLevels * walkCyclesPerLevel;
+        translationCycles += cycles;
+
+        int data = 0;
+        boolean hit = false;
+        for (CacheLevel c : caches) {
+            data += c.hitCycles;
+            if (c.access(physicalAddress)) {
+                hit = true;
+                break;
+            }
+        }
+        if (!hit) {
+            data += memoryCycles;
+            memoryAccesses++;
+        }
+        dataCycles += data;
+        accesses++;
+        return cycles + data;
+    }
+
+    /** Invalida la entrada de TLB de una página (al desalojarla). */
+    public void invalidatePage(int pid, int page) {
+        tlb.invalidateLine(tlbKey(pid, page));
+    }
+
+    /** Vacía la TLB (al liberar un proceso completo). */
+    public void flushTlb() {
+        tlb.invalidateAll();
+    }
+
+    public CacheLevel tlb() {
+        return tlb;
+    }
+
+    /** Niveles de caché (copia del arreglo). */
+    public CacheLevel[] caches() {
+        return caches.clone();
+    }
+
+    public long accesses() {
+        return accesses;
+    }
+
+    /** Proporción de accesos que llegaron a memoria principal. */
+    public double memoryAccessRate() {
+        return accesses == 0 ? 0 : memoryAccesses / (double) accesses;
+    }
+
+    /** Ciclos medios de traducción (TLB + recorridos). */
+    public double averageTranslationCycles() {
+        return accesses == 0 ? 0 : translationCycles / (double) accesses;
+    }
+
+    /** Ciclos medios de la parte de datos (cachés + memoria). */
+    public double averageDataCycles() {
+        return accesses == 0 ? 0 : dataCycles / (double) accesses;
+    }
+
+    /** Tiempo medio de acceso a memoria en ciclos (traducción + datos). */
+    public double amat() {
+        return accesses == 0 ? 0 : (translationCycles + dataCycles) / (double) accesses;
+    }
+
+    /** Reinicia los contadores de todos los niveles. */
+    public void resetCounters() {
+        accesses = 0;
+        translationCycles = 0;
+        dataCycles = 0;
+        memoryAccesses = 0;
+        tlb.resetCounters();
+        for (CacheLevel c : caches)
+            c.resetCounters();
+    }
+
+    private static long tlbKey(int pid, int page) {
+        return ((long) (pid & 0x7FFFFFFF) << 32) | (page & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,18 @@
+package co.edu.uptc.model.cache;
+
+/**
+ * Enum ReplacementPolicy
+ * ------------------------------------------
+ * Política de reemplazo dentro de un conjunto de CacheLevel.
+ */
+public enum ReplacementPolicy {
+
+    /** Reemplaza la línea usada hace más tiempo. */
+    LRU,
+
+    /** Reemplaza la línea que entró primero al conjunto. */
+    FIFO,
+
+    /** Reemplaza una línea al azar (generador xorshift). */
+    RANDOM
+}
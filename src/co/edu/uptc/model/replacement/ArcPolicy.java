@@ -0,0 +1,126 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Clase ArcPolicy
+ * ------------------------------------------
+ * ARC para SimulationEngine: las mismas listas y la misma adaptación que
+ * ArcSimulator, pero la residencia la decide el motor.
+ *
+ * - T1 / T2: residentes vistas una vez / al menos dos veces (LRU).
+ * - B1 / B2: fantasmas de las que salieron de T1 / T2.
+ *
+ * miss(...) adapta el objetivo p si la página está en B1 (sube) o en B2
+ * (baja); victim(...) propone el final de T1 si T1 supera p (o lo iguala y
+ * el fallo vino de B2) y si no el de T2, saltando las que el motor no
+ * acepta. Una página que sale pasa a su fantasma, y los fantasmas se
+ * recortan para que |T1| + |B1| <= c y el directorio no pase de 2c (las
+ * residentes pueden superar c si el motor comparte marcos; entonces solo
+ * se recortan fantasmas).
+ */
+public class ArcPolicy implements ReplacementPolicy {
+
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private final NodePool pool;
+    private final int capacity;
+    /** Tamaño objetivo de T1. */
+    private int p;
+    /** El fallo en curso encontró la página en B2. */
+    private boolean missInB2;
+
+    /** @param capacity marcos de la memoria física (> 0) */
+    public ArcPolicy(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("La capacidad debe ser > 0.");
+        this.capacity = capacity;
+        this.pool = new NodePool(2 * capacity + 1, 4);
+    }
+
+    /** @return tamaño objetivo actual de T1 */
+    public int target() {
+        return p;
+    }
+
+    @Override
+    public void hit(long key) {
+        int n = pool.find(key);
+        if (n != NodePool.NONE && (pool.list[n] == T1 || pool.list[n] == T2))
+            pool.moveToFront(T2, n);
+        else
+            loaded(key);
+    }
+
+    @Override
+    public void miss(long key) {
+        int[] size = pool.size;
+        int n = pool.find(key);
+        int l = (n == NodePool.NONE) ? NodePool.NONE : pool.list[n];
+        missInB2 = (l == B2);
+        if (l == B1)
+            p = Math.min(capacity, p + Math.max(size[B2] / size[B1], 1));
+        else if (l == B2)
+            p = Math.max(0, p - Math.max(size[B1] / size[B2], 1));
+    }
+
+    @Override
+    public long victim(LongPredicate allowed) {
+        int[] size = pool.size;
+        boolean fromT1 = size[T1] > 0 && (size[T1] > p || (missInB2 && size[T1] == p));
+        long k = scan(fromT1 ? T1 : T2, allowed);
+        return (k >= 0) ? k : scan(fromT1 ? T2 : T1, allowed);
+    }
+
+    @Override
+    public void loaded(long key) {
+        int n = pool.find(key);
+        if (n != NodePool.NONE) {
+            int l = pool.list[n];
+            if (l == B1 || l == B2)
+                pool.moveToFront(T2, n);
+            return;
+        }
+        int[] size = pool.size;
+        if (size[T1] + size[B1] >= capacity && size[B1] > 0)
+            pool.release(pool.tail[B1]);
+        else if (size[T1] + size[T2] + size[B1] + size[B2] >= 2 * capacity && size[B1] + size[B2] > 0)
+            pool.release(pool.tail[size[B2] > 0 ? B2 : B1]);
+        pool.pushFront(T1, pool.alloc(key));
+    }
+
+    @Override
+    public void removed(long key) {
+        int n = pool.find(key);
+        if (n == NodePool.NONE)
+            return;
+        int l = pool.list[n];
+        if (l == T1)
+            pool.moveToFront(B1, n);
+        else if (l == T2)
+            pool.moveToFront(B2, n);
+        else
+            return;
+        int[] size = pool.size;
+        while (size[T1] + size[B1] > capacity && size[B1] > 0)
+            pool.release(pool.tail[B1]);
+        while (size[T1] + size[T2] + size[B1] + size[B2] > 2 * capacity && size[B1] + size[B2] > 0)
+            pool.release(pool.tail[size[B2] > 0 ? B2 : B1]);
+    }
+
+    @Override
+    public String name() {
+        return "ARC";
+    }
+
+    /** Primera página aceptada desde el final (lo más antiguo) de la lista l, o -1. */
+    private long scan(int l, LongPredicate allowed) {
+        for (int n = pool.tail[l]; n != NodePool.NONE; n = pool.prev[n])
+            if (allowed.test(pool.key[n]))
+                return pool.key[n];
+        return -1;
+    }
+}
@@ -0,0 +1,99 @@
+package co.edu.uptc.model.replacement;
+
+/**
+ * Clase ArcSimulator
+ * ------------------------------------------
+ * ARC (Adaptive Replacement Cache, Megiddo y Modha).
+ *
+ * Listas (todas LRU, el frente es lo más reciente):
+ * - T1: páginas residentes vistas una sola vez recientemente.
+ * - T2: páginas residentes vistas al menos dos veces.
+ * - B1, B2: fantasmas (solo la clave) de las páginas desalojadas de T1 y T2.
+ *
+ * El objetivo p es el tamaño deseado de T1. Un fallo que encuentra la
+ * página en B1 indica que T1 debió ser más grande (p sube); uno en B2, que
+ * T2 debió serlo (p baja). Un recorrido secuencial solo pasa por T1 y B1,
+ * así que no desplaza a las páginas frecuentes de T2.
+ *
+ * |T1| + |T2| <= c y |T1| + |B1| + |T2| + |B2| <= 2c.
+ */
+public class ArcSimulator extends CountingSimulator {
+
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private final NodePool pool;
+    /** Tamaño objetivo de T1. */
+    private int p;
+
+    /** @param capacity páginas residentes (> 0) */
+    public ArcSimulator(int capacity) {
+        super("ARC", capacity);
+        this.pool = new NodePool(2 * capacity + 1, 4);
+    }
+
+    /** @return tamaño objetivo actual de T1 */
+    public int target() {
+        return p;
+    }
+
+    @Override
+    protected boolean lookup(long key) {
+        int[] size = pool.size;
+        int c = capacity;
+        int n = pool.find(key);
+        int l = (n == NodePool.NONE) ? NodePool.NONE : pool.list[n];
+
+        if (l == T1 || l == T2) {
+            pool.moveToFront(T2, n);
+            return true;
+        }
+        if (l == B1) {
+            p = Math.min(c, p + Math.max(size[B2] / size[B1], 1));
+            replace(false);
+            pool.moveToFront(T2, n);
+            return false;
+        }
+        if (l == B2) {
+            p = Math.max(0, p - Math.max(size[B1] / size[B2], 1));
+            replace(true);
+            pool.moveToFront(T2, n);
+            return false;
+        }
+
+        // Página nueva
+        int l1 = size[T1] + size[B1];
+        int total = l1 + size[T2] + size[B2];
+        if (l1 == c) {
+            if (size[T1] < c) {
+                pool.release(pool.tail[B1]);
+                replace(false);
+            } else {
+                pool.release(pool.tail[T1]);
+            }
+        } else if (total >= c) {
+            if (total == 2 * c)
+                pool.release(pool.tail[B2]);
+            replace(false);
+        }
+        pool.pushFront(T1, pool.alloc(key));
+        return false;
+    }
+
+    /**
+     * Libera un marco si la memoria está llena: desaloja el final de T1
+     * hacia B1 si T1 supera su objetivo (o lo iguala y la página vino de
+     * B2); si no, el final de T2 hacia B2.
+     */
+    private void replace(boolean fromB2) {
+        int[] size = pool.size;
+        if (size[T1] + size[T2] < capacity)
+            return;
+        if (size[T1] > 0 && (size[T1] > p || (fromB2 && size[T1] == p)))
+            pool.moveToFront(B1, pool.tail[T1]);
+        else
+            pool.moveToFront(B2, pool.tail[T2]);
+    }
+}
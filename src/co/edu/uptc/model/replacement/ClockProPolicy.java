@@ -0,0 +1,302 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Clase ClockProPolicy
+ * ------------------------------------------
+ * CLOCK-Pro para SimulationEngine: el mismo reloj, estados y manecillas que
+ * ClockProSimulator, pero la residencia la decide el motor.
+ *
+ * - hit(...) enciende el bit de referencia de la página.
+ * - victim(...) gira HAND_cold sobre el anillo de frías residentes: a las
+ * referenciadas en prueba las hace calientes, a las demás referenciadas les
+ * da otra prueba, y propone la primera sin referencia que el motor acepte
+ * (la manecilla queda sobre ella). Si ninguna fría sirve, propone la primera
+ * caliente aceptada desde HAND_hot.
+ * - removed(...) deja una fría en prueba como fantasma (y HAND_test retira
+ * fantasmas si hay más de c); las demás se olvidan.
+ * - loaded(...) hace caliente a una página que vuelve durante su prueba
+ * (m_c sube) y pone las nuevas como frías en prueba en la cabeza del reloj.
+ */
+public class ClockProPolicy implements ReplacementPolicy {
+
+    private static final int NONE = NodePool.NONE;
+
+    private static final byte RESIDENT = 1;
+    private static final byte HOT = 2;
+    private static final byte TEST = 4;
+    private static final byte REF = 8;
+
+    private final int capacity;
+    private final NodePool pool;
+    private byte[] state;
+    private int[] coldPrev;
+    private int[] coldNext;
+
+    private int handHot = NONE;
+    private int handCold = NONE;
+    private int handTest = NONE;
+
+    private int hotCount;
+    private int coldCount;
+    private int nonResidentCount;
+    /** m_c: objetivo de páginas frías residentes. */
+    private int coldTarget;
+
+    /** @param capacity marcos de la memoria física (>= 2) */
+    public ClockProPolicy(int capacity) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("CLOCK-Pro necesita al menos 2 páginas.");
+        this.capacity = capacity;
+        this.pool = new NodePool(2 * capacity + 2, 1);
+        this.state = new byte[2 * capacity + 2];
+        this.coldPrev = new int[2 * capacity + 2];
+        this.coldNext = new int[2 * capacity + 2];
+        this.coldTarget = Math.max(1, capacity / 10);
+    }
+
+    /** @return objetivo actual de páginas frías residentes (m_c) */
+    public int coldTarget() {
+        return coldTarget;
+    }
+
+    @Override
+    public void hit(long key) {
+        int n = pool.find(key);
+        if (n != NONE && (state[n] & RESIDENT) != 0)
+            state[n] |= REF;
+        else
+            loaded(key);
+    }
+
+    @Override
+    public void miss(long key) {
+        // loaded(...) decide si la página vuelve durante su prueba
+    }
+
+    @Override
+    public long victim(LongPredicate allowed) {
+        // Cada vuelta sin candidatas cuenta; las referenciadas gastan su bit sin contar
+        int skipped = 0;
+        while (handCold != NONE && skipped < coldCount) {
+            int n = handCold;
+            int s = state[n];
+            if ((s & REF) != 0) {
+                if ((s & TEST) != 0) {
+                    // Reusada durante la prueba: distancia de reuso corta
+                    coldRemove(n);
+                    state[n] = RESIDENT | HOT;
+                    coldCount--;
+                    hotCount++;
+                    moveToHead(n);
+                    balanceHot();
+                } else {
+                    // Nueva prueba; queda detrás de la manecilla
+                    state[n] = RESIDENT | TEST;
+                    handCold = coldNext[n];
+                    moveToHead(n);
+                }
+                continue;
+            }
+            if (allowed.test(pool.key[n]))
+                return pool.key[n];
+            handCold = coldNext[n];
+            skipped++;
+        }
+        // Ninguna fría aceptada: la primera caliente aceptada desde HAND_hot
+        if (handHot != NONE) {
+            int n = handHot;
+            do {
+                if ((state[n] & HOT) != 0 && allowed.test(pool.key[n]))
+                    return pool.key[n];
+                n = pool.next[n];
+            } while (n != handHot);
+        }
+        return -1;
+    }
+
+    @Override
+    public void loaded(long key) {
+        int n = pool.find(key);
+        if (n != NONE) {
+            if ((state[n] & RESIDENT) != 0)
+                return;
+            // Usada durante su prueba después de desalojada: vuelve caliente
+            coldTarget = Math.min(capacity - 1, coldTarget + 1);
+            remove(n);
+            nonResidentCount--;
+            state[n] = RESIDENT | HOT;
+            hotCount++;
+            insertAtHead(n);
+            balanceHot();
+            return;
+        }
+        n = pool.alloc(key);
+        if (n >= state.length) {
+            // El pool creció (más páginas presentes que marcos)
+            state = Arrays.copyOf(state, pool.capacity());
+            coldPrev = Arrays.copyOf(coldPrev, pool.capacity());
+            coldNext = Arrays.copyOf(coldNext, pool.capacity());
+        }
+        state[n] = RESIDENT | TEST;
+        coldCount++;
+        insertAtHead(n);
+        coldInsert(n);
+    }
+
+    @Override
+    public void removed(long key) {
+        int n = pool.find(key);
+        if (n == NONE || (state[n] & RESIDENT) == 0)
+            return;
+        int s = state[n];
+        if ((s & HOT) != 0) {
+            hotCount--;
+            remove(n);
+            pool.release(n);
+            return;
+        }
+        coldRemove(n);
+        coldCount--;
+        if ((s & TEST) != 0) {
+            // Queda como fantasma hasta que termine su prueba
+            state[n] = TEST;
+            nonResidentCount++;
+            while (nonResidentCount > capacity)
+                runHandTest();
+        } else {
+            remove(n);
+            pool.release(n);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "CLOCK-Pro";
+    }
+
+    /** HAND_hot hasta que las calientes no superen c - m_c. */
+    private void balanceHot() {
+        while (hotCount > capacity - coldTarget)
+            runHandHot();
+    }
+
+    /** Un paso de HAND_hot. */
+    private void runHandHot() {
+        int n = handHot;
+        int s = state[n];
+        if ((s & HOT) != 0) {
+            if ((s & REF) != 0) {
+                state[n] = (byte) (s & ~REF);
+            } else {
+                state[n] = RESIDENT;
+                hotCount--;
+                coldCount++;
+                coldInsert(n);
+            }
+        } else if ((s & TEST) != 0) {
+            coldTarget = Math.max(1, coldTarget - 1);
+            if ((s & RESIDENT) == 0) {
+                remove(n);
+                pool.release(n);
+                nonResidentCount--;
+                return;
+            }
+            state[n] = (byte) (s & ~TEST);
+        }
+        handHot = pool.next[n];
+    }
+
+    /** Un paso de HAND_test. */
+    private void runHandTest() {
+        int n = handTest;
+        int s = state[n];
+        if ((s & HOT) == 0 && (s & TEST) != 0) {
+            coldTarget = Math.max(1, coldTarget - 1);
+            if ((s & RESIDENT) == 0) {
+                remove(n);
+                pool.release(n);
+                nonResidentCount--;
+                return;
+            }
+            state[n] = (byte) (s & ~TEST);
+        }
+        handTest = pool.next[n];
+    }
+
+    // ===== Reloj circular =====
+
+    /** Inserta el nodo justo detrás de HAND_hot (cabeza del reloj). */
+    private void insertAtHead(int n) {
+        int[] prev = pool.prev;
+        int[] next = pool.next;
+        if (handHot == NONE) {
+            prev[n] = n;
+            next[n] = n;
+            handHot = n;
+            handTest = n;
+            return;
+        }
+        int p = prev[handHot];
+        next[p] = n;
+        prev[n] = p;
+        next[n] = handHot;
+        prev[handHot] = n;
+    }
+
+    /** Saca el nodo del reloj; las manecillas que lo apuntan avanzan. */
+    private void remove(int n) {
+        int[] prev = pool.prev;
+        int[] next = pool.next;
+        int x = next[n];
+        if (x == n) {
+            handHot = NONE;
+            handTest = NONE;
+            return;
+        }
+        if (handHot == n)
+            handHot = x;
+        if (handTest == n)
+            handTest = x;
+        int p = prev[n];
+        next[p] = x;
+        prev[x] = p;
+    }
+
+    private void moveToHead(int n) {
+        remove(n);
+        insertAtHead(n);
+    }
+
+    // ===== Anillo de frías residentes (HAND_cold) =====
+
+    /** Enlaza la página justo detrás de HAND_cold. */
+    private void coldInsert(int n) {
+        if (handCold == NONE) {
+            coldPrev[n] = n;
+            coldNext[n] = n;
+            handCold = n;
+            return;
+        }
+        int p = coldPrev[handCold];
+        coldNext[p] = n;
+        coldPrev[n] = p;
+        coldNext[n] = handCold;
+        coldPrev[handCold] = n;
+    }
+
+    private void coldRemove(int n) {
+        int x = coldNext[n];
+        if (x == n) {
+            handCold = NONE;
+            return;
+        }
+        if (handCold == n)
+            handCold = x;
+        int p = coldPrev[n];
+        coldNext[p] = x;
+        coldPrev[x] = p;
+    }
+}
@@ -0,0 +1,271 @@
+package co.edu.uptc.model.replacement;
+
+/**
+ * Clase ClockProSimulator
+ * ------------------------------------------
+ * CLOCK-Pro (Jiang, Chen y Zhang): aproxima LIRS con solo un bit de
+ * referencia por página, como el que ofrece PageTableEntry.
+ *
+ * Estados de cada página en un único reloj circular:
+ * - caliente (hot): residente, con distancia de reuso corta.
+ * - fría residente (cold): candidata al desalojo.
+ * - fría en prueba (test): recién cargada o desalojada hace poco; si se
+ * vuelve a usar antes de que termine su prueba pasa a caliente. Las frías
+ * desalojadas en prueba quedan en el reloj como no residentes (fantasmas).
+ *
+ * Tres manecillas recorren el reloj:
+ * - HAND_cold desaloja la primera fría residente sin referencia (a las
+ * referenciadas en prueba las hace calientes; a las demás les da otra
+ * prueba).
+ * - HAND_hot convierte en fría la primera caliente sin referencia cuando
+ * hay más calientes que c - m_c, y termina las pruebas que encuentra.
+ * - HAND_test termina pruebas y retira fantasmas cuando hay más de c.
+ *
+ * m_c (objetivo de frías residentes) se adapta en [1, c-1]: sube cuando se
+ * usa una página durante su prueba después de desalojada y baja cuando
+ * una prueba termina sin uso. Las páginas nuevas entran en la cabeza del
+ * reloj (justo detrás de HAND_hot).
+ *
+ * El reloj usa los enlaces prev/next del NodePool como lista circular; el
+ * estado va en un byte por nodo. Un acierto solo enciende el bit.
+ *
+ * Con m_c pequeño casi todo el reloj son calientes y fantasmas, y HAND_cold
+ * recorrería el reloj entero en cada fallo. Por eso HAND_cold gira sobre un
+ * segundo anillo que solo enlaza las frías residentes: una página que se
+ * vuelve fría (nueva o degradada) entra justo detrás de HAND_cold, así que
+ * espera una vuelta completa antes de ser candidata, como en el reloj. Cada
+ * desalojo cuesta O(1) amortizado.
+ */
+public class ClockProSimulator extends CountingSimulator {
+
+    private static final int NONE = NodePool.NONE;
+
+    private static final byte RESIDENT = 1;
+    private static final byte HOT = 2;
+    private static final byte TEST = 4;
+    private static final byte REF = 8;
+
+    private final NodePool pool;
+    private final byte[] state;
+    private final int[] coldPrev;
+    private final int[] coldNext;
+
+    private int handHot = NONE;
+    private int handCold = NONE;
+    private int handTest = NONE;
+
+    private int hotCount;
+    private int coldCount;
+    private int nonResidentCount;
+    /** m_c: objetivo de páginas frías residentes. */
+    private int coldTarget;
+
+    /** @param capacity páginas residentes (>= 2) */
+    public ClockProSimulator(int capacity) {
+        super("CLOCK-Pro", capacity);
+        if (capacity < 2)
+            throw new IllegalArgumentException("CLOCK-Pro necesita al menos 2 páginas.");
+        this.pool = new NodePool(2 * capacity + 2, 1);
+        this.state = new byte[2 * capacity + 2];
+        this.coldPrev = new int[2 * capacity + 2];
+        this.coldNext = new int[2 * capacity + 2];
+        this.coldTarget = Math.max(1, capacity / 10);
+    }
+
+    /** @return objetivo actual de páginas frías residentes (m_c) */
+    public int coldTarget() {
+        return coldTarget;
+    }
+
+    @Override
+    protected boolean lookup(long key) {
+        int n = pool.find(key);
+        if (n != NONE && (state[n] & RESIDENT) != 0) {
+            state[n] |= REF;
+            return true;
+        }
+        if (hotCount + coldCount >= capacity)
+            evictCold();
+
+        // El desalojo puede haber retirado el fantasma: se busca de nuevo
+        n = pool.find(key);
+        if (n != NONE) {
+            // Usada durante su prueba después de desalojada: vuelve caliente
+            coldTarget = Math.min(capacity - 1, coldTarget + 1);
+            remove(n);
+            nonResidentCount--;
+            state[n] = RESIDENT | HOT;
+            hotCount++;
+            insertAtHead(n);
+            balanceHot();
+        } else {
+            n = pool.alloc(key);
+            state[n] = RESIDENT | TEST;
+            coldCount++;
+            insertAtHead(n);
+            coldInsert(n);
+        }
+        return false;
+    }
+
+    /** HAND_cold: avanza por el anillo de frías hasta desalojar una. */
+    private void evictCold() {
+        while (true) {
+            int n = handCold;
+            int s = state[n];
+            if ((s & REF) != 0) {
+                if ((s & TEST) != 0) {
+                    // Reusada durante la prueba: distancia de reuso corta
+                    coldRemove(n);
+                    state[n] = RESIDENT | HOT;
+                    coldCount--;
+                    hotCount++;
+                    moveToHead(n);
+                    balanceHot();
+                } else {
+                    // Nueva prueba; queda detrás de la manecilla
+                    state[n] = RESIDENT | TEST;
+                    handCold = coldNext[n];
+                    moveToHead(n);
+                }
+                continue;
+            }
+            coldRemove(n);
+            coldCount--;
+            if ((s & TEST) != 0) {
+                // Queda como fantasma hasta que termine su prueba
+                state[n] = TEST;
+                nonResidentCount++;
+                while (nonResidentCount > capacity)
+                    runHandTest();
+            } else {
+                remove(n);
+                pool.release(n);
+            }
+            return;
+        }
+    }
+
+    /** HAND_hot hasta que las calientes no superen c - m_c. */
+    private void balanceHot() {
+        while (hotCount > capacity - coldTarget)
+            runHandHot();
+    }
+
+    /** Un paso de HAND_hot. */
+    private void runHandHot() {
+        int n = handHot;
+        int s = state[n];
+        if ((s & HOT) != 0) {
+            if ((s & REF) != 0) {
+                state[n] = (byte) (s & ~REF);
+            } else {
+                state[n] = RESIDENT;
+                hotCount--;
+                coldCount++;
+                coldInsert(n);
+            }
+        } else if ((s & TEST) != 0) {
+            coldTarget = Math.max(1, coldTarget - 1);
+            if ((s & RESIDENT) == 0) {
+                remove(n);
+                pool.release(n);
+                nonResidentCount--;
+                return;
+            }
+            state[n] = (byte) (s & ~TEST);
+        }
+        handHot = pool.next[n];
+    }
+
+    /** Un paso de HAND_test. */
+    private void runHandTest() {
+        int n = handTest;
+        int s = state[n];
+        if ((s & HOT) == 0 && (s & TEST) != 0) {
+            coldTarget = Math.max(1, coldTarget - 1);
+            if ((s & RESIDENT) == 0) {
+                remove(n);
+                pool.release(n);
+                nonResidentCount--;
+                return;
+            }
+            state[n] = (byte) (s & ~TEST);
+        }
+        handTest = pool.next[n];
+    }
+
+    // ===== Reloj circular =====
+
+    /** Inserta el nodo justo detrás de HAND_hot (cabeza del reloj). */
+    private void insertAtHead(int n) {
+        int[] prev = pool.prev;
+        int[] next = pool.next;
+        if (handHot == NONE) {
+            prev[n] = n;
+            next[n] = n;
+            handHot = n;
+            handTest = n;
+            return;
+        }
+        int p = prev[handHot];
+        next[p] = n;
+        prev[n] = p;
+        next[n] = handHot;
+        prev[handHot] = n;
+    }
+
+    /** Saca el nodo del reloj; las manecillas que lo apuntan avanzan. */
+    private void remove(int n) {
+        int[] prev = pool.prev;
+        int[] next = pool.next;
+        int x = next[n];
+        if (x == n) {
+            handHot = NONE;
+            handTest = NONE;
+            return;
+        }
+        if (handHot == n)
+            handHot = x;
+        if (handTest == n)
+            handTest = x;
+        int p = prev[n];
+        next[p] = x;
+        prev[x] = p;
+    }
+
+    private void moveToHead(int n) {
+        remove(n);
+        insertAtHead(n);
+    }
+
+    // ===== Anillo de frías residentes (HAND_cold) =====
+
+    /** Enlaza la página justo detrás de HAND_cold. */
+    private void coldInsert(int n) {
+        if (handCold == NONE) {
+            coldPrev[n] = n;
+            coldNext[n] = n;
+            handCold = n;
+            return;
+        }
+        int p = coldPrev[handCold];
+        coldNext[p] = n;
+        coldPrev[n] = p;
+        coldNext[n] = handCold;
+        coldPrev[handCold] = n;
+    }
+
+    private void coldRemove(int n) {
+        int x = coldNext[n];
+        if (x == n) {
+            handCold = NONE;
+            return;
+        }
+        if (handCold == n)
+            handCold = x;
+        int p = coldPrev[n];
+        coldNext[p] = x;
+        coldPrev[x] = p;
+    }
+}
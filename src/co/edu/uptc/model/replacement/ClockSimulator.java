@@ -0,0 +1,62 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.Arrays;
+
+/**
+ * Clase ClockSimulator
+ * ------------------------------------------
+ * CLOCK (segunda oportunidad): los marcos forman un círculo con un bit de
+ * referencia cada uno, como el bit 'referenced' de PageTableEntry. Un
+ * acierto solo enciende el bit; ante un fallo la manecilla avanza apagando
+ * bits hasta encontrar uno apagado, y ese marco recibe la página.
+ */
+public class ClockSimulator extends CountingSimulator {
+
+    private final NodePool pool;
+    /** Clave en cada marco (o -1 si está vacío). */
+    private final long[] frames;
+    private final boolean[] referenced;
+    /** Marco de cada nodo y nodo de cada marco (el nodo solo sirve de entrada al índice). */
+    private final int[] frameOf;
+    private final int[] nodeOf;
+    private int hand;
+    private int used;
+
+    /** @param capacity páginas residentes (> 0) */
+    public ClockSimulator(int capacity) {
+        super("CLOCK", capacity);
+        this.pool = new NodePool(capacity, 1);
+        this.frames = new long[capacity];
+        Arrays.fill(frames, -1L);
+        this.referenced = new boolean[capacity];
+        this.frameOf = new int[capacity];
+        this.nodeOf = new int[capacity];
+    }
+
+    @Override
+    protected boolean lookup(long key) {
+        int n = pool.find(key);
+        if (n != NodePool.NONE) {
+            referenced[frameOf[n]] = true;
+            return true;
+        }
+        int f;
+        if (used < capacity) {
+            f = used++;
+        } else {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % capacity;
+            }
+            f = hand;
+            hand = (hand + 1) % capacity;
+            pool.release(nodeOf[f]);
+        }
+        frames[f] = key;
+        referenced[f] = false;
+        n = pool.alloc(key);
+        frameOf[n] = f;
+        nodeOf[f] = n;
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.uptc.model.replacement;
+
+/**
+ * Clase CountingSimulator
+ * ------------------------------------------
+ * Base de las políticas: valida la capacidad y lleva los contadores de
+ * referencias y fallos. Las subclases implementan lookup(...), que
+ * atiende la referencia y dice si fue acierto.
+ */
+abstract class CountingSimulator implements ReplacementSimulator {
+
+    private final String name;
+    protected final int capacity;
+    private long references;
+    private long faults;
+
+    protected CountingSimulator(String name, int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("La capacidad debe ser > 0.");
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    /** Atiende la referencia; con un fallo, carga la página (desalojando si hace falta). */
+    protected abstract boolean lookup(long key);
+
+    @Override
+    public final boolean access(long key) {
+        references++;
+        boolean hit = lookup(key);
+        if (!hit)
+            faults++;
+        return hit;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long references() {
+        return references;
+    }
+
+    @Override
+    public long faults() {
+        return faults;
+    }
+}
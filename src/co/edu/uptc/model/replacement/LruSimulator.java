@@ -0,0 +1,33 @@
+package co.edu.uptc.model.replacement;
+
+/**
+ * Clase LruSimulator
+ * ------------------------------------------
+ * LRU exacto: una lista en orden de recencia; cada acierto lleva la página
+ * al frente y el fallo con la memoria llena desaloja el final.
+ */
+public class LruSimulator extends CountingSimulator {
+
+    private static final int LIST = 0;
+
+    private final NodePool pool;
+
+    /** @param capacity páginas residentes (> 0) */
+    public LruSimulator(int capacity) {
+        super("LRU", capacity);
+        this.pool = new NodePool(capacity, 1);
+    }
+
+    @Override
+    protected boolean lookup(long key) {
+        int n = pool.find(key);
+        if (n != NodePool.NONE) {
+            pool.moveToFront(LIST, n);
+            return true;
+        }
+        if (pool.size[LIST] == capacity)
+            pool.release(pool.tail[LIST]);
+        pool.pushFront(LIST, pool.alloc(key));
+        return false;
+    }
+}
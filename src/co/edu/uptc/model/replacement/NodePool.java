@@ -0,0 +1,205 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.Arrays;
+
+/**
+ * Clase NodePool
+ * ------------------------------------------
+ * Nodos de listas doblemente enlazadas intrusivas sobre arreglos
+ * primitivos, más un índice de clave a nodo. Es la base de las políticas
+ * de reemplazo: cada página (residente o fantasma) es un nodo, y moverla de
+ * una lista a otra, sacarla o desalojar el final de una lista es O(1) sin
+ * crear objetos.
+ *
+ * - Nodos: key[n], prev[n], next[n] y list[n] (lista a la que pertenece,
+ * NONE si a ninguna). Los nodos libres forman una pila por next[].
+ * - Listas: head/tail/size por número de lista (0..lists-1). El frente es lo
+ * más reciente; el final, lo más antiguo.
+ * - Índice: tabla hash de direccionamiento abierto de clave a nodo, con
+ * borrado por corrimiento hacia atrás (sin lápidas).
+ *
+ * La política dimensiona la capacidad (nodos que pueden existir a la vez)
+ * con sus residentes más sus fantasmas. Si se agota, se duplica: en
+ * SimulationEngine puede haber más páginas presentes que marcos (fork con
+ * copy-on-write, segmentos compartidos, páginas mezcladas).
+ */
+final class NodePool {
+
+    static final int NONE = -1;
+    private static final long EMPTY = -1L;
+
+    long[] key;
+    int[] prev;
+    int[] next;
+    byte[] list;
+
+    final int[] head;
+    final int[] tail;
+    final int[] size;
+
+    private int free;
+
+    // --- Índice clave -> nodo ---
+    private long[] slotKey;
+    private int[] slotNode;
+    private int mask;
+
+    /**
+     * @param capacity nodos simultáneos (> 0)
+     * @param lists    cantidad de listas
+     */
+    NodePool(int capacity, int lists) {
+        key = new long[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        list = new byte[capacity];
+        Arrays.fill(list, (byte) NONE);
+        for (int n = 0; n < capacity; n++)
+            next[n] = n + 1 < capacity ? n + 1 : NONE;
+        free = 0;
+
+        head = new int[lists];
+        tail = new int[lists];
+        size = new int[lists];
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+
+        index(capacity);
+    }
+
+    /** @return nodos que caben sin crecer */
+    int capacity() {
+        return key.length;
+    }
+
+    /** Crea un índice vacío para 'capacity' nodos. */
+    private void index(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(4, capacity * 2) - 1) << 1;
+        slotKey = new long[slots];
+        slotNode = new int[slots];
+        Arrays.fill(slotKey, EMPTY);
+        mask = slots - 1;
+    }
+
+    /** Duplica la capacidad: los nodos nuevos quedan libres y el índice se rehace. */
+    private void grow() {
+        int old = key.length;
+        int cap = old * 2;
+        key = Arrays.copyOf(key, cap);
+        prev = Arrays.copyOf(prev, cap);
+        next = Arrays.copyOf(next, cap);
+        list = Arrays.copyOf(list, cap);
+        Arrays.fill(list, old, cap, (byte) NONE);
+        for (int n = old; n < cap; n++)
+            next[n] = n + 1 < cap ? n + 1 : NONE;
+        free = old;
+
+        long[] oldKeys = slotKey;
+        int[] oldNodes = slotNode;
+        index(cap);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY)
+                continue;
+            int j = slotOf(oldKeys[i]);
+            slotKey[j] = oldKeys[i];
+            slotNode[j] = oldNodes[i];
+        }
+    }
+
+    // ===== Índice =====
+
+    private int home(long k) {
+        long h = k * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int slotOf(long k) {
+        int i = home(k);
+        while (slotKey[i] != EMPTY && slotKey[i] != k)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    /** @return nodo de la clave, o NONE */
+    int find(long k) {
+        int i = slotOf(k);
+        return (slotKey[i] == k) ? slotNode[i] : NONE;
+    }
+
+    /** Toma un nodo libre para la clave (creciendo si no quedan) y lo indexa (sin lista). */
+    int alloc(long k) {
+        if (free == NONE)
+            grow();
+        int n = free;
+        free = next[n];
+        key[n] = k;
+        prev[n] = NONE;
+        next[n] = NONE;
+        int i = slotOf(k);
+        slotKey[i] = k;
+        slotNode[i] = n;
+        return n;
+    }
+
+    /** Saca el nodo de su lista y del índice, y lo devuelve a los libres. */
+    void release(int n) {
+        if (list[n] != NONE)
+            unlink(n);
+        int i = slotOf(key[n]);
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (slotKey[j] == EMPTY)
+                break;
+            int k = home(slotKey[j]);
+            boolean between = (i <= j) ? (i < k && k <= j) : (i < k || k <= j);
+            if (between)
+                continue;
+            slotKey[i] = slotKey[j];
+            slotNode[i] = slotNode[j];
+            i = j;
+        }
+        slotKey[i] = EMPTY;
+        next[n] = free;
+        free = n;
+    }
+
+    // ===== Listas =====
+
+    /** Pone el nodo (fuera de toda lista) al frente de la lista l. */
+    void pushFront(int l, int n) {
+        list[n] = (byte) l;
+        prev[n] = NONE;
+        next[n] = head[l];
+        if (head[l] != NONE)
+            prev[head[l]] = n;
+        else
+            tail[l] = n;
+        head[l] = n;
+        size[l]++;
+    }
+
+    /** Saca el nodo de su lista. */
+    void unlink(int n) {
+        int l = list[n];
+        int p = prev[n];
+        int x = next[n];
+        if (p != NONE)
+            next[p] = x;
+        else
+            head[l] = x;
+        if (x != NONE)
+            prev[x] = p;
+        else
+            tail[l] = p;
+        size[l]--;
+        list[n] = (byte) NONE;
+    }
+
+    /** Mueve el nodo al frente de la lista l (desde la lista en que esté). */
+    void moveToFront(int l, int n) {
+        if (list[n] != NONE)
+            unlink(n);
+        pushFront(l, n);
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.Locale;
+import java.util.function.LongPredicate;
+
+/**
+ * Interfaz ReplacementPolicy
+ * --------------------------------
+ * Política de reemplazo que SimulationEngine consulta al atender un fallo
+ * sin marcos libres (SimulationEngine.setReplacementPolicy(...)).
+ *
+ * A diferencia de ReplacementSimulator, que sobre una traza decide también
+ * qué páginas están residentes, aquí la residencia la decide el motor: la
+ * política recibe los eventos de cada página (clave pid << 32 | página) y
+ * solo ordena las residentes para proponer la víctima.
+ *
+ * Eventos, en el orden en que los emite el motor:
+ * - hit(key): referencia a una página residente.
+ * - miss(key): fallo sobre una página no residente, antes de buscar víctimas.
+ * - victim(allowed): la residente que la política desalojaría entre las que
+ * acepta 'allowed' (el motor la desaloja y avisa con removed(...)).
+ * - loaded(key): la página quedó residente (fallo, admisión o prefetch).
+ * - removed(key): la página dejó de ser residente (desalojo, suspensión o
+ * fin del proceso).
+ *
+ * Una página residente que la política no conoce (cargada sin evento, por
+ * ejemplo en un fork) se registra en su primer hit(...). Ninguna
+ * implementación crea objetos por evento.
+ */
+public interface ReplacementPolicy {
+
+    /** Referencia a una página residente. */
+    void hit(long key);
+
+    /** Fallo sobre una página no residente (antes de elegir víctimas). */
+    void miss(long key);
+
+    /** La página quedó residente. */
+    void loaded(long key);
+
+    /** La página dejó de ser residente (si la política no la conoce, no hace nada). */
+    void removed(long key);
+
+    /**
+     * Elige la víctima sin sacarla: el motor la desaloja y avisa con
+     * removed(...).
+     *
+     * @param allowed filtro de candidatas (grupo, página que falló, ...)
+     * @return clave de una página residente aceptada por 'allowed', o -1 si
+     *         no conoce ninguna
+     */
+    long victim(LongPredicate allowed);
+
+    /** @return nombre corto de la política (para reportes) */
+    String name();
+
+    /** @return clave de la página (pid << 32 | página) */
+    static long key(int pid, int page) {
+        return ((long) pid << 32) | (page & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Crea una política por nombre.
+     *
+     * @param name     arc | 2q | clockpro
+     * @param capacity marcos de la memoria física (>= 2)
+     * @return política nueva
+     */
+    static ReplacementPolicy create(String name, int capacity) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "arc":
+                return new ArcPolicy(capacity);
+            case "2q":
+                return new TwoQueuePolicy(capacity);
+            case "clockpro":
+                return new ClockProPolicy(capacity);
+            default:
+                throw new IllegalArgumentException("Política de reemplazo desconocida: " + name
+                        + " (arc | 2q | clockpro).");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package co.edu.uptc.model.replacement;
+
+import co.edu.uptc.model.ReferenceListener;
+
+/**
+ * Interfaz ReplacementSimulator
+ * --------------------------------
+ * Política de reemplazo simulada sobre un flujo de referencias, con una
+ * memoria de capacidad fija (en páginas) y paginación por demanda: cada
+ * referencia a una página no residente es un fallo y, con la memoria llena,
+ * desaloja una víctima elegida por la política.
+ *
+ * Se alimenta con claves de página (pid << 32 | página) directamente o
+ * como ReferenceListener (desde SimulationEngine o una PageTrace).
+ * Ninguna implementación crea objetos por referencia.
+ *
+ * Solo comparan políticas fuera de línea (ReplacementPolicyBench): las
+ * víctimas reales del motor las elige una ReplacementPolicy.
+ */
+public interface ReplacementSimulator extends ReferenceListener {
+
+    /**
+     * Registra una referencia.
+     *
+     * @param key clave de la página (>= 0)
+     * @return true si fue un acierto
+     */
+    boolean access(long key);
+
+    @Override
+    default void reference(int pid, int page) {
+        access(((long) pid << 32) | (page & 0xFFFFFFFFL));
+    }
+
+    /** @return nombre corto de la política (para reportes) */
+    String name();
+
+    /** @return capacidad en páginas residentes */
+    int capacity();
+
+    /** @return referencias registradas */
+    long references();
+
+    /** @return fallos de página */
+    long faults();
+
+    /** @return fallos / referencias */
+    default double faultRate() {
+        return references() == 0 ? 0 : (double) faults() / references();
+    }
+}
@@ -0,0 +1,97 @@
+package co.edu.uptc.model.replacement;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Clase TwoQueuePolicy
+ * ------------------------------------------
+ * 2Q (versión completa) para SimulationEngine: las mismas colas que
+ * TwoQueueSimulator, pero la residencia la decide el motor.
+ *
+ * - A1in: FIFO de residentes vistas una vez (objetivo kin = c/4).
+ * - A1out: FIFO de fantasmas de las que salieron de A1in (hasta kout = c/2).
+ * - Am: LRU de residentes que volvieron mientras estaban en A1out.
+ *
+ * victim(...) propone la más antigua de A1in si A1in supera kin (o Am está
+ * vacía) y si no la menos reciente de Am, saltando las que el motor no
+ * acepta. Una página de A1in que sale pasa a A1out; una de Am se olvida.
+ */
+public class TwoQueuePolicy implements ReplacementPolicy {
+
+    private static final int A1IN = 0;
+    private static final int A1OUT = 1;
+    private static final int AM = 2;
+
+    private final NodePool pool;
+    private final int kin;
+    private final int kout;
+
+    /** @param capacity marcos de la memoria física (> 0), con kin = c/4 y kout = c/2 */
+    public TwoQueuePolicy(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("La capacidad debe ser > 0.");
+        this.kin = Math.max(1, capacity / 4);
+        this.kout = Math.max(1, capacity / 2);
+        this.pool = new NodePool(capacity + kout + 1, 3);
+    }
+
+    @Override
+    public void hit(long key) {
+        int n = pool.find(key);
+        int l = (n == NodePool.NONE) ? NodePool.NONE : pool.list[n];
+        if (l == AM)
+            pool.moveToFront(AM, n);
+        else if (l != A1IN)
+            loaded(key);
+    }
+
+    @Override
+    public void miss(long key) {
+        // loaded(...) decide la cola según si la página está en A1out
+    }
+
+    @Override
+    public long victim(LongPredicate allowed) {
+        int[] size = pool.size;
+        boolean fromA1 = size[A1IN] > kin || size[AM] == 0;
+        long k = scan(fromA1 ? A1IN : AM, allowed);
+        return (k >= 0) ? k : scan(fromA1 ? AM : A1IN, allowed);
+    }
+
+    @Override
+    public void loaded(long key) {
+        int n = pool.find(key);
+        if (n == NodePool.NONE)
+            pool.pushFront(A1IN, pool.alloc(key));
+        else if (pool.list[n] == A1OUT)
+            pool.moveToFront(AM, n);
+    }
+
+    @Override
+    public void removed(long key) {
+        int n = pool.find(key);
+        if (n == NodePool.NONE)
+            return;
+        int l = pool.list[n];
+        if (l == A1IN) {
+            pool.moveToFront(A1OUT, n);
+            if (pool.size[A1OUT] > kout)
+                pool.release(pool.tail[A1OUT]);
+        } else if (l == AM) {
+            pool.release(n);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "2Q";
+    }
+
+    /** Primera página aceptada desde el final (lo más antiguo) de la lista l, o -1. */
+    private long scan(int l, LongPredicate allowed) {
+        for (int n = pool.tail[l]; n != NodePool.NONE; n = pool.prev[n])
+            if (allowed.test(pool.key[n]))
+                return pool.key[n];
+        return -1;
+    }
+}
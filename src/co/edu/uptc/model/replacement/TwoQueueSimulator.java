@@ -0,0 +1,82 @@
+package co.edu.uptc.model.replacement;
+
+/**
+ * Clase TwoQueueSimulator
+ * ------------------------------------------
+ * 2Q (Johnson y Shasha, versión completa).
+ *
+ * - A1in: FIFO de páginas residentes vistas una vez (hasta kin páginas).
+ * - A1out: FIFO de fantasmas de las páginas que salieron de A1in (hasta
+ * kout claves).
+ * - Am: LRU de páginas residentes vistas de nuevo mientras estaban en A1out.
+ *
+ * Una página nueva entra a A1in; solo si vuelve a usarse después de salir
+ * (estando en A1out) pasa a Am. Un recorrido secuencial circula por A1in y
+ * A1out sin tocar Am. Los tamaños recomendados son kin = c/4 y kout = c/2.
+ */
+public class TwoQueueSimulator extends CountingSimulator {
+
+    private static final int A1IN = 0;
+    private static final int A1OUT = 1;
+    private static final int AM = 2;
+
+    private final NodePool pool;
+    private final int kin;
+    private final int kout;
+
+    /** @param capacity páginas residentes (> 0), con kin = c/4 y kout = c/2 */
+    public TwoQueueSimulator(int capacity) {
+        this(capacity, Math.max(1, capacity / 4), Math.max(1, capacity / 2));
+    }
+
+    /**
+     * @param capacity páginas residentes (> 0)
+     * @param kin      tamaño máximo de A1in (> 0)
+     * @param kout     fantasmas máximos en A1out (> 0)
+     */
+    public TwoQueueSimulator(int capacity, int kin, int kout) {
+        super("2Q", capacity);
+        if (kin <= 0 || kout <= 0)
+            throw new IllegalArgumentException("Los tamaños de A1in y A1out deben ser > 0.");
+        this.kin = kin;
+        this.kout = kout;
+        this.pool = new NodePool(capacity + kout + 1, 3);
+    }
+
+    @Override
+    protected boolean lookup(long key) {
+        int n = pool.find(key);
+        int l = (n == NodePool.NONE) ? NodePool.NONE : pool.list[n];
+        if (l == AM) {
+            pool.moveToFront(AM, n);
+            return true;
+        }
+        if (l == A1IN)
+            return true;
+
+        // El fantasma sale de A1out antes de liberar espacio, para que no se descarte
+        if (l == A1OUT)
+            pool.unlink(n);
+        reclaim();
+        if (l == A1OUT)
+            pool.pushFront(AM, n);
+        else
+            pool.pushFront(A1IN, pool.alloc(key));
+        return false;
+    }
+
+    /** Deja un marco libre si la memoria está llena. */
+    private void reclaim() {
+        int[] size = pool.size;
+        if (size[A1IN] + size[AM] < capacity)
+            return;
+        if (size[A1IN] > kin || size[AM] == 0) {
+            // La más antigua de A1in pasa a fantasma
+            pool.moveToFront(A1OUT, pool.tail[A1IN]);
+            if (size[A1OUT] > kout)
+                pool.release(pool.tail[A1OUT]);
+        } else {
+            pool.release(pool.tail[AM]);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package co.edu.uptc.presenter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import co.edu.uptc.io.Scenario;
+import co.edu.uptc.io.TickStatsWriter;
+import co.edu.uptc.model.*;
+import co.edu.uptc.model.replacement.ReplacementPolicy;
+
+/**
+ * Clase BatchRunner
+ * ------------------------------------------------------------
+ * Punto de entrada por línea de comandos, sin interfaz gráfica.
+ *
+ * Lee un escenario (Scenario), arma la memoria, el gestor, el swap y el
+ * SimulationEngine, ejecuta hasta que terminen los procesos (o hasta
+ * duration.maxTicks) e imprime un resumen. Puede continuar desde un
+ * checkpoint y guardar otro a mitad de la corrida (checkpoint.*).
+ *
+ * No referencia ninguna clase de Swing/AWT (ni MemoryPresenter), así que
+ * arranca rápido y funciona en máquinas sin pantalla.
+ *
+ * Uso: java co.edu.uptc.presenter.BatchRunner escenario.properties
+ * Código de salida: 0 si terminó, 2 si el escenario es inválido, 1 ante
+ * errores de E/S y 3 si la simulación falla durante la corrida.
+ */
+public class BatchRunner {
+
+    /** Máximo de páginas en la cola de escritura diferida del swap. */
+    private static final int SWAP_QUEUE = 64;
+
+    private final Scenario sc;
+    private final PhysicalMemory pm;
+    private final MemoryManager mm;
+    private final TieredMemoryManager tiered;
+    private final GroupedMemoryManager grouped;
+    private final MediumTermScheduler mediumTerm;
+    private final SimulationEngine engine;
+    private final boolean restored;
+    private SwapDevice device;
+    private Path swapFile;
+
+    /**
+     * Constructor de BatchRunner: arma el modelo a partir del escenario.
+     *
+     * Si algo falla después de crear el archivo de swap, se cierra y se
+     * borra antes de propagar la excepción.
+     *
+     * @param sc escenario validado
+     * @throws IOException si no se puede crear el archivo de swap
+     */
+    public BatchRunner(Scenario sc) throws IOException {
+        this.sc = sc;
+        Checkpoint cp = (sc.checkpointRestore != null) ? Checkpoint.open(Path.of(sc.checkpointRestore)) : null;
+        if (cp != null && (cp.pageSize() != sc.pageSize || cp.frames() != sc.frames
+                || cp.ticksPerPage() != sc.ticksPerPage || cp.cores() != sc.cores))
+            throw new IllegalArgumentException("checkpoint.restore: la memoria, ticksPerPage o cpu.cores no coinciden.");
+        this.restored = cp != null;
+        this.pm = restored ? cp.physicalMemory() : new PhysicalMemory(sc.pageSize, sc.frames);
+        this.tiered = sc.tiers.isEmpty() ? null : createTiers(createManager());
+        MemoryManager base = (tiered != null) ? tiered : createManager();
+        this.grouped = sc.groups.isEmpty() ? null : createGroups(base);
+        this.mm = (grouped != null) ? grouped : base;
+
+        SwapManager swap = null;
+        if (sc.swapSlots > 0) {
+            swapFile = Files.createTempFile("simulador-swap", ".bin");
+            try {
+                device = new SwapDevice(swapFile, sc.pageSize, sc.swapSlots, SWAP_QUEUE);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(swapFile);
+                throw ex;
+            }
+        }
+        try {
+            if (device != null)
+                swap = new SwapManager(mm, device, FrameContents.NONE);
+
+            engine = new SimulationEngine(pm, mm, swap, sc.ticksPerPage);
+            engine.setCores(sc.cores);
+            engine.setParallelThreads(sc.threads);
+            if (sc.accessesPerTick > 0) {
+                engine.setWorkload(new LocalityWorkload(sc.pageSize, sc.localityPages, sc.phaseLength,
+                        sc.localityProbability, sc.workloadSeed), sc.accessesPerTick);
+            }
+            if (tiered != null && sc.tierMigratePagesPerTick > 0) {
+                engine.setTierMigrator(new TierMigrator(tiered, sc.tierSampleFramesPerTick,
+                        sc.tierMigratePagesPerTick, sc.tierHotSamples, sc.tierColdSamples));
+            }
+            engine.setMemoryGroups(grouped);
+            engine.setAdmissionPolicy(sc.admissionPolicy);
+            engine.setFaultPenaltyTicks(sc.faultPenaltyTicks);
+            if (sc.ioProbability > 0)
+                engine.setIoBlocking(sc.ioProbability, sc.ioTicks, sc.ioSeed);
+            if (sc.workingSetAdmission) {
+                WorkingSetTracker tracker = new WorkingSetTracker(sc.workingSetWindow);
+                engine.setWorkingSetAdmission(tracker, sc.workingSetInitial);
+                if (sc.mediumTerm) {
+                    mediumTerm = new MediumTermScheduler(sc.workingSetWindow, sc.mediumTermLower, sc.mediumTermUpper);
+                    engine.setMediumTermScheduler(mediumTerm);
+                } else {
+                    mediumTerm = null;
+                }
+                if (sc.prefetchDegree > 0) {
+                    engine.setPrefetcher(new PagePrefetcher(mm, swap, pm, sc.prefetchDegree, sc.prefetchConfidence,
+                            sc.prefetchReserve));
+                }
+                if (!sc.replacement.equals("local"))
+                    engine.setReplacementPolicy(ReplacementPolicy.create(sc.replacement, pm.frames.length));
+            } else {
+                mediumTerm = null;
+            }
+
+            if (restored)
+                cp.restore(engine);
+            else
+                createProcesses();
+            if (grouped != null) {
+                for (PCB pcb : engine.processes()) {
+                    String name = sc.groupMembers.get(pcb.pid);
+                    if (name != null)
+                        grouped.assign(pcb, grouped.group(name));
+                }
+            }
+        } catch (RuntimeException ex) {
+            closeSwap(ex);
+            throw ex;
+        }
+    }
+
+    /** Crea los procesos explícitos del escenario y los generados al azar. */
+    private void createProcesses() {
+        int maxPid = 0;
+        for (Scenario.ProcessSpec p : sc.processes) {
+            engine.createProcess(p.pid, p.sizeBytes);
+            maxPid = Math.max(maxPid, p.pid);
+        }
+        Random rnd = new Random(sc.generatorSeed);
+        for (int i = 1; i <= sc.generatorCount; i++) {
+            int span = sc.generatorMaxBytes - sc.generatorMinBytes + 1;
+            engine.createProcess(maxPid + i, sc.generatorMinBytes + rnd.nextInt(span));
+        }
+    }
+
+    /**
+     * Cierra el dispositivo de swap y borra su archivo temporal, agregando
+     * los errores de E/S a 'cause' (se usa cuando la construcción falla).
+     */
+    private void closeSwap(RuntimeException cause) {
+        try {
+            closeSwap();
+        } catch (IOException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    /** Cierra el dispositivo de swap (si existe) y borra su archivo temporal. */
+    private void closeSwap() throws IOException {
+        if (device != null) {
+            try {
+                device.close();
+            } finally {
+                Files.deleteIfExists(swapFile);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el escenario e imprime el resumen en la salida estándar.
+     *
+     * @throws IOException si falla la escritura de estadísticas o del swap
+     */
+    public void run() throws IOException {
+        TickStatsWriter stats = null;
+        if (sc.statsFile != null) {
+            stats = new TickStatsWriter(Path.of(sc.statsFile), sc.statsFormat, sc.statsGzip, 1 << 16,
+                    sc.statsFlushEvery);
+            engine.setStatsWriter(stats);
+        }
+
+        long t0 = System.nanoTime();
+        try {
+            if (!restored)
+                engine.beginRun();
+            while ((sc.maxTicks == 0 || engine.tick() < sc.maxTicks) && engine.step()) {
+                if (sc.checkpointFile != null && engine.tick() == sc.checkpointSaveAt)
+                    Checkpoint.save(engine, Path.of(sc.checkpointFile));
+            }
+        } finally {
+            if (stats != null)
+                stats.close();
+            closeSwap();
+        }
+        long elapsed = System.nanoTime() - t0;
+        printSummary(elapsed, stats);
+    }
+
+    private MemoryManager createManager() {
+        switch (sc.manager) {
+            case "concurrent":
+                return new ConcurrentMemoryManager(pm);
+            case "inverted":
+                return new InvertedPageTableManager(pm);
+            case "numa":
+                return new NumaMemoryManager(pm, sc.numaNodes, NumaPolicy.valueOf(sc.numaPolicy),
+                        sc.numaLocalNs, sc.numaRemoteNs);
+            default:
+                return new SimpleMemoryManager(pm);
+        }
+    }
+
+    private TieredMemoryManager createTiers(MemoryManager inner) {
+        int n = sc.tiers.size();
+        String[] names = new String[n];
+        int[] frames = new int[n];
+        long[] latency = new long[n];
+        for (int i = 0; i < n; i++) {
+            Scenario.TierSpec t = sc.tiers.get(i);
+            names[i] = t.name;
+            frames[i] = t.frames;
+            latency[i] = t.latencyNs;
+        }
+        return new TieredMemoryManager(inner, pm, names, frames, latency);
+    }
+
+    private GroupedMemoryManager createGroups(MemoryManager inner) {
+        GroupedMemoryManager g = new GroupedMemoryManager(inner);
+        for (Scenario.GroupSpec spec : sc.groups)
+            g.createGroup(spec.name, spec.hardLimit, spec.softLimit);
+        g.setOomPolicy(OomPolicy.valueOf(sc.oomPolicy));
+        return g;
+    }
+
+    private void printSummary(long elapsedNanos, TickStatsWriter stats) {
+        int total = engine.processes().size();
+        int finished = 0;
+        for (PCB pcb : engine.processes())
+            if (pcb.state == ProcessState.TERMINATED)
+                finished++;
+        long busy = engine.busyTicks();
+        long ticks = engine.tick();
+
+        System.out.println("=== Resumen de la simulación ===");
+        System.out.printf("Memoria: %d marcos de %d B, gestor=%s, admisión=%s (%s)%n", sc.frames, sc.pageSize,
+                sc.manager, engine.admissionMode(), engine.admissionPolicy());
+        System.out.printf("Ticks simulados: %d (%.1f ms, %.0f ticks/s)%n", ticks, elapsedNanos / 1e6,
+                ticks / Math.max(1e-9, elapsedNanos / 1e9));
+        System.out.printf("Procesos terminados: %d de %d%n", finished, total);
+        System.out.printf("Admisiones: %d  fallos de página: %d%n", engine.admissions(), engine.faults());
+        System.out.printf("Uso de CPU: %.1f%%  marcos libres al final: %d%n",
+                100.0 * busy / Math.max(1, ticks * engine.coreCount()), mm.freeFrameCount());
+        if (engine.coreCount() > 1) {
+            StringBuilder sb = new StringBuilder();
+            for (int c = 0; c < engine.coreCount(); c++)
+                sb.append(String.format(" %d:%.1f%%", c, 100 * engine.coreUtilization(c)));
+            System.out.printf("Núcleos:%s  migraciones: %d  robos: %d%n", sb, engine.migrations(),
+                    engine.steals());
+        }
+        if (mediumTerm != null) {
+            System.out.printf("Planificador PFF: %d suspensiones, %d reanudaciones (+%d sin residentes), "
+                    + "%d páginas recortadas%n", mediumTerm.suspensions(), mediumTerm.resumes(),
+                    engine.fallbackResumes(), mediumTerm.trimmedPages());
+        }
+        ReplacementPolicy rp = engine.replacementPolicy();
+        if (rp != null)
+            System.out.printf("Reemplazo %s: %d víctimas elegidas por la política%n", rp.name(), engine.policyVictims());
+        PagePrefetcher pf = engine.prefetcher();
+        if (pf != null) {
+            System.out.printf("Prefetch: %d emitidas, %d útiles, %d desperdiciadas, %d descartadas, precisión %.1f%%, "
+                    + "cobertura %.1f%%%n", pf.issued(), pf.useful(), pf.wasted(), pf.dropped(), 100 * pf.accuracy(),
+                    100 * pf.coverage());
+        }
+        if (grouped != null) {
+            for (MemoryGroup g : grouped.groups()) {
+                if (g == grouped.root() && g.pagesLoaded() == 0)
+                    continue;
+                System.out.printf("Grupo %s: pico %d páginas (duro %s, blando %s), %d cargas, %d rechazos por límite, "
+                        + "%d recuperadas, %d por presión global, %d OOM%n", g.name, g.peakUsage(),
+                        g.hardLimit == 0 ? "-" : g.hardLimit, g.softLimit == 0 ? "-" : g.softLimit, g.pagesLoaded(),
+                        g.limitHits(), g.reclaimed(), g.softReclaimed(), g.oomKills());
+            }
+            if (engine.oomKills() > 0)
+                System.out.printf("Procesos terminados por OOM: %d%n", engine.oomKills());
+        }
+        if (tiered != null) {
+            StringBuilder sb = new StringBuilder();
+            long all = Math.max(1, tiered.totalAccesses());
+            for (int t = 0; t < tiered.tierCount(); t++) {
+                MemoryTier tier = tiered.tier(t);
+                sb.append(String.format(" %s:%.1f%%", tier.name, 100.0 * tiered.accesses(t) / all));
+            }
+            System.out.printf("Niveles de memoria:%s  latencia media %.1f ns%n", sb,
+                    tiered.averageAccessLatencyNs());
+            TierMigrator tm = engine.tierMigrator();
+            if (tm != null) {
+                System.out.printf("Migración entre niveles: %d subidas, %d bajadas, %d bloqueadas, %.1f MB, CPU %.1f ms%n",
+                        tm.promotions(), tm.demotions(), tm.blockedPromotions(), tm.bytesMigrated(sc.pageSize) / 1e6,
+                        tm.scanNanos() / 1e6);
+            }
+        }
+        if (device != null) {
+            System.out.printf("Swap: %.1f MB escritos, %.1f MB leídos%n", device.bytesWritten() / 1e6,
+                    device.bytesRead() / 1e6);
+        }
+        if (stats != null)
+            System.out.printf("Estadísticas: %d filas en %s%n", stats.records(), sc.statsFile);
+        if (restored)
+            System.out.printf("(continuada desde %s)%n", sc.checkpointRestore);
+        if (sc.maxTicks > 0 && ticks >= sc.maxTicks && finished < total)
+            System.out.println("(corrida detenida por duration.maxTicks)");
+    }
+
+    // ===== Punto de entrada =====
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length != 1) {
+            System.err.println("Uso: java co.edu.uptc.presenter.BatchRunner escenario.properties");
+            System.exit(2);
+        }
+        BatchRunner runner;
+        try {
+            runner = new BatchRunner(Scenario.load(Path.of(args[0])));
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            System.err.println("Escenario inválido: " + ex.getMessage());
+            System.exit(2);
+            return;
+        } catch (IOException ex) {
+            System.err.println("Error de E/S: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        // Un error del motor o del gestor durante la corrida no es culpa del escenario
+        try {
+            runner.run();
+        } catch (IOException ex) {
+            System.err.println("Error de E/S: " + ex.getMessage());
+            System.exit(1);
+        } catch (RuntimeException ex) {
+            System.err.println("Error durante la simulación:");
+            ex.printStackTrace();
+            System.exit(3);
+        }
+    }
+}
@@ -0,0 +1,549 @@
+package co.edu.uptc.presenter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import co.edu.uptc.model.Frame;
+import co.edu.uptc.model.LocalityWorkload;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PageTableEntry;
+import co.edu.uptc.model.PhysicalMemory;
+import co.edu.uptc.model.ProcessState;
+import co.edu.uptc.model.TieredMemoryManager;
+import co.edu.uptc.model.WorkingSetTracker;
+
+/**
+ * Clase Checkpoint
+ * ------------------------------------------------------------
+ * Guarda y restaura el estado completo de un SimulationEngine en un archivo
+ * binario compacto y versionado.
+ *
+ * Formato (little-endian): encabezado fijo de HEADER_BYTES bytes (magia,
+ * versión, largo y CRC32 del cuerpo, geometría, tick, contadores) y un
+ * cuerpo de arreglos primitivos en columnas: primero los long, luego los int
+ * y al final los byte. Memoria física, PCBs y tablas de páginas, colas por
+ * núcleo, ticks restantes, bloqueos, generadores y, si existen, la historia
+ * del conjunto de trabajo y el planificador de mediano plazo.
+ *
+ * Escritura y lectura pasan por un MappedByteBuffer: cada arreglo se copia
+ * de una vez con las vistas LongBuffer/IntBuffer, sin interpretar campo por
+ * campo. Al restaurar solo se crean los objetos del modelo (PCB, entradas).
+ *
+ * No se guardan la configuración (Workload, admisión, E/S, estadísticas):
+ * se arma igual que en la corrida original, antes de restore(...). Tampoco
+ * el contenido del swap, los segmentos compartidos, los grupos de memoria,
+ * los niveles de memoria, la fusión de páginas, el prefetch ni la política
+ * de reemplazo: save(...) y restore(...) rechazan motores que los tengan.
+ *
+ * Uso:
+ * Checkpoint cp = Checkpoint.open(archivo);
+ * PhysicalMemory pm = cp.physicalMemory();
+ * SimulationEngine engine = new SimulationEngine(pm, new SimpleMemoryManager(pm), null, cp.ticksPerPage());
+ * (configurar workload, admisión, ...)
+ * cp.restore(engine);
+ */
+public final class Checkpoint {
+
+    /** "SMCK" en little-endian. */
+    public static final int MAGIC = 0x4B434D53;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 160;
+
+    /** Valor que representa null en los arreglos int / long. */
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final long NONE_LONG = Long.MIN_VALUE;
+
+    // Banderas de secciones opcionales
+    private static final int HAS_WORKLOAD = 1;
+    private static final int HAS_WORKING_SET = 2;
+    private static final int HAS_MEDIUM_TERM = 4;
+
+    // Bits de PageTableEntry
+    private static final byte PRESENT = 1;
+    private static final byte REFERENCED = 2;
+    private static final byte DIRTY = 4;
+    private static final byte COPY_ON_WRITE = 8;
+
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    // --- Encabezado leído ---
+    private final MappedByteBuffer buf;
+    private final int pageSize;
+    private final int frames;
+    private final int ticksPerPage;
+    private final int cores;
+    private final int processCount;
+    private final int totalPages;
+    private final int wakeCount;
+    private final int queued;
+    private final int flags;
+    private final int admissionMode;
+    private final long tick;
+    private final long ioState;
+    private final int lastRunPid;
+    private final long[] counters = new long[8];
+
+    /** Memoria restaurada por physicalMemory() (la que debe usar el motor). */
+    private PhysicalMemory memory;
+
+    private Checkpoint(MappedByteBuffer buf) {
+        this.buf = buf;
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("El archivo no es un checkpoint del simulador.");
+        if (buf.getInt(4) != VERSION)
+            throw new IllegalArgumentException("Versión de checkpoint no soportada: " + buf.getInt(4) + ".");
+        long bodyLength = buf.getLong(8);
+        if (bodyLength != buf.capacity() - HEADER_BYTES)
+            throw new IllegalArgumentException("Checkpoint truncado.");
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(HEADER_BYTES, (int) bodyLength));
+        if (crc.getValue() != buf.getLong(16))
+            throw new IllegalArgumentException("Checkpoint corrupto (CRC no coincide).");
+
+        pageSize = buf.getInt(24);
+        frames = buf.getInt(28);
+        ticksPerPage = buf.getInt(32);
+        cores = buf.getInt(36);
+        processCount = buf.getInt(40);
+        totalPages = buf.getInt(44);
+        wakeCount = buf.getInt(48);
+        queued = buf.getInt(52);
+        flags = buf.getInt(56);
+        admissionMode = buf.getInt(60);
+        tick = buf.getLong(64);
+        ioState = buf.getLong(72);
+        lastRunPid = buf.getInt(80);
+        for (int i = 0; i < counters.length; i++)
+            counters[i] = buf.getLong(88 + 8 * i);
+    }
+
+    // ===== Guardar =====
+
+    /**
+     * Guarda el estado del motor entre dos ticks.
+     *
+     * @param engine motor sin swap
+     * @param file   archivo destino (se reemplaza)
+     * @throws IOException           si falla la escritura
+     * @throws IllegalStateException si el motor tiene estado que el checkpoint no guarda
+     */
+    public static void save(SimulationEngine engine, Path file) throws IOException {
+        checkSupported(engine);
+        PhysicalMemory pm = engine.physicalMemory();
+        int nFrames = pm.frames.length;
+        PCB[] procs = engine.processes.values().toArray(new PCB[0]);
+        int n = procs.length;
+        int pages = 0;
+        for (PCB pcb : procs)
+            pages += pcb.pageCount;
+        int queuedPids = engine.readyCount();
+        int wakes = engine.wakeAt.size();
+        LocalityWorkload workload = (engine.workload instanceof LocalityWorkload lw) ? lw : null;
+        WorkingSetTracker ws = engine.workingSet;
+        MediumTermScheduler mt = engine.mediumTerm;
+        int flags = (workload != null ? HAS_WORKLOAD : 0) | (ws != null ? HAS_WORKING_SET : 0)
+                | (mt != null ? HAS_MEDIUM_TERM : 0);
+        SimulationEngine.Core[] cs = engine.cores;
+
+        // --- long ---
+        long[] sizes = new long[n];
+        long[] wakeTicks = new long[wakes];
+        long[] coreCounters = new long[4 * cs.length];
+        long[] workloadState = new long[workload != null ? 3 * n : 0];
+        long[] samples = new long[ws != null ? n : 0];
+        long[] history = new long[ws != null ? pages : 0];
+        long[] medium = (mt != null)
+                ? new long[] { mt.windowFaults, mt.lastEvaluation, mt.suspensions, mt.resumes, mt.trimmedPages }
+                : new long[0];
+        // --- int ---
+        int[] framePid = new int[nFrames];
+        int[] framePage = new int[nFrames];
+        int[] pids = new int[n];
+        int[] remaining = new int[n];
+        int[] lastCore = new int[n];
+        int[] pteFrame = new int[pages];
+        int[] pteSwap = new int[pages];
+        int[] wakePids = new int[wakes];
+        int[] queueLengths = new int[cs.length];
+        int[] queuePids = new int[queuedPids];
+        // --- byte ---
+        byte[] frameFree = new byte[nFrames];
+        byte[] states = new byte[n];
+        byte[] pteFlags = new byte[pages];
+        byte[] present = new byte[(workload != null ? n : 0) + (ws != null ? n : 0)];
+
+        for (int f = 0; f < nFrames; f++) {
+            Frame fr = pm.frames[f];
+            frameFree[f] = (byte) (fr.free ? 1 : 0);
+            framePid[f] = (fr.pid == null) ? NONE : fr.pid;
+            framePage[f] = (fr.pageNumber == null) ? NONE : fr.pageNumber;
+        }
+        int base = 0;
+        for (int i = 0; i < n; i++) {
+            PCB pcb = procs[i];
+            pids[i] = pcb.pid;
+            sizes[i] = pcb.logicalSizeBytes;
+            states[i] = (byte) pcb.state.ordinal();
+            remaining[i] = engine.remainingTicks.getOrDefault(pcb.pid, NONE);
+            Integer core = engine.lastCore.get(pcb.pid);
+            lastCore[i] = (core == null) ? NONE : core;
+            for (int p = 0; p < pcb.pageCount; p++) {
+                PageTableEntry e = pcb.pageTable[p];
+                Integer frame = e.frameNumber;
+                pteFrame[base + p] = (frame == null) ? NONE : frame;
+                pteSwap[base + p] = (e.swapSlot == null) ? NONE : e.swapSlot;
+                pteFlags[base + p] = (byte) ((e.present ? PRESENT : 0) | (e.referenced ? REFERENCED : 0)
+                        | (e.dirty ? DIRTY : 0) | (e.copyOnWrite ? COPY_ON_WRITE : 0));
+            }
+            if (workload != null) {
+                long[] st = workload.state(pcb.pid);
+                if (st != null) {
+                    present[i] = 1;
+                    System.arraycopy(st, 0, workloadState, 3 * i, 3);
+                }
+            }
+            if (ws != null) {
+                long[] refs = ws.history(pcb.pid);
+                Long sampled = ws.lastSample(pcb.pid);
+                samples[i] = (sampled == null) ? NONE_LONG : sampled;
+                if (refs != null) {
+                    present[(workload != null ? n : 0) + i] = 1;
+                    System.arraycopy(refs, 0, history, base, pcb.pageCount);
+                }
+            }
+            base += pcb.pageCount;
+        }
+        int w = 0;
+        for (Map.Entry<Integer, Long> en : engine.wakeAt.entrySet()) {
+            wakePids[w] = en.getKey();
+            wakeTicks[w++] = en.getValue();
+        }
+        int q = 0;
+        for (int c = 0; c < cs.length; c++) {
+            queueLengths[c] = cs[c].runQueue.size();
+            for (Integer pid : cs[c].runQueue)
+                queuePids[q++] = pid;
+            coreCounters[4 * c] = cs[c].busyTicks;
+            coreCounters[4 * c + 1] = cs[c].idleTicks;
+            coreCounters[4 * c + 2] = cs[c].migrationsIn;
+            coreCounters[4 * c + 3] = cs[c].steals;
+        }
+
+        long body = 8L * (sizes.length + wakeTicks.length + coreCounters.length + workloadState.length
+                + samples.length + history.length + medium.length)
+                + 4L * (framePid.length + framePage.length + pids.length + remaining.length + lastCore.length
+                        + pteFrame.length + pteSwap.length + wakePids.length + queueLengths.length
+                        + queuePids.length)
+                + frameFree.length + states.length + pteFlags.length + present.length;
+        if (HEADER_BYTES + body > Integer.MAX_VALUE)
+            throw new IllegalStateException("El estado excede el tamaño máximo de un checkpoint (2 GB).");
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + body);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.position(HEADER_BYTES);
+            for (long[] a : new long[][] { sizes, wakeTicks, coreCounters, workloadState, samples, history, medium })
+                putLongs(out, a);
+            for (int[] a : new int[][] { framePid, framePage, pids, remaining, lastCore, pteFrame, pteSwap, wakePids,
+                    queueLengths, queuePids })
+                putInts(out, a);
+            for (byte[] a : new byte[][] { frameFree, states, pteFlags, present })
+                out.put(a);
+
+            CRC32 crc = new CRC32();
+            crc.update(out.slice(HEADER_BYTES, (int) body));
+            out.putInt(0, MAGIC);
+            out.putInt(4, VERSION);
+            out.putLong(8, body);
+            out.putLong(16, crc.getValue());
+            out.putInt(24, pm.pageSize);
+            out.putInt(28, nFrames);
+            out.putInt(32, engine.ticksPerPage);
+            out.putInt(36, cs.length);
+            out.putInt(40, n);
+            out.putInt(44, pages);
+            out.putInt(48, wakes);
+            out.putInt(52, queuedPids);
+            out.putInt(56, flags);
+            out.putInt(60, engine.admissionMode.ordinal());
+            out.putLong(64, engine.tick);
+            out.putLong(72, engine.ioState);
+            out.putInt(80, engine.lastRunPid == null ? NONE : engine.lastRunPid);
+            long[] totals = { engine.admissions, engine.terminations, engine.faults, engine.busyTicks,
+                    engine.idleTicks, engine.migrations, engine.steals, engine.fallbackResumes };
+            for (int i = 0; i < totals.length; i++)
+                out.putLong(88 + 8 * i, totals[i]);
+        }
+    }
+
+    // ===== Restaurar =====
+
+    /**
+     * Abre y valida un checkpoint (magia, versión, largo y CRC).
+     *
+     * @param file archivo guardado con save(...)
+     * @return checkpoint listo para restaurar
+     * @throws IOException              si no se puede leer
+     * @throws IllegalArgumentException si el archivo no es válido
+     */
+    public static Checkpoint open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Checkpoint demasiado grande.");
+            MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            return new Checkpoint(in);
+        }
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public int frames() {
+        return frames;
+    }
+
+    public int ticksPerPage() {
+        return ticksPerPage;
+    }
+
+    public int cores() {
+        return cores;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public int processCount() {
+        return processCount;
+    }
+
+    /**
+     * Memoria física con los marcos restaurados. El gestor de memoria se
+     * construye sobre ella, así sus estructuras internas parten del estado
+     * guardado. Se crea una sola vez.
+     *
+     * @return memoria física restaurada
+     */
+    public PhysicalMemory physicalMemory() {
+        if (memory != null)
+            return memory;
+        PhysicalMemory pm = new PhysicalMemory(pageSize, frames);
+        ByteBuffer in = section();
+        skipLongs(in, processCount + wakeCount + 4 * cores + workloadLongs() + samplesLongs() + historyLongs()
+                + mediumLongs());
+        int[] framePid = getInts(in, frames);
+        int[] framePage = getInts(in, frames);
+        skipInts(in, 3 * processCount + 2 * totalPages + wakeCount + cores + queued);
+        byte[] frameFree = getBytes(in, frames);
+        for (int f = 0; f < frames; f++) {
+            Frame fr = pm.frames[f];
+            fr.pid = (framePid[f] == NONE) ? null : framePid[f];
+            fr.pageNumber = (framePage[f] == NONE) ? null : framePage[f];
+            fr.free = frameFree[f] != 0;
+        }
+        memory = pm;
+        return pm;
+    }
+
+    /**
+     * Carga procesos, colas, contadores y generadores en un motor recién
+     * creado sobre physicalMemory() y configurado como el original.
+     *
+     * @param engine motor sin procesos
+     * @throws IllegalStateException si el motor no corresponde al checkpoint
+     */
+    public void restore(SimulationEngine engine) {
+        if (engine.physicalMemory() != physicalMemory())
+            throw new IllegalStateException("El motor debe usar la memoria de physicalMemory().");
+        if (!engine.processes.isEmpty())
+            throw new IllegalStateException("El motor ya tiene procesos.");
+        checkSupported(engine);
+        if (engine.ticksPerPage != ticksPerPage || engine.admissionMode.ordinal() != admissionMode)
+            throw new IllegalStateException("La configuración del motor no coincide con la del checkpoint.");
+        if (((flags & HAS_WORKING_SET) != 0) != (engine.workingSet != null)
+                || ((flags & HAS_MEDIUM_TERM) != 0) != (engine.mediumTerm != null))
+            throw new IllegalStateException("La configuración del motor no coincide con la del checkpoint.");
+
+        ByteBuffer in = section();
+        long[] sizes = getLongs(in, processCount);
+        long[] wakeTicks = getLongs(in, wakeCount);
+        long[] coreCounters = getLongs(in, 4 * cores);
+        long[] workloadState = getLongs(in, workloadLongs());
+        long[] samples = getLongs(in, samplesLongs());
+        long[] history = getLongs(in, historyLongs());
+        long[] medium = getLongs(in, mediumLongs());
+        skipInts(in, 2 * frames);
+        int[] pids = getInts(in, processCount);
+        int[] remaining = getInts(in, processCount);
+        int[] lastCore = getInts(in, processCount);
+        int[] pteFrame = getInts(in, totalPages);
+        int[] pteSwap = getInts(in, totalPages);
+        int[] wakePids = getInts(in, wakeCount);
+        int[] queueLengths = getInts(in, cores);
+        int[] queuePids = getInts(in, queued);
+        in.position(in.position() + frames);
+        byte[] states = getBytes(in, processCount);
+        byte[] pteFlags = getBytes(in, totalPages);
+        byte[] present = getBytes(in, in.remaining());
+
+        engine.setCores(cores);
+        LocalityWorkload workload = ((flags & HAS_WORKLOAD) != 0 && engine.workload instanceof LocalityWorkload lw)
+                ? lw : null;
+        int wsPresent = ((flags & HAS_WORKLOAD) != 0) ? processCount : 0;
+        int base = 0;
+        for (int i = 0; i < processCount; i++) {
+            PCB pcb = new PCB(pids[i], sizes[i], pageSize);
+            pcb.state = STATES[states[i]];
+            for (int p = 0; p < pcb.pageCount; p++) {
+                PageTableEntry e = pcb.pageTable[p];
+                int frame = pteFrame[base + p];
+                int slot = pteSwap[base + p];
+                byte bits = pteFlags[base + p];
+                e.frameNumber = (frame == NONE) ? null : frame;
+                e.swapSlot = (slot == NONE) ? null : slot;
+                e.referenced = (bits & REFERENCED) != 0;
+                e.dirty = (bits & DIRTY) != 0;
+                e.copyOnWrite = (bits & COPY_ON_WRITE) != 0;
+                e.present = (bits & PRESENT) != 0;
+                // Las referencias de cada marco se reconstruyen de las tablas de páginas
+                if (e.present && e.frameNumber != null)
+                    engine.physicalMemory().frames[frame].refCount++;
+            }
+            engine.processes.put(pcb.pid, pcb);
+            if (remaining[i] != NONE)
+                engine.remainingTicks.put(pcb.pid, remaining[i]);
+            if (lastCore[i] != NONE)
+                engine.lastCore.put(pcb.pid, lastCore[i]);
+            if (workload != null && present[i] != 0)
+                workload.setState(pcb.pid, Arrays.copyOfRange(workloadState, 3 * i, 3 * i + 3));
+            if (engine.workingSet != null && present[wsPresent + i] != 0) {
+                engine.workingSet.restore(pcb.pid, Arrays.copyOfRange(history, base, base + pcb.pageCount),
+                        samples[i] == NONE_LONG ? null : samples[i]);
+            }
+            base += pcb.pageCount;
+        }
+        for (int w = 0; w < wakeCount; w++)
+            engine.wakeAt.put(wakePids[w], wakeTicks[w]);
+        int q = 0;
+        for (int c = 0; c < cores; c++) {
+            SimulationEngine.Core core = engine.cores[c];
+            for (int k = 0; k < queueLengths[c]; k++)
+                core.runQueue.addLast(queuePids[q++]);
+            core.busyTicks = coreCounters[4 * c];
+            core.idleTicks = coreCounters[4 * c + 1];
+            core.migrationsIn = coreCounters[4 * c + 2];
+            core.steals = coreCounters[4 * c + 3];
+        }
+        if (engine.mediumTerm != null) {
+            MediumTermScheduler mt = engine.mediumTerm;
+            mt.windowFaults = medium[0];
+            mt.lastEvaluation = medium[1];
+            mt.suspensions = medium[2];
+            mt.resumes = medium[3];
+            mt.trimmedPages = medium[4];
+        }
+
+        engine.tick = tick;
+        engine.ioState = ioState;
+        engine.lastRunPid = (lastRunPid == NONE) ? null : lastRunPid;
+        engine.admissions = counters[0];
+        engine.terminations = counters[1];
+        engine.faults = counters[2];
+        engine.busyTicks = counters[3];
+        engine.idleTicks = counters[4];
+        engine.migrations = counters[5];
+        engine.steals = counters[6];
+        engine.fallbackResumes = counters[7];
+    }
+
+    // --------------------------------------------------------------------
+
+    private int workloadLongs() {
+        return (flags & HAS_WORKLOAD) != 0 ? 3 * processCount : 0;
+    }
+
+    private int samplesLongs() {
+        return (flags & HAS_WORKING_SET) != 0 ? processCount : 0;
+    }
+
+    private int historyLongs() {
+        return (flags & HAS_WORKING_SET) != 0 ? totalPages : 0;
+    }
+
+    private int mediumLongs() {
+        return (flags & HAS_MEDIUM_TERM) != 0 ? 5 : 0;
+    }
+
+    /** Vista del cuerpo, posicionada al inicio. */
+    private ByteBuffer section() {
+        return buf.slice(HEADER_BYTES, buf.capacity() - HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Rechaza motores con estado que el checkpoint no guarda. */
+    private static void checkSupported(SimulationEngine engine) {
+        if (engine.swapManager() != null)
+            throw new IllegalStateException("El checkpoint no incluye el contenido del swap.");
+        if (!engine.segments().isEmpty())
+            throw new IllegalStateException("El checkpoint no incluye segmentos compartidos.");
+        if (engine.memoryGroups() != null)
+            throw new IllegalStateException("El checkpoint no incluye los grupos de memoria.");
+        if (engine.memoryManager() instanceof TieredMemoryManager || engine.tierMigrator() != null)
+            throw new IllegalStateException("El checkpoint no incluye los niveles de memoria.");
+        if (engine.pageMerger() != null)
+            throw new IllegalStateException("El checkpoint no incluye el estado de la fusión de páginas.");
+        if (engine.prefetcher() != null)
+            throw new IllegalStateException("El checkpoint no incluye el estado del prefetch.");
+        if (engine.replacementPolicy() != null)
+            throw new IllegalStateException("El checkpoint no incluye el estado de la política de reemplazo.");
+    }
+
+    private static void putLongs(ByteBuffer out, long[] a) {
+        out.asLongBuffer().put(a);
+        out.position(out.position() + 8 * a.length);
+    }
+
+    private static void putInts(ByteBuffer out, int[] a) {
+        out.asIntBuffer().put(a);
+        out.position(out.position() + 4 * a.length);
+    }
+
+    private static long[] getLongs(ByteBuffer in, int n) {
+        long[] a = new long[n];
+        in.asLongBuffer().get(a);
+        in.position(in.position() + 8 * n);
+        return a;
+    }
+
+    private static int[] getInts(ByteBuffer in, int n) {
+        int[] a = new int[n];
+        in.asIntBuffer().get(a);
+        in.position(in.position() + 4 * n);
+        return a;
+    }
+
+    private static byte[] getBytes(ByteBuffer in, int n) {
+        byte[] a = new byte[n];
+        in.get(a);
+        return a;
+    }
+
+    private static void skipLongs(ByteBuffer in, long n) {
+        in.position((int) (in.position() + 8 * n));
+    }
+
+    private static void skipInts(ByteBuffer in, long n) {
+        in.position((int) (in.position() + 4 * n));
+    }
+}
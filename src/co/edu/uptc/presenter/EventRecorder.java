@@ -0,0 +1,157 @@
+package co.edu.uptc.presenter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import co.edu.uptc.io.EventLog;
+import co.edu.uptc.io.EventType;
+import co.edu.uptc.view.MemoryView;
+
+/**
+ * Clase EventRecorder
+ * ------------------------------------------------------------
+ * Graba una sesión interactiva: se interpone entre la vista y el Presenter,
+ * anota cada evento del Listener con el tick en que ocurrió y luego lo pasa
+ * al Presenter sin cambios.
+ *
+ * Todo lo que modifica la simulación entra por MemoryView.Listener, salvo el
+ * fin automático de la simulación (lo decide el temporizador), que el
+ * Presenter avisa con simulationFinished(). Con eso, y con un motor
+ * determinista, EventReplayer puede repetir la sesión y llegar al mismo
+ * estado final.
+ *
+ * Cada evento se escribe en el EventLog al momento; close() agrega el
+ * registro END con el resumen del estado (stateDigest()).
+ */
+public class EventRecorder implements MemoryView.Listener, AutoCloseable {
+
+    private final MemoryView.Listener target;
+    private final SimulationEngine engine;
+    private final EventLog log;
+
+    /**
+     * Constructor de EventRecorder.
+     *
+     * @param target listener real (el Presenter)
+     * @param engine motor del que se toma el tick de cada evento
+     * @param log    registro abierto con EventLog.create(...)
+     */
+    public EventRecorder(MemoryView.Listener target, SimulationEngine engine, EventLog log) {
+        if (target == null || engine == null || log == null)
+            throw new IllegalArgumentException("Listener, motor y registro son obligatorios.");
+        this.target = target;
+        this.engine = engine;
+        this.log = log;
+    }
+
+    /**
+     * Huella de la configuración que debe coincidir entre la grabación y la
+     * reproducción: tamaño de página, marcos y ticks por página.
+     */
+    public static long configHash(SimulationEngine engine) {
+        long h = engine.pageSize();
+        h = h * 31 + engine.physicalMemory().frames.length;
+        h = h * 31 + engine.ticksPerPage;
+        return h;
+    }
+
+    /** @return eventos grabados hasta ahora */
+    public long records() {
+        return log.records();
+    }
+
+    private void record(EventType type, long arg) {
+        try {
+            log.append(type, engine.tick(), arg);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo grabar el evento: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** Avisado por el Presenter cuando la simulación termina sola. */
+    void simulationFinished() {
+        record(EventType.SIMULATION_FINISHED, 0);
+    }
+
+    /**
+     * Cierra la grabación con el registro END (tick y resumen del estado).
+     *
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            log.append(EventType.END, engine.tick(), engine.stateDigest());
+        } finally {
+            log.close();
+        }
+    }
+
+    // ===== Listener =====
+
+    @Override
+    public void onCreateProcess(int pid, int sizeBytes) {
+        record(EventType.CREATE_PROCESS, EventLog.pack(pid, sizeBytes));
+        target.onCreateProcess(pid, sizeBytes);
+    }
+
+    @Override
+    public void onAdmitProcess(int pid) {
+        record(EventType.ADMIT_PROCESS, pid);
+        target.onAdmitProcess(pid);
+    }
+
+    @Override
+    public void onSuspendProcess(int pid) {
+        record(EventType.SUSPEND_PROCESS, pid);
+        target.onSuspendProcess(pid);
+    }
+
+    @Override
+    public void onResumeProcess(int pid) {
+        record(EventType.RESUME_PROCESS, pid);
+        target.onResumeProcess(pid);
+    }
+
+    @Override
+    public void onTerminateProcess(int pid) {
+        record(EventType.TERMINATE_PROCESS, pid);
+        target.onTerminateProcess(pid);
+    }
+
+    @Override
+    public void onAccessAddress(int pid, int logicalAddr) {
+        record(EventType.ACCESS_ADDRESS, EventLog.pack(pid, logicalAddr));
+        target.onAccessAddress(pid, logicalAddr);
+    }
+
+    @Override
+    public void onSelectProcess(int pid) {
+        record(EventType.SELECT_PROCESS, pid);
+        target.onSelectProcess(pid);
+    }
+
+    @Override
+    public void onStartSimulation() {
+        record(EventType.START_SIMULATION, 0);
+        target.onStartSimulation();
+    }
+
+    @Override
+    public void onPauseSimulation() {
+        record(EventType.PAUSE_SIMULATION, 0);
+        target.onPauseSimulation();
+    }
+
+    @Override
+    public void onResumeSimulation() {
+        record(EventType.RESUME_SIMULATION, 0);
+        target.onResumeSimulation();
+    }
+
+    @Override
+    public void onStopSimulation() {
+        record(EventType.STOP_SIMULATION, 0);
+        target.onStopSimulation();
+    }
+}
@@ -0,0 +1,181 @@
+package co.edu.uptc.presenter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import co.edu.uptc.io.EventLog;
+import co.edu.uptc.view.HeadlessView;
+import co.edu.uptc.view.MemoryView;
+
+/**
+ * Clase EventReplayer
+ * ------------------------------------------------------------
+ * Reproduce una sesión grabada con EventRecorder, sin pantalla y a máxima
+ * velocidad: un MemoryPresenter no interactivo (sin Timer) sobre una
+ * HeadlessView (sin diálogos).
+ *
+ * Antes de cada evento se dan los ticks que el Timer habría dado hasta
+ * llegar al tick grabado; luego el evento se entrega al Listener igual que
+ * lo hizo la vista. Al llegar al registro END se compara el resumen del
+ * estado con el grabado.
+ *
+ * Si la reproducción no puede llegar al tick de un evento (la simulación
+ * no corre o terminó antes) la sesión diverge y se informa el evento.
+ *
+ * Con repeticiones > 1 la sesión se reproduce varias veces seguidas, para
+ * perfilar el mismo camino en un ciclo cerrado.
+ *
+ * Uso: java co.edu.uptc.presenter.EventReplayer sesion.evlog [repeticiones]
+ * Código de salida: 0 si el estado final coincide, 3 si diverge,
+ * 2 si el registro es inválido, 1 ante errores de E/S.
+ */
+public class EventReplayer {
+
+    /** Resultado de una reproducción. */
+    public static final class Result {
+        /** Eventos entregados (sin contar END). */
+        public long events;
+        /** Ticks simulados. */
+        public long ticks;
+        /** true si el registro terminaba en END (grabación cerrada). */
+        public boolean ended;
+        /** Resumen grabado en END (válido si ended). */
+        public long expectedDigest;
+        /** Resumen del estado al final de la reproducción. */
+        public long digest;
+        /** Errores mostrados por el Presenter durante la reproducción. */
+        public long viewErrors;
+
+        /** @return true si había END y el estado final coincide */
+        public boolean matches() {
+            return ended && digest == expectedDigest;
+        }
+    }
+
+    private EventReplayer() {
+    }
+
+    /**
+     * Reproduce una sesión completa.
+     *
+     * @param file registro grabado
+     * @return resultado de la reproducción
+     * @throws IOException              si no se puede leer el registro
+     * @throws IllegalArgumentException si el registro no corresponde a esta configuración
+     * @throws IllegalStateException    si la reproducción diverge antes del final
+     */
+    public static Result replay(Path file) throws IOException {
+        HeadlessView view = new HeadlessView();
+        MemoryPresenter presenter = new MemoryPresenter(view, false);
+        try {
+            SimulationEngine engine = presenter.engine();
+            EventLog log = EventLog.open(file);
+            if (log.config() != EventRecorder.configHash(engine))
+                throw new IllegalArgumentException("El registro se grabó con otra configuración de memoria.");
+
+            MemoryView.Listener l = view.listener();
+            Result r = new Result();
+            while (log.next()) {
+                advanceTo(presenter, log.tick(), log.records());
+                switch (log.type()) {
+                    case CREATE_PROCESS -> l.onCreateProcess(log.argHigh(), log.argLow());
+                    case ADMIT_PROCESS -> l.onAdmitProcess((int) log.arg());
+                    case SUSPEND_PROCESS -> l.onSuspendProcess((int) log.arg());
+                    case RESUME_PROCESS -> l.onResumeProcess((int) log.arg());
+                    case TERMINATE_PROCESS -> l.onTerminateProcess((int) log.arg());
+                    case ACCESS_ADDRESS -> l.onAccessAddress(log.argHigh(), log.argLow());
+                    case SELECT_PROCESS -> l.onSelectProcess((int) log.arg());
+                    case START_SIMULATION -> l.onStartSimulation();
+                    case PAUSE_SIMULATION -> l.onPauseSimulation();
+                    case RESUME_SIMULATION -> l.onResumeSimulation();
+                    case STOP_SIMULATION -> l.onStopSimulation();
+                    case SIMULATION_FINISHED -> {
+                        if (!presenter.simulationActive())
+                            throw divergence(log.records(), "la simulación no estaba corriendo al terminar");
+                        presenter.step();
+                        if (presenter.simulationActive())
+                            throw divergence(log.records(), "la simulación no terminó");
+                    }
+                    case END -> {
+                        r.ended = true;
+                        r.expectedDigest = log.arg();
+                    }
+                }
+                if (r.ended)
+                    break;
+                r.events++;
+            }
+            r.ticks = engine.tick();
+            r.digest = engine.stateDigest();
+            r.viewErrors = view.errorCount();
+            return r;
+        } finally {
+            presenter.close();
+        }
+    }
+
+    /** Da los ticks del Timer hasta llegar al tick del evento. */
+    private static void advanceTo(MemoryPresenter presenter, long tick, long record) {
+        SimulationEngine engine = presenter.engine();
+        while (engine.tick() < tick) {
+            if (!presenter.simulationActive())
+                throw divergence(record, "la simulación no corre en el tick " + engine.tick()
+                        + " y el evento es del tick " + tick);
+            presenter.step();
+        }
+        if (engine.tick() > tick)
+            throw divergence(record, "la simulación ya pasó el tick " + tick);
+    }
+
+    private static IllegalStateException divergence(long record, String detail) {
+        return new IllegalStateException("La reproducción diverge en el evento " + record + ": " + detail + ".");
+    }
+
+    // ===== Punto de entrada =====
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Uso: java co.edu.uptc.presenter.EventReplayer sesion.evlog [repeticiones]");
+            System.exit(2);
+        }
+        try {
+            Path file = Path.of(args[0]);
+            int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+            if (reps < 1)
+                throw new IllegalArgumentException("Las repeticiones deben ser positivas.");
+
+            Result r = null;
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            for (int i = 0; i < reps; i++) {
+                long t0 = System.nanoTime();
+                r = replay(file);
+                long ns = System.nanoTime() - t0;
+                best = Math.min(best, ns);
+                total += ns;
+            }
+            System.out.printf("Eventos: %d  ticks: %d  errores mostrados: %d%n", r.events, r.ticks, r.viewErrors);
+            System.out.printf("Tiempo: %.3f ms (mejor), %.3f ms (promedio de %d)%n", best / 1e6,
+                    total / 1e6 / reps, reps);
+            if (!r.ended) {
+                System.out.printf("Registro sin END (grabación no cerrada): resumen %016x sin verificar%n", r.digest);
+            } else if (r.matches()) {
+                System.out.printf("Estado final idéntico (resumen %016x)%n", r.digest);
+            } else {
+                System.out.printf("Estado final DISTINTO: grabado %016x, reproducido %016x%n", r.expectedDigest,
+                        r.digest);
+                System.exit(3);
+            }
+        } catch (IllegalStateException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(3);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Registro inválido: " + ex.getMessage());
+            System.exit(2);
+        } catch (IOException ex) {
+            System.err.println("Error de E/S: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package co.edu.uptc.presenter;
+
+import co.edu.uptc.model.PCB;
+
+/**
+ * Clase MediumTermScheduler
+ * ------------------------------------------------------------
+ * Planificador de mediano plazo basado en frecuencia de fallos de página (PFF).
+ *
+ * Al final de cada ventana del conjunto de trabajo:
+ * 1. Recorta los conjuntos de trabajo (desaloja páginas fuera de la ventana).
+ * 2. Si la frecuencia de fallos supera el umbral alto, o la suma de los
+ * conjuntos de trabajo residentes no cabe en memoria, suspende un proceso
+ * (SUSP_BLOCKED si estaba bloqueado, SUSP_READY si estaba listo).
+ * 3. Si la frecuencia de fallos está por debajo del umbral bajo, reanuda
+ * un proceso suspendido cuyo conjunto de trabajo quepa.
+ *
+ * Así se limita el grado de multiprogramación para evitar la hiperpaginación
+ * (thrashing) sin exigir que todo el proceso quepa en memoria.
+ */
+public class MediumTermScheduler {
+
+    /** Ticks entre evaluaciones (normalmente el ancho de la ventana τ). */
+    private final int interval;
+
+    /** Fallos por tick por encima de los cuales se suspende un proceso. */
+    private final double upperFaultRate;
+
+    /** Fallos por tick por debajo de los cuales se reanuda un proceso. */
+    private final double lowerFaultRate;
+
+    // El estado es visible en el paquete para Checkpoint.
+
+    /** Fallos ocurridos en la ventana actual. */
+    long windowFaults;
+
+    /** Tick de la última evaluación. */
+    long lastEvaluation;
+
+    // --- Contadores ---
+    long suspensions;
+    long resumes;
+    long trimmedPages;
+
+    /**
+     * Constructor de MediumTermScheduler.
+     *
+     * @param interval       ticks entre evaluaciones (> 0)
+     * @param lowerFaultRate umbral bajo de fallos por tick
+     * @param upperFaultRate umbral alto de fallos por tick (> lowerFaultRate)
+     */
+    public MediumTermScheduler(int interval, double lowerFaultRate, double upperFaultRate) {
+        if (interval <= 0)
+            throw new IllegalArgumentException("El intervalo debe ser > 0.");
+        if (lowerFaultRate < 0 || upperFaultRate <= lowerFaultRate)
+            throw new IllegalArgumentException("Umbrales de fallos inválidos.");
+        this.interval = interval;
+        this.lowerFaultRate = lowerFaultRate;
+        this.upperFaultRate = upperFaultRate;
+    }
+
+    /** Registra un fallo de página. */
+    public void onFault() {
+        windowFaults++;
+    }
+
+    /**
+     * Evalúa la presión de memoria si terminó la ventana.
+     *
+     * @param engine motor de simulación (con admisión por conjunto de trabajo)
+     */
+    public void onTick(SimulationEngine engine) {
+        long now = engine.tick();
+        if (now - lastEvaluation < interval)
+            return;
+        double faultRate = windowFaults / (double) (now - lastEvaluation);
+        windowFaults = 0;
+        lastEvaluation = now;
+
+        trimmedPages += engine.trimWorkingSets();
+
+        int frames = engine.physicalMemory().frames.length;
+        if (faultRate > upperFaultRate || engine.residentWorkingSetDemand() > frames) {
+            PCB victim = engine.pickSuspendVictim();
+            if (victim != null) {
+                engine.suspend(victim);
+                suspensions++;
+            }
+        } else if (faultRate < lowerFaultRate) {
+            if (engine.resumeOneSuspended())
+                resumes++;
+        }
+    }
+
+    public long suspensions() {
+        return suspensions;
+    }
+
+    public long resumes() {
+        return resumes;
+    }
+
+    public long trimmedPages() {
+        return trimmedPages;
+    }
+}
@@ -0,0 +1,203 @@
+package co.edu.uptc.presenter;
+
+import java.nio.ByteBuffer;
+
+import co.edu.uptc.model.FrameStore;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PageTableEntry;
+import co.edu.uptc.model.PhysicalMemory;
+
+/**
+ * Clase MemoryAccess
+ * ------------------------------------------
+ * Lecturas y escrituras de bytes reales en la memoria simulada: traduce la
+ * dirección lógica con el motor y accede al FrameStore en la dirección
+ * física resultante.
+ *
+ * - Las lecturas usan SimulationEngine.translate(...): marcan la página
+ * como referenciada (y la cargan por demanda con admisión por conjunto de
+ * trabajo).
+ * - Las escrituras usan SimulationEngine.write(...): además marcan la página
+ * como modificada y resuelven el copy-on-write antes de escribir.
+ *
+ * Un valor int/long que cruza el final de una página se parte byte a byte
+ * entre las dos páginas (cada una con su traducción). Las copias en bloque
+ * avanzan por tramos que no cruzan páginas, con una traducción por tramo,
+ * y nunca pasan por el heap.
+ *
+ * Para que el swap y el copy-on-write muevan estos bytes, el mismo almacén
+ * debe configurarse como contenido del gestor
+ * (SimpleMemoryManager.setFrameContents(...) y el SwapManager).
+ */
+public class MemoryAccess {
+
+    private final SimulationEngine engine;
+    private final FrameStore store;
+    private final PhysicalMemory pm;
+
+    /** Buffer de copy(...) para tramos cuyo origen se desalojó (se crea al primer uso). */
+    private ByteBuffer bounce;
+
+    /**
+     * @param engine motor que traduce las direcciones
+     * @param store  almacén del mismo tamaño que la memoria física del motor
+     * @throws IllegalArgumentException si los tamaños no coinciden
+     */
+    public MemoryAccess(SimulationEngine engine, FrameStore store) {
+        this.engine = engine;
+        this.store = store;
+        this.pm = engine.physicalMemory();
+        if (store.sizeBytes() != pm.sizeBytes() || store.pageSize() != pm.pageSize)
+            throw new IllegalArgumentException("El almacén no corresponde a la memoria física del motor.");
+    }
+
+    public FrameStore store() {
+        return store;
+    }
+
+    /** @return true si 'width' bytes desde addr quedan en la misma página */
+    private boolean fits(long addr, int width) {
+        return pm.offsetOf(addr) + width <= pm.pageSize;
+    }
+
+    // ===== Valores =====
+
+    public byte readByte(PCB pcb, long addr) {
+        return store.getByte(engine.translate(pcb, addr));
+    }
+
+    public void writeByte(PCB pcb, long addr, byte value) {
+        store.putByte(engine.write(pcb, addr), value);
+    }
+
+    public int readInt(PCB pcb, long addr) {
+        if (fits(addr, Integer.BYTES))
+            return store.getInt(engine.translate(pcb, addr));
+        return (int) readSplit(pcb, addr, Integer.BYTES);
+    }
+
+    public void writeInt(PCB pcb, long addr, int value) {
+        if (fits(addr, Integer.BYTES))
+            store.putInt(engine.write(pcb, addr), value);
+        else
+            writeSplit(pcb, addr, value, Integer.BYTES);
+    }
+
+    public long readLong(PCB pcb, long addr) {
+        if (fits(addr, Long.BYTES))
+            return store.getLong(engine.translate(pcb, addr));
+        return readSplit(pcb, addr, Long.BYTES);
+    }
+
+    public void writeLong(PCB pcb, long addr, long value) {
+        if (fits(addr, Long.BYTES))
+            store.putLong(engine.write(pcb, addr), value);
+        else
+            writeSplit(pcb, addr, value, Long.BYTES);
+    }
+
+    /** Lectura little-endian byte a byte (valor que cruza páginas). */
+    private long readSplit(PCB pcb, long addr, int width) {
+        long v = 0;
+        for (int i = 0; i < width; i++)
+            v |= (store.getByte(engine.translate(pcb, addr + i)) & 0xFFL) << (8 * i);
+        return v;
+    }
+
+    /** Escritura little-endian byte a byte (valor que cruza páginas). */
+    private void writeSplit(PCB pcb, long addr, long value, int width) {
+        for (int i = 0; i < width; i++)
+            store.putByte(engine.write(pcb, addr + i), (byte) (value >>> (8 * i)));
+    }
+
+    // ===== Bloques =====
+
+    /**
+     * Lee dst.remaining() bytes desde addr hacia dst.
+     *
+     * @param pcb  proceso dueño de la memoria
+     * @param addr dirección lógica inicial
+     * @param dst  buffer destino (idealmente directo)
+     */
+    public void read(PCB pcb, long addr, ByteBuffer dst) {
+        int limit = dst.limit();
+        try {
+            while (dst.position() < limit) {
+                int n = (int) Math.min(limit - dst.position(), pm.pageSize - pm.offsetOf(addr));
+                dst.limit(dst.position() + n);
+                store.read(engine.translate(pcb, addr), dst);
+                addr += n;
+            }
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    /**
+     * Escribe src.remaining() bytes de src a partir de addr.
+     *
+     * @param pcb  proceso dueño de la memoria
+     * @param addr dirección lógica inicial
+     * @param src  buffer origen (idealmente directo)
+     */
+    public void write(PCB pcb, long addr, ByteBuffer src) {
+        int limit = src.limit();
+        try {
+            while (src.position() < limit) {
+                int n = (int) Math.min(limit - src.position(), pm.pageSize - pm.offsetOf(addr));
+                src.limit(src.position() + n);
+                store.write(engine.write(pcb, addr), src);
+                addr += n;
+            }
+        } finally {
+            src.limit(limit);
+        }
+    }
+
+    /**
+     * Copia 'length' bytes de la memoria de un proceso a la de otro (o del
+     * mismo) directamente entre marcos. Los rangos no deben solaparse.
+     * Si al traer el destino se desaloja el origen, ese tramo se copia a
+     * través de un buffer directo de una página.
+     *
+     * @param srcPcb  proceso origen
+     * @param srcAddr dirección lógica de origen
+     * @param dstPcb  proceso destino
+     * @param dstAddr dirección lógica de destino
+     * @param length  bytes a copiar
+     */
+    public void copy(PCB srcPcb, long srcAddr, PCB dstPcb, long dstAddr, long length) {
+        if (length < 0)
+            throw new IllegalArgumentException("La longitud no puede ser negativa.");
+        while (length > 0) {
+            long room = Math.min(pm.pageSize - pm.offsetOf(srcAddr), pm.pageSize - pm.offsetOf(dstAddr));
+            int n = (int) Math.min(length, room);
+            // Primero el origen y luego la escritura (su copy-on-write puede
+            // mover el marco destino). Si el fallo del destino desalojó el
+            // origen, el tramo pasa por un buffer de una página: reintentar
+            // podría desalojar otra vez el destino.
+            long from = engine.translate(srcPcb, srcAddr);
+            long to = engine.write(dstPcb, dstAddr);
+            if (stillMapped(srcPcb, srcAddr, from)) {
+                store.copy(from, to, n);
+            } else {
+                if (bounce == null)
+                    bounce = ByteBuffer.allocateDirect(pm.pageSize);
+                bounce.clear().limit(n);
+                store.read(engine.translate(srcPcb, srcAddr), bounce);
+                bounce.flip();
+                store.write(engine.write(dstPcb, dstAddr), bounce);
+            }
+            srcAddr += n;
+            dstAddr += n;
+            length -= n;
+        }
+    }
+
+    /** @return true si addr sigue traduciéndose a la dirección física phys */
+    private boolean stillMapped(PCB pcb, long addr, long phys) {
+        PageTableEntry e = pcb.pageTable[(int) pm.pageOf(addr)];
+        Integer frame = e.frameNumber;
+        return e.present && frame != null && pm.physicalAddress(frame, pm.offsetOf(addr)) == phys;
+    }
+}
@@ -1,9 +1,16 @@
 package co.edu.uptc.presenter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import co.edu.uptc.io.EventLog;
 import co.edu.uptc.model.*;
 import co.edu.uptc.view.MemoryView;
 import co.edu.uptc.view.MainWindow;
@@ -17,7 +24,8 @@ import co.edu.uptc.view.vm.ProcessVM;
  * Es el único Presenter dentro del patrón MVP.
  * 
  * Responsabilidades principales:
- * - Mantener el estado del modelo (procesos, memoria física, gestor).
+ * - Mantener el estado del modelo (procesos, memoria física, gestor) a
+ * través de SimulationEngine, que aplica las transiciones sin depender de la UI.
  * - Convertir el modelo en DTOs (ViewModels) que la vista pueda mostrar.
  * - Manejar todos los eventos de la interfaz gráfica:
  * tanto las operaciones manuales como la simulación automática.
@@ -44,6 +52,12 @@ public class MemoryPresenter implements MemoryView.Listener {
     /** Costo de ejecución por página: ticks requeridos. */
     private final int TICKS_PER_PAGE = 2;
 
+    /** Ranuras del dispositivo de swap (en páginas). */
+    private final int SWAP_SLOTS = NUM_FRAMES * 4;
+
+    /** Máximo de páginas en la cola de escritura diferida del swap. */
+    private final int SWAP_QUEUE = 64;
+
     // --- Modelo ---
 
     /** Memoria física simulada. */
@@ -52,8 +66,14 @@ public class MemoryPresenter implements MemoryView.Listener {
     /** Gestor de memoria encargado de asignar/liberar marcos. */
     private final MemoryManager mm = new SimpleMemoryManager(pm);
 
-    /** Procesos actualmente vivos, indexados por PID. */
-    private final Map<Integer, PCB> processes = new LinkedHashMap<>();
+    /** Archivo temporal del swap (se borra en close() o al salir). */
+    private Path swapFile;
+
+    /** Swap: guarda las páginas modificadas al suspender y las recarga al reanudar. */
+    private final SwapManager swap = createSwap();
+
+    /** Núcleo de la simulación: procesos, cola de listos y transiciones. */
+    private final SimulationEngine engine = new SimulationEngine(pm, mm, swap, TICKS_PER_PAGE);
 
     // --- Vista ---
 
@@ -67,24 +87,21 @@ public class MemoryPresenter implements MemoryView.Listener {
 
     // --- Estado de la simulación ---
 
-    /** Cola de listos (READY), contiene PIDs para round-robin. */
-    private final Deque<Integer> readyQueue = new ArrayDeque<>();
+    /** false sin pantalla: no se crea el Timer y los ticks los da quien reproduce. */
+    private final boolean interactive;
 
-    /** Tiempo de ejecución restante por proceso (en ticks). */
-    private final Map<Integer, Integer> remainingTicks = new HashMap<>();
-
-    /** Temporizador que dispara cada tick de la simulación. */
+    /** Temporizador que dispara cada tick de la simulación (solo interactivo). */
     private Timer simTimer;
 
+    /** Grabador de la sesión, o null si no se está grabando. */
+    private EventRecorder recorder;
+
     /** Bandera: indica si la simulación está en ejecución. */
     private boolean simRunning = false;
 
     /** Bandera: indica si la simulación está en pausa. */
     private boolean simPaused = false;
 
-    /** PID del proceso que está actualmente en RUNNING. */
-    private Integer runningPid = null;
-
     /**
      * Constructor del Presenter.
      * - Vincula el listener con la vista.
@@ -93,7 +110,19 @@ public class MemoryPresenter implements MemoryView.Listener {
      * - Refresca la interfaz inicial.
      */
     public MemoryPresenter(MemoryView view) {
+        this(view, true);
+    }
+
+    /**
+     * Constructor del Presenter.
+     *
+     * @param view        vista a la que se vincula
+     * @param interactive false para reproducir sin Timer (EventReplayer):
+     *                    los ticks se dan llamando a step()
+     */
+    public MemoryPresenter(MemoryView view, boolean interactive) {
         this.view = view;
+        this.interactive = interactive;
         this.view.setListener(this);
 
         //título dinámico de la columna de páginas
@@ -107,18 +136,34 @@ public class MemoryPresenter implements MemoryView.Listener {
 
     /** Crea procesos de ejemplo para pruebas (solo si aún no existen). */
     private void seedDemoData() {
-        if (!processes.isEmpty())
+        if (!engine.processes().isEmpty())
             return;
 
         int[] pages = { 4, 6, 3, 8, 5, 7, 2, 10 };
         for (int i = 0; i < pages.length; i++) {
             int pid = i + 1;
             int sizeBytes = pages[i] * PAGE_SIZE;
-            PCB pcb = new PCB(pid, sizeBytes, PAGE_SIZE);
-            processes.put(pid, pcb);
-            remainingTicks.put(pid, Math.max(1, pages[i] * TICKS_PER_PAGE));
+            engine.createProcess(pid, sizeBytes);
+        }
+        // Biblioteca compartida de 2 páginas mapeada por los procesos 1, 2 y 3
+        engine.createSegment("libc", 2 * PAGE_SIZE);
+        engine.attach(engine.process(1), "libc", 2);
+        engine.attach(engine.process(2), "libc", 4);
+        engine.attach(engine.process(3), "libc", 1);
+        selected = engine.process(1);
+    }
+
+    /** Crea el dispositivo de swap sobre un archivo temporal que se borra al salir. */
+    private SwapManager createSwap() {
+        try {
+            Path file = Files.createTempFile("simulador-swap", ".bin");
+            file.toFile().deleteOnExit();
+            swapFile = file;
+            SwapDevice device = new SwapDevice(file, PAGE_SIZE, SWAP_SLOTS, SWAP_QUEUE);
+            return new SwapManager(mm, device, FrameContents.NONE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el archivo de swap: " + ex.getMessage(), ex);
         }
-        selected = processes.get(1);
     }
 
     // ===== Adaptadores Modelo → DTO =====
@@ -127,9 +172,10 @@ public class MemoryPresenter implements MemoryView.Listener {
     private List<FrameVM> toFrameVMs() {
         List<FrameVM> out = new ArrayList<>();
         for (Frame f : pm.frames) {
-            String pidText = (f.pid == null) ? "-" : String.valueOf(f.pid);
+            String pidText = (f.segment != null) ? "shm:" + f.segment.name
+                    : (f.pid == null) ? "-" : String.valueOf(f.pid);
             String pageText = (f.pageNumber == null) ? "-" : String.valueOf(f.pageNumber);
-            out.add(new FrameVM(f.frameNumber, f.free, pidText, pageText));
+            out.add(new FrameVM(f.frameNumber, f.free, pidText, pageText, f.free ? 0 : Math.max(1, f.refCount)));
         }
         return out;
     }
@@ -137,8 +183,10 @@ public class MemoryPresenter implements MemoryView.Listener {
     /** Convierte procesos en ProcessVM para la tabla de procesos. */
     private List<ProcessVM> toProcessVMs() {
         List<ProcessVM> out = new ArrayList<>();
-        for (PCB p : processes.values()) {
-            out.add(new ProcessVM(p.pid, p.state.name(), p.logicalSizeBytes, p.pageCount));
+        for (PCB p : engine.processes()) {
+            MemoryFootprint fp = engine.footprint(p);
+            out.add(new ProcessVM(p.pid, p.state.name(), p.logicalSizeBytes, p.pageCount, fp.rssPages,
+                    fp.pssPages, fp.ussPages));
         }
         return out;
     }
@@ -173,29 +221,12 @@ public class MemoryPresenter implements MemoryView.Listener {
 
     /** Obtiene un PCB por PID o lanza excepción si no existe. */
     private PCB require(int pid) {
-        PCB pcb = processes.get(pid);
+        PCB pcb = engine.process(pid);
         if (pcb == null)
             throw new IllegalArgumentException("PID desconocido: " + pid);
         return pcb;
     }
 
-    // ===== Admisión =====
-
-    /** Admisión greedy: admite todos los NEW/SUSP_READY que quepan en memoria. */
-    private boolean greedyAdmit() {
-        boolean admitted = false;
-        for (PCB pcb : processes.values()) {
-            if (pcb.state == ProcessState.NEW || pcb.state == ProcessState.SUSP_READY) {
-                if (mm.admitProcess(pcb)) {
-                    pcb.state = ProcessState.READY;
-                    readyQueue.addLast(pcb.pid);
-                    admitted = true;
-                }
-            }
-        }
-        return admitted;
-    }
-
     // ===== Simulación =====
 
     @Override
@@ -208,14 +239,15 @@ public class MemoryPresenter implements MemoryView.Listener {
             onResumeSimulation();
             return;
         }
-        readyQueue.clear();
-        greedyAdmit();
-        if (readyQueue.isEmpty()) {
+        engine.beginRun();
+        if (!engine.hasReady()) {
             view.showInfo("No hay procesos listos. Crea o admite alguno primero.");
             return;
         }
-        simTimer = new Timer(QUANTUM_MS, e -> step());
-        simTimer.start();
+        if (interactive) {
+            simTimer = new Timer(QUANTUM_MS, e -> step());
+            simTimer.start();
+        }
         simRunning = true;
         simPaused = false;
         view.showInfo("Simulación iniciada.");
@@ -227,15 +259,9 @@ public class MemoryPresenter implements MemoryView.Listener {
             view.showInfo("La simulación no se puede pausar ahora.");
             return;
         }
-        simTimer.stop();
+        stopTimer();
         simPaused = true;
-        if (runningPid != null) {
-            PCB pcb = processes.get(runningPid);
-            if (pcb != null && pcb.state == ProcessState.RUNNING)
-                pcb.state = ProcessState.READY;
-            readyQueue.addFirst(runningPid);
-            runningPid = null;
-        }
+        engine.preemptRunning();
         refreshAll();
         view.showInfo("Simulación en pausa.");
     }
@@ -246,9 +272,10 @@ public class MemoryPresenter implements MemoryView.Listener {
             view.showInfo("La simulación no está en pausa.");
             return;
         }
-        if (readyQueue.isEmpty())
-            greedyAdmit();
-        simTimer.start();
+        if (!engine.hasReady())
+            engine.greedyAdmit();
+        if (simTimer != null)
+            simTimer.start();
         simPaused = false;
         view.showInfo("Simulación reanudada.");
     }
@@ -259,58 +286,79 @@ public class MemoryPresenter implements MemoryView.Listener {
             view.showInfo("La simulación ya está detenida.");
             return;
         }
-        simTimer.stop();
+        stopTimer();
         simRunning = false;
         simPaused = false;
-        if (runningPid != null) {
-            PCB pcb = processes.get(runningPid);
-            if (pcb != null && pcb.state == ProcessState.RUNNING)
-                pcb.state = ProcessState.READY;
-            readyQueue.addFirst(runningPid);
-            runningPid = null;
-        }
+        engine.preemptRunning();
         refreshAll();
         view.showInfo("Simulación detenida.");
     }
 
     /** Ejecuta un tick: RUNNING consume tiempo, termina o vuelve a READY. */
-    private void step() {
-        if (readyQueue.isEmpty()) {
-            boolean admitted = greedyAdmit();
-            if (!admitted) {
-                simTimer.stop();
-                simRunning = false;
-                view.showInfo("Simulación finalizada: no quedan procesos por ejecutar.");
-                refreshAll();
-                return;
-            }
-        }
-        Integer pid = readyQueue.pollFirst();
-        runningPid = pid;
-        PCB pcb = processes.get(pid);
-        if (pcb == null)
+    void step() {
+        if (!engine.step()) {
+            stopTimer();
+            simRunning = false;
+            if (recorder != null)
+                recorder.simulationFinished();
+            view.showInfo("Simulación finalizada: no quedan procesos por ejecutar.");
+            refreshAll();
             return;
-
-        pcb.state = ProcessState.RUNNING;
+        }
         refreshAll();
+    }
+
+    private void stopTimer() {
+        if (simTimer != null)
+            simTimer.stop();
+    }
 
-        int left = remainingTicks.getOrDefault(pid, Math.max(1, pcb.pageCount * TICKS_PER_PAGE));
-        left -= 1;
-        remainingTicks.put(pid, Math.max(0, left));
+    /** @return true si la simulación corre y no está en pausa (el Timer daría ticks) */
+    boolean simulationActive() {
+        return simRunning && !simPaused;
+    }
 
-        if (left <= 0) {
-            mm.releaseProcess(pcb);
-            pcb.state = ProcessState.TERMINATED;
-            runningPid = null;
-            greedyAdmit();
-            refreshAll();
+    SimulationEngine engine() {
+        return engine;
+    }
+
+    // ===== Grabación =====
+
+    /**
+     * Empieza a grabar la sesión: la vista pasa a notificar al grabador, que
+     * anota cada evento y lo reenvía a este Presenter.
+     *
+     * @param file archivo del registro (se reemplaza si existe)
+     * @throws IOException si no se puede crear el archivo
+     */
+    public void startRecording(Path file) throws IOException {
+        if (recorder != null)
+            throw new IllegalStateException("Ya se está grabando la sesión.");
+        recorder = new EventRecorder(this, engine, EventLog.create(file, EventRecorder.configHash(engine)));
+        view.setListener(recorder);
+    }
+
+    /**
+     * Termina la grabación (registro END con el estado final) y vuelve a
+     * conectar la vista directamente con este Presenter.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void stopRecording() throws IOException {
+        if (recorder == null)
             return;
-        }
+        EventRecorder r = recorder;
+        recorder = null;
+        view.setListener(this);
+        r.close();
+    }
 
-        pcb.state = ProcessState.READY;
-        runningPid = null;
-        readyQueue.addLast(pid);
-        refreshAll();
+    /** Detiene el Timer y libera el swap (el Presenter no se usa después). */
+    void close() throws IOException {
+        stopTimer();
+        stopRecording();
+        swap.device().close();
+        Files.deleteIfExists(swapFile);
     }
 
     // ===== Eventos manuales =====
@@ -322,13 +370,11 @@ public class MemoryPresenter implements MemoryView.Listener {
                 view.showError("PID y Tamaño deben ser positivos.");
                 return;
             }
-            if (processes.containsKey(pid)) {
+            if (engine.process(pid) != null) {
                 view.showError("El PID ya existe.");
                 return;
             }
-            PCB pcb = new PCB(pid, sizeBytes, PAGE_SIZE);
-            processes.put(pid, pcb);
-            remainingTicks.put(pid, Math.max(1, pcb.pageCount * TICKS_PER_PAGE));
+            PCB pcb = engine.createProcess(pid, sizeBytes);
             if (selected == null)
                 selected = pcb;
             view.showInfo("Proceso " + pid + " creado: " + sizeBytes + " B (" + pcb.pageCount + " páginas).");
@@ -354,7 +400,7 @@ public class MemoryPresenter implements MemoryView.Listener {
                 default -> {
                 }
             }
-            boolean ok = mm.admitProcess(pcb);
+            boolean ok = engine.loadProcess(pcb);
             if (ok) {
                 pcb.state = ProcessState.READY;
                 view.showInfo("Proceso " + pid + " admitido en memoria.");
@@ -374,10 +420,9 @@ public class MemoryPresenter implements MemoryView.Listener {
     public void onSuspendProcess(int pid) {
         try {
             PCB pcb = require(pid);
-            mm.releaseProcess(pcb);
-            pcb.state = ProcessState.SUSP_READY;
-            readyQueue.remove(pid);
-            view.showInfo("Proceso " + pid + " suspendido. Marcos liberados.");
+            int written = engine.suspend(pcb);
+            view.showInfo("Proceso " + pid + " suspendido. Marcos liberados ("
+                    + written + " páginas modificadas enviadas a swap).");
             refreshAll();
         } catch (Exception ex) {
             view.showError("Fallo al suspender: " + ex.getMessage());
@@ -393,10 +438,7 @@ public class MemoryPresenter implements MemoryView.Listener {
     public void onTerminateProcess(int pid) {
         try {
             PCB pcb = require(pid);
-            mm.releaseProcess(pcb);
-            pcb.state = ProcessState.TERMINATED;
-            readyQueue.remove(pid);
-            remainingTicks.put(pid, 0);
+            engine.terminate(pcb);
             view.showInfo("Proceso " + pid + " terminado. Marcos liberados.");
             refreshAll();
         } catch (Exception ex) {
@@ -412,7 +454,7 @@ public class MemoryPresenter implements MemoryView.Listener {
                 return;
             }
             PCB pcb = require(pid);
-            int physical = mm.mapLogicalToPhysical(pcb, logicalAddr);
+            long physical = engine.translate(pcb, logicalAddr);
             int page = logicalAddr / PAGE_SIZE;
             int offset = logicalAddr % PAGE_SIZE;
             String msg = "Proceso No: " + pid + "\n"
@@ -441,12 +483,39 @@ public class MemoryPresenter implements MemoryView.Listener {
 
     // ===== Punto de entrada =====
 
+    /**
+     * Uso: java co.edu.uptc.presenter.MemoryPresenter [--record sesion.evlog]
+     * Con --record, la sesión se graba para EventReplayer; el registro se
+     * cierra al cerrar la ventana.
+     */
     public static void main(String[] args) {
+        Path record = (args.length == 2 && args[0].equals("--record")) ? Path.of(args[1]) : null;
+        if (args.length != 0 && record == null) {
+            System.err.println("Uso: java co.edu.uptc.presenter.MemoryPresenter [--record sesion.evlog]");
+            System.exit(2);
+        }
         SwingUtilities.invokeLater(() -> {
             MainWindow w = new MainWindow();
-            new MemoryPresenter(w);
-            if (w instanceof javax.swing.JFrame frame)
-                frame.setVisible(true);
+            MemoryPresenter presenter = new MemoryPresenter(w);
+            if (record != null) {
+                try {
+                    presenter.startRecording(record);
+                } catch (IOException ex) {
+                    System.err.println("No se pudo grabar la sesión: " + ex.getMessage());
+                    System.exit(1);
+                }
+                w.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowClosing(WindowEvent e) {
+                        try {
+                            presenter.stopRecording();
+                        } catch (IOException ex) {
+                            System.err.println("No se pudo cerrar la grabación: " + ex.getMessage());
+                        }
+                    }
+                });
+            }
+            w.setVisible(true);
         });
     }
 }
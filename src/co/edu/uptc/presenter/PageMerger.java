@@ -0,0 +1,224 @@
+package co.edu.uptc.presenter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import co.edu.uptc.model.Frame;
+import co.edu.uptc.model.FrameStore;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.PageTableEntry;
+
+/**
+ * Clase PageMerger
+ * ------------------------------------------------------------
+ * Mezclador de páginas iguales (same-page merging, como KSM): recorre en
+ * segundo plano las páginas presentes de los procesos, calcula un hash de
+ * su contenido en el FrameStore y, cuando dos páginas tienen el mismo
+ * contenido, las deja compartiendo un solo marco en copy-on-write
+ * (MemoryManager.mergePage(...)). El marco sobrante se libera si no tenía
+ * otras referencias; una escritura posterior vuelve a copiar la página.
+ *
+ * Presupuesto: en cada tick se examinan a lo sumo pagesPerTick páginas,
+ * continuando donde quedó el tick anterior. Una pasada completa recorre los
+ * procesos vivos al comenzarla; al terminar, el índice se vacía y empieza
+ * otra.
+ *
+ * Índice de contenido: tabla de direccionamiento abierto de hash a la
+ * primera página vista con ese hash (proceso, página y marco). La entrada
+ * se valida al usarla: si la página cambió de marco o el contenido ya no es
+ * igual (escritura, colisión del hash), se reemplaza por la página actual.
+ * Las páginas de segmentos compartidos no se mezclan.
+ *
+ * Costo: el tiempo de CPU de cada exploración se acumula en scanNanos().
+ */
+public class PageMerger {
+
+    private final FrameStore store;
+    private final int pagesPerTick;
+
+    // --- Índice de contenido (hash -> página candidata) ---
+    private final long[] keys;
+    private final PCB[] owners;
+    private final int[] pages;
+    private final int[] frames;
+    private final int mask;
+    private int size;
+
+    // --- Posición de la pasada actual ---
+    private List<PCB> pass;
+    private int procIndex;
+    private int page;
+
+    // --- Contadores ---
+    private long fullScans;
+    private long pagesScanned;
+    private long pagesHashed;
+    private long pagesMerged;
+    private long framesReclaimed;
+    private long scanNanos;
+
+    /**
+     * Constructor de PageMerger.
+     *
+     * @param store        contenido de la memoria física
+     * @param pagesPerTick páginas examinadas por tick (> 0)
+     */
+    public PageMerger(FrameStore store, int pagesPerTick) {
+        if (store == null)
+            throw new IllegalArgumentException("El almacén no puede ser nulo.");
+        if (pagesPerTick <= 0)
+            throw new IllegalArgumentException("Las páginas por tick deben ser > 0.");
+        this.store = store;
+        this.pagesPerTick = pagesPerTick;
+        long frameCount = store.sizeBytes() / store.pageSize();
+        int capacity = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(16, frameCount * 2)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.owners = new PCB[capacity];
+        this.pages = new int[capacity];
+        this.frames = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /** Explora el presupuesto del tick. */
+    public void onTick(SimulationEngine engine) {
+        scan(engine, pagesPerTick);
+    }
+
+    /**
+     * Examina hasta 'budget' páginas, mezclando las que encuentre iguales.
+     *
+     * @param engine motor cuyos procesos se exploran
+     * @param budget páginas a examinar
+     * @return páginas mezcladas en esta llamada
+     */
+    public int scan(SimulationEngine engine, int budget) {
+        long t0 = System.nanoTime();
+        Frame[] physical = engine.physicalMemory().frames;
+        int merged = 0;
+        int done = 0;
+        boolean restarted = false;
+        while (done < budget) {
+            if (pass == null || procIndex >= pass.size()) {
+                // A lo sumo una pasada nueva por llamada (evita girar sin páginas)
+                if (restarted)
+                    break;
+                if (pass != null)
+                    fullScans++;
+                startPass(engine);
+                restarted = true;
+                continue;
+            }
+            PCB pcb = pass.get(procIndex);
+            if (page >= pcb.pageCount) {
+                procIndex++;
+                page = 0;
+                continue;
+            }
+            int p = page++;
+            done++;
+            pagesScanned++;
+            PageTableEntry e = pcb.pageTable[p];
+            Integer frameNo = e.frameNumber;
+            if (!e.present || frameNo == null || e.segment != null)
+                continue;
+            int frame = frameNo;
+            long h = store.hashFrame(frame);
+            pagesHashed++;
+
+            int slot = find(h);
+            if (owners[slot] == null) {
+                put(slot, h, pcb, p, frame);
+                continue;
+            }
+            if (frames[slot] == frame)
+                continue; // ya comparten marco
+            PageTableEntry c = owners[slot].pageTable[pages[slot]];
+            Integer cf = c.frameNumber;
+            if (!c.present || cf == null || cf != frames[slot] || !store.sameContents(frame, frames[slot])) {
+                // Candidata vieja o colisión: la página actual la reemplaza
+                put(slot, h, pcb, p, frame);
+                continue;
+            }
+            boolean last = physical[frame].refCount <= 1;
+            if (engine.memoryManager().mergePage(pcb, p, owners[slot], pages[slot])) {
+                merged++;
+                pagesMerged++;
+                if (last)
+                    framesReclaimed++;
+            }
+        }
+        scanNanos += System.nanoTime() - t0;
+        return merged;
+    }
+
+    /** Empieza una pasada con los procesos vivos y el índice vacío. */
+    private void startPass(SimulationEngine engine) {
+        pass = new ArrayList<>(engine.processes());
+        procIndex = 0;
+        page = 0;
+        clearIndex();
+    }
+
+    private void clearIndex() {
+        Arrays.fill(owners, null);
+        size = 0;
+    }
+
+    /** @return ranura con la clave h, o la ranura vacía donde iría */
+    private int find(long h) {
+        int i = (int) (h ^ (h >>> 32)) & mask;
+        while (owners[i] != null && keys[i] != h)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private void put(int slot, long h, PCB pcb, int p, int frame) {
+        if (owners[slot] == null) {
+            if (size >= (mask + 1) - ((mask + 1) >>> 2)) {
+                // Índice al 75%: se vacía y se reinserta solo esta página
+                clearIndex();
+                slot = find(h);
+            }
+            size++;
+        }
+        keys[slot] = h;
+        owners[slot] = pcb;
+        pages[slot] = p;
+        frames[slot] = frame;
+    }
+
+    public int pagesPerTick() {
+        return pagesPerTick;
+    }
+
+    /** @return pasadas completas terminadas */
+    public long fullScans() {
+        return fullScans;
+    }
+
+    /** @return páginas examinadas (presentes o no) */
+    public long pagesScanned() {
+        return pagesScanned;
+    }
+
+    /** @return páginas cuyo contenido se calculó */
+    public long pagesHashed() {
+        return pagesHashed;
+    }
+
+    /** @return páginas mezcladas en un marco compartido */
+    public long pagesMerged() {
+        return pagesMerged;
+    }
+
+    /** @return marcos liberados por las mezclas */
+    public long framesReclaimed() {
+        return framesReclaimed;
+    }
+
+    /** @return tiempo de CPU acumulado en las exploraciones, en nanosegundos */
+    public long scanNanos() {
+        return scanNanos;
+    }
+}
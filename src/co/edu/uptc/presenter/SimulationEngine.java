@@ -0,0 +1,1703 @@
+package co.edu.uptc.presenter;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongPredicate;
+
+import co.edu.uptc.io.TickStatsWriter;
+import co.edu.uptc.model.*;
+import co.edu.uptc.model.replacement.ReplacementPolicy;
+
+/**
+ * Clase SimulationEngine
+ * ------------------------------------------------------------
+ * Núcleo de la simulación sin interfaz gráfica.
+ *
+ * Contiene el estado que antes vivía en el Presenter (procesos, cola de
+ * listos, ticks restantes) y aplica las transiciones de estado:
+ * - Admisión (todo-o-nada, o por conjunto de trabajo).
+ * - Planificación round-robin de un tick por turno, en uno o varios núcleos.
+ * - Suspensión, reanudación y terminación.
+ *
+ * No conoce la vista ni temporizadores: el Presenter (o un programa por
+ * lotes) decide cuándo llamar a step().
+ *
+ * Opcionalmente, cada tick el proceso en ejecución emite referencias a
+ * memoria (Workload). Con admisión por conjunto de trabajo las páginas no
+ * presentes provocan fallos de página, atendidos por demanda.
+ *
+ * Varios núcleos (setCores): cada núcleo tiene su propia cola de listos y
+ * ejecuta un turno por tick. Un proceso vuelve a la cola del núcleo donde
+ * corrió (afinidad); un núcleo sin trabajo roba el último proceso de la cola
+ * más cargada. Cada tick tiene tres fases:
+ * 1. Cada núcleo elige su proceso (o roba uno).
+ * 2. Cada proceso elegido emite sus referencias hasta el primer fallo. Solo
+ * lee su propia tabla de páginas, así que con setParallelThreads(...) esta
+ * fase corre en hilos reales.
+ * 3. En orden de núcleo: fallos pendientes, contabilidad, terminación y E/S.
+ * El resultado no depende del número de hilos.
+ */
+public class SimulationEngine {
+
+    /** Modo de admisión a memoria. */
+    public enum AdmissionMode {
+        /** Todas las páginas del proceso o nada (comportamiento original). */
+        ALL_PAGES,
+        /** Solo el conjunto de trabajo estimado; el resto se carga por demanda. */
+        WORKING_SET
+    }
+
+    // --- Modelo ---
+
+    /** Memoria física simulada. */
+    private final PhysicalMemory pm;
+
+    /** Gestor de memoria encargado de asignar/liberar marcos. */
+    private final MemoryManager mm;
+
+    /** Swap para suspender/reanudar conservando páginas (puede ser null). */
+    private final SwapManager swap;
+
+    /** Costo de ejecución por página: ticks requeridos. */
+    final int ticksPerPage;
+
+    // El estado de la simulación es visible en el paquete para Checkpoint.
+
+    /** Procesos actualmente vivos, indexados por PID. */
+    final Map<Integer, PCB> processes = new LinkedHashMap<>();
+
+    /** Segmentos compartidos, indexados por nombre. */
+    private final Map<String, SharedSegment> segments = new LinkedHashMap<>();
+
+    // --- Estado de la planificación ---
+
+    /** Núcleos simulados, cada uno con su cola de listos (PIDs, round-robin). */
+    Core[] cores = { new Core() };
+
+    /** Último núcleo en que ejecutó cada proceso (afinidad). */
+    final Map<Integer, Integer> lastCore = new HashMap<>();
+
+    /** Tiempo de ejecución restante por proceso (en ticks). */
+    final Map<Integer, Integer> remainingTicks = new HashMap<>();
+
+    /** Tick en que despierta cada proceso bloqueado (WAITING o SUSP_BLOCKED). */
+    final Map<Integer, Long> wakeAt = new LinkedHashMap<>();
+
+    /** PID del proceso que está actualmente en RUNNING. */
+    private Integer runningPid = null;
+
+    /** PID del último proceso que ejecutó un tick. */
+    Integer lastRunPid = null;
+
+    /** Ticks simulados desde la creación. */
+    long tick = 0;
+
+    // --- Ejecución paralela de la fase de referencias (opcional) ---
+
+    private ExecutorService parallel;
+    private List<Callable<Void>> parallelTasks;
+
+    // --- Carga de trabajo (opcional) ---
+
+    Workload workload;
+    private int accessesPerTick;
+    private int faultPenaltyTicks;
+    private double ioBlockProbability;
+    private int ioBlockTicks;
+    /** Estado del generador xorshift de bloqueos por E/S. */
+    long ioState;
+
+    // --- Memoria virtual (opcional) ---
+
+    AdmissionMode admissionMode = AdmissionMode.ALL_PAGES;
+    private AdmissionPolicy admissionPolicy = AdmissionPolicy.ARRIVAL;
+    WorkingSetTracker workingSet;
+    private int initialWorkingSet;
+    MediumTermScheduler mediumTerm;
+
+    // --- Mezcla de páginas iguales (opcional) ---
+
+    private PageMerger merger;
+    private TierMigrator tierMigrator;
+
+    // --- Lectura anticipada (opcional) ---
+
+    private PagePrefetcher prefetcher;
+
+    // --- Política de reemplazo (opcional; sin ella, la página más antigua) ---
+
+    private ReplacementPolicy replacement;
+    /** Víctimas que eligió la política de reemplazo. */
+    private long policyVictims;
+
+    // --- Grupos de memoria (opcional) ---
+
+    private GroupedMemoryManager groups;
+    private long oomKills;
+
+    // --- Flujo de referencias (opcional, para perfiladores y trazas) ---
+
+    private ReferenceListener referenceListener;
+
+    // --- Estadísticas por tick (opcional) ---
+
+    private TickStatsWriter stats;
+
+    /** PID que ejecutó el tick actual; null si la CPU estuvo ociosa. */
+    private Integer tickPid;
+
+    /** Contadores al final del tick anterior (para escribir diferencias). */
+    private long statsAdmissions;
+    private long statsTerminations;
+    private long statsFaults;
+
+    // --- Contadores acumulados ---
+
+    long admissions;
+    long terminations;
+    long faults;
+    long busyTicks;
+    long idleTicks;
+    long migrations;
+    long steals;
+    /** Suspendidos que greedyAdmit() reanudó porque no quedaba ningún residente. */
+    long fallbackResumes;
+
+    /** Núcleo simulado. */
+    static final class Core {
+        /** Cola de listos del núcleo. */
+        final Deque<Integer> runQueue = new ArrayDeque<>();
+        /** Proceso elegido en el tick actual (null: ocioso). */
+        PCB current;
+        /** Referencias del turno ya traducidas sin fallo. */
+        int doneAccesses;
+        /** Dirección del primer fallo del turno (-1: ninguno). */
+        long pendingAddress;
+        long busyTicks;
+        long idleTicks;
+        long migrationsIn;
+        long steals;
+    }
+
+    /**
+     * Constructor de SimulationEngine.
+     *
+     * @param pm           memoria física
+     * @param mm           gestor de memoria sobre pm
+     * @param swap         swap asociado a mm, o null para descartar páginas al suspender
+     * @param ticksPerPage ticks de CPU que requiere cada página del proceso
+     */
+    public SimulationEngine(PhysicalMemory pm, MemoryManager mm, SwapManager swap, int ticksPerPage) {
+        if (pm == null || mm == null)
+            throw new IllegalArgumentException("Memoria física y gestor no pueden ser nulos.");
+        if (ticksPerPage <= 0)
+            throw new IllegalArgumentException("Los ticks por página deben ser > 0.");
+        this.pm = pm;
+        this.mm = mm;
+        this.swap = swap;
+        this.ticksPerPage = ticksPerPage;
+    }
+
+    // ===== Configuración =====
+
+    /**
+     * Activa la emisión de referencias a memoria en cada tick.
+     *
+     * @param workload        generador de direcciones (null para desactivar)
+     * @param accessesPerTick referencias por tick del proceso en ejecución
+     */
+    public void setWorkload(Workload workload, int accessesPerTick) {
+        if (workload != null && accessesPerTick <= 0)
+            throw new IllegalArgumentException("Los accesos por tick deben ser > 0.");
+        this.workload = workload;
+        this.accessesPerTick = accessesPerTick;
+    }
+
+    /**
+     * Ticks que un proceso queda bloqueado (WAITING) al sufrir un fallo de página.
+     * Con 0, los fallos se atienden sin bloquear.
+     */
+    public void setFaultPenaltyTicks(int ticks) {
+        if (ticks < 0)
+            throw new IllegalArgumentException("La penalización debe ser ≥ 0.");
+        this.faultPenaltyTicks = ticks;
+    }
+
+    /**
+     * Ráfagas de E/S: tras cada tick, con la probabilidad dada el proceso
+     * se bloquea (WAITING) durante 'ticks' ticks.
+     */
+    public void setIoBlocking(double probability, int ticks, long seed) {
+        if (probability < 0 || probability > 1 || ticks < 0)
+            throw new IllegalArgumentException("Parámetros de E/S inválidos.");
+        this.ioBlockProbability = probability;
+        this.ioBlockTicks = ticks;
+        this.ioState = (seed == 0) ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    /**
+     * Activa la admisión por conjunto de trabajo.
+     *
+     * @param tracker           modelo de conjunto de trabajo
+     * @param initialWorkingSet páginas a cargar para procesos sin historia
+     */
+    public void setWorkingSetAdmission(WorkingSetTracker tracker, int initialWorkingSet) {
+        if (tracker == null)
+            throw new IllegalArgumentException("El modelo de conjunto de trabajo no puede ser nulo.");
+        this.workingSet = tracker;
+        this.initialWorkingSet = initialWorkingSet;
+        this.admissionMode = AdmissionMode.WORKING_SET;
+    }
+
+    /**
+     * Política con la que greedyAdmit() elige qué procesos admitir cuando
+     * no caben todos (solo en modo ALL_PAGES).
+     */
+    public void setAdmissionPolicy(AdmissionPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("La política de admisión no puede ser nula.");
+        this.admissionPolicy = policy;
+    }
+
+    /**
+     * Cambia la cantidad de núcleos simulados. Debe llamarse sin procesos en
+     * cola (por ejemplo, antes de beginRun()).
+     *
+     * @param count núcleos (>= 1)
+     */
+    public void setCores(int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("Debe haber al menos un núcleo.");
+        if (readyCount() > 0)
+            throw new IllegalStateException("Los núcleos solo pueden cambiarse con las colas vacías.");
+        cores = new Core[count];
+        for (int c = 0; c < count; c++)
+            cores[c] = new Core();
+        lastCore.clear();
+    }
+
+    /**
+     * Ejecuta la fase de referencias de los núcleos en 'threads' hilos reales
+     * (1 = en el hilo que llama a step()). Requiere que el Workload admita
+     * llamadas concurrentes con procesos distintos (LocalityWorkload lo hace)
+     * y un gestor con MemoryManager.concurrentTranslation() (simple,
+     * concurrente y NUMA; no la tabla invertida, CachedMemoryManager ni los
+     * envoltorios de niveles o grupos).
+     * Los hilos son demonio; con 1 se detienen los anteriores.
+     *
+     * @param threads hilos (>= 1)
+     * @throws IllegalStateException si hay flujo de referencias, política de
+     *                               reemplazo o el gestor no admite
+     *                               traducción concurrente
+     */
+    public void setParallelThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Debe haber al menos un hilo.");
+        if (threads > 1 && referenceListener != null)
+            throw new IllegalStateException("El flujo de referencias requiere un solo hilo.");
+        if (threads > 1 && replacement != null)
+            throw new IllegalStateException("La política de reemplazo requiere un solo hilo.");
+        if (threads > 1 && !mm.concurrentTranslation())
+            throw new IllegalStateException("El gestor de memoria no admite traducción concurrente.");
+        if (parallel != null) {
+            parallel.shutdown();
+            parallel = null;
+            parallelTasks = null;
+        }
+        if (threads == 1)
+            return;
+        int[] next = { 0 };
+        parallel = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "core-" + next[0]++);
+            t.setDaemon(true);
+            return t;
+        });
+        parallelTasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int first = i;
+            parallelTasks.add(() -> {
+                Core[] cs = cores;
+                for (int c = first; c < cs.length; c += threads)
+                    if (cs[c].current != null)
+                        accessUntilFault(cs[c]);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Activa un planificador de mediano plazo (null para desactivar). Con
+     * planificador, greedyAdmit() solo admite procesos NEW: los suspendidos
+     * vuelven con resumeOneSuspended() (o si no queda ningún residente).
+     */
+    public void setMediumTermScheduler(MediumTermScheduler scheduler) {
+        this.mediumTerm = scheduler;
+    }
+
+    /**
+     * Activa el mezclador de páginas iguales (null para desactivar): explora
+     * su presupuesto de páginas al comienzo de cada tick. Requiere un gestor
+     * que soporte MemoryManager.mergePage(...).
+     */
+    public void setPageMerger(PageMerger merger) {
+        this.merger = merger;
+    }
+
+    /**
+     * Activa la migración entre niveles de memoria (null para desactivar):
+     * muestrea y mueve páginas al comienzo de cada tick, después del
+     * mezclador. Requiere que el gestor del motor sea el TieredMemoryManager
+     * del migrador.
+     */
+    public void setTierMigrator(TierMigrator migrator) {
+        this.tierMigrator = migrator;
+    }
+
+    /**
+     * Activa la lectura anticipada (null para desactivar). En un fallo, las
+     * páginas siguientes del flujo detectado llegan con la misma lectura, y
+     * al final de cada turno se anticipa la ventana siguiente si el proceso
+     * ya usó páginas anticipadas; ninguna de esas cargas bloquea al proceso.
+     * Solo se usan marcos libres por encima de la reserva del prefetcher
+     * (nunca se desaloja para anticipar) y, con grupos, dentro del límite
+     * duro del grupo.
+     */
+    public void setPrefetcher(PagePrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    /** @return lectura anticipada del motor, o null */
+    public PagePrefetcher prefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * Activa una política de reemplazo (null para volver a desalojar la
+     * página más antigua del propio proceso). Con política, un fallo sin
+     * marcos libres desaloja la víctima que ella propone entre las páginas
+     * de todos los residentes (reemplazo global, sin la página que falló);
+     * con grupos, el límite duro y el blando restringen las candidatas al
+     * grupo que corresponda. Si la política no conoce ninguna candidata, se
+     * usa la página más antigua.
+     *
+     * La política recibe las referencias de la carga de trabajo y de
+     * translate(...)/write(...), los fallos, las cargas y las salidas de
+     * páginas, así que requiere un solo hilo. Debe configurarse antes de
+     * crear procesos.
+     *
+     * @throws IllegalStateException si la fase de referencias usa varios hilos
+     */
+    public void setReplacementPolicy(ReplacementPolicy policy) {
+        if (policy != null && parallel != null)
+            throw new IllegalStateException("La política de reemplazo requiere un solo hilo.");
+        this.replacement = policy;
+    }
+
+    /** @return política de reemplazo del motor, o null */
+    public ReplacementPolicy replacementPolicy() {
+        return replacement;
+    }
+
+    /** @return víctimas elegidas por la política de reemplazo */
+    public long policyVictims() {
+        return policyVictims;
+    }
+
+    /**
+     * Entrega cada referencia a página al listener (null para desactivar), en
+     * el orden de la simulación: las de la carga de trabajo y las de
+     * translate(...)/write(...). Solo con un hilo (setParallelThreads(1)),
+     * para que el orden sea determinista.
+     *
+     * @throws IllegalStateException si la fase de referencias usa varios hilos
+     */
+    public void setReferenceListener(ReferenceListener listener) {
+        if (listener != null && parallel != null)
+            throw new IllegalStateException("El flujo de referencias requiere un solo hilo.");
+        this.referenceListener = listener;
+    }
+
+    /** @return mezclador de páginas del motor, o null */
+    public PageMerger pageMerger() {
+        return merger;
+    }
+
+    /**
+     * Activa los grupos de memoria (null para desactivar). El controlador
+     * debe ser el gestor del motor. Con grupos:
+     * - Un fallo en un grupo que está en su límite duro desaloja la página
+     * más antigua del grupo (primero las del propio proceso).
+     * - Un fallo sin marcos libres desaloja primero del grupo que más supera
+     * su límite blando, si alguno lo supera.
+     * - Con admisión por conjunto de trabajo, la admisión recupera páginas
+     * del grupo para caber; con admisión de todas las páginas (no se pueden
+     * recuperar), al comienzo de cada tick se aplica la política OOM a los
+     * procesos que esperan y no caben en su grupo.
+     *
+     * @throws IllegalArgumentException si no es el gestor del motor
+     */
+    public void setMemoryGroups(GroupedMemoryManager groups) {
+        if (groups != null && groups != mm)
+            throw new IllegalArgumentException("El controlador de grupos debe ser el gestor de memoria del motor.");
+        this.groups = groups;
+    }
+
+    /** @return controlador de grupos de memoria, o null */
+    public GroupedMemoryManager memoryGroups() {
+        return groups;
+    }
+
+    /** @return procesos terminados por la política OOM de los grupos */
+    public long oomKills() {
+        return oomKills;
+    }
+
+    /** @return migrador entre niveles de memoria del motor, o null */
+    public TierMigrator tierMigrator() {
+        return tierMigrator;
+    }
+
+    /**
+     * Registra una fila de estadísticas al final de cada tick (null para desactivar).
+     * El engine no cierra el escritor: lo hace quien lo creó.
+     */
+    public void setStatsWriter(TickStatsWriter writer) {
+        this.stats = writer;
+        this.statsAdmissions = admissions;
+        this.statsTerminations = terminations;
+        this.statsFaults = faults;
+    }
+
+    // ===== Consultas =====
+
+    public PhysicalMemory physicalMemory() {
+        return pm;
+    }
+
+    public MemoryManager memoryManager() {
+        return mm;
+    }
+
+    /** @return swap del motor, o null */
+    public SwapManager swapManager() {
+        return swap;
+    }
+
+    public int pageSize() {
+        return pm.pageSize;
+    }
+
+    /** @return procesos vivos en orden de creación (vista de solo lectura) */
+    public Collection<PCB> processes() {
+        return Collections.unmodifiableCollection(processes.values());
+    }
+
+    /** @return PCB del PID, o null si no existe */
+    public PCB process(int pid) {
+        return processes.get(pid);
+    }
+
+    public boolean hasReady() {
+        return readyCount() > 0;
+    }
+
+    public int readyCount() {
+        int n = 0;
+        for (Core c : cores)
+            n += c.runQueue.size();
+        return n;
+    }
+
+    public Integer runningPid() {
+        return runningPid;
+    }
+
+    public Integer lastRunPid() {
+        return lastRunPid;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public AdmissionMode admissionMode() {
+        return admissionMode;
+    }
+
+    public AdmissionPolicy admissionPolicy() {
+        return admissionPolicy;
+    }
+
+    public WorkingSetTracker workingSet() {
+        return workingSet;
+    }
+
+    public long admissions() {
+        return admissions;
+    }
+
+    public long terminations() {
+        return terminations;
+    }
+
+    public long faults() {
+        return faults;
+    }
+
+    public long busyTicks() {
+        return busyTicks;
+    }
+
+    public long idleTicks() {
+        return idleTicks;
+    }
+
+    public int coreCount() {
+        return cores.length;
+    }
+
+    public long coreBusyTicks(int core) {
+        return core(core).busyTicks;
+    }
+
+    public long coreIdleTicks(int core) {
+        return core(core).idleTicks;
+    }
+
+    /** @return fracción de ticks en que el núcleo ejecutó trabajo útil */
+    public double coreUtilization(int core) {
+        Core c = core(core);
+        long total = c.busyTicks + c.idleTicks;
+        return total == 0 ? 0 : c.busyTicks / (double) total;
+    }
+
+    /** @return procesos que llegaron al núcleo desde otro núcleo */
+    public long coreMigrations(int core) {
+        return core(core).migrationsIn;
+    }
+
+    /** @return procesos robados por el núcleo de otras colas */
+    public long coreSteals(int core) {
+        return core(core).steals;
+    }
+
+    public int runQueueLength(int core) {
+        return core(core).runQueue.size();
+    }
+
+    /** @return turnos ejecutados en un núcleo distinto al anterior del proceso */
+    public long migrations() {
+        return migrations;
+    }
+
+    public long steals() {
+        return steals;
+    }
+
+    /** @return suspendidos reanudados por greedyAdmit() al quedarse sin residentes */
+    public long fallbackResumes() {
+        return fallbackResumes;
+    }
+
+    /**
+     * Resumen del estado: reloj, contadores, marcos y tablas de páginas. Dos
+     * corridas deterministas de la misma configuración terminan con el mismo
+     * resumen; sirve para comprobar una reproducción o una restauración.
+     *
+     * @return hash del estado actual
+     */
+    public long stateDigest() {
+        long h = tick;
+        for (long v : new long[] { faults, admissions, terminations, busyTicks, idleTicks, migrations, steals })
+            h = h * 31 + v;
+        for (Frame f : pm.frames)
+            h = h * 31 + (f.free ? 1 : 0) + 7L * (f.pid == null ? -1 : f.pid)
+                    + 13L * (f.pageNumber == null ? -1 : f.pageNumber);
+        for (PCB pcb : processes.values()) {
+            h = h * 31 + pcb.pid * 17L + pcb.state.ordinal();
+            for (PageTableEntry pte : pcb.pageTable)
+                h = h * 31 + (pte.present ? 1 : 0) + (pte.copyOnWrite ? 2 : 0)
+                        + (pte.frameNumber == null ? 0 : pte.frameNumber);
+        }
+        return h;
+    }
+
+    /** @return true si el proceso tiene marcos asignados (READY, RUNNING o WAITING) */
+    public static boolean isResident(PCB pcb) {
+        return pcb.state == ProcessState.READY || pcb.state == ProcessState.RUNNING
+                || pcb.state == ProcessState.WAITING;
+    }
+
+    /**
+     * Tiempo virtual del proceso para el conjunto de trabajo: turnos que
+     * ejecutó (cada turno termina con un muestreo). Como en el modelo de
+     * Denning, la ventana no se acorta porque otros procesos compartan la
+     * CPU ni avanza mientras el proceso está suspendido.
+     */
+    private long virtualTime(PCB pcb) {
+        Long sampled = workingSet.lastSample(pcb.pid);
+        return (sampled == null) ? 0 : sampled;
+    }
+
+    /** @return true si algún proceso está residente */
+    private boolean anyResident() {
+        for (PCB pcb : processes.values())
+            if (isResident(pcb))
+                return true;
+        return false;
+    }
+
+    /** @return true si algún proceso está suspendido */
+    private boolean anySuspended() {
+        for (PCB pcb : processes.values())
+            if (pcb.state == ProcessState.SUSP_READY || pcb.state == ProcessState.SUSP_BLOCKED)
+                return true;
+        return false;
+    }
+
+    // ===== Operaciones sobre procesos =====
+
+    /**
+     * Crea un proceso en estado NEW.
+     *
+     * @param pid       identificador (no debe existir)
+     * @param sizeBytes tamaño lógico en bytes
+     * @return PCB creado
+     */
+    public PCB createProcess(int pid, long sizeBytes) {
+        if (processes.containsKey(pid))
+            throw new IllegalArgumentException("El PID ya existe.");
+        PCB pcb = new PCB(pid, sizeBytes, pm.pageSize);
+        processes.put(pid, pcb);
+        remainingTicks.put(pid, Math.max(1, pcb.pageCount * ticksPerPage));
+        return pcb;
+    }
+
+    /**
+     * Carga un proceso en memoria según el modo de admisión (no cambia su
+     * estado). Con conjunto de trabajo, solo si su conjunto estimado cabe
+     * junto a los de los residentes (residentWorkingSetDemand()).
+     *
+     * @param pcb proceso NEW o suspendido
+     * @return true si se le asignaron marcos
+     */
+    public boolean loadProcess(PCB pcb) {
+        return loadProcess(pcb, (admissionMode == AdmissionMode.WORKING_SET) ? residentWorkingSetDemand() : 0);
+    }
+
+    /**
+     * @param demand suma de los conjuntos de trabajo residentes (solo con
+     *               admisión por conjunto de trabajo)
+     */
+    private boolean loadProcess(PCB pcb, int demand) {
+        boolean ok;
+        if (admissionMode == AdmissionMode.WORKING_SET)
+            ok = admitWorkingSet(pcb, demand);
+        else
+            ok = (swap != null) ? swap.swapIn(pcb) : mm.admitProcess(pcb);
+        if (ok) {
+            admissions++;
+            policyLoaded(pcb);
+        }
+        return ok;
+    }
+
+    /**
+     * Descarga un proceso de memoria (al swap si existe) sin cambiar su estado.
+     *
+     * @param pcb proceso residente
+     * @return páginas modificadas enviadas a swap
+     */
+    public int unloadProcess(PCB pcb) {
+        if (prefetcher != null)
+            prefetcher.onUnload(pcb, false);
+        policyUnloaded(pcb);
+        if (swap != null)
+            return swap.swapOut(pcb);
+        mm.releaseProcess(pcb);
+        return 0;
+    }
+
+    /**
+     * Admisión greedy: admite los NEW/SUSP_READY que quepan en memoria.
+     * En modo ALL_PAGES todo el lote se resuelve con una sola llamada a
+     * admitBatch(...) según la política de admisión; con conjunto de trabajo
+     * cada proceso se carga por separado, mientras la suma de los conjuntos
+     * de trabajo quepa en memoria.
+     *
+     * Con planificador de mediano plazo, él decide el grado de
+     * multiprogramación: los SUSP_READY no se admiten aquí (se desharía cada
+     * suspensión) y no entran procesos NEW mientras haya suspendidos, que
+     * tienen prioridad al reanudar. Solo si no queda ningún residente se
+     * reanuda uno aquí, para no detener la corrida; esas reanudaciones se
+     * cuentan en fallbackResumes(), no en las del planificador.
+     */
+    public boolean greedyAdmit() {
+        if (admissionMode == AdmissionMode.WORKING_SET) {
+            boolean admitted = false;
+            boolean hold = mediumTerm != null && anySuspended();
+            int demand = -1;
+            for (PCB pcb : processes.values()) {
+                boolean candidate = (mediumTerm == null)
+                        ? pcb.state == ProcessState.NEW || pcb.state == ProcessState.SUSP_READY
+                        : pcb.state == ProcessState.NEW && !hold;
+                if (candidate) {
+                    if (demand < 0)
+                        demand = residentWorkingSetDemand();
+                    if (loadProcess(pcb, demand)) {
+                        pcb.state = ProcessState.READY;
+                        enqueue(pcb.pid);
+                        demand += workingSet.workingSetSize(pcb, virtualTime(pcb));
+                        admitted = true;
+                    }
+                }
+            }
+            if (!admitted && mediumTerm != null && !anyResident() && resumeOneSuspended()) {
+                fallbackResumes++;
+                admitted = true;
+            }
+            return admitted;
+        }
+
+        List<PCB> candidates = new ArrayList<>();
+        for (PCB pcb : processes.values())
+            if (pcb.state == ProcessState.NEW || pcb.state == ProcessState.SUSP_READY)
+                candidates.add(pcb);
+        if (candidates.isEmpty())
+            return false;
+        List<PCB> admitted = (swap != null) ? swap.swapInBatch(candidates, admissionPolicy)
+                : mm.admitBatch(candidates, admissionPolicy);
+        for (PCB pcb : admitted) {
+            pcb.state = ProcessState.READY;
+            enqueue(pcb.pid);
+            admissions++;
+            policyLoaded(pcb);
+        }
+        return !admitted.isEmpty();
+    }
+
+    /** Prepara una nueva corrida: vacía la cola de listos y admite lo que quepa. */
+    public void beginRun() {
+        for (Core c : cores)
+            c.runQueue.clear();
+        greedyAdmit();
+    }
+
+    /** Devuelve el proceso en ejecución (si hay) al frente de la cola de listos. */
+    public void preemptRunning() {
+        if (runningPid != null) {
+            PCB pcb = processes.get(runningPid);
+            if (pcb != null && pcb.state == ProcessState.RUNNING)
+                pcb.state = ProcessState.READY;
+            cores[coreOf(runningPid)].runQueue.addFirst(runningPid);
+            runningPid = null;
+        }
+    }
+
+    /**
+     * Suspende un proceso: libera sus marcos (enviando a swap lo modificado).
+     * Un proceso bloqueado pasa a SUSP_BLOCKED; cualquier otro, a SUSP_READY.
+     *
+     * @param pcb proceso a suspender
+     * @return páginas modificadas enviadas a swap
+     */
+    public int suspend(PCB pcb) {
+        int written = unloadProcess(pcb);
+        if (pcb.state == ProcessState.WAITING) {
+            pcb.state = ProcessState.SUSP_BLOCKED;
+        } else {
+            pcb.state = ProcessState.SUSP_READY;
+            wakeAt.remove(pcb.pid);
+        }
+        dequeue(pcb.pid);
+        return written;
+    }
+
+    /**
+     * Termina un proceso y libera todos sus recursos (marcos y ranuras de swap).
+     *
+     * @param pcb proceso a terminar
+     */
+    public void terminate(PCB pcb) {
+        releaseProcess(pcb);
+        pcb.state = ProcessState.TERMINATED;
+        dequeue(pcb.pid);
+        wakeAt.remove(pcb.pid);
+        lastCore.remove(pcb.pid);
+        remainingTicks.put(pcb.pid, 0);
+        terminations++;
+    }
+
+    /**
+     * Traduce una dirección lógica del proceso. Con admisión por conjunto de
+     * trabajo, una página no presente se carga por demanda antes de traducir.
+     *
+     * @param pcb         proceso
+     * @param logicalAddr dirección lógica en bytes
+     * @return dirección física
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     */
+    public long translate(PCB pcb, long logicalAddr) {
+        if (admissionMode == AdmissionMode.WORKING_SET && isResident(pcb)) {
+            reference(pcb, logicalAddr);
+            return mm.mapLogicalToPhysical(pcb, logicalAddr);
+        }
+        long phys = mm.mapLogicalToPhysical(pcb, logicalAddr);
+        if (referenceListener != null)
+            referenceListener.reference(pcb.pid, (int) pm.pageOf(logicalAddr));
+        if (replacement != null)
+            replacement.hit(ReplacementPolicy.key(pcb.pid, (int) pm.pageOf(logicalAddr)));
+        return phys;
+    }
+
+    /**
+     * Escribe en una dirección del proceso. Con admisión por conjunto de
+     * trabajo la página se carga por demanda. Si la página es copy-on-write y
+     * hay que copiarla sin marcos libres, se desaloja una víctima como en un
+     * fallo de página.
+     *
+     * @param pcb         proceso residente
+     * @param logicalAddr dirección lógica en bytes
+     * @return dirección física escrita (puede ser de un marco recién copiado)
+     * @throws IllegalArgumentException si la página está fuera de rango o no está presente
+     */
+    public long write(PCB pcb, long logicalAddr) {
+        long phys = translate(pcb, logicalAddr);
+        int page = (int) pm.pageOf(logicalAddr);
+        PageTableEntry e = pcb.pageTable[page];
+        if (e.dirty && !e.copyOnWrite)
+            return phys; // ya modificada y propia: no hay nada que resolver
+        while (!mm.writePage(pcb, page))
+            evictVictim(pcb, page);
+        return mm.mapLogicalToPhysical(pcb, logicalAddr);
+    }
+
+    /**
+     * Fork: crea un hijo que comparte los marcos del padre hasta su primera
+     * escritura (MemoryManager.fork(...)). Si el padre está residente, el
+     * hijo queda READY en la cola; si no, queda NEW y se admite como
+     * cualquier proceso nuevo. Con swap, el hijo comparte además las
+     * ranuras del padre (SwapManager.inheritSlots(...)).
+     *
+     * @param parent   proceso padre (no terminado)
+     * @param childPid PID del hijo (no debe existir)
+     * @return PCB del hijo
+     * @throws IllegalStateException si el gestor no soporta fork
+     */
+    public PCB fork(PCB parent, int childPid) {
+        if (parent == null)
+            throw new IllegalArgumentException("PCB no puede ser nulo.");
+        if (parent.state == ProcessState.TERMINATED)
+            throw new IllegalArgumentException("No se puede hacer fork de un proceso terminado.");
+        if (processes.containsKey(childPid))
+            throw new IllegalArgumentException("El PID ya existe.");
+        PCB child = mm.fork(parent, childPid);
+        if (swap != null)
+            swap.inheritSlots(parent, child);
+        processes.put(childPid, child);
+        remainingTicks.put(childPid, Math.max(1, child.pageCount * ticksPerPage));
+        if (isResident(parent)) {
+            child.state = ProcessState.READY;
+            enqueue(childPid);
+            policyLoaded(child);
+            if (workingSet != null)
+                for (PageTableEntry e : child.pageTable)
+                    if (e.present)
+                        workingSet.touch(child, e.pageNumber, virtualTime(child));
+        }
+        return child;
+    }
+
+    // ===== Segmentos compartidos =====
+
+    /**
+     * Crea un segmento compartido con nombre.
+     *
+     * @param name      nombre único
+     * @param sizeBytes tamaño en bytes (se redondea a páginas completas)
+     * @return segmento creado (sin marcos hasta que un proceso residente lo acople)
+     */
+    public SharedSegment createSegment(String name, long sizeBytes) {
+        if (name == null || segments.containsKey(name))
+            throw new IllegalArgumentException("El segmento ya existe o no tiene nombre.");
+        long pages = sizeBytes / pm.pageSize + (sizeBytes % pm.pageSize == 0 ? 0 : 1);
+        if (sizeBytes <= 0 || pages > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Tamaño de segmento inválido.");
+        SharedSegment seg = new SharedSegment(name, (int) pages);
+        segments.put(name, seg);
+        return seg;
+    }
+
+    /** @return segmento con ese nombre, o null */
+    public SharedSegment segment(String name) {
+        return segments.get(name);
+    }
+
+    public Collection<SharedSegment> segments() {
+        return Collections.unmodifiableCollection(segments.values());
+    }
+
+    /**
+     * Acopla un proceso a un segmento a partir de una de sus páginas
+     * (MemoryManager.attachSegment(...)).
+     *
+     * @param pcb       proceso
+     * @param name      nombre del segmento
+     * @param firstPage primera página del proceso que ocupa el segmento
+     * @return false si el proceso está residente y no hay marcos para el segmento
+     */
+    public boolean attach(PCB pcb, String name, int firstPage) {
+        return mm.attachSegment(pcb, requireSegment(name), firstPage);
+    }
+
+    /**
+     * Desacopla un proceso de un segmento. Los procesos que terminan se
+     * desacoplan solos.
+     *
+     * @param pcb  proceso acoplado
+     * @param name nombre del segmento
+     */
+    public void detach(PCB pcb, String name) {
+        SharedSegment seg = requireSegment(name);
+        if (replacement != null)
+            for (PageTableEntry e : pcb.pageTable)
+                if (e.present && e.segment == seg)
+                    replacement.removed(ReplacementPolicy.key(pcb.pid, e.pageNumber));
+        mm.detachSegment(pcb, seg);
+    }
+
+    /**
+     * Elimina un segmento sin procesos acoplados.
+     *
+     * @param name nombre del segmento
+     * @throws IllegalStateException si aún tiene procesos acoplados
+     */
+    public void removeSegment(String name) {
+        SharedSegment seg = requireSegment(name);
+        if (seg.attachCount > 0)
+            throw new IllegalStateException("El segmento " + name + " aún tiene procesos acoplados.");
+        segments.remove(name);
+    }
+
+    private SharedSegment requireSegment(String name) {
+        SharedSegment seg = segments.get(name);
+        if (seg == null)
+            throw new IllegalArgumentException("Segmento desconocido: " + name);
+        return seg;
+    }
+
+    /**
+     * Huella de memoria de un proceso (RSS, PSS y USS) contando los marcos
+     * compartidos.
+     *
+     * @param pcb proceso
+     * @return huella actual
+     */
+    public MemoryFootprint footprint(PCB pcb) {
+        return MemoryFootprint.of(pcb, pm);
+    }
+
+    // ===== Simulación =====
+
+    /**
+     * Ejecuta un tick: despierta bloqueados, consulta al planificador de
+     * mediano plazo y ejecuta un turno del primer proceso listo.
+     *
+     * @return false si ya no queda nada por ejecutar ni por esperar
+     */
+    public boolean step() {
+        if (readyCount() == 0 && wakeAt.isEmpty()) {
+            boolean admitted = greedyAdmit();
+            if (!admitted)
+                return false;
+        }
+
+        tick++;
+        tickPid = null;
+        runTick();
+        if (stats != null)
+            recordStats();
+        return true;
+    }
+
+    /** Cuerpo de step() una vez avanzado el reloj. */
+    private void runTick() {
+        wakeBlocked();
+        if (mediumTerm != null)
+            mediumTerm.onTick(this);
+        if (merger != null)
+            merger.onTick(this);
+        if (tierMigrator != null)
+            tierMigrator.onTick(this);
+        if (groups != null)
+            enforceGroupLimits();
+
+        if (readyCount() == 0)
+            greedyAdmit();
+        if (readyCount() == 0) {
+            for (Core c : cores)
+                c.idleTicks++;
+            idleTicks += cores.length;
+            return;
+        }
+
+        // 1. Cada núcleo toma el siguiente de su cola o roba uno
+        int active = 0;
+        for (int c = 0; c < cores.length; c++)
+            if (pick(c))
+                active++;
+
+        // 2. Referencias hasta el primer fallo de cada turno
+        if (workload != null)
+            runAccesses(active);
+
+        // 3. Fallos, contabilidad, terminación y E/S, en orden de núcleo
+        for (int c = 0; c < cores.length; c++)
+            finishTurn(c);
+    }
+
+    /**
+     * Elige el proceso del núcleo para este tick.
+     *
+     * @return true si el núcleo tiene un proceso que ejecutar
+     */
+    private boolean pick(int c) {
+        Core core = cores[c];
+        core.current = null;
+        core.doneAccesses = 0;
+        core.pendingAddress = -1;
+
+        Integer pid = core.runQueue.pollFirst();
+        if (pid == null)
+            pid = steal(c);
+        if (pid == null)
+            return false;
+        PCB pcb = processes.get(pid);
+        if (pcb == null)
+            return false;
+
+        Integer prev = lastCore.put(pid, c);
+        if (prev != null && prev != c) {
+            migrations++;
+            core.migrationsIn++;
+        }
+        pcb.state = ProcessState.RUNNING;
+        core.current = pcb;
+        return true;
+    }
+
+    /**
+     * Roba el último proceso de la cola con más trabajo sobrante. A un núcleo
+     * que aún no eligió en este tick se le deja al menos un proceso.
+     *
+     * @return PID robado, o null si no hay nada que robar
+     */
+    private Integer steal(int c) {
+        int victim = -1;
+        int most = 0;
+        for (int v = 0; v < cores.length; v++) {
+            if (v == c)
+                continue;
+            int spare = cores[v].runQueue.size() - (v > c ? 1 : 0);
+            if (spare > most) {
+                most = spare;
+                victim = v;
+            }
+        }
+        if (victim < 0)
+            return null;
+        steals++;
+        cores[c].steals++;
+        return cores[victim].runQueue.pollLast();
+    }
+
+    /** Fase 2: en serie o repartida entre los hilos configurados. */
+    private void runAccesses(int active) {
+        if (parallel == null || active < 2) {
+            for (Core c : cores)
+                if (c.current != null)
+                    accessUntilFault(c);
+            return;
+        }
+        try {
+            for (Future<Void> f : parallel.invokeAll(parallelTasks))
+                f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulación interrumpida.", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Emite las referencias del turno mientras caigan en páginas presentes.
+     * La primera dirección con fallo (o fuera de rango) queda pendiente para
+     * la fase serial. Solo toca la tabla de páginas del proceso.
+     */
+    private void accessUntilFault(Core core) {
+        PCB pcb = core.current;
+        for (int a = 0; a < accessesPerTick; a++) {
+            long addr = workload.nextAddress(pcb);
+            long page = pm.pageOf(addr);
+            if (page < 0 || page >= pcb.pageCount || !pcb.pageTable[(int) page].present) {
+                core.pendingAddress = addr;
+                return;
+            }
+            mm.mapLogicalToPhysical(pcb, addr);
+            if (referenceListener != null)
+                referenceListener.reference(pcb.pid, (int) page);
+            if (replacement != null)
+                replacement.hit(ReplacementPolicy.key(pcb.pid, (int) page));
+            core.doneAccesses++;
+        }
+    }
+
+    /** Fase 3 para un núcleo. */
+    private void finishTurn(int c) {
+        Core core = cores[c];
+        PCB pcb = core.current;
+        if (pcb == null) {
+            core.idleTicks++;
+            idleTicks++;
+            return;
+        }
+        core.current = null;
+        int pid = pcb.pid;
+        runningPid = pid;
+        lastRunPid = pid;
+        if (tickPid == null)
+            tickPid = pid;
+
+        boolean faulted = false;
+        if (core.pendingAddress >= 0) {
+            // Desde el primer fallo, el resto del turno sigue en serie
+            long addr = core.pendingAddress;
+            for (int a = core.doneAccesses; a < accessesPerTick; a++) {
+                if (a > core.doneAccesses)
+                    addr = workload.nextAddress(pcb);
+                if (reference(pcb, addr) && faultPenaltyTicks > 0) {
+                    faulted = true;
+                    break;
+                }
+            }
+        }
+        if (prefetcher != null)
+            prefetcher.onTurn(pcb, this::prefetchPage);
+        if (workingSet != null)
+            workingSet.sample(pcb, virtualTime(pcb) + 1);
+        runningPid = null;
+
+        if (faulted) {
+            // El turno se pierde esperando la página: no cuenta como trabajo útil
+            core.idleTicks++;
+            idleTicks++;
+            block(pcb, faultPenaltyTicks);
+            return;
+        }
+        core.busyTicks++;
+        busyTicks++;
+
+        int left = remainingTicks.getOrDefault(pid, Math.max(1, pcb.pageCount * ticksPerPage));
+        left -= 1;
+        remainingTicks.put(pid, Math.max(0, left));
+
+        if (left <= 0) {
+            releaseProcess(pcb);
+            pcb.state = ProcessState.TERMINATED;
+            terminations++;
+            lastCore.remove(pid);
+            greedyAdmit();
+            return;
+        }
+
+        if (ioBlockProbability > 0 && nextIoDouble() < ioBlockProbability) {
+            block(pcb, ioBlockTicks);
+            return;
+        }
+
+        pcb.state = ProcessState.READY;
+        core.runQueue.addLast(pid);
+    }
+
+    /** Escribe la fila del tick con las diferencias de los contadores. */
+    private void recordStats() {
+        int free = mm.freeFrameCount();
+        int total = pm.frames.length;
+        stats.record(tick, free, total == 0 ? 0 : (total - free) / (double) total, readyCount(),
+                tickPid == null ? -1 : tickPid, admissions - statsAdmissions,
+                terminations - statsTerminations, faults - statsFaults);
+        statsAdmissions = admissions;
+        statsTerminations = terminations;
+        statsFaults = faults;
+    }
+
+    // ===== Apoyo para el planificador de mediano plazo =====
+
+    /**
+     * Suma de los conjuntos de trabajo de los procesos residentes.
+     * Requiere admisión por conjunto de trabajo.
+     */
+    public int residentWorkingSetDemand() {
+        int total = 0;
+        for (PCB pcb : processes.values())
+            if (isResident(pcb))
+                total += workingSet.workingSetSize(pcb, virtualTime(pcb));
+        return total;
+    }
+
+    /**
+     * Desaloja las páginas presentes que ya no pertenecen al conjunto de
+     * trabajo de cada proceso residente.
+     *
+     * @return marcos liberados
+     */
+    public int trimWorkingSets() {
+        int freed = 0;
+        for (PCB pcb : processes.values()) {
+            if (!isResident(pcb))
+                continue;
+            for (PageTableEntry e : pcb.pageTable) {
+                if (e.present && !workingSet.inWorkingSet(pcb, e.pageNumber, virtualTime(pcb))) {
+                    evict(pcb, e.pageNumber);
+                    freed++;
+                }
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Elige un proceso a suspender para aliviar la presión de memoria:
+     * primero uno bloqueado; si no hay, el último de la cola de listos.
+     *
+     * @return PCB víctima, o null si no hay candidatos (se conserva al menos uno)
+     */
+    public PCB pickSuspendVictim() {
+        int resident = 0;
+        PCB blocked = null;
+        for (PCB pcb : processes.values()) {
+            if (isResident(pcb)) {
+                resident++;
+                if (pcb.state == ProcessState.WAITING && blocked == null)
+                    blocked = pcb;
+            }
+        }
+        if (resident <= 1)
+            return null;
+        if (blocked != null)
+            return blocked;
+        Core longest = cores[0];
+        for (Core c : cores)
+            if (c.runQueue.size() > longest.runQueue.size())
+                longest = c;
+        Integer last = longest.runQueue.peekLast();
+        return (last == null) ? null : processes.get(last);
+    }
+
+    /**
+     * Reanuda el proceso suspendido más antiguo (SUSP_READY) si su conjunto
+     * de trabajo estimado cabe en los marcos libres.
+     *
+     * @return true si se reanudó un proceso
+     */
+    public boolean resumeOneSuspended() {
+        for (PCB pcb : processes.values()) {
+            if (pcb.state == ProcessState.SUSP_READY) {
+                if (loadProcess(pcb)) {
+                    pcb.state = ProcessState.READY;
+                    enqueue(pcb.pid);
+                    return true;
+                }
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // ===== Auxiliares =====
+
+    /**
+     * Admite solo las páginas del conjunto de trabajo estimado (todo-o-nada
+     * sobre ellas), si caben en memoria junto a los conjuntos de trabajo
+     * residentes ('demand') y hay marcos libres para cargarlas. Con grupos,
+     * se recortan al límite duro del grupo y se recuperan páginas del grupo
+     * si no caben.
+     */
+    private boolean admitWorkingSet(PCB pcb, int demand) {
+        int[] pages = workingSet.admissionPages(pcb, initialWorkingSet);
+        if (groups != null) {
+            MemoryGroup g = groups.groupOf(pcb);
+            if (g.hardLimit > 0 && pages.length > g.hardLimit)
+                pages = Arrays.copyOf(pages, g.hardLimit);
+        }
+        if (demand + pages.length > pm.frames.length)
+            return false;
+        if (groups != null) {
+            MemoryGroup g = groups.groupOf(pcb);
+            int deficit = pages.length - g.room();
+            if (deficit > 0) {
+                if (pages.length > mm.freeFrameCount() + deficit)
+                    return false;
+                for (int k = 0; k < deficit; k++)
+                    if (!reclaimFromGroup(pcb, -1))
+                        return false;
+            }
+        }
+        if (pages.length > mm.freeFrameCount())
+            return false;
+        for (int p : pages) {
+            if (!loadPage(pcb, p)) {
+                // No debería ocurrir (se verificó antes); deshacer
+                unloadProcess(pcb);
+                return false;
+            }
+            workingSet.touch(pcb, p, virtualTime(pcb));
+        }
+        return true;
+    }
+
+    /**
+     * Emite una referencia; si la página no está presente, atiende el fallo.
+     *
+     * @return true si hubo fallo de página
+     */
+    private boolean reference(PCB pcb, long logicalAddr) {
+        long page = pm.pageOf(logicalAddr);
+        if (page < 0 || page >= pcb.pageCount)
+            throw new IllegalArgumentException("Página fuera de rango para este proceso.");
+        if (referenceListener != null)
+            referenceListener.reference(pcb.pid, (int) page);
+        boolean fault = !pcb.pageTable[(int) page].present;
+        if (fault)
+            handleFault(pcb, (int) page);
+        else if (replacement != null)
+            replacement.hit(ReplacementPolicy.key(pcb.pid, (int) page));
+        mm.mapLogicalToPhysical(pcb, logicalAddr);
+        return fault;
+    }
+
+    /**
+     * Atiende un fallo de página: marco libre o, si no hay, la víctima de la
+     * política de reemplazo (o la página más antigua).
+     */
+    private void handleFault(PCB pcb, int page) {
+        faults++;
+        if (mediumTerm != null)
+            mediumTerm.onFault();
+        if (replacement != null)
+            replacement.miss(ReplacementPolicy.key(pcb.pid, page));
+        // Un desalojo libera un marco salvo que el marco siga compartido
+        // (copy-on-write): en ese caso se desaloja otra página.
+        while (!loadPage(pcb, page)) {
+            if (groups != null && groups.atHardLimit(pcb)) {
+                if (!reclaimFromGroup(pcb, page))
+                    throw new IllegalStateException("El grupo " + groups.groupOf(pcb).name
+                            + " no tiene páginas que recuperar.");
+            } else {
+                evictVictim(pcb, page);
+            }
+        }
+        if (replacement != null)
+            replacement.loaded(ReplacementPolicy.key(pcb.pid, page));
+        if (workingSet != null)
+            workingSet.touch(pcb, page, virtualTime(pcb));
+        if (prefetcher != null)
+            prefetcher.onFault(pcb, page, this::prefetchPage);
+    }
+
+    /**
+     * Carga una página anticipada sin desalojar: falla si el grupo está en
+     * su límite duro o no hay marco libre. Cuenta como recién referenciada
+     * para que el reemplazo local no la elija antes de que se use.
+     */
+    private boolean prefetchPage(PCB pcb, int page) {
+        if (groups != null && groups.atHardLimit(pcb))
+            return false;
+        if (!loadPage(pcb, page))
+            return false;
+        if (replacement != null)
+            replacement.loaded(ReplacementPolicy.key(pcb.pid, page));
+        if (workingSet != null)
+            workingSet.touch(pcb, page, virtualTime(pcb));
+        return true;
+    }
+
+    /**
+     * Con política de reemplazo, su víctima entre todos los residentes. Si
+     * no, reemplazo local: la página más antigua del propio proceso (sin
+     * contar 'page'); si no tiene ninguna presente, la más antigua de otro
+     * residente. Con grupos, si alguno supera su límite blando, la víctima
+     * sale del que más lo supera.
+     */
+    private void evictVictim(PCB pcb, int page) {
+        if (groups != null) {
+            MemoryGroup over = groups.mostOverSoftLimit();
+            PCB owner = (over == null || replacement == null) ? null : evictByPolicy(pcb, page, over);
+            if (owner == null && over != null) {
+                owner = victimOwner(null, over);
+                if (owner != null)
+                    evict(owner, oldestPage(owner, owner == pcb ? page : -1));
+            }
+            if (owner != null) {
+                groups.recordReclaim(owner, true);
+                return;
+            }
+        }
+        if (replacement != null && evictByPolicy(pcb, page, null) != null)
+            return;
+        PCB owner = pcb;
+        int victim = oldestPage(pcb, page);
+        if (victim < 0) {
+            owner = victimOwner(pcb, null);
+            if (owner == null)
+                throw new IllegalStateException("No hay marcos disponibles para atender el fallo.");
+            victim = oldestPage(owner, -1);
+        }
+        evict(owner, victim);
+    }
+
+    /**
+     * Límite duro: desaloja la víctima de la política entre las páginas del
+     * grupo o, sin política, la página más antigua del propio proceso (sin
+     * contar 'page') o, si no tiene, la más antigua de otro residente del
+     * grupo.
+     *
+     * @return false si el grupo no tiene páginas que desalojar
+     */
+    private boolean reclaimFromGroup(PCB pcb, int page) {
+        if (replacement != null) {
+            PCB owner = evictByPolicy(pcb, page, groups.groupOf(pcb));
+            if (owner != null) {
+                groups.recordReclaim(owner, false);
+                return true;
+            }
+        }
+        PCB owner = pcb;
+        int victim = oldestPage(pcb, page);
+        if (victim < 0) {
+            owner = victimOwner(pcb, groups.groupOf(pcb));
+            if (owner == null)
+                return false;
+            victim = oldestPage(owner, -1);
+        }
+        evict(owner, victim);
+        groups.recordReclaim(owner, false);
+        return true;
+    }
+
+    /**
+     * Con admisión de todas las páginas, los residentes no ceden páginas:
+     * a cada proceso que espera y no cabe en su grupo se le aplica la
+     * política OOM hasta que quepa (o hasta terminarlo a él).
+     */
+    private void enforceGroupLimits() {
+        if (admissionMode != AdmissionMode.ALL_PAGES || groups.oomPolicy() == OomPolicy.NONE)
+            return;
+        List<PCB> waiting = new ArrayList<>();
+        for (PCB pcb : processes.values())
+            if ((pcb.state == ProcessState.NEW || pcb.state == ProcessState.SUSP_READY)
+                    && !groups.fits(pcb, pcb.pageCount))
+                waiting.add(pcb);
+        for (PCB pcb : waiting) {
+            while (pcb.state != ProcessState.TERMINATED && !groups.fits(pcb, pcb.pageCount)) {
+                PCB victim = groups.oomVictim(pcb, pcb.pageCount);
+                if (victim == null)
+                    break;
+                groups.recordOomKill(victim);
+                terminate(victim);
+                oomKills++;
+            }
+        }
+    }
+
+    /**
+     * Desaloja la víctima que propone la política entre las páginas presentes
+     * de los residentes (de 'group' si no es null), sin contar 'page' de 'pcb'.
+     *
+     * @return dueño de la página desalojada, o null si la política no propuso ninguna
+     */
+    private PCB evictByPolicy(PCB pcb, int page, MemoryGroup group) {
+        long exclude = ReplacementPolicy.key(pcb.pid, page);
+        LongPredicate allowed = k -> k != exclude && evictable(k, group);
+        long key = replacement.victim(allowed);
+        if (key < 0)
+            return null;
+        PCB owner = processes.get((int) (key >>> 32));
+        evict(owner, (int) key);
+        policyVictims++;
+        return owner;
+    }
+
+    /** @return true si la clave es una página presente de un residente (de 'group' si no es null) */
+    private boolean evictable(long key, MemoryGroup group) {
+        PCB owner = processes.get((int) (key >>> 32));
+        int page = (int) key;
+        if (owner == null || page < 0 || page >= owner.pageCount || !owner.pageTable[page].present)
+            return false;
+        return isResident(owner) && (group == null || groups.groupOf(owner) == group);
+    }
+
+    /** Avisa a la política de reemplazo las páginas presentes de un proceso recién cargado. */
+    private void policyLoaded(PCB pcb) {
+        if (replacement == null)
+            return;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present)
+                replacement.loaded(ReplacementPolicy.key(pcb.pid, e.pageNumber));
+    }
+
+    /** Avisa a la política de reemplazo que las páginas presentes del proceso salen de memoria. */
+    private void policyUnloaded(PCB pcb) {
+        if (replacement == null)
+            return;
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present)
+                replacement.removed(ReplacementPolicy.key(pcb.pid, e.pageNumber));
+    }
+
+    /** Página presente más antigua del proceso (sin contar 'exclude'), o -1. */
+    private int oldestPage(PCB pcb, int exclude) {
+        return (workingSet != null) ? workingSet.oldestPresentPage(pcb, exclude) : firstPresentPage(pcb, exclude);
+    }
+
+    /** Residente (distinto de exclude y, si group no es null, de ese grupo) con la página presente más antigua. */
+    private PCB victimOwner(PCB exclude, MemoryGroup group) {
+        PCB best = null;
+        long oldest = Long.MIN_VALUE;
+        for (PCB other : processes.values()) {
+            if (other == exclude || !isResident(other) || (group != null && groups.groupOf(other) != group))
+                continue;
+            // Antigüedad en el tiempo virtual de cada proceso
+            long age;
+            if (workingSet != null) {
+                long ref = workingSet.oldestPresentReference(other);
+                if (ref == Long.MAX_VALUE)
+                    continue;
+                age = (ref == Long.MIN_VALUE) ? Long.MAX_VALUE : virtualTime(other) - ref;
+            } else {
+                if (firstPresentPage(other, -1) < 0)
+                    continue;
+                age = 0;
+            }
+            if (best == null || age > oldest) {
+                oldest = age;
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    private static int firstPresentPage(PCB pcb, int exclude) {
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.present && e.pageNumber != exclude)
+                return e.pageNumber;
+        return -1;
+    }
+
+    /** Carga una página (y su copia en swap, si existe). */
+    private boolean loadPage(PCB pcb, int page) {
+        return (swap != null) ? swap.faultIn(pcb, page) : mm.loadPage(pcb, page);
+    }
+
+    /** Desaloja una página (escribiéndola a swap si está modificada). */
+    private void evict(PCB pcb, int page) {
+        if (prefetcher != null)
+            prefetcher.onEvict(pcb, page);
+        if (replacement != null)
+            replacement.removed(ReplacementPolicy.key(pcb.pid, page));
+        if (swap != null)
+            swap.evictPage(pcb, page);
+        else
+            mm.evictPage(pcb, page);
+    }
+
+    /** Libera memoria y swap de un proceso que termina. */
+    private void releaseProcess(PCB pcb) {
+        if (prefetcher != null)
+            prefetcher.onUnload(pcb, true);
+        policyUnloaded(pcb);
+        for (PageTableEntry e : pcb.pageTable)
+            if (e.segment != null && e.segmentPage == 0)
+                mm.detachSegment(pcb, e.segment);
+        mm.releaseProcess(pcb);
+        if (groups != null)
+            groups.forget(pcb);
+        if (swap != null)
+            swap.discard(pcb);
+        if (workingSet != null)
+            workingSet.forget(pcb.pid);
+    }
+
+    /** Bloquea un proceso en WAITING durante 'ticks' ticks. */
+    private void block(PCB pcb, int ticks) {
+        pcb.state = ProcessState.WAITING;
+        wakeAt.put(pcb.pid, tick + Math.max(1, ticks));
+    }
+
+    /** Despierta a los procesos cuyo bloqueo terminó. */
+    private void wakeBlocked() {
+        Iterator<Map.Entry<Integer, Long>> it = wakeAt.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Long> en = it.next();
+            if (en.getValue() > tick)
+                continue;
+            it.remove();
+            PCB pcb = processes.get(en.getKey());
+            if (pcb == null)
+                continue;
+            if (pcb.state == ProcessState.WAITING) {
+                pcb.state = ProcessState.READY;
+                enqueue(pcb.pid);
+            } else if (pcb.state == ProcessState.SUSP_BLOCKED) {
+                pcb.state = ProcessState.SUSP_READY;
+            }
+        }
+    }
+
+    /** Encola un proceso listo en su último núcleo o, si no tiene, en la cola más corta. */
+    private void enqueue(int pid) {
+        Integer c = lastCore.get(pid);
+        if (c == null || c >= cores.length) {
+            c = 0;
+            for (int k = 1; k < cores.length; k++)
+                if (cores[k].runQueue.size() < cores[c].runQueue.size())
+                    c = k;
+        }
+        cores[c].runQueue.addLast(pid);
+    }
+
+    /** Siguiente valor uniforme en [0, 1) del generador de E/S. */
+    private double nextIoDouble() {
+        long x = ioState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        ioState = x;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
+    /** Quita un proceso de la cola de listos en que esté. */
+    private void dequeue(int pid) {
+        for (Core c : cores)
+            if (c.runQueue.remove(pid))
+                return;
+    }
+
+    private int coreOf(int pid) {
+        Integer c = lastCore.get(pid);
+        return (c == null || c >= cores.length) ? 0 : c;
+    }
+
+    private Core core(int core) {
+        if (core < 0 || core >= cores.length)
+            throw new IllegalArgumentException("Núcleo fuera de rango.");
+        return cores[core];
+    }
+}
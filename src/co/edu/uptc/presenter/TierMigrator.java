@@ -0,0 +1,296 @@
+package co.edu.uptc.presenter;
+
+import java.util.Arrays;
+
+import co.edu.uptc.model.Frame;
+import co.edu.uptc.model.MemoryTier;
+import co.edu.uptc.model.PCB;
+import co.edu.uptc.model.TieredMemoryManager;
+
+/**
+ * Clase TierMigrator
+ * ------------------------------------------------------------
+ * Migración de páginas entre niveles de memoria (TieredMemoryManager):
+ * sube al nivel más rápido las páginas calientes y, para hacerles lugar,
+ * baja las frías.
+ *
+ * Muestreo: en cada tick se examinan sampleFramesPerTick marcos, en
+ * rotación. Cada marco guarda un byte de calor con envejecimiento (como el
+ * algoritmo de aging): calor = (calor >>> 1) | (accedido ? 0x80 : 0), con el
+ * bit de acceso que mantiene TieredMemoryManager. Si el marco cambió de
+ * dueño (pid, página) el calor vuelve a empezar, contando como un acceso
+ * el fallo que cargó la página. Se ignoran los marcos libres, compartidos
+ * y de segmentos (migratePage no los mueve).
+ * - Caliente: accedida en las últimas hotSamples muestras; si está en un
+ * nivel lento se encola para subir.
+ * - Fría: sin accesos en las últimas coldSamples muestras; si está en un
+ * nivel rápido se encola como candidata a bajar.
+ * Las colas son anillos de tamaño fijo (se pisan las entradas más viejas) y
+ * cada entrada se revalida al usarla.
+ *
+ * Presupuesto: a lo sumo pagesPerTick páginas movidas por tick (ancho de
+ * banda de migración). Una página caliente sube un nivel; si el nivel de
+ * arriba está lleno, primero baja una fría de ese nivel (dos movimientos;
+ * si el presupuesto se acaba entre ambos, la subida queda para el tick
+ * siguiente).
+ * Si no hay fría o el nivel de abajo también está lleno, la subida queda
+ * bloqueada y se cuenta.
+ *
+ * Costo: el tiempo de CPU del muestreo y las migraciones se acumula en
+ * scanNanos().
+ */
+public class TierMigrator {
+
+    private static final long NONE = -1L;
+
+    private final TieredMemoryManager tiers;
+    private final int sampleFramesPerTick;
+    private final int pagesPerTick;
+    private final int hotMask;
+    private final int coldMask;
+
+    // --- Calor por marco ---
+    private final byte[] heat;
+    private final long[] owner;
+    private int cursor;
+
+    // --- Candidatas (anillos de marcos) ---
+    private final int[] promoteQueue;
+    private int promoteHead;
+    private int promoteCount;
+    private final int[] demoteQueue;
+    private int demoteHead;
+    private int demoteCount;
+
+    // --- Contadores ---
+    private long sampledFrames;
+    private long promotions;
+    private long demotions;
+    private long blocked;
+    private long scanNanos;
+
+    /**
+     * Constructor de TierMigrator con los umbrales por omisión: caliente si
+     * se accedió en las 2 últimas muestras, fría si no en las 4 últimas.
+     *
+     * @param tiers               gestor por niveles del motor
+     * @param sampleFramesPerTick marcos muestreados por tick (> 0)
+     * @param pagesPerTick        páginas movidas por tick (> 0)
+     */
+    public TierMigrator(TieredMemoryManager tiers, int sampleFramesPerTick, int pagesPerTick) {
+        this(tiers, sampleFramesPerTick, pagesPerTick, 2, 4);
+    }
+
+    /**
+     * Constructor de TierMigrator.
+     *
+     * @param tiers               gestor por niveles del motor
+     * @param sampleFramesPerTick marcos muestreados por tick (> 0)
+     * @param pagesPerTick        páginas movidas por tick (> 0)
+     * @param hotSamples          muestras seguidas con acceso para ser caliente (1..8)
+     * @param coldSamples         muestras seguidas sin acceso para ser fría (1..8)
+     */
+    public TierMigrator(TieredMemoryManager tiers, int sampleFramesPerTick, int pagesPerTick, int hotSamples,
+            int coldSamples) {
+        if (tiers == null)
+            throw new IllegalArgumentException("El gestor por niveles no puede ser nulo.");
+        if (sampleFramesPerTick <= 0 || pagesPerTick <= 0)
+            throw new IllegalArgumentException("Los marcos muestreados y las páginas por tick deben ser > 0.");
+        if (hotSamples < 1 || hotSamples > 8 || coldSamples < 1 || coldSamples > 8)
+            throw new IllegalArgumentException("Las muestras de calor deben estar entre 1 y 8.");
+        this.tiers = tiers;
+        this.sampleFramesPerTick = sampleFramesPerTick;
+        this.pagesPerTick = pagesPerTick;
+        this.hotMask = (0xFF << (8 - hotSamples)) & 0xFF;
+        this.coldMask = (0xFF << (8 - coldSamples)) & 0xFF;
+
+        MemoryTier last = tiers.tier(tiers.tierCount() - 1);
+        int frames = last.firstFrame + last.frameCount;
+        this.heat = new byte[frames];
+        this.owner = new long[frames];
+        Arrays.fill(owner, NONE);
+        int queue = Math.max(64, 8 * pagesPerTick);
+        this.promoteQueue = new int[queue];
+        this.demoteQueue = new int[queue];
+    }
+
+    /** Muestrea y migra con el presupuesto del tick. */
+    public void onTick(SimulationEngine engine) {
+        long t0 = System.nanoTime();
+        sample(engine.physicalMemory().frames);
+        migrate(engine);
+        scanNanos += System.nanoTime() - t0;
+    }
+
+    // ===== Muestreo =====
+
+    private void sample(Frame[] frames) {
+        int lastTier = tiers.tierCount() - 1;
+        int n = Math.min(sampleFramesPerTick, frames.length);
+        for (int k = 0; k < n; k++) {
+            int f = cursor;
+            cursor = (cursor + 1 == frames.length) ? 0 : cursor + 1;
+            boolean hit = tiers.testAndClearAccessed(f);
+            long key = ownerKey(frames[f]);
+            if (key == NONE) {
+                owner[f] = NONE;
+                heat[f] = 0;
+                continue;
+            }
+            int h = (owner[f] == key) ? heat[f] & 0xFF : 0x80;
+            owner[f] = key;
+            h = (h >>> 1) | (hit ? 0x80 : 0);
+            heat[f] = (byte) h;
+            sampledFrames++;
+
+            int t = tiers.tierOf(f);
+            if (t > 0 && (h & hotMask) == hotMask)
+                offerPromote(f);
+            else if (t < lastTier && (h & coldMask) == 0)
+                offerDemote(f);
+        }
+    }
+
+    /** Encola f para subir; si el anillo está lleno, pisa la entrada más vieja. */
+    private void offerPromote(int f) {
+        int n = promoteQueue.length;
+        promoteQueue[(promoteHead + promoteCount) % n] = f;
+        if (promoteCount == n)
+            promoteHead = (promoteHead + 1) % n;
+        else
+            promoteCount++;
+    }
+
+    /** Encola f para bajar; si el anillo está lleno, pisa la entrada más vieja. */
+    private void offerDemote(int f) {
+        int n = demoteQueue.length;
+        demoteQueue[(demoteHead + demoteCount) % n] = f;
+        if (demoteCount == n)
+            demoteHead = (demoteHead + 1) % n;
+        else
+            demoteCount++;
+    }
+
+    // ===== Migración =====
+
+    private void migrate(SimulationEngine engine) {
+        Frame[] frames = engine.physicalMemory().frames;
+        int budget = pagesPerTick;
+        while (budget > 0 && promoteCount > 0) {
+            int f = promoteQueue[promoteHead];
+            promoteHead = (promoteHead + 1) % promoteQueue.length;
+            promoteCount--;
+            int t = tiers.tierOf(f);
+            if (t == 0 || (heat[f] & hotMask) != hotMask)
+                continue;
+            PCB pcb = ownerOf(engine, frames, f);
+            if (pcb == null)
+                continue;
+            int page = frames[f].pageNumber;
+            if (!tiers.migrate(pcb, page, t - 1)) {
+                // Nivel de arriba lleno: bajar una fría para hacer lugar
+                if (!demoteOne(engine, frames, t - 1)) {
+                    blocked++;
+                    continue;
+                }
+                budget--;
+                if (budget == 0 || !tiers.migrate(pcb, page, t - 1)) {
+                    // Sin presupuesto: sube en el próximo tick, al marco ya liberado
+                    offerPromote(f);
+                    continue;
+                }
+            }
+            moveHeat(f, pcb.pageTable[page].frameNumber);
+            promotions++;
+            budget--;
+        }
+    }
+
+    /** Baja al nivel siguiente una página fría del nivel indicado. */
+    private boolean demoteOne(SimulationEngine engine, Frame[] frames, int tier) {
+        for (int n = demoteCount; n > 0; n--) {
+            int f = demoteQueue[demoteHead];
+            demoteHead = (demoteHead + 1) % demoteQueue.length;
+            demoteCount--;
+            if ((heat[f] & coldMask) != 0)
+                continue;
+            PCB pcb = ownerOf(engine, frames, f);
+            if (pcb == null)
+                continue;
+            if (tiers.tierOf(f) != tier) {
+                // Fría de otro nivel: vuelve a la cola
+                offerDemote(f);
+                continue;
+            }
+            int page = frames[f].pageNumber;
+            if (!tiers.migrate(pcb, page, tier + 1)) {
+                offerDemote(f);
+                return false;
+            }
+            moveHeat(f, pcb.pageTable[page].frameNumber);
+            demotions++;
+            return true;
+        }
+        return false;
+    }
+
+    /** @return proceso que mapea el marco con el mismo dueño del muestreo, o null */
+    private PCB ownerOf(SimulationEngine engine, Frame[] frames, int f) {
+        Frame fr = frames[f];
+        long key = ownerKey(fr);
+        if (key == NONE || key != owner[f])
+            return null;
+        PCB pcb = engine.process(fr.pid);
+        if (pcb == null)
+            return null;
+        Integer mapped = pcb.pageTable[fr.pageNumber].frameNumber;
+        return (mapped != null && mapped == f) ? pcb : null;
+    }
+
+    private void moveHeat(int from, int to) {
+        heat[to] = heat[from];
+        owner[to] = owner[from];
+        heat[from] = 0;
+        owner[from] = NONE;
+    }
+
+    /** @return clave (pid, página) del marco, o NONE si no es una página privada */
+    private static long ownerKey(Frame fr) {
+        Integer pid = fr.pid;
+        Integer page = fr.pageNumber;
+        if (fr.free || fr.refCount > 1 || fr.segment != null || pid == null || page == null)
+            return NONE;
+        return (long) pid << 32 | (page & 0xFFFFFFFFL);
+    }
+
+    // ===== Estadísticas =====
+
+    public long sampledFrames() {
+        return sampledFrames;
+    }
+
+    /** @return páginas subidas a un nivel más rápido */
+    public long promotions() {
+        return promotions;
+    }
+
+    /** @return páginas bajadas a un nivel más lento */
+    public long demotions() {
+        return demotions;
+    }
+
+    /** @return subidas que no se hicieron por falta de lugar en ningún nivel */
+    public long blockedPromotions() {
+        return blocked;
+    }
+
+    /** @return bytes copiados entre niveles */
+    public long bytesMigrated(int pageSize) {
+        return (promotions + demotions) * (long) pageSize;
+    }
+
+    /** @return tiempo de CPU de muestreo y migración (ns) */
+    public long scanNanos() {
+        return scanNanos;
+    }
+}
@@ -0,0 +1,79 @@
+package co.edu.uptc.view;
+
+import java.util.List;
+
+import co.edu.uptc.view.vm.FrameVM;
+import co.edu.uptc.view.vm.PageEntryVM;
+import co.edu.uptc.view.vm.ProcessVM;
+
+/**
+ * Clase HeadlessView
+ * -------------------------------------------------------------------
+ * Vista sin pantalla: implementa MemoryView descartando todo lo que se
+ * renderiza y sin abrir diálogos.
+ *
+ * Se usa para reproducir sesiones grabadas (EventReplayer) a máxima
+ * velocidad. Solo cuenta los mensajes y conserva el último error, para
+ * poder informarlos al final.
+ */
+public class HeadlessView implements MemoryView {
+
+    private Listener listener;
+    private long infos;
+    private long errors;
+    private String lastError;
+
+    @Override
+    public void renderFrames(List<FrameVM> frames) {
+        // sin pantalla
+    }
+
+    @Override
+    public void renderProcessList(List<ProcessVM> processes) {
+        // sin pantalla
+    }
+
+    @Override
+    public void renderPageTable(int pid, List<PageEntryVM> pageEntries) {
+        // sin pantalla
+    }
+
+    @Override
+    public void showInfo(String message) {
+        infos++;
+    }
+
+    @Override
+    public void showError(String message) {
+        errors++;
+        lastError = message;
+    }
+
+    @Override
+    public void setPagesColumnTitle(String title) {
+        // sin pantalla
+    }
+
+    @Override
+    public void setListener(Listener l) {
+        this.listener = l;
+    }
+
+    /** @return listener registrado por el Presenter */
+    public Listener listener() {
+        return listener;
+    }
+
+    public long infoCount() {
+        return infos;
+    }
+
+    public long errorCount() {
+        return errors;
+    }
+
+    /** @return último mensaje de error, o null si no hubo */
+    public String lastError() {
+        return lastError;
+    }
+}
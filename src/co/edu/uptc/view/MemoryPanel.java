@@ -12,6 +12,8 @@ import co.edu.uptc.view.vm.FrameVM;
  * Panel que muestra la memoria física como tabla de marcos.
  * La columna booleana ahora indica "Ocupado" (true si el marco
  * está asignado a algún proceso; false si está libre).
+ * La columna "Refs" indica cuántos procesos mapean el marco: más de 1 en
+ * marcos compartidos (segmentos compartidos o copy-on-write tras un fork).
  */
 public class MemoryPanel extends JPanel {
 
@@ -29,8 +31,8 @@ public class MemoryPanel extends JPanel {
         setLayout(new BorderLayout());
         setBorder(BorderFactory.createTitledBorder("Memoria Física (Marcos)"));
 
-        // Encabezados: "Marco", "Ocupado", "PID", "Página"
-        model = new DefaultTableModel(new Object[] { "Marco", "Ocupado", "PID", "Página" }, 0) {
+        // Encabezados: "Marco", "Ocupado", "PID", "Página", "Refs"
+        model = new DefaultTableModel(new Object[] { "Marco", "Ocupado", "PID", "Página", "Refs" }, 0) {
             @Override
             public boolean isCellEditable(int r, int c) {
                 return false;
@@ -38,8 +40,8 @@ public class MemoryPanel extends JPanel {
 
             @Override
             public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0)
-                    return Integer.class; // número de marco
+                if (columnIndex == 0 || columnIndex == 4)
+                    return Integer.class; // número de marco / referencias
                 if (columnIndex == 1)
                     return Boolean.class; // ocupado (checkbox)
                 return Object.class; // PID / Página
@@ -63,7 +65,7 @@ public class MemoryPanel extends JPanel {
         model.setRowCount(0);
         for (FrameVM f : frames) {
             boolean ocupado = !f.free; // invertimos la lógica para la nueva columna
-            model.addRow(new Object[] { f.frameNumber, ocupado, f.pidText, f.pageText });
+            model.addRow(new Object[] { f.frameNumber, ocupado, f.pidText, f.pageText, f.refs });
         }
     }
 }
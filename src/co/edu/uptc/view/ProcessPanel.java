@@ -45,7 +45,9 @@ public class ProcessPanel extends JPanel {
         // === Tabla central de procesos ===
         // Columnas por defecto; el título de "Páginas" puede actualizarse dinámicamente
         // mediante setPagesColumnTitle(...) cuando el Presenter lo indique.
-        model = new DefaultTableModel(new Object[] { "PID", "Estado", "Tamaño (B)", "Páginas" }, 0) {
+        // RSS / PSS / USS: páginas residentes (total, proporcional y exclusivas).
+        model = new DefaultTableModel(
+                new Object[] { "PID", "Estado", "Tamaño (B)", "Páginas", "RSS", "PSS", "USS" }, 0) {
             @Override
             public boolean isCellEditable(int r, int c) {
                 return false; // todas las celdas son de solo lectura
@@ -53,8 +55,11 @@ public class ProcessPanel extends JPanel {
 
             @Override
             public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0 || columnIndex == 2 || columnIndex == 3)
-                    return Integer.class; // PID, Tamaño, Páginas como enteros para ordenamiento correcto
+                if (columnIndex == 0 || columnIndex == 2 || columnIndex == 3 || columnIndex == 4
+                        || columnIndex == 6)
+                    return Integer.class; // PID, Tamaño, Páginas, RSS, USS como enteros para ordenamiento correcto
+                if (columnIndex == 5)
+                    return Double.class;
                 return Object.class;
             }
         };
@@ -159,7 +164,8 @@ public class ProcessPanel extends JPanel {
     public void updateProcessList(List<ProcessVM> processes) {
         model.setRowCount(0);
         for (ProcessVM p : processes) {
-            model.addRow(new Object[] { p.pid, p.state, p.sizeBytes, p.pages });
+            model.addRow(new Object[] { p.pid, p.state, p.sizeBytes, p.pages, p.rssPages,
+                    Math.round(p.pssPages * 10) / 10.0, p.ussPages });
         }
     }
 
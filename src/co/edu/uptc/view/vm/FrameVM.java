@@ -22,6 +22,9 @@ public class FrameVM {
     /** Texto con el número de página asignada, o "-" si está libre. */
     public final String pageText;
 
+    /** Procesos que mapean el marco (más de 1 si es compartido); 0 si está libre. */
+    public final int refs;
+
     /**
      * Constructor de FrameVM.
      * Inicializa el DTO con los datos que serán mostrados en la interfaz.
@@ -30,11 +33,13 @@ public class FrameVM {
      * @param free        indica si está libre
      * @param pidText     texto con el PID del proceso (o "-")
      * @param pageText    texto con el número de página (o "-")
+     * @param refs        procesos que mapean el marco
      */
-    public FrameVM(int frameNumber, boolean free, String pidText, String pageText) {
+    public FrameVM(int frameNumber, boolean free, String pidText, String pageText, int refs) {
         this.frameNumber = frameNumber;
         this.free = free;
         this.pidText = pidText;
         this.pageText = pageText;
+        this.refs = refs;
     }
 }
@@ -20,11 +20,20 @@ public class ProcessVM {
     public final String state;
 
     /** Tamaño lógico del proceso en bytes. */
-    public final int sizeBytes;
+    public final long sizeBytes;
 
     /** Número de páginas que ocupa el proceso en memoria. */
     public final int pages;
 
+    /** Páginas residentes (RSS), contando completas las compartidas. */
+    public final int rssPages;
+
+    /** Páginas residentes proporcionales (PSS): cada compartida cuenta 1/procesos. */
+    public final double pssPages;
+
+    /** Páginas residentes exclusivas del proceso (USS). */
+    public final int ussPages;
+
     /**
      * Constructor de ProcessVM.
      * Inicializa el DTO con la información que será mostrada en la interfaz.
@@ -33,11 +42,18 @@ public class ProcessVM {
      * @param state     estado actual en forma de texto
      * @param sizeBytes tamaño lógico en bytes
      * @param pages     número total de páginas
+     * @param rssPages  páginas residentes
+     * @param pssPages  páginas residentes proporcionales
+     * @param ussPages  páginas residentes exclusivas
      */
-    public ProcessVM(int pid, String state, int sizeBytes, int pages) {
+    public ProcessVM(int pid, String state, long sizeBytes, int pages, int rssPages, double pssPages,
+            int ussPages) {
         this.pid = pid;
         this.state = state;
         this.sizeBytes = sizeBytes;
         this.pages = pages;
+        this.rssPages = rssPages;
+        this.pssPages = pssPages;
+        this.ussPages = ussPages;
     }
 }